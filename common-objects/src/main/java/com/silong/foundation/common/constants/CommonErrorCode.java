@@ -39,7 +39,10 @@ public enum CommonErrorCode {
   INSUFFICIENT_PERMISSIONS("%s.error.0002", "Not authorized to operate."),
 
   /** 鉴权失败 */
-  AUTHENTICATION_FAILED("%s.error.0003", "Authentication failed.");
+  AUTHENTICATION_FAILED("%s.error.0003", "Authentication failed."),
+
+  /** 请求参数非法 */
+  INVALID_PARAMETERS("%s.error.0004", "Invalid request parameters.");
 
   /** 错误码 */
   @Getter private final String code;
@@ -0,0 +1,45 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.bonecrusher;
+
+import java.nio.file.Path;
+
+/**
+ * 分区数据导出器，数据同步服务收到分区同步请求时调用导出器把分区数据导出为文件，再分块传输给请求方
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 08:10
+ */
+@FunctionalInterface
+public interface PartitionDataExporter {
+
+  /**
+   * 导出分区数据至指定目录，导出文件在传输完成后由数据同步服务删除
+   *
+   * @param partitionNo 分区编号
+   * @param directory 导出文件保存目录
+   * @return 导出文件，文件内容不能为空
+   * @throws Exception 异常
+   */
+  Path export(int partitionNo, Path directory) throws Exception;
+}
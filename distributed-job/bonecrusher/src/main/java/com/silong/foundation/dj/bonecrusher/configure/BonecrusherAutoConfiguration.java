@@ -22,10 +22,13 @@
 package com.silong.foundation.dj.bonecrusher.configure;
 
 import static com.silong.foundation.dj.bonecrusher.enu.EventExecutorType.UNORDERED;
+import static org.springframework.context.annotation.FilterType.ASSIGNABLE_TYPE;
 
 import com.auth0.jwt.algorithms.Algorithm;
 import com.silong.foundation.crypto.RootKey;
 import com.silong.foundation.crypto.aes.AesGcmToolkit;
+import com.silong.foundation.dj.bonecrusher.DataSyncServer;
+import com.silong.foundation.dj.bonecrusher.PartitionDataExporter;
 import com.silong.foundation.dj.bonecrusher.configure.config.BonecrusherClientProperties;
 import com.silong.foundation.dj.bonecrusher.configure.config.BonecrusherProperties;
 import com.silong.foundation.dj.bonecrusher.configure.config.BonecrusherServerProperties;
@@ -39,10 +42,13 @@ import io.netty.handler.codec.protobuf.ProtobufVarint32LengthFieldPrepender;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.util.concurrent.*;
 import java.util.concurrent.ThreadFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -53,6 +59,10 @@ import org.springframework.context.annotation.Configuration;
  * @since 2023-10-24 14:41
  */
 @Configuration
+@ComponentScan(
+    basePackageClasses = DataSyncServer.class,
+    useDefaultFilters = false,
+    includeFilters = @Filter(type = ASSIGNABLE_TYPE, classes = DataSyncServer.class))
 @EnableConfigurationProperties({
   BonecrusherProperties.class,
   BonecrusherServerProperties.class,
@@ -139,8 +149,9 @@ public class BonecrusherAutoConfiguration {
   }
 
   @Bean
-  public ResourcesTransferHandler resourcesTransferHandler() {
-    return new ResourcesTransferHandler(serverProperties);
+  public ResourcesTransferHandler resourcesTransferHandler(
+      ObjectProvider<PartitionDataExporter> exporterProvider) {
+    return new ResourcesTransferHandler(serverProperties, exporterProvider::getIfAvailable);
   }
 
   @Bean
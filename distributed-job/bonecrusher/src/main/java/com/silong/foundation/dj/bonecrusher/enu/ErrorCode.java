@@ -39,6 +39,12 @@ public enum ErrorCode {
   /** 鉴权失败 */
   AUTHENTICATION_FAILED(100, "Authentication failed."),
 
+  /** 分区数据导出失败 */
+  PARTITION_EXPORT_FAILED(102, "Failed to export the data of partition[%s]."),
+
+  /** 未配置分区数据导出器，不支持数据同步 */
+  DATA_SYNC_UNSUPPORTED(103, "Data synchronization is not supported."),
+
   /** 成功 */
   SUCCESS(0, null);
 
@@ -21,15 +21,18 @@
 
 package com.silong.foundation.dj.bonecrusher.handler;
 
+import static com.silong.foundation.dj.bonecrusher.message.Messages.Type.DATA_SYNC_RESP;
 import static com.silong.foundation.dj.bonecrusher.message.Messages.Type.LOADING_CLASS_RESP;
 import static org.apache.commons.lang3.StringUtils.replaceChars;
 
+import com.silong.foundation.dj.bonecrusher.PartitionDataExporter;
 import com.silong.foundation.dj.bonecrusher.configure.config.BonecrusherServerProperties;
 import com.silong.foundation.dj.bonecrusher.enu.ErrorCode;
 import com.silong.foundation.dj.bonecrusher.message.Messages.*;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -38,10 +41,11 @@ import io.netty.handler.codec.EncoderException;
 import io.netty.handler.stream.ChunkedStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.SystemUtils;
 import org.springframework.util.unit.DataSize;
 
 /**
@@ -61,53 +65,107 @@ public class ResourcesTransferHandler extends ChannelInboundHandlerAdapter {
           .setDesc(ErrorCode.CLASS_NOT_FOUND.getDesc())
           .build();
 
+  private static final Result DATA_SYNC_UNSUPPORTED =
+      Result.newBuilder()
+          .setCode(ErrorCode.DATA_SYNC_UNSUPPORTED.getCode()) // 未配置分区导出器，返回错误
+          .setDesc(ErrorCode.DATA_SYNC_UNSUPPORTED.getDesc())
+          .build();
+
   /** 文件保存目录 */
   private final Path dataStorePath;
 
   private final DataSize dataBlockSize;
 
+  /** 分区数据导出器，未配置时为null */
+  private final Supplier<PartitionDataExporter> exporterSupplier;
+
   /**
    * 构造方法
    *
    * @param properties 配置
    */
   public ResourcesTransferHandler(@NonNull BonecrusherServerProperties properties) {
+    this(properties, () -> null);
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param properties 配置
+   * @param exporterSupplier 分区数据导出器
+   */
+  public ResourcesTransferHandler(
+      @NonNull BonecrusherServerProperties properties,
+      @NonNull Supplier<PartitionDataExporter> exporterSupplier) {
     this.dataStorePath = properties.getDataStorePath();
     this.dataBlockSize = properties.getDataBlockSize();
+    this.exporterSupplier = exporterSupplier;
   }
 
-  /** 导出分区数据 */
-  private Path exportPartition2Files() {
-    // TODO 分区数据导出待实现
-    return SystemUtils.getJavaIoTmpDir().toPath();
+  /**
+   * 导出分区数据
+   *
+   * @param exporter 导出器
+   * @param partitionNo 分区编号
+   * @return 导出文件
+   */
+  private Path exportPartition2Files(PartitionDataExporter exporter, int partitionNo)
+      throws Exception {
+    Files.createDirectories(dataStorePath);
+    Path file = exporter.export(partitionNo, dataStorePath);
+    if (file == null || Files.size(file) == 0) {
+      throw new IOException(
+          String.format("The exported file of partition[%d] is empty.", partitionNo));
+    }
+    return file;
   }
 
   private void handleSyncDataReq(ChannelHandlerContext ctx, SyncDataReq request, String requestId) {
+    PartitionDataExporter exporter = exporterSupplier.get();
+    if (exporter == null) {
+      writeFailedResponse(ctx, DATA_SYNC_RESP, DATA_SYNC_UNSUPPORTED, requestId);
+      return;
+    }
+
+    String partitionNo = request.getPartitionNo();
 
-    //    RandomAccessFile raf = null;
-    //    long length = -1;
-    //    try {
-    //      raf = new RandomAccessFile(msg, "r");
-    //      length = raf.length();
-    //    } catch (Exception e) {
-    //      ctx.writeAndFlush("ERR: " + e.getClass().getSimpleName() + ": " + e.getMessage() +
-    // '\n');
-    //      return;
-    //    } finally {
-    //      if (length < 0 && raf != null) {
-    //        raf.close();
-    //      }
-    //    }
-    //
-    //    ctx.write("OK: " + raf.length() + '\n');
-    //    if (ctx.pipeline().get(SslHandler.class) == null) {
-    //      // 传输文件使用了 DefaultFileRegion 进行写入到 NioSocketChannel 中
-    //      ctx.write(new DefaultFileRegion(raf.getChannel(), 0, length));
-    //    } else {
-    //      // SSL enabled - cannot use zero-copy file transfer.
-    //      ctx.write(new ChunkedFile(raf));
-    //    }
-    //    ctx.writeAndFlush("\n");
+    // 分区数据导出耗时较长，不能阻塞IO线程
+    Thread.ofVirtual()
+        .name("partition-export-" + partitionNo)
+        .start(
+            () -> {
+              Path file;
+              long size;
+              InputStream inputStream;
+              try {
+                file = exportPartition2Files(exporter, Integer.parseInt(partitionNo));
+                size = Files.size(file);
+                inputStream = Files.newInputStream(file);
+              } catch (Exception e) {
+                log.error("Failed to export the data of partition[{}].", partitionNo, e);
+                writeFailedResponse(
+                    ctx,
+                    DATA_SYNC_RESP,
+                    Result.newBuilder()
+                        .setCode(ErrorCode.PARTITION_EXPORT_FAILED.getCode())
+                        .setDesc(
+                            String.format(ErrorCode.PARTITION_EXPORT_FAILED.getDesc(), partitionNo))
+                        .build(),
+                    requestId);
+                return;
+              }
+
+              writeDataBlocks(ctx, inputStream, size, partitionNo, DATA_SYNC_RESP, requestId)
+                  .addListener(
+                      future -> {
+                        try {
+                          inputStream.close();
+                          Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                          log.error("Failed to delete the exported file {}.", file, e);
+                        }
+                      });
+            });
   }
 
   @Override
@@ -124,10 +182,22 @@ public class ResourcesTransferHandler extends ChannelInboundHandlerAdapter {
     }
   }
 
-  private int calculateTotalBlocks(int readableBytes, int chunkSize) {
-    return readableBytes % chunkSize == 0
-        ? readableBytes / chunkSize
-        : readableBytes / chunkSize + 1;
+  private int calculateTotalBlocks(long readableBytes, int chunkSize) {
+    return (int)
+        (readableBytes % chunkSize == 0
+            ? readableBytes / chunkSize
+            : readableBytes / chunkSize + 1);
+  }
+
+  private void writeFailedResponse(
+      ChannelHandlerContext ctx, Type respType, Result result, String requestId) {
+    ctx.writeAndFlush(
+        ResponseHeader.newBuilder()
+            .setType(respType)
+            .setResult(result)
+            .setTimestamp(System.currentTimeMillis())
+            .setUuid(requestId)
+            .build());
   }
 
   private void handleLoadingClassReq(
@@ -135,87 +205,99 @@ public class ResourcesTransferHandler extends ChannelInboundHandlerAdapter {
     String classFqdn = request.getClassFqdn();
     try (InputStream inputStream = getClass().getResourceAsStream(classFqdn2Path(classFqdn))) {
       if (inputStream == null) {
-        ctx.writeAndFlush(
-            ResponseHeader.newBuilder()
-                .setType(LOADING_CLASS_RESP)
-                .setResult(CLASS_NOT_FOUND)
-                .setTimestamp(System.currentTimeMillis())
-                .setUuid(requestId)
-                .build());
+        writeFailedResponse(ctx, LOADING_CLASS_RESP, CLASS_NOT_FOUND, requestId);
         return;
       }
+      writeDataBlocks(
+          ctx, inputStream, inputStream.available(), classFqdn, LOADING_CLASS_RESP, requestId);
+    }
+  }
+
+  /**
+   * 分块发送数据，每个数据块前附加响应头
+   *
+   * @param ctx 上下文
+   * @param inputStream 数据流
+   * @param size 数据总长度
+   * @param dataUuid 数据标识
+   * @param respType 响应类型
+   * @param requestId 请求uuid
+   * @return 发送结果
+   */
+  private ChannelFuture writeDataBlocks(
+      ChannelHandlerContext ctx,
+      InputStream inputStream,
+      long size,
+      String dataUuid,
+      Type respType,
+      String requestId) {
+    int chunkSize = (int) dataBlockSize.toBytes();
+    return ctx.writeAndFlush(
+            new ChunkedStream(inputStream, chunkSize) {
+
+              /** 数据块总量 */
+              private final int totalBlocks = calculateTotalBlocks(size, chunkSize);
+
+              /** 数据块计数 */
+              private int dataBlockNoCount = 0;
+
+              private ByteBuf attachRespType(ByteBufAllocator allocator, ByteBuf dataBlock) {
+                if (dataBlock != null) {
+                  ResponseHeader responseHeader =
+                      ResponseHeader.newBuilder()
+                          .setType(respType)
+                          .setUuid(requestId)
+                          .setTimestamp(System.currentTimeMillis())
+                          .setDataBlockMetadata(
+                              DataBlockMetadata.newBuilder()
+                                  .setDataUuid(dataUuid)
+                                  .setTotalBlocks(totalBlocks)
+                                  .setBlockSize(dataBlock.readableBytes())
+                                  .setBlockNo(dataBlockNoCount++))
+                          .build();
 
-      // 分块数据发送
-      int chunkSize = (int) dataBlockSize.toBytes();
-      ctx.writeAndFlush(
-              new ChunkedStream(inputStream, chunkSize) {
-
-                /** 数据块总量 */
-                private final int totalBlocks =
-                    calculateTotalBlocks(inputStream.available(), chunkSize);
-
-                /** 数据块计数 */
-                private int dataBlockNoCount = 0;
-
-                private ByteBuf attachRespType(
-                    ByteBufAllocator allocator, ByteBuf fileDataBlock, Type respType) {
-                  if (fileDataBlock != null) {
-                    ResponseHeader responseHeader =
-                        ResponseHeader.newBuilder()
-                            .setType(respType)
-                            .setUuid(requestId)
-                            .setTimestamp(System.currentTimeMillis())
-                            .setDataBlockMetadata(
-                                DataBlockMetadata.newBuilder()
-                                    .setDataUuid(classFqdn)
-                                    .setTotalBlocks(totalBlocks)
-                                    .setBlockSize(fileDataBlock.readableBytes())
-                                    .setBlockNo(dataBlockNoCount++))
-                            .build();
-
-                    int size = responseHeader.getSerializedSize() + Integer.BYTES;
-                    ByteBuf buffer = allocator.buffer(size);
-                    buffer.writeInt(responseHeader.getSerializedSize());
-                    try (ByteBufOutputStream outputStream = new ByteBufOutputStream(buffer)) {
-                      responseHeader.writeTo(outputStream);
-                    } catch (IOException e) {
-                      throw new EncoderException(e);
-                    }
-
-                    // 拼装组合bytebuf，第一个组件为protobuf响应
-                    fileDataBlock =
-                        allocator
-                            .compositeBuffer(3) // 此处为编码时预留
-                            .addComponents(true, buffer, fileDataBlock);
+                  int size = responseHeader.getSerializedSize() + Integer.BYTES;
+                  ByteBuf buffer = allocator.buffer(size);
+                  buffer.writeInt(responseHeader.getSerializedSize());
+                  try (ByteBufOutputStream outputStream = new ByteBufOutputStream(buffer)) {
+                    responseHeader.writeTo(outputStream);
+                  } catch (IOException e) {
+                    throw new EncoderException(e);
                   }
-                  return fileDataBlock;
-                }
 
-                @Override
-                public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
-                  return attachRespType(allocator, super.readChunk(allocator), LOADING_CLASS_RESP);
-                }
-              })
-          .addListener(
-              future -> {
-                if (future.isSuccess()) {
-                  log.info(
-                      "The class[{}] transfer completed successfully from {} to {} by channel[id:{}].",
-                      classFqdn,
-                      ctx.channel().localAddress(),
-                      ctx.channel().remoteAddress(),
-                      ctx.channel().id());
-                } else {
-                  log.info(
-                      "Failed to transfer the class[{}] from {} to {} by channel[id:{}].",
-                      classFqdn,
-                      ctx.channel().localAddress(),
-                      ctx.channel().remoteAddress(),
-                      ctx.channel().id(),
-                      future.cause());
+                  // 拼装组合bytebuf，第一个组件为protobuf响应
+                  dataBlock =
+                      allocator
+                          .compositeBuffer(3) // 此处为编码时预留
+                          .addComponents(true, buffer, dataBlock);
                 }
-              });
-    }
+                return dataBlock;
+              }
+
+              @Override
+              public ByteBuf readChunk(ByteBufAllocator allocator) throws Exception {
+                return attachRespType(allocator, super.readChunk(allocator));
+              }
+            })
+        .addListener(
+            future -> {
+              if (future.isSuccess()) {
+                log.info(
+                    "The data[{}] transfer completed successfully from {} to {} by channel[id:{}].",
+                    dataUuid,
+                    ctx.channel().localAddress(),
+                    ctx.channel().remoteAddress(),
+                    ctx.channel().id());
+              } else {
+                log.info(
+                    "Failed to transfer the data[{}] from {} to {} by channel[id:{}].",
+                    dataUuid,
+                    ctx.channel().localAddress(),
+                    ctx.channel().remoteAddress(),
+                    ctx.channel().id(),
+                    future.cause());
+              }
+            });
   }
 
   /**
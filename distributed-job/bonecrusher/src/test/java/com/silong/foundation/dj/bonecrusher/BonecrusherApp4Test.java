@@ -21,10 +21,13 @@
 
 package com.silong.foundation.dj.bonecrusher;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import com.silong.foundation.dj.hook.event.JoinClusterEvent;
 import com.silong.foundation.dj.hook.event.ViewChangedEvent;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.nio.file.Files;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.jgroups.Address;
@@ -35,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
 
 /**
  * 测试服务启动入口
@@ -61,6 +65,33 @@ public class BonecrusherApp4Test {
     publisher.publishEvent(new JoinClusterEvent(newView, "test-cluster", creator));
   }
 
+  /**
+   * 测试用分区数据导出器，分区编号为负数时导出失败
+   *
+   * @return 导出器
+   */
+  @Bean
+  public PartitionDataExporter partitionDataExporter() {
+    return (partitionNo, directory) -> {
+      if (partitionNo < 0) {
+        throw new IllegalArgumentException("partitionNo: " + partitionNo);
+      }
+      return Files.write(
+          Files.createTempFile(directory, "partition" + partitionNo + "-", ".data"),
+          partitionData(partitionNo));
+    };
+  }
+
+  /**
+   * 生成测试分区数据，数据量大于一个数据块
+   *
+   * @param partitionNo 分区编号
+   * @return 分区数据
+   */
+  public static byte[] partitionData(int partitionNo) {
+    return String.format("partition-%d;", partitionNo).repeat(4096).getBytes(UTF_8);
+  }
+
   @PostConstruct
   public void startServer() throws Exception {
     fireViewChangedEvent();
@@ -22,18 +22,26 @@
 package com.silong.foundation.dj.bonecrusher;
 
 import static com.silong.foundation.dj.bonecrusher.handler.ResourcesTransferHandler.classFqdn2Path;
+import static com.silong.foundation.dj.bonecrusher.message.Messages.Type.DATA_SYNC_REQ;
 import static com.silong.foundation.dj.bonecrusher.message.Messages.Type.LOADING_CLASS_REQ;
 
 import com.silong.foundation.dj.bonecrusher.configure.config.BonecrusherServerProperties;
+import com.silong.foundation.dj.bonecrusher.exception.RequestResponseException;
 import com.silong.foundation.dj.bonecrusher.message.Messages;
 import com.silong.foundation.dj.bonecrusher.message.Messages.LoadingClassReq;
+import com.silong.foundation.dj.bonecrusher.message.Messages.SyncDataReq;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.util.concurrent.Future;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -128,4 +136,47 @@ public class BonecrusherTests {
       Thread.sleep(3000);
     }
   }
+
+  @Test
+  @DisplayName("syncPartitionData")
+  public void test4() throws Exception {
+    try (DataSyncClient client =
+        bonecrusher.newClient().connect(properties.getAddress(), properties.getPort())) {
+      int partitionNo = 7;
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      List<Integer> blockNos = new ArrayList<>();
+      client
+          .sendAsync(
+              Messages.Request.newBuilder()
+                  .setType(DATA_SYNC_REQ)
+                  .setSyncData(
+                      SyncDataReq.newBuilder().setPartitionNo(String.valueOf(partitionNo))),
+              (buf, metadata) -> {
+                blockNos.add(metadata.getBlockNo());
+                out.writeBytes(ByteBufUtil.getBytes(buf));
+              })
+          .get();
+
+      byte[] expected = BonecrusherApp4Test.partitionData(partitionNo);
+      Assertions.assertArrayEquals(expected, out.toByteArray());
+      Assertions.assertTrue(blockNos.size() > 1);
+      Assertions.assertEquals(IntStream.range(0, blockNos.size()).boxed().toList(), blockNos);
+    }
+  }
+
+  @Test
+  @DisplayName("syncPartitionDataFailed")
+  public void test5() throws Exception {
+    try (DataSyncClient client =
+        bonecrusher.newClient().connect(properties.getAddress(), properties.getPort())) {
+      Future<Void> future =
+          client.sendAsync(
+              Messages.Request.newBuilder()
+                  .setType(DATA_SYNC_REQ)
+                  .setSyncData(SyncDataReq.newBuilder().setPartitionNo("-1")),
+              (buf, metadata) -> Assertions.fail("Unexpected data block."));
+      ExecutionException e = Assertions.assertThrows(ExecutionException.class, future::get);
+      Assertions.assertInstanceOf(RequestResponseException.class, e.getCause());
+    }
+  }
 }
@@ -24,7 +24,13 @@ import com.silong.foundation.common.lambda.Tuple2;
 import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
 import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 
 /**
  * 持久化存储接口
@@ -201,6 +207,15 @@ public interface BasicPersistStorage extends AutoCloseable {
    */
   void deleteRange(String columnFamilyName, byte[] startKey, byte[] endKey);
 
+  /**
+   * 手动压缩指定列族中起始key和结束key之间的数据，回收已删除数据占用的空间
+   *
+   * @param columnFamilyName 列族名
+   * @param startKey 起始key，includes，null表示无下界
+   * @param endKey 结束Key，excludes，null表示无上界
+   */
+  void compactRange(String columnFamilyName, @Nullable byte[] startKey, @Nullable byte[] endKey);
+
   /**
    * 获取当前rocksdb中所有存在的列族名称列表
    *
@@ -222,4 +237,72 @@ public interface BasicPersistStorage extends AutoCloseable {
    * @param consumer 消费者
    */
   void iterate(String columnFamilyName, BiConsumer<byte[], byte[]> consumer);
+
+  /**
+   * 创建数据库检查点，sst文件以硬链接的形式保存，检查点目录可直接作为数据目录打开
+   *
+   * @param checkpointPath 检查点目录，不能已存在
+   */
+  void checkpoint(String checkpointPath);
+
+  /**
+   * 在备份目录创建增量备份，已备份的sst文件不再重复复制，备份完成后按保留数量清理更早的备份
+   *
+   * @return 新建的备份
+   */
+  StorageBackup backup();
+
+  /**
+   * 获取备份目录中的所有备份，按备份id升序排列
+   *
+   * @return 备份列表
+   */
+  List<StorageBackup> listBackups();
+
+  /**
+   * 按扫描范围创建列族迭代器，迭代器须由调用方关闭
+   *
+   * @param columnFamilyName 列族名
+   * @param range 扫描范围
+   * @return 迭代器
+   */
+  PersistStorageIterator iterator(String columnFamilyName, ScanRange range);
+
+  /**
+   * 按扫描范围遍历列族，consumer返回false时提前结束遍历
+   *
+   * @param columnFamilyName 列族名
+   * @param range 扫描范围
+   * @param consumer 消费者，返回是否继续遍历
+   */
+  default void scan(
+      String columnFamilyName, ScanRange range, BiPredicate<byte[], byte[]> consumer) {
+    if (consumer == null) {
+      throw new IllegalArgumentException("consumer must not be null.");
+    }
+    try (PersistStorageIterator iterator = iterator(columnFamilyName, range)) {
+      while (iterator.hasNext()) {
+        Tuple2<byte[], byte[]> kvPair = iterator.next();
+        if (!consumer.test(kvPair.t1(), kvPair.t2())) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * 按扫描范围以流的形式遍历列族，流须由调用方关闭
+   *
+   * @param columnFamilyName 列族名
+   * @param range 扫描范围
+   * @return kv流
+   */
+  default Stream<Tuple2<byte[], byte[]>> stream(String columnFamilyName, ScanRange range) {
+    PersistStorageIterator iterator = iterator(columnFamilyName, range);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(iterator::close);
+  }
 }
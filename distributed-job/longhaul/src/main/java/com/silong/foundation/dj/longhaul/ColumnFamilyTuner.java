@@ -0,0 +1,199 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties.DataScale;
+import com.silong.foundation.dj.longhaul.config.TuningProfile;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.*;
+
+/**
+ * 按调优策略生成列族配置，同一策略的列族共享同一份ColumnFamilyOptions，非LEGACY策略的列族共享同一个块缓存。<br>
+ * 生成的所有native对象由本类持有，须在数据库关闭后统一释放。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 04:00
+ */
+@Slf4j
+class ColumnFamilyTuner implements AutoCloseable {
+
+  /** 布隆过滤器每个key使用的位数，误判率约1% */
+  private static final double BLOOM_BITS_PER_KEY = 10;
+
+  /** memtable布隆过滤器占memtable大小的比例 */
+  private static final double MEMTABLE_BLOOM_RATIO = 0.02;
+
+  /** 存储配置 */
+  private final PersistStorageProperties properties;
+
+  /** 各调优策略对应的列族配置 */
+  private final Map<TuningProfile, ColumnFamilyOptions> columnFamilyOptions =
+      new EnumMap<>(TuningProfile.class);
+
+  /** 需要随本对象释放的native对象 */
+  private final List<AbstractNativeReference> resources = new ArrayList<>();
+
+  /** 共享块缓存，首次使用时创建 */
+  private Cache blockCache;
+
+  /**
+   * 构造方法
+   *
+   * @param properties 存储配置
+   */
+  ColumnFamilyTuner(@NonNull PersistStorageProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * 获取列族调优策略
+   *
+   * @param columnFamilyName 列族名
+   * @return 调优策略
+   */
+  TuningProfile profile(String columnFamilyName) {
+    Map<String, TuningProfile> profiles = properties.getTuningProfiles();
+    TuningProfile profile = profiles == null ? null : profiles.get(columnFamilyName);
+    return profile != null ? profile : properties.getDefaultTuningProfile();
+  }
+
+  /**
+   * 获取列族配置
+   *
+   * @param columnFamilyName 列族名
+   * @return 列族配置
+   */
+  synchronized ColumnFamilyOptions columnFamilyOptions(String columnFamilyName) {
+    return columnFamilyOptions.computeIfAbsent(profile(columnFamilyName), this::build);
+  }
+
+  /**
+   * 将数据库级别的调优配置应用到DBOptions
+   *
+   * @param options 数据库配置
+   * @return 数据库配置
+   */
+  synchronized DBOptions configure(@NonNull DBOptions options) {
+    if (properties.getCompactionRateLimit() > 0) {
+      options.setRateLimiter(register(new RateLimiter(properties.getCompactionRateLimit())));
+    }
+    if (properties.getMaxTotalWalSize() > 0) {
+      options.setMaxTotalWalSize(properties.getMaxTotalWalSize());
+    }
+    return options;
+  }
+
+  private ColumnFamilyOptions build(TuningProfile profile) {
+    ColumnFamilyOptions options = register(new ColumnFamilyOptions());
+    switch (profile) {
+      case LEGACY -> {
+        return legacy(options, properties.getDataScale());
+      }
+      case POINT_LOOKUP -> {
+        return options
+            .setTableFormatConfig(
+                tableConfig()
+                    .setFilterPolicy(register(new BloomFilter(BLOOM_BITS_PER_KEY)))
+                    .setWholeKeyFiltering(true)
+                    .setDataBlockIndexType(DataBlockIndexType.kDataBlockBinaryAndHash))
+            .setMemtablePrefixBloomSizeRatio(MEMTABLE_BLOOM_RATIO)
+            .setMemtableWholeKeyFiltering(true)
+            .setCompactionStyle(CompactionStyle.LEVEL)
+            .setLevelCompactionDynamicLevelBytes(true)
+            .setCompressionType(CompressionType.LZ4_COMPRESSION);
+      }
+      case WRITE_HEAVY_LOG -> {
+        // 日志类数据极少点查，布隆过滤器只在非最底层生成以节省内存
+        return options
+            .setTableFormatConfig(
+                tableConfig().setFilterPolicy(register(new BloomFilter(BLOOM_BITS_PER_KEY))))
+            .setOptimizeFiltersForHits(true)
+            .setWriteBufferSize(128L * 1024 * 1024)
+            .setMaxWriteBufferNumber(4)
+            .setMinWriteBufferNumberToMerge(2)
+            .setCompactionStyle(CompactionStyle.UNIVERSAL)
+            .setLevel0FileNumCompactionTrigger(8)
+            .setCompressionType(CompressionType.LZ4_COMPRESSION)
+            .setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+      }
+      case SCAN_HEAVY -> {
+        return options
+            .setTableFormatConfig(tableConfig().setBlockSize(64 * 1024))
+            .setWriteBufferSize(64L * 1024 * 1024)
+            .setCompactionStyle(CompactionStyle.LEVEL)
+            .setLevelCompactionDynamicLevelBytes(true)
+            .setTargetFileSizeBase(128L * 1024 * 1024)
+            .setCompressionType(CompressionType.LZ4_COMPRESSION)
+            .setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+      }
+    }
+    log.error("Unknown tuningProfile: " + profile);
+    return options;
+  }
+
+  /** 共享块缓存，索引及过滤器块计入缓存容量，L0的索引及过滤器块常驻缓存 */
+  private BlockBasedTableConfig tableConfig() {
+    if (blockCache == null) {
+      blockCache = register(new LRUCache(properties.getBlockCacheSize()));
+    }
+    return new BlockBasedTableConfig()
+        .setBlockCache(blockCache)
+        .setCacheIndexAndFilterBlocks(true)
+        .setPinL0FilterAndIndexBlocksInCache(true);
+  }
+
+  private static ColumnFamilyOptions legacy(ColumnFamilyOptions options, DataScale scale) {
+    switch (scale) {
+      case SMALL -> {
+        return options.optimizeForSmallDb();
+      }
+      case MEDIUM, BIG, HUGE -> {
+        return options.optimizeUniversalStyleCompaction();
+      }
+    }
+    log.error("Unknown dataScale: " + scale);
+    return options;
+  }
+
+  private <T extends AbstractNativeReference> T register(T resource) {
+    resources.add(resource);
+    return resource;
+  }
+
+  /** 按创建的逆序释放native对象 */
+  @Override
+  public synchronized void close() {
+    for (int i = resources.size() - 1; i >= 0; i--) {
+      resources.get(i).close();
+    }
+    resources.clear();
+    columnFamilyOptions.clear();
+    blockCache = null;
+  }
+}
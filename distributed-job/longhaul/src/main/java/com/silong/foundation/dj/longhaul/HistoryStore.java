@@ -0,0 +1,246 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import com.silong.foundation.common.lambda.Tuple2;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 历史记录存储，每条记录单独保存为一个key，key为8字节大端序时间戳加区分符，按时间戳由远及近排列<br>
+ * 启动时无需加载全部记录，按时间戳查询时通过范围扫描定位。支持按记录数量及时间戳淘汰旧记录，淘汰时整体删除过期范围并压缩回收空间，最新的一条记录始终保留。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 17:40
+ */
+@Slf4j
+public final class HistoryStore {
+
+  /** 最小的key，小于等于所有记录的key */
+  private static final byte[] MIN_KEY = new byte[Long.BYTES];
+
+  /**
+   * 历史记录
+   *
+   * @param timestamp 时间戳
+   * @param discriminator 区分符，区分时间戳相同的记录
+   * @param value 记录内容
+   */
+  public record Entry(long timestamp, byte[] discriminator, byte[] value) {}
+
+  /** 持久化存储 */
+  private final BasicPersistStorage storage;
+
+  /** 列族名 */
+  private final String columnFamilyName;
+
+  /**
+   * 构造方法
+   *
+   * @param storage 持久化存储
+   * @param columnFamilyName 保存历史记录的列族名
+   */
+  public HistoryStore(@NonNull BasicPersistStorage storage, @NonNull String columnFamilyName) {
+    this.storage = storage;
+    this.columnFamilyName = columnFamilyName;
+  }
+
+  /**
+   * 生成记录的key
+   *
+   * @param timestamp 时间戳，不能为负数
+   * @param discriminator 区分符
+   * @return key
+   */
+  static byte[] key(long timestamp, @NonNull byte[] discriminator) {
+    if (timestamp < 0) {
+      throw new IllegalArgumentException("timestamp must be greater than or equal to 0.");
+    }
+    return ByteBuffer.allocate(Long.BYTES + discriminator.length)
+        .putLong(timestamp)
+        .put(discriminator)
+        .array();
+  }
+
+  private static Entry toEntry(Tuple2<byte[], byte[]> kv) {
+    byte[] key = kv.t1();
+    return new Entry(
+        ByteBuffer.wrap(key).getLong(), Arrays.copyOfRange(key, Long.BYTES, key.length), kv.t2());
+  }
+
+  /**
+   * 追加记录，相同时间戳及区分符的记录被覆盖
+   *
+   * @param timestamp 时间戳，不能为负数
+   * @param discriminator 区分符
+   * @param value 记录内容
+   */
+  public void append(long timestamp, @NonNull byte[] discriminator, @NonNull byte[] value) {
+    storage.put(columnFamilyName, key(timestamp, discriminator), value);
+  }
+
+  /**
+   * 记录是否存在
+   *
+   * @param timestamp 时间戳
+   * @param discriminator 区分符
+   * @return true or false
+   */
+  public boolean contains(long timestamp, @NonNull byte[] discriminator) {
+    return storage.get(columnFamilyName, key(timestamp, discriminator)) != null;
+  }
+
+  /**
+   * 最新的记录
+   *
+   * @return 记录，不存在时返回null
+   */
+  @Nullable
+  public Entry latest() {
+    return first(ScanRange.all().reversed());
+  }
+
+  /**
+   * 给定记录之前最近的一条记录
+   *
+   * @param timestamp 时间戳
+   * @param discriminator 区分符
+   * @return 记录，不存在时返回null
+   */
+  @Nullable
+  public Entry lower(long timestamp, @NonNull byte[] discriminator) {
+    return first(ScanRange.until(key(timestamp, discriminator)).reversed());
+  }
+
+  /**
+   * 时间戳小于等于给定时间戳的最新记录
+   *
+   * @param timestamp 时间戳
+   * @return 记录，不存在时返回null
+   */
+  @Nullable
+  public Entry floor(long timestamp) {
+    if (timestamp < 0) {
+      return null;
+    }
+    return timestamp == Long.MAX_VALUE
+        ? latest()
+        : first(ScanRange.until(key(timestamp + 1, new byte[0])).reversed());
+  }
+
+  /**
+   * 时间戳大于等于给定时间戳的最早记录
+   *
+   * @param timestamp 时间戳
+   * @return 记录，不存在时返回null
+   */
+  @Nullable
+  public Entry ceiling(long timestamp) {
+    return first(ScanRange.from(key(Math.max(timestamp, 0), new byte[0])));
+  }
+
+  @Nullable
+  private Entry first(ScanRange range) {
+    try (PersistStorageIterator iterator = storage.iterator(columnFamilyName, range)) {
+      return iterator.hasNext() ? toEntry(iterator.next()) : null;
+    }
+  }
+
+  /**
+   * 由近及远遍历记录，consumer返回false时提前结束遍历
+   *
+   * @param consumer 消费者，返回是否继续遍历
+   */
+  public void forEachNewestFirst(@NonNull Predicate<Entry> consumer) {
+    try (PersistStorageIterator iterator =
+        storage.iterator(columnFamilyName, ScanRange.all().reversed())) {
+      while (iterator.hasNext()) {
+        if (!consumer.test(toEntry(iterator.next()))) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * 淘汰旧记录，只保留最新的maxEntries条记录中时间戳不小于minTimestamp的记录，最新的一条记录始终保留
+   *
+   * @param maxEntries 最多保留的记录数量
+   * @param minTimestamp 保留记录的最小时间戳
+   * @return 是否删除了记录
+   */
+  public boolean retain(int maxEntries, long minTimestamp) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be greater than 0.");
+    }
+
+    // 由近及远找到按数量保留的最旧一条记录
+    byte[] newest = null;
+    byte[] oldestRetained = null;
+    int count = 0;
+    try (PersistStorageIterator iterator =
+        storage.iterator(columnFamilyName, ScanRange.all().reversed())) {
+      while (iterator.hasNext() && count < maxEntries) {
+        byte[] key = iterator.nextKey();
+        if (newest == null) {
+          newest = key;
+        }
+        oldestRetained = key;
+        count++;
+      }
+      if (newest == null || (!iterator.hasNext() && count < maxEntries)) {
+        oldestRetained = null;
+      }
+    }
+    if (newest == null) {
+      return false;
+    }
+
+    // 按时间戳淘汰时不能超过最新的记录
+    byte[] boundary = key(Math.max(minTimestamp, 0), new byte[0]);
+    if (Arrays.compareUnsigned(boundary, newest) > 0) {
+      boundary = newest;
+    }
+    if (oldestRetained != null && Arrays.compareUnsigned(oldestRetained, boundary) > 0) {
+      boundary = oldestRetained;
+    }
+
+    // 没有早于边界的记录时无需删除
+    if (first(ScanRange.until(boundary)) == null) {
+      return false;
+    }
+    storage.deleteRange(columnFamilyName, MIN_KEY, boundary);
+    storage.compactRange(columnFamilyName, null, boundary);
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Deleted histories of {} before {}.",
+          columnFamilyName,
+          ByteBuffer.wrap(boundary).getLong());
+    }
+    return true;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import com.silong.foundation.common.lambda.Tuple2;
+import java.util.Iterator;
+
+/**
+ * 持久化存储迭代器，迭代期间读取创建时的数据视图，使用完毕后须关闭以释放native资源，且须在持久化存储关闭前关闭
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 03:00
+ */
+public interface PersistStorageIterator extends Iterator<Tuple2<byte[], byte[]>>, AutoCloseable {
+
+  /**
+   * 返回下一个key并前进，不读取value
+   *
+   * @return key
+   */
+  default byte[] nextKey() {
+    return next().t1();
+  }
+
+  /** 释放迭代器资源，可重复调用 */
+  @Override
+  void close();
+}
@@ -27,11 +27,15 @@ import static org.rocksdb.RocksDB.*;
 import com.silong.foundation.common.lambda.Tuple2;
 import com.silong.foundation.common.lambda.Tuple3;
 import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
-import com.silong.foundation.dj.longhaul.config.PersistStorageProperties.DataScale;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties.RestoreSource;
 import com.silong.foundation.dj.longhaul.exception.DataAccessException;
 import com.silong.foundation.dj.longhaul.exception.InitializationDBException;
+import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
@@ -59,9 +63,15 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
   /** 线程名 */
   private final String daemonThread;
 
+  /** 存储配置 */
+  private final transient PersistStorageProperties properties;
+
   /** 默认列族名称 */
   static final String DEFAULT_COLUMN_FAMILY_NAME = "default";
 
+  /** 数据库存在时数据目录中必然存在的文件 */
+  private static final String CURRENT_FILE = "CURRENT";
+
   static {
     loadLibrary();
   }
@@ -71,8 +81,8 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
 
   private volatile Exception initException;
 
-  /** 列族配置 */
-  private ColumnFamilyOptions cfOpts;
+  /** 列族调优配置 */
+  private ColumnFamilyTuner columnFamilyTuner;
 
   private final CountDownLatch shutdownSignal = new CountDownLatch(1);
 
@@ -97,6 +107,8 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
    */
   public RocksDbPersistStorage(@NonNull PersistStorageProperties properties, boolean isBlocking) {
     daemonThread = properties.getDaemonThreadName();
+    this.properties = properties;
+    restoreIfAbsent(properties);
     if (isBlocking) {
       openDB(properties);
     } else {
@@ -105,6 +117,56 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
     }
   }
 
+  /**
+   * 数据目录中不存在数据库时，按配置从检查点或最新备份恢复数据
+   *
+   * @param properties 存储配置
+   */
+  private void restoreIfAbsent(PersistStorageProperties properties) {
+    RestoreSource source = properties.getRestoreSource();
+    if (source == RestoreSource.NONE) {
+      return;
+    }
+    Path dataPath = Paths.get(properties.getPersistDataPath());
+    if (Files.exists(dataPath.resolve(CURRENT_FILE))) {
+      log.info("RocksDB already exists in {}, skip restoring from {}.", dataPath, source);
+      return;
+    }
+    try {
+      Files.createDirectories(dataPath);
+      switch (source) {
+        case CHECKPOINT -> {
+          validate(
+              isEmpty(properties.getRestoreCheckpointPath()),
+              "restoreCheckpointPath must not be null or empty.");
+          Path checkpointPath = Paths.get(properties.getRestoreCheckpointPath());
+          // 复制而非硬链接，避免恢复后的数据库与检查点互相影响
+          try (Stream<Path> files = Files.list(checkpointPath)) {
+            for (Path file : files.toList()) {
+              Files.copy(file, dataPath.resolve(file.getFileName()));
+            }
+          }
+        }
+        case LATEST_BACKUP -> {
+          validate(
+              !Files.isDirectory(Paths.get(properties.getBackupPath())),
+              "backupPath must be an existing directory.");
+          try (BackupEngineOptions backupEngineOptions =
+                  new BackupEngineOptions(properties.getBackupPath());
+              BackupEngine backupEngine = BackupEngine.open(Env.getDefault(), backupEngineOptions);
+              RestoreOptions restoreOptions = new RestoreOptions(false)) {
+            backupEngine.restoreDbFromLatestBackup(
+                dataPath.toString(), dataPath.toString(), restoreOptions);
+          }
+        }
+      }
+      log.info("RocksDB has been restored from {} to {}.", source, dataPath);
+    } catch (IOException | RocksDBException e) {
+      throw new InitializationDBException(
+          String.format("Failed to restore RocksDB from %s to %s.", source, dataPath), e);
+    }
+  }
+
   /** 等待启动完毕 */
   private void waitUtilStarted() {
     try {
@@ -120,19 +182,19 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
   }
 
   private void openDB(PersistStorageProperties properties) {
-    // 此处按照数据量优化
-    try (ColumnFamilyOptions cfOpts =
-        this.cfOpts = buildColumnFamilyOptions(properties.getDataScale())) {
+    // 此处按照列族调优策略优化
+    try (ColumnFamilyTuner tuner = this.columnFamilyTuner = new ColumnFamilyTuner(properties)) {
       // list of column family descriptors, first entry must always be default column family
       final List<ColumnFamilyDescriptor> cfDescriptors =
-          buildColumnFamilyDescriptor(cfOpts, properties.getColumnFamilyNames());
+          buildColumnFamilyDescriptor(tuner, properties.getColumnFamilyNames());
       // a list which will hold the handles for the column families once the db is opened
       final LinkedList<ColumnFamilyHandle> columnFamilyHandleList = new LinkedList<>();
       try (DBOptions options =
-              new DBOptions()
-                  .setInfoLogLevel(properties.getInfoLogLevel())
-                  .setCreateIfMissing(true)
-                  .setCreateMissingColumnFamilies(true);
+              tuner.configure(
+                  new DBOptions()
+                      .setInfoLogLevel(properties.getInfoLogLevel())
+                      .setCreateIfMissing(true)
+                      .setCreateMissingColumnFamilies(true));
           RocksDB rocksDB =
               this.rocksDB =
                   RocksDB.open(
@@ -158,7 +220,7 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
           waitUtilShutdown();
         } finally {
           this.rocksDB = null;
-          this.cfOpts = null;
+          this.columnFamilyTuner = null;
 
           // NOTE frees the column family handles before freeing the db
           columnFamilyHandlesMap.forEach(
@@ -222,8 +284,10 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
   }
 
   private List<ColumnFamilyDescriptor> buildColumnFamilyDescriptor(
-      ColumnFamilyOptions cfOpts, @Nullable Collection<String> columnFamilyNames) {
-    ColumnFamilyDescriptor defaultCfd = new ColumnFamilyDescriptor(DEFAULT_COLUMN_FAMILY, cfOpts);
+      ColumnFamilyTuner tuner, @Nullable Collection<String> columnFamilyNames) {
+    ColumnFamilyDescriptor defaultCfd =
+        new ColumnFamilyDescriptor(
+            DEFAULT_COLUMN_FAMILY, tuner.columnFamilyOptions(DEFAULT_COLUMN_FAMILY_NAME));
     if (columnFamilyNames == null || columnFamilyNames.isEmpty()) {
       ArrayList<ColumnFamilyDescriptor> list = new ArrayList<>(1);
       list.add(defaultCfd);
@@ -235,7 +299,9 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
               .distinct()
               .map(
                   columnFamilyName ->
-                      new ColumnFamilyDescriptor(columnFamilyName.getBytes(UTF_8), cfOpts))
+                      new ColumnFamilyDescriptor(
+                          columnFamilyName.getBytes(UTF_8),
+                          tuner.columnFamilyOptions(columnFamilyName)))
               .collect(Collectors.toCollection(LinkedList::new));
       if (!contains) {
         list.addFirst(defaultCfd);
@@ -244,20 +310,6 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
     }
   }
 
-  private ColumnFamilyOptions buildColumnFamilyOptions(DataScale scale) {
-    final ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions();
-    switch (scale) {
-      case SMALL -> {
-        return columnFamilyOptions.optimizeForSmallDb();
-      }
-      case MEDIUM, BIG, HUGE -> {
-        return columnFamilyOptions.optimizeUniversalStyleCompaction();
-      }
-    }
-    log.error("Unknown dataScale: " + scale);
-    return columnFamilyOptions;
-  }
-
   private boolean isEmpty(String s) {
     return s == null || s.isEmpty();
   }
@@ -315,7 +367,9 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
       columnFamilyHandlesMap.putIfAbsent(
           columnFamilyName,
           rocksDB.createColumnFamily(
-              new ColumnFamilyDescriptor(columnFamilyName.getBytes(UTF_8), cfOpts)));
+              new ColumnFamilyDescriptor(
+                  columnFamilyName.getBytes(UTF_8),
+                  columnFamilyTuner.columnFamilyOptions(columnFamilyName))));
     } catch (RocksDBException e) {
       throw new DataAccessException(e);
     }
@@ -562,6 +616,19 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
     }
   }
 
+  @Override
+  public void compactRange(
+      String columnFamilyName, @Nullable byte[] startKey, @Nullable byte[] endKey) {
+    validateColumnFamily(columnFamilyName);
+    checkOpenStatus();
+    try {
+      ColumnFamilyHandle columnFamilyHandle = columnFamilyHandlesMap.get(columnFamilyName);
+      rocksDB.compactRange(columnFamilyHandle, startKey, endKey);
+    } catch (RocksDBException e) {
+      throw new DataAccessException(e);
+    }
+  }
+
   /**
    * 获取当前rocksdb中所有存在的列族名称列表
    *
@@ -590,6 +657,70 @@ public class RocksDbPersistStorage implements BasicPersistStorage, ObjectAccesso
     }
   }
 
+  @Override
+  public void checkpoint(String checkpointPath) {
+    validate(isEmpty(checkpointPath), "checkpointPath must not be null or empty.");
+    checkOpenStatus();
+    try (Checkpoint checkpoint = Checkpoint.create(rocksDB)) {
+      checkpoint.createCheckpoint(checkpointPath);
+    } catch (RocksDBException e) {
+      throw new DataAccessException(e);
+    }
+  }
+
+  @Override
+  public synchronized StorageBackup backup() {
+    checkOpenStatus();
+    try {
+      Files.createDirectories(Paths.get(properties.getBackupPath()));
+    } catch (IOException e) {
+      throw new DataAccessException(e);
+    }
+    try (BackupEngineOptions backupEngineOptions =
+            new BackupEngineOptions(properties.getBackupPath());
+        BackupEngine backupEngine = BackupEngine.open(Env.getDefault(), backupEngineOptions)) {
+      backupEngine.createNewBackup(rocksDB, properties.isFlushBeforeBackup());
+      backupEngine.purgeOldBackups(properties.getBackupRetention());
+      List<StorageBackup> backups = toStorageBackups(backupEngine.getBackupInfo());
+      return backups.getLast();
+    } catch (RocksDBException e) {
+      throw new DataAccessException(e);
+    }
+  }
+
+  @Override
+  public synchronized List<StorageBackup> listBackups() {
+    if (!Files.isDirectory(Paths.get(properties.getBackupPath()))) {
+      return List.of();
+    }
+    try (BackupEngineOptions backupEngineOptions =
+            new BackupEngineOptions(properties.getBackupPath());
+        BackupEngine backupEngine = BackupEngine.open(Env.getDefault(), backupEngineOptions)) {
+      return toStorageBackups(backupEngine.getBackupInfo());
+    } catch (RocksDBException e) {
+      throw new DataAccessException(e);
+    }
+  }
+
+  private static List<StorageBackup> toStorageBackups(List<BackupInfo> backupInfos) {
+    return backupInfos.stream()
+        .map(
+            info ->
+                new StorageBackup(
+                    info.backupId(), info.timestamp(), info.size(), info.numberFiles()))
+        .sorted(Comparator.comparingInt(StorageBackup::backupId))
+        .toList();
+  }
+
+  @Override
+  public PersistStorageIterator iterator(String columnFamilyName, ScanRange range) {
+    validateColumnFamily(columnFamilyName);
+    validate(range == null, "range must not be null.");
+    checkOpenStatus();
+    return new RocksDbPersistStorageIterator(
+        rocksDB, columnFamilyHandlesMap.get(columnFamilyName), range);
+  }
+
   @Override
   public <K extends TypeConverter<K>> void remove(@NonNull K key) throws Exception {
     remove(key.serialize());
@@ -0,0 +1,160 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import com.silong.foundation.common.lambda.Tuple2;
+import com.silong.foundation.dj.longhaul.exception.DataAccessException;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+import org.rocksdb.*;
+
+/**
+ * 基于RocksIterator的有界迭代器，范围通过iterate_lower_bound、iterate_upper_bound下推到rocksdb，迭代到边界后自动释放资源
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 03:00
+ */
+class RocksDbPersistStorageIterator implements PersistStorageIterator {
+
+  /** 读取配置，持有边界slice，生命周期须覆盖迭代器 */
+  private final ReadOptions readOptions;
+
+  /** 下界 */
+  @Nullable private final Slice lowerBound;
+
+  /** 上界 */
+  @Nullable private final Slice upperBound;
+
+  /** rocksdb迭代器 */
+  private final RocksIterator iterator;
+
+  /** 是否倒序 */
+  private final boolean reverse;
+
+  /** 关闭标识 */
+  private boolean closed;
+
+  /**
+   * 构造方法
+   *
+   * @param rocksDB 数据库
+   * @param columnFamilyHandle 列族
+   * @param range 扫描范围
+   */
+  RocksDbPersistStorageIterator(
+      @NonNull RocksDB rocksDB,
+      @NonNull ColumnFamilyHandle columnFamilyHandle,
+      @NonNull ScanRange range) {
+    byte[] startKey = range.startKey();
+    byte[] endKey = range.endKey();
+    this.reverse = range.isReverse();
+    this.readOptions = new ReadOptions();
+    this.lowerBound = startKey == null ? null : new Slice(startKey);
+    this.upperBound = endKey == null ? null : new Slice(endKey);
+    if (lowerBound != null) {
+      readOptions.setIterateLowerBound(lowerBound);
+    }
+    if (upperBound != null) {
+      readOptions.setIterateUpperBound(upperBound);
+    }
+    try {
+      this.iterator = rocksDB.newIterator(columnFamilyHandle, readOptions);
+    } catch (RuntimeException e) {
+      closeOptions();
+      throw e;
+    }
+    // 设置边界后seekToFirst、seekToLast分别定位到范围内的第一个、最后一个key
+    if (reverse) {
+      iterator.seekToLast();
+    } else {
+      iterator.seekToFirst();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (closed) {
+      return false;
+    }
+    if (iterator.isValid()) {
+      return true;
+    }
+    try {
+      iterator.status();
+    } catch (RocksDBException e) {
+      close();
+      throw new DataAccessException(e);
+    }
+    close();
+    return false;
+  }
+
+  @Override
+  public Tuple2<byte[], byte[]> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Tuple2<byte[], byte[]> kvPair = new Tuple2<>(iterator.key(), iterator.value());
+    advance();
+    return kvPair;
+  }
+
+  @Override
+  public byte[] nextKey() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    byte[] key = iterator.key();
+    advance();
+    return key;
+  }
+
+  private void advance() {
+    if (reverse) {
+      iterator.prev();
+    } else {
+      iterator.next();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    iterator.close();
+    closeOptions();
+  }
+
+  private void closeOptions() {
+    readOptions.close();
+    if (lowerBound != null) {
+      lowerBound.close();
+    }
+    if (upperBound != null) {
+      upperBound.close();
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import lombok.ToString;
+
+/**
+ * 扫描范围，key按无符号字节序排列，起始key包含在范围内，结束key不包含在范围内
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 03:00
+ */
+@ToString
+public final class ScanRange {
+
+  /** 全量正序扫描 */
+  private static final ScanRange ALL = new ScanRange(null, null, false);
+
+  /** 起始key(包含)，null表示无下界 */
+  @Nullable private final byte[] startKey;
+
+  /** 结束key(不包含)，null表示无上界 */
+  @Nullable private final byte[] endKey;
+
+  /** 是否倒序扫描 */
+  private final boolean reverse;
+
+  private ScanRange(@Nullable byte[] startKey, @Nullable byte[] endKey, boolean reverse) {
+    this.startKey = startKey;
+    this.endKey = endKey;
+    this.reverse = reverse;
+  }
+
+  /**
+   * 全量扫描
+   *
+   * @return 扫描范围
+   */
+  public static ScanRange all() {
+    return ALL;
+  }
+
+  /**
+   * 扫描大于等于startKey的key
+   *
+   * @param startKey 起始key(包含)
+   * @return 扫描范围
+   */
+  public static ScanRange from(byte[] startKey) {
+    validateKey(startKey, "startKey must not be null or empty.");
+    return new ScanRange(startKey.clone(), null, false);
+  }
+
+  /**
+   * 扫描小于endKey的key
+   *
+   * @param endKey 结束key(不包含)
+   * @return 扫描范围
+   */
+  public static ScanRange until(byte[] endKey) {
+    validateKey(endKey, "endKey must not be null or empty.");
+    return new ScanRange(null, endKey.clone(), false);
+  }
+
+  /**
+   * 扫描[startKey, endKey)范围内的key
+   *
+   * @param startKey 起始key(包含)
+   * @param endKey 结束key(不包含)
+   * @return 扫描范围
+   */
+  public static ScanRange between(byte[] startKey, byte[] endKey) {
+    validateKey(startKey, "startKey must not be null or empty.");
+    validateKey(endKey, "endKey must not be null or empty.");
+    if (Arrays.compareUnsigned(startKey, endKey) > 0) {
+      throw new IllegalArgumentException("startKey must be less than or equal to endKey.");
+    }
+    return new ScanRange(startKey.clone(), endKey.clone(), false);
+  }
+
+  /**
+   * 扫描以prefix为前缀的key
+   *
+   * @param prefix 前缀
+   * @return 扫描范围
+   */
+  public static ScanRange prefix(byte[] prefix) {
+    validateKey(prefix, "prefix must not be null or empty.");
+    return new ScanRange(prefix.clone(), nextPrefix(prefix), false);
+  }
+
+  /**
+   * 相同范围的倒序扫描
+   *
+   * @return 扫描范围
+   */
+  public ScanRange reversed() {
+    return new ScanRange(startKey, endKey, !reverse);
+  }
+
+  /**
+   * 起始key(包含)
+   *
+   * @return 起始key，null表示无下界
+   */
+  @Nullable
+  public byte[] startKey() {
+    return startKey == null ? null : startKey.clone();
+  }
+
+  /**
+   * 结束key(不包含)
+   *
+   * @return 结束key，null表示无上界
+   */
+  @Nullable
+  public byte[] endKey() {
+    return endKey == null ? null : endKey.clone();
+  }
+
+  /**
+   * 是否倒序扫描
+   *
+   * @return true or false
+   */
+  public boolean isReverse() {
+    return reverse;
+  }
+
+  /**
+   * 计算大于所有以prefix为前缀的key的最小key，即：去掉末尾的0xFF后将最后一个字节加1
+   *
+   * @param prefix 前缀
+   * @return 前缀上界，前缀全部为0xFF时返回null
+   */
+  @Nullable
+  static byte[] nextPrefix(byte[] prefix) {
+    for (int i = prefix.length - 1; i >= 0; i--) {
+      if (prefix[i] != (byte) 0xFF) {
+        byte[] next = Arrays.copyOf(prefix, i + 1);
+        next[i]++;
+        return next;
+      }
+    }
+    return null;
+  }
+
+  private static void validateKey(byte[] key, String message) {
+    if (key == null || key.length == 0) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+/**
+ * 持久化存储备份信息
+ *
+ * @param backupId 备份id，随备份创建顺序递增
+ * @param timestamp 备份创建时间，单位：秒
+ * @param size 备份大小，单位：字节
+ * @param numberFiles 备份文件数量
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 05:00
+ */
+public record StorageBackup(int backupId, long timestamp, long size, int numberFiles) {}
@@ -21,13 +21,17 @@
 package com.silong.foundation.dj.longhaul.config;
 
 import static com.silong.foundation.dj.longhaul.config.PersistStorageProperties.DataScale.SMALL;
+import static com.silong.foundation.dj.longhaul.config.TuningProfile.LEGACY;
 import static org.rocksdb.InfoLogLevel.INFO_LEVEL;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.nio.file.Paths;
 import java.util.Collection;
+import java.util.Map;
 import lombok.Data;
 import org.rocksdb.InfoLogLevel;
 
@@ -56,6 +60,18 @@ public class PersistStorageProperties {
     SMALL
   }
 
+  /** 打开数据库前的数据恢复来源，仅在数据目录中不存在数据库时恢复 */
+  public enum RestoreSource {
+    // 不恢复
+    NONE,
+
+    // 从restoreCheckpointPath指定的检查点恢复
+    CHECKPOINT,
+
+    // 从backupPath中最新的备份恢复
+    LATEST_BACKUP
+  }
+
   /** 持久化数据保存路径 */
   @NotEmpty
   private String persistDataPath =
@@ -76,4 +92,40 @@ public class PersistStorageProperties {
 
   /** 非阻塞启动时守护线程名称，默认: RocksDB-Guard-Shutdown */
   @NotEmpty private String daemonThreadName = "RocksDB-Guard-Shutdown";
+
+  /** 未单独配置调优策略的列族使用的调优策略，默认：LEGACY */
+  @NotNull private TuningProfile defaultTuningProfile = LEGACY;
+
+  /** 列族名与其调优策略 */
+  @Valid private Map<@NotEmpty String, @NotNull TuningProfile> tuningProfiles;
+
+  /** 所有列族共享的块缓存大小，LEGACY列族不使用，默认：64MB */
+  @Positive private long blockCacheSize = 64L * 1024 * 1024;
+
+  /** 刷盘及压缩的写入速率上限(字节/秒)，0表示不限速，默认：0 */
+  @PositiveOrZero private long compactionRateLimit;
+
+  /** WAL文件总大小上限，超出后强制刷盘最早的memtable以回收WAL，0表示由rocksdb自动计算，默认：0 */
+  @PositiveOrZero private long maxTotalWalSize;
+
+  /** 增量备份保存路径 */
+  @NotEmpty
+  private String backupPath =
+      Paths.get(System.getProperty("user.dir"))
+          .resolve("target")
+          .resolve("rocksdb-backup")
+          .toFile()
+          .getAbsolutePath();
+
+  /** 保留的备份数量，创建备份后清理更早的备份，默认：7 */
+  @Positive private int backupRetention = 7;
+
+  /** 备份前是否刷盘memtable，为false时备份包含WAL，默认：false */
+  private boolean flushBeforeBackup;
+
+  /** 打开数据库前的数据恢复来源，默认：NONE */
+  @NotNull private RestoreSource restoreSource = RestoreSource.NONE;
+
+  /** 恢复来源为CHECKPOINT时使用的检查点目录 */
+  private String restoreCheckpointPath;
 }
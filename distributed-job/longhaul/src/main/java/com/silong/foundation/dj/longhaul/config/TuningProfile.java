@@ -0,0 +1,43 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul.config;
+
+/**
+ * 列族调优配置，按列族的读写特征选择memtable、压缩、布隆过滤器及块缓存策略
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 04:00
+ */
+public enum TuningProfile {
+  /** 按{@link PersistStorageProperties.DataScale}优化，兼容原有行为 */
+  LEGACY,
+
+  /** 点查为主：整key布隆过滤器、memtable布隆过滤器、数据块哈希索引，索引及过滤器块常驻块缓存 */
+  POINT_LOOKUP,
+
+  /** 追加写为主(如日志)：大memtable、多memtable合并刷盘、universal压缩，降低写放大 */
+  WRITE_HEAVY_LOG,
+
+  /** 范围扫描为主：大数据块、level压缩及动态层级大小，减少扫描时的块读取及空间放大 */
+  SCAN_HEAVY
+}
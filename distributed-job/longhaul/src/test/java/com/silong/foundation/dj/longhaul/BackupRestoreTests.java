@@ -0,0 +1,194 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.common.lambda.Tuple2;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties.RestoreSource;
+import com.silong.foundation.dj.longhaul.exception.DataAccessException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 持久化存储检查点、备份与恢复单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 05:00
+ */
+public class BackupRestoreTests {
+
+  private static final List<String> COLUMN_FAMILIES = List.of("cf-1", "cf-2");
+
+  private static final int KEY_COUNT = 500;
+
+  @TempDir Path tempDir;
+
+  private PersistStorageProperties config(String dataDir) {
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(tempDir.resolve(dataDir).toFile().getAbsolutePath());
+    config.setBackupPath(tempDir.resolve("backup").toFile().getAbsolutePath());
+    config.setColumnFamilyNames(COLUMN_FAMILIES);
+    return config;
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private static void fill(RocksDbPersistStorage storage, String tag, int from, int to) {
+    for (int i = from; i < to; i++) {
+      storage.put(bytes("key-" + i), bytes(tag + "-default-" + i));
+      for (String cf : COLUMN_FAMILIES) {
+        storage.put(cf, bytes("key-" + i), bytes(tag + "-" + cf + "-" + i));
+      }
+    }
+  }
+
+  private static List<String> dump(RocksDbPersistStorage storage, String cf) {
+    try (Stream<Tuple2<byte[], byte[]>> stream = storage.stream(cf, ScanRange.all())) {
+      return stream
+          .map(kv -> new String(kv.t1(), UTF_8) + "=" + new String(kv.t2(), UTF_8))
+          .toList();
+    }
+  }
+
+  private static void assertSameData(RocksDbPersistStorage expected, RocksDbPersistStorage actual) {
+    for (String cf :
+        Stream.concat(
+                Stream.of(RocksDbPersistStorage.DEFAULT_COLUMN_FAMILY_NAME),
+                COLUMN_FAMILIES.stream())
+            .toList()) {
+      List<String> data = dump(expected, cf);
+      Assertions.assertFalse(data.isEmpty());
+      Assertions.assertEquals(data, dump(actual, cf));
+    }
+  }
+
+  @Test
+  @DisplayName("restore-from-checkpoint")
+  void test1() throws Exception {
+    RocksDbPersistStorage live = new RocksDbPersistStorage(config("live"));
+    fill(live, "v1", 0, KEY_COUNT);
+    String checkpointPath = tempDir.resolve("checkpoint").toFile().getAbsolutePath();
+    live.checkpoint(checkpointPath);
+    Assertions.assertTrue(Files.exists(Path.of(checkpointPath, "CURRENT")));
+
+    PersistStorageProperties config = config("restored");
+    config.setRestoreSource(RestoreSource.CHECKPOINT);
+    config.setRestoreCheckpointPath(checkpointPath);
+    RocksDbPersistStorage restored = new RocksDbPersistStorage(config);
+    try {
+      assertSameData(live, restored);
+
+      // 检查点之后的写入不会出现在恢复的数据库中，恢复的数据库写入也不影响检查点
+      live.put("cf-1", bytes("after-checkpoint"), bytes("x"));
+      restored.put("cf-2", bytes("after-restore"), bytes("y"));
+      Assertions.assertNull(restored.get("cf-1", bytes("after-checkpoint")));
+      Assertions.assertNull(live.get("cf-2", bytes("after-restore")));
+    } finally {
+      restored.close();
+      live.close();
+      Thread.sleep(1000);
+    }
+  }
+
+  @Test
+  @DisplayName("incremental-backup-retention")
+  void test2() throws Exception {
+    PersistStorageProperties liveConfig = config("live");
+    liveConfig.setBackupRetention(2);
+    liveConfig.setFlushBeforeBackup(true);
+    RocksDbPersistStorage live = new RocksDbPersistStorage(liveConfig);
+    StorageBackup last = null;
+    try {
+      for (int round = 0; round < 3; round++) {
+        fill(live, "round" + round, round * KEY_COUNT, (round + 1) * KEY_COUNT);
+        StorageBackup backup = live.backup();
+        if (last != null) {
+          Assertions.assertTrue(backup.backupId() > last.backupId());
+        }
+        Assertions.assertTrue(backup.numberFiles() > 0);
+        last = backup;
+      }
+      List<StorageBackup> backups = live.listBackups();
+      Assertions.assertEquals(2, backups.size());
+      Assertions.assertEquals(last, backups.getLast());
+      Assertions.assertTrue(backups.getFirst().backupId() < backups.getLast().backupId());
+
+      PersistStorageProperties config = config("restored");
+      config.setRestoreSource(RestoreSource.LATEST_BACKUP);
+      RocksDbPersistStorage restored = new RocksDbPersistStorage(config);
+      try {
+        assertSameData(live, restored);
+      } finally {
+        restored.close();
+      }
+    } finally {
+      live.close();
+      Thread.sleep(1000);
+    }
+  }
+
+  @Test
+  @DisplayName("skip-restore-when-db-exists")
+  void test3() throws Exception {
+    RocksDbPersistStorage live = new RocksDbPersistStorage(config("live"));
+    fill(live, "v1", 0, 10);
+    live.backup();
+    live.put(bytes("only-live"), bytes("z"));
+    live.close();
+    Thread.sleep(1000);
+
+    PersistStorageProperties config = config("live");
+    config.setRestoreSource(RestoreSource.LATEST_BACKUP);
+    RocksDbPersistStorage reopened = new RocksDbPersistStorage(config);
+    try {
+      Assertions.assertArrayEquals(bytes("z"), reopened.get(bytes("only-live")));
+    } finally {
+      reopened.close();
+      Thread.sleep(1000);
+    }
+  }
+
+  @Test
+  @DisplayName("checkpoint-into-existing-directory")
+  void test4() throws Exception {
+    RocksDbPersistStorage live = new RocksDbPersistStorage(config("live"));
+    try {
+      fill(live, "v1", 0, 10);
+      Path existing = Files.createDirectories(tempDir.resolve("existing"));
+      Assertions.assertThrows(
+          DataAccessException.class, () -> live.checkpoint(existing.toFile().getAbsolutePath()));
+      Assertions.assertThrows(IllegalArgumentException.class, () -> live.checkpoint(""));
+    } finally {
+      live.close();
+      Thread.sleep(1000);
+    }
+  }
+}
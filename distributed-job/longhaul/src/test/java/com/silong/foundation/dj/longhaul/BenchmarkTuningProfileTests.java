@@ -0,0 +1,143 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.longhaul.config.TuningProfile;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM在合成负载(随机点查、顺序追加写、短范围扫描)下对比各列族调优策略
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 04:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class BenchmarkTuningProfileTests {
+
+  private static final String CF = "benchmark";
+
+  private static final int KEY_COUNT = 500_000;
+
+  private static final int VALUE_SIZE = 256;
+
+  private static final int SCAN_LENGTH = 100;
+
+  @Param({"LEGACY", "POINT_LOOKUP", "WRITE_HEAVY_LOG", "SCAN_HEAVY"})
+  private TuningProfile profile;
+
+  private Path dataDir;
+
+  private RocksDbPersistStorage storage;
+
+  private byte[] value;
+
+  /** 追加写的key序号，从预置数据之后开始递增 */
+  private final AtomicLong sequence = new AtomicLong(KEY_COUNT);
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(BenchmarkTuningProfileTests.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  private static byte[] key(long i) {
+    return ByteBuffer.allocate(Long.BYTES).putLong(i).array();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    dataDir = Files.createTempDirectory("longhaul-tuning-benchmark");
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(dataDir.toFile().getAbsolutePath());
+    config.setColumnFamilyNames(List.of(CF));
+    config.setTuningProfiles(Map.of(CF, profile));
+    config.setBlockCacheSize(64L * 1024 * 1024);
+    storage = new RocksDbPersistStorage(config);
+    value = new byte[VALUE_SIZE];
+    ThreadLocalRandom.current().nextBytes(value);
+    for (long i = 0; i < KEY_COUNT; i++) {
+      storage.put(CF, key(i), value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException, InterruptedException {
+    storage.close();
+    // 等待守护线程关闭数据库后删除数据目录
+    Thread.sleep(1000);
+    try (Stream<Path> paths = Files.walk(dataDir)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public byte[] pointLookup() {
+    return storage.get(CF, key(ThreadLocalRandom.current().nextLong(KEY_COUNT)));
+  }
+
+  @Benchmark
+  public byte[] pointLookupMiss() {
+    return storage.get(CF, key(-1 - ThreadLocalRandom.current().nextLong(KEY_COUNT)));
+  }
+
+  @Benchmark
+  public void appendWrite() {
+    storage.put(CF, key(sequence.getAndIncrement()), value);
+  }
+
+  @Benchmark
+  public int rangeScan() {
+    long start = ThreadLocalRandom.current().nextLong(KEY_COUNT - SCAN_LENGTH);
+    int[] count = new int[1];
+    storage.scan(
+        CF,
+        ScanRange.between(key(start), key(start + SCAN_LENGTH)),
+        (k, v) -> {
+          count[0] += v.length;
+          return true;
+        });
+    return count[0];
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import com.silong.foundation.dj.longhaul.HistoryStore.Entry;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 历史记录存储单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 18:10
+ */
+public class HistoryStoreTests {
+
+  private static final String HISTORY = "history";
+
+  @TempDir static Path dataDir;
+
+  private static RocksDbPersistStorage storage;
+
+  private HistoryStore store;
+
+  @BeforeAll
+  static void init() {
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(dataDir.toFile().getAbsolutePath());
+    config.setColumnFamilyNames(List.of(HISTORY));
+    storage = new RocksDbPersistStorage(config);
+  }
+
+  @AfterAll
+  static void cleanUp() throws InterruptedException {
+    storage.close();
+    // 等待存储异步关闭后再清理数据目录
+    Thread.sleep(1000);
+  }
+
+  @BeforeEach
+  void prepare() {
+    storage.deleteColumnFamily(HISTORY);
+    storage.createColumnFamily(HISTORY);
+    store = new HistoryStore(storage, HISTORY);
+    // 时间戳10、20 ... 1000，每个时间戳两条记录
+    for (long ts = 10; ts <= 1000; ts += 10) {
+      store.append(ts, disc(1), value(ts, 1));
+      store.append(ts, disc(2), value(ts, 2));
+    }
+  }
+
+  private static byte[] disc(int i) {
+    return new byte[] {(byte) i};
+  }
+
+  private static byte[] value(long ts, int i) {
+    return ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(ts).putInt(i).array();
+  }
+
+  private static long timestamp(Entry entry) {
+    return ByteBuffer.wrap(entry.value()).getLong();
+  }
+
+  private List<Long> timestamps() {
+    List<Long> list = new ArrayList<>();
+    store.forEachNewestFirst(entry -> list.add(entry.timestamp()));
+    return list;
+  }
+
+  @Test
+  @DisplayName("latest-lower-contains")
+  void test1() {
+    Entry latest = store.latest();
+    Assertions.assertNotNull(latest);
+    Assertions.assertEquals(1000, latest.timestamp());
+    Assertions.assertArrayEquals(disc(2), latest.discriminator());
+    Assertions.assertArrayEquals(value(1000, 2), latest.value());
+
+    Entry lower = store.lower(1000, disc(2));
+    Assertions.assertNotNull(lower);
+    Assertions.assertEquals(1000, lower.timestamp());
+    Assertions.assertArrayEquals(disc(1), lower.discriminator());
+    lower = store.lower(1000, disc(1));
+    Assertions.assertNotNull(lower);
+    Assertions.assertEquals(990, timestamp(lower));
+    Assertions.assertArrayEquals(disc(2), lower.discriminator());
+    Assertions.assertNull(store.lower(10, disc(1)));
+
+    Assertions.assertTrue(store.contains(500, disc(1)));
+    Assertions.assertFalse(store.contains(505, disc(1)));
+    Assertions.assertFalse(store.contains(500, disc(3)));
+  }
+
+  @Test
+  @DisplayName("floor-ceiling")
+  void test2() {
+    Assertions.assertEquals(500, store.floor(505).timestamp());
+    Assertions.assertArrayEquals(disc(2), store.floor(505).discriminator());
+    Assertions.assertEquals(500, store.floor(500).timestamp());
+    Assertions.assertEquals(1000, store.floor(Long.MAX_VALUE).timestamp());
+    Assertions.assertNull(store.floor(9));
+    Assertions.assertNull(store.floor(-1));
+
+    Assertions.assertEquals(510, store.ceiling(505).timestamp());
+    Assertions.assertArrayEquals(disc(1), store.ceiling(505).discriminator());
+    Assertions.assertEquals(500, store.ceiling(500).timestamp());
+    Assertions.assertEquals(10, store.ceiling(0).timestamp());
+    Assertions.assertEquals(10, store.ceiling(Long.MIN_VALUE).timestamp());
+    Assertions.assertNull(store.ceiling(1001));
+  }
+
+  @Test
+  @DisplayName("retain-by-count")
+  void test3() {
+    Assertions.assertTrue(store.retain(10, 0));
+    List<Long> list = timestamps();
+    Assertions.assertEquals(10, list.size());
+    Assertions.assertEquals(1000, list.getFirst());
+    Assertions.assertEquals(960, list.getLast());
+    Assertions.assertNull(store.floor(950));
+    Assertions.assertFalse(store.retain(10, 0));
+    Assertions.assertFalse(store.retain(100, 0));
+  }
+
+  @Test
+  @DisplayName("retain-by-timestamp")
+  void test4() {
+    Assertions.assertTrue(store.retain(Integer.MAX_VALUE, 905));
+    List<Long> list = timestamps();
+    Assertions.assertEquals(20, list.size());
+    Assertions.assertEquals(910, list.getLast());
+
+    // 所有记录均过期时保留最新的一条
+    Assertions.assertTrue(store.retain(Integer.MAX_VALUE, Long.MAX_VALUE));
+    list = timestamps();
+    Assertions.assertEquals(List.of(1000L), list);
+    Assertions.assertArrayEquals(disc(2), store.latest().discriminator());
+  }
+
+  @Test
+  @DisplayName("retain-combined")
+  void test5() {
+    Assertions.assertTrue(store.retain(50, 905));
+    Assertions.assertEquals(20, timestamps().size());
+    Assertions.assertTrue(store.retain(5, 0));
+    Assertions.assertEquals(5, timestamps().size());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> store.retain(0, 0));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> store.append(-1, disc(1), disc(1)));
+  }
+
+  @Test
+  @DisplayName("empty")
+  void test6() {
+    storage.deleteColumnFamily(HISTORY);
+    storage.createColumnFamily(HISTORY);
+    Assertions.assertNull(store.latest());
+    Assertions.assertNull(store.floor(100));
+    Assertions.assertNull(store.ceiling(0));
+    Assertions.assertFalse(store.retain(1, Long.MAX_VALUE));
+    Assertions.assertTrue(timestamps().isEmpty());
+  }
+}
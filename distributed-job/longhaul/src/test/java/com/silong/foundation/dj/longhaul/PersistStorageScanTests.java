@@ -0,0 +1,213 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.common.lambda.Tuple2;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 持久化存储范围扫描单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 03:00
+ */
+public class PersistStorageScanTests {
+
+  private static final String SCAN = "scan";
+
+  private static final int KEY_COUNT = 100;
+
+  @TempDir static Path dataDir;
+
+  private static RocksDbPersistStorage storage;
+
+  @BeforeAll
+  static void init() {
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(dataDir.toFile().getAbsolutePath());
+    config.setColumnFamilyNames(List.of(SCAN));
+    storage = new RocksDbPersistStorage(config);
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    storage.close();
+  }
+
+  @BeforeEach
+  void prepare() {
+    storage.deleteColumnFamily(SCAN);
+    storage.createColumnFamily(SCAN);
+    // a-000 ~ a-099, b-000 ~ b-099
+    for (String prefix : List.of("a-", "b-")) {
+      for (int i = 0; i < KEY_COUNT; i++) {
+        storage.put(SCAN, key(prefix, i), key(prefix, i));
+      }
+    }
+    storage.put(SCAN, new byte[] {(byte) 0xFF, (byte) 0xFF}, bytes("ff"));
+    storage.put(SCAN, new byte[] {(byte) 0xFF, (byte) 0xFF, 0x01}, bytes("ff01"));
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private static byte[] key(String prefix, int i) {
+    return bytes(String.format("%s%03d", prefix, i));
+  }
+
+  private static List<String> keys(ScanRange range) {
+    try (Stream<Tuple2<byte[], byte[]>> stream = storage.stream(SCAN, range)) {
+      return stream.map(kv -> new String(kv.t1(), UTF_8)).toList();
+    }
+  }
+
+  private static List<String> expected(String prefix, int from, int to) {
+    return IntStream.range(from, to).mapToObj(i -> String.format("%s%03d", prefix, i)).toList();
+  }
+
+  @Test
+  @DisplayName("range-scan")
+  void test1() {
+    Assertions.assertEquals(
+        expected("a-", 10, 20), keys(ScanRange.between(key("a-", 10), key("a-", 20))));
+    Assertions.assertEquals(expected("a-", 0, 5), keys(ScanRange.until(key("a-", 5))));
+    List<String> from = keys(ScanRange.from(key("b-", 95)));
+    Assertions.assertEquals(expected("b-", 95, KEY_COUNT), from.subList(0, 5));
+    Assertions.assertEquals(7, from.size());
+    Assertions.assertEquals(2 * KEY_COUNT + 2, keys(ScanRange.all()).size());
+    Assertions.assertTrue(keys(ScanRange.between(key("a-", 10), key("a-", 10))).isEmpty());
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> ScanRange.between(key("a-", 2), key("a-", 1)));
+  }
+
+  @Test
+  @DisplayName("prefix-scan")
+  void test2() {
+    Assertions.assertEquals(expected("b-", 0, KEY_COUNT), keys(ScanRange.prefix(bytes("b-"))));
+    Assertions.assertEquals(expected("a-", 50, 60), keys(ScanRange.prefix(bytes("a-05"))));
+    Assertions.assertTrue(keys(ScanRange.prefix(bytes("c-"))).isEmpty());
+
+    // 前缀全部为0xFF时没有上界
+    List<byte[]> values = new ArrayList<>();
+    storage.scan(
+        SCAN,
+        ScanRange.prefix(new byte[] {(byte) 0xFF}),
+        (k, v) -> {
+          values.add(v);
+          return true;
+        });
+    Assertions.assertEquals(List.of("ff", "ff01"), values.stream().map(String::new).toList());
+    Assertions.assertArrayEquals(
+        new byte[] {0x01, 0x03}, ScanRange.nextPrefix(new byte[] {0x01, 0x02, (byte) 0xFF}));
+    Assertions.assertNull(ScanRange.nextPrefix(new byte[] {(byte) 0xFF}));
+  }
+
+  @Test
+  @DisplayName("reverse-scan")
+  void test3() {
+    Assertions.assertEquals(
+        expected("a-", 10, 20).reversed(),
+        keys(ScanRange.between(key("a-", 10), key("a-", 20)).reversed()));
+    Assertions.assertEquals(
+        expected("b-", 0, KEY_COUNT).reversed(), keys(ScanRange.prefix(bytes("b-")).reversed()));
+    Assertions.assertEquals(
+        expected("a-", 0, 3).reversed(), keys(ScanRange.until(key("a-", 3)).reversed()));
+  }
+
+  @Test
+  @DisplayName("early-termination")
+  void test4() {
+    List<String> visited = new ArrayList<>();
+    storage.scan(
+        SCAN,
+        ScanRange.prefix(bytes("a-")).reversed(),
+        (k, v) -> {
+          visited.add(new String(k, UTF_8));
+          return visited.size() < 3;
+        });
+    Assertions.assertEquals(List.of("a-099", "a-098", "a-097"), visited);
+
+    try (Stream<Tuple2<byte[], byte[]>> stream = storage.stream(SCAN, ScanRange.all())) {
+      Assertions.assertEquals(
+          "a-004", new String(stream.skip(4).findFirst().orElseThrow().t1(), UTF_8));
+    }
+  }
+
+  @Test
+  @DisplayName("closeable-iterator")
+  void test5() {
+    PersistStorageIterator iterator =
+        storage.iterator(SCAN, ScanRange.between(key("a-", 0), key("a-", 2)));
+    Assertions.assertTrue(iterator.hasNext());
+    Assertions.assertEquals("a-000", new String(iterator.next().t1(), UTF_8));
+    Assertions.assertEquals("a-001", new String(iterator.next().t2(), UTF_8));
+    Assertions.assertFalse(iterator.hasNext());
+    Assertions.assertThrows(NoSuchElementException.class, iterator::next);
+    iterator.close();
+
+    // 迭代器读取创建时的数据视图
+    try (PersistStorageIterator it = storage.iterator(SCAN, ScanRange.prefix(bytes("a-")))) {
+      storage.deleteRange(SCAN, key("a-", 0), key("a-", KEY_COUNT));
+      int count = 0;
+      while (it.hasNext()) {
+        it.next();
+        count++;
+      }
+      Assertions.assertEquals(KEY_COUNT, count);
+      it.close();
+      Assertions.assertFalse(it.hasNext());
+    }
+    Assertions.assertTrue(keys(ScanRange.prefix(bytes("a-"))).isEmpty());
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> storage.iterator("not-exist", ScanRange.all()));
+  }
+
+  @Test
+  @DisplayName("iterate-keys-only")
+  void test6() {
+    try (PersistStorageIterator iterator =
+        storage.iterator(SCAN, ScanRange.prefix(bytes("b-")).reversed())) {
+      Assertions.assertEquals("b-099", new String(iterator.nextKey(), UTF_8));
+      Assertions.assertEquals("b-098", new String(iterator.next().t1(), UTF_8));
+      Assertions.assertEquals("b-097", new String(iterator.nextKey(), UTF_8));
+      int count = 3;
+      while (iterator.hasNext()) {
+        iterator.nextKey();
+        count++;
+      }
+      Assertions.assertEquals(KEY_COUNT, count);
+      Assertions.assertThrows(NoSuchElementException.class, iterator::nextKey);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.longhaul;
+
+import static com.silong.foundation.dj.longhaul.RocksDbPersistStorage.DEFAULT_COLUMN_FAMILY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.longhaul.config.TuningProfile;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 列族调优策略单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 04:00
+ */
+public class TuningProfileTests {
+
+  private static final String POINT = "point";
+
+  private static final String LOG = "log";
+
+  private static final String SCAN = "scan";
+
+  private static final String OTHER = "other";
+
+  @TempDir Path dataDir;
+
+  private PersistStorageProperties config() {
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(dataDir.toFile().getAbsolutePath());
+    config.setColumnFamilyNames(List.of(POINT, LOG, SCAN, OTHER));
+    config.setDefaultTuningProfile(TuningProfile.SCAN_HEAVY);
+    config.setTuningProfiles(
+        Map.of(
+            POINT, TuningProfile.POINT_LOOKUP,
+            LOG, TuningProfile.WRITE_HEAVY_LOG,
+            SCAN, TuningProfile.SCAN_HEAVY));
+    config.setBlockCacheSize(8L * 1024 * 1024);
+    config.setCompactionRateLimit(64L * 1024 * 1024);
+    config.setMaxTotalWalSize(32L * 1024 * 1024);
+    return config;
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  @Test
+  @DisplayName("profile-mapping")
+  void test1() {
+    try (ColumnFamilyTuner tuner = new ColumnFamilyTuner(config())) {
+      Assertions.assertEquals(TuningProfile.POINT_LOOKUP, tuner.profile(POINT));
+      Assertions.assertEquals(TuningProfile.WRITE_HEAVY_LOG, tuner.profile(LOG));
+      Assertions.assertEquals(TuningProfile.SCAN_HEAVY, tuner.profile(OTHER));
+      Assertions.assertEquals(TuningProfile.SCAN_HEAVY, tuner.profile(DEFAULT_COLUMN_FAMILY_NAME));
+      // 相同策略的列族共享同一份配置
+      Assertions.assertSame(tuner.columnFamilyOptions(SCAN), tuner.columnFamilyOptions(OTHER));
+      Assertions.assertNotSame(tuner.columnFamilyOptions(POINT), tuner.columnFamilyOptions(LOG));
+    }
+
+    PersistStorageProperties legacy = new PersistStorageProperties();
+    try (ColumnFamilyTuner tuner = new ColumnFamilyTuner(legacy)) {
+      Assertions.assertEquals(TuningProfile.LEGACY, tuner.profile(POINT));
+    }
+  }
+
+  @Test
+  @DisplayName("profiles-read-write")
+  void test2() throws InterruptedException {
+    RocksDbPersistStorage storage = new RocksDbPersistStorage(config());
+    for (String cf : List.of(POINT, LOG, SCAN, OTHER)) {
+      for (int i = 0; i < 1000; i++) {
+        storage.put(cf, bytes(String.format("%s-%04d", cf, i)), bytes(cf + i));
+      }
+    }
+    // 运行期创建的列族同样使用调优策略
+    storage.createColumnFamily("created");
+    storage.put("created", bytes("k"), bytes("v"));
+    Assertions.assertArrayEquals(bytes("v"), storage.get("created", bytes("k")));
+    // 重新打开时须指定全部已存在的列族，因此先删除运行期创建的列族
+    storage.deleteColumnFamily("created");
+    storage.close();
+    Thread.sleep(1000);
+
+    RocksDbPersistStorage reopened = new RocksDbPersistStorage(config());
+    try {
+      for (String cf : List.of(POINT, LOG, SCAN, OTHER)) {
+        Assertions.assertArrayEquals(
+            bytes(cf + 500), reopened.get(cf, bytes(String.format("%s-%04d", cf, 500))));
+        Assertions.assertNull(reopened.get(cf, bytes("missing")));
+        int[] count = new int[1];
+        reopened.scan(
+            cf,
+            ScanRange.prefix(bytes(cf + "-01")),
+            (k, v) -> {
+              count[0]++;
+              return true;
+            });
+        Assertions.assertEquals(100, count[0]);
+      }
+    } finally {
+      reopened.close();
+    }
+  }
+}
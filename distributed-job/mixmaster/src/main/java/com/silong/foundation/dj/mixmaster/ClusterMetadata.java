@@ -53,7 +53,7 @@ public interface ClusterMetadata<T> {
    * 查询分区对应的节点列表
    *
    * @param partition 分区编号
-   * @return 主备节点列表，第一位为primary
+   * @return 主备节点列表，第一位为primary，分区尚未分配时返回null
    */
   PartitionTopology<T> mapPartition2Nodes(int partition);
 }
@@ -32,10 +32,23 @@ public interface DistributedJobScheduler {
   /**
    * Executes the given command at some time in the future. The command may execute in a new thread,
    * in a pooled thread, or in the calling thread, at the discretion of the {@code Executor}
-   * implementation.
+   * implementation.<br>
+   * 以任务自身作为亲和键，参考{@link #execute(Object, Runnable)}
    *
    * @param command the runnable task
    * @throws Exception Failed to execute command
    */
-  void execute(Runnable command) throws Exception;
+  default void execute(Runnable command) throws Exception {
+    execute(command, command);
+  }
+
+  /**
+   * 按亲和键执行任务，任务在亲和键所映射分区的主节点上执行，同一分区的任务按提交顺序串行执行。<br>
+   * 主节点为远程节点时任务必须可序列化；主节点离开集群时，未执行完毕的任务转由新的主节点执行，因此任务至少执行一次
+   *
+   * @param affinityKey 亲和键
+   * @param command 任务
+   * @throws Exception 提交任务失败
+   */
+  void execute(Object affinityKey, Runnable command) throws Exception;
 }
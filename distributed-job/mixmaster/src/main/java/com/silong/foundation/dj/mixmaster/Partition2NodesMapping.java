@@ -34,6 +34,9 @@ import java.util.SequencedCollection;
  *        节点数取模           一致性hash
  * 数据key ------->  partition ------->  cluster-node
  *
+ * 实现需满足以下约定，分区再平衡依赖这些约定仅重新计算受影响的分区：
+ * 1. 分配结果与集群节点列表的顺序无关
+ * 2. 从集群节点列表中移除未被分配给分区的节点，不改变该分区的分配结果
  * </pre>
  *
  * @author louis sin
@@ -22,6 +22,8 @@
 package com.silong.foundation.dj.mixmaster.configure;
 
 import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_COLUMN_FAMILY;
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY;
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.PARTITION_MIGRATION_COLUMN_FAMILY;
 
 import com.auth0.jwt.algorithms.Algorithm;
 import com.silong.foundation.crypto.RootKey;
@@ -35,11 +37,9 @@ import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
 import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
 import java.util.LinkedHashSet;
 import java.util.stream.IntStream;
-import org.jctools.queues.atomic.MpscAtomicArrayQueue;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
-import org.springframework.context.ApplicationEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -86,21 +86,6 @@ public class MixmasterAutoConfiguration {
     return new HybridLogicalClock();
   }
 
-  @Bean
-  public MpscAtomicArrayQueue<ApplicationEvent> mixmasterEventQueue() {
-    return new MpscAtomicArrayQueue<>(properties.getEventDispatchQueueSize());
-  }
-
-  /**
-   * 根据分区号生成存储列族名称
-   *
-   * @param partitionNo 分区号
-   * @return 保存任务数据使用的列族名
-   */
-  private String getPartitionCf(int partitionNo) {
-    return String.format("%s-partition%d", properties.getClusterName(), partitionNo);
-  }
-
   /**
    * 注册持久化存储
    *
@@ -113,8 +98,10 @@ public class MixmasterAutoConfiguration {
     PersistStorageProperties longHaul = properties.getLongHaul();
     LinkedHashSet<String> cfs = new LinkedHashSet<>();
     cfs.add(CLUSTER_TOPOLOGY_COLUMN_FAMILY);
+    cfs.add(CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY);
+    cfs.add(PARTITION_MIGRATION_COLUMN_FAMILY);
     IntStream.range(0, properties.getPartitions())
-        .forEach(partition -> cfs.add(getPartitionCf(partition)));
+        .forEach(partition -> cfs.add(properties.partitionColumnFamily(partition)));
     longHaul.setColumnFamilyNames(cfs);
     return new RocksDbPersistStorage(longHaul);
   }
@@ -23,10 +23,13 @@ package com.silong.foundation.dj.mixmaster.configure.config;
 
 import static java.lang.Short.MAX_VALUE;
 import static java.time.temporal.ChronoUnit.DAYS;
+import static java.time.temporal.ChronoUnit.MILLIS;
 import static java.time.temporal.ChronoUnit.SECONDS;
 
 import com.silong.foundation.dj.hook.validation.Power2;
 import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.mixmaster.enu.OverflowPolicy;
+import com.silong.foundation.dj.mixmaster.enu.WaitStrategy;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import java.net.URL;
@@ -60,6 +63,12 @@ public class MixmasterProperties {
   /** 列族名称 */
   public static final String CLUSTER_TOPOLOGY_COLUMN_FAMILY = "cluster-topology";
 
+  /** 集群拓扑历史列族名称 */
+  public static final String CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY = "cluster-topology-history";
+
+  /** 分区迁移状态列族名称 */
+  public static final String PARTITION_MIGRATION_COLUMN_FAMILY = "partition-migration";
+
   /** 鉴权配置 */
   @NotNull @Valid @NestedConfigurationProperty private AuthProperties auth = new AuthProperties();
 
@@ -104,10 +113,39 @@ public class MixmasterProperties {
   @Power2
   private int eventDispatchQueueSize = 32;
 
+  /** 内部事件派发配置 */
+  @NotNull @Valid @NestedConfigurationProperty
+  private EventDispatcherProperties eventDispatcher = new EventDispatcherProperties();
+
+  /** 发送消息批量合并配置 */
+  @NotNull @Valid @NestedConfigurationProperty
+  private BatchingProperties batching = new BatchingProperties();
+
+  /** 集群拓扑历史配置 */
+  @NotNull @Valid @NestedConfigurationProperty
+  private TopologyHistoryProperties topologyHistory = new TopologyHistoryProperties();
+
+  /** 分布式任务调度器每个分区的任务队列长度，队列满时拒绝任务，默认：1024 */
+  @Positive private int jobQueueCapacity = 1024;
+
+  /** 分区迁移配置 */
+  @NotNull @Valid @NestedConfigurationProperty
+  private MigrationProperties migration = new MigrationProperties();
+
   /** 节点属性 */
   @Valid @NotNull
   private Map<@NotEmpty String, @NotEmpty String> clusterNodeAttributes = new LinkedHashMap<>();
 
+  /**
+   * 根据分区号生成存储列族名称
+   *
+   * @param partitionNo 分区号
+   * @return 保存分区数据使用的列族名
+   */
+  public String partitionColumnFamily(int partitionNo) {
+    return String.format("%s-partition%d", clusterName, partitionNo);
+  }
+
   /**
    * 鉴权配置
    *
@@ -129,6 +167,117 @@ public class MixmasterProperties {
     private Duration expires = Duration.of(1, DAYS);
   }
 
+  /**
+   * 分区迁移配置
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-17 11:05
+   */
+  @Data
+  public static class MigrationProperties {
+    /** 同时进行的分区迁移数量，默认：4 */
+    @Positive private int maxConcurrentMigrations = 4;
+
+    /** 单个分区迁移的最大尝试次数，默认：5 */
+    @Positive private int maxAttempts = 5;
+
+    /** 迁移失败后的重试间隔，每次失败后翻倍，默认：1s */
+    @NotNull
+    @DurationUnit(SECONDS)
+    private Duration retryInterval = Duration.ofSeconds(1);
+
+    /** 重试间隔上限，达到最大尝试次数后按此间隔重新发起迁移，默认：60s */
+    @NotNull
+    @DurationUnit(SECONDS)
+    private Duration maxRetryInterval = Duration.ofSeconds(60);
+
+    /** 单个分区数据传输超时时间，默认：60s */
+    @NotNull
+    @DurationUnit(SECONDS)
+    private Duration transferTimeout = Duration.ofSeconds(60);
+  }
+
+  /**
+   * 内部事件派发配置
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-17 13:25
+   */
+  @Data
+  public static class EventDispatcherProperties {
+    /** 事件队列为空时派发线程的等待策略，默认：SPIN_THEN_PARK */
+    @NotNull private WaitStrategy waitStrategy = WaitStrategy.SPIN_THEN_PARK;
+
+    /** 挂起前的自旋次数，默认：100 */
+    @PositiveOrZero private int spinTries = 100;
+
+    /** 自旋后挂起前让出CPU的次数，默认：10 */
+    @PositiveOrZero private int yieldTries = 10;
+
+    /** 单次挂起的最长时间，新事件到达时提前唤醒，默认：100ms */
+    @NotNull
+    @DurationUnit(MILLIS)
+    private Duration maxParkTime = Duration.ofMillis(100);
+
+    /** 每批次最多派发的事件数量，默认：16 */
+    @Positive private int batchSize = 16;
+
+    /** 事件队列已满时新事件的处理策略，默认：BLOCK */
+    @NotNull private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /** BLOCK策略下等待队列空闲位置的最长时间，超时后丢弃事件，默认：5s */
+    @NotNull
+    @DurationUnit(SECONDS)
+    private Duration overflowTimeout = Duration.ofSeconds(5);
+  }
+
+  /**
+   * 发送消息批量合并配置
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-17 15:10
+   */
+  @Data
+  public static class BatchingProperties {
+    /** 是否把发往同一目标的消息合并为一个消息发送，默认：false */
+    private boolean enabled;
+
+    /** 单个批次的最大字节数，达到后立即发送，默认：60000 */
+    @Positive private int maxBatchBytes = 60_000;
+
+    /** 单个批次的最大消息数量，达到后立即发送，默认：64 */
+    @Positive private int maxBatchMessages = 64;
+
+    /** 消息在批次中的最长等待时间，超时后发送，默认：5ms */
+    @NotNull
+    @DurationUnit(MILLIS)
+    private Duration maxBatchDelay = Duration.ofMillis(5);
+  }
+
+  /**
+   * 集群拓扑历史配置
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-17 18:30
+   */
+  @Data
+  public static class TopologyHistoryProperties {
+    /** 最多保留的集群视图数量，默认：1000 */
+    @Positive private int maxViews = 1000;
+
+    /** 集群视图最长保留时间，最新的视图始终保留，默认：7天 */
+    @NotNull
+    @DurationUnit(DAYS)
+    private Duration maxAge = Duration.of(7, DAYS);
+
+    /** 每保存多少个集群视图执行一次淘汰，默认：64 */
+    @Positive private int compactionInterval = 64;
+  }
+
   /** 服务地址 */
   @Data
   public static class ServiceAddress {
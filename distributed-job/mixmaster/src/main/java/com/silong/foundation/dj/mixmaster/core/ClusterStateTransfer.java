@@ -0,0 +1,360 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.hook.clock.LogicalClock;
+import com.silong.foundation.dj.mixmaster.core.DefaultClusterMetadata.Snapshot;
+import com.silong.foundation.dj.mixmaster.core.PartitionOwnership.Migration;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import java.io.*;
+import java.util.*;
+import java.util.zip.CRC32C;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jgroups.View;
+import org.jgroups.util.ByteArrayDataInputStream;
+import org.jgroups.util.ByteArrayDataOutputStream;
+import org.jgroups.util.Util;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 集群状态传输，coordinator向新加入集群的节点同步混合逻辑时钟、集群视图历史及集群元数据<br>
+ * 状态以帧为单位流式传输，帧格式：类型(1字节) + 长度(4字节) + 内容 + 内容的CRC32C校验码(4字节)，流头部为魔数及格式版本号。
+ * 集群视图逐帧保存，重复的视图直接忽略，因此传输中断或coordinator变更后可以从新的coordinator重新同步；
+ * 集群元数据在结束帧校验通过后整体生效，中断时丢弃。接收方忽略不认识的帧类型，便于格式向后兼容。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 16:30
+ */
+@Slf4j
+@Component
+class ClusterStateTransfer {
+
+  /** 魔数 */
+  static final int MAGIC = 0x4D4D_5354;
+
+  /** 格式版本号 */
+  static final short FORMAT_VERSION = 1;
+
+  /** 混合逻辑时钟帧 */
+  static final byte CLOCK = 1;
+
+  /** 集群视图帧 */
+  static final byte VIEW = 2;
+
+  /** 分区表帧 */
+  static final byte TABLE = 3;
+
+  /** 分区帧 */
+  static final byte PARTITION = 4;
+
+  /** 结束帧 */
+  static final byte END = 127;
+
+  /** 单帧最大长度 */
+  private static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
+  /**
+   * 传输统计
+   *
+   * @param views 收到的视图数量
+   * @param appliedViews 新保存的视图数量
+   * @param partitions 收到的分区数量
+   */
+  record TransferStats(int views, int appliedViews, int partitions) {}
+
+  /** 帧内容写入 */
+  @FunctionalInterface
+  private interface FrameWriter {
+    void write(DataOutput out) throws IOException;
+  }
+
+  /** 集群拓扑图 */
+  private ClusterTopology clusterTopology;
+
+  /** 集群元数据 */
+  private DefaultClusterMetadata clusterMetadata;
+
+  /** 逻辑时钟 */
+  private LogicalClock logicalClock;
+
+  /**
+   * 把本地集群状态写入输出流
+   *
+   * @param output 输出流
+   * @throws IOException 异常
+   */
+  void write(@NonNull OutputStream output) throws IOException {
+    // 先取快照再写出，写出过程中不持有锁
+    List<View> views = clusterTopology.snapshot();
+    Snapshot snapshot = clusterMetadata.snapshot();
+    PartitionTable table = snapshot.table();
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+    out.writeInt(MAGIC);
+    out.writeShort(FORMAT_VERSION);
+    long timestamp = logicalClock.tick();
+    writeFrame(out, CLOCK, o -> o.writeLong(timestamp));
+    for (View view : views) {
+      writeFrame(out, VIEW, o -> Util.writeView(view, o));
+    }
+    writeFrame(
+        out,
+        TABLE,
+        o -> {
+          o.writeLong(table.version());
+          o.writeInt(table.size());
+          writeNodes(table.members(), o);
+        });
+    int partitions = 0;
+    for (int partitionNo = 0; partitionNo < table.size(); partitionNo++) {
+      PartitionTopology<ClusterNodeUUID> topology = table.topology(partitionNo);
+      Migration<ClusterNodeUUID> migration = snapshot.migrations().get(partitionNo);
+      if (topology == null && migration == null) {
+        continue;
+      }
+      int no = partitionNo;
+      writeFrame(out, PARTITION, o -> writePartition(no, topology, migration, o));
+      partitions++;
+    }
+    int count = partitions;
+    writeFrame(
+        out,
+        END,
+        o -> {
+          o.writeInt(views.size());
+          o.writeInt(count);
+        });
+    out.flush();
+    log.info(
+        "Sent cluster state with {} views and {} partitions of table version {}.",
+        views.size(),
+        count,
+        table.version());
+  }
+
+  private static void writeFrame(DataOutputStream out, byte type, FrameWriter writer)
+      throws IOException {
+    ByteArrayDataOutputStream payload = new ByteArrayDataOutputStream(128, true);
+    writer.write(payload);
+    CRC32C crc = new CRC32C();
+    crc.update(payload.buffer(), 0, payload.position());
+    out.writeByte(type);
+    out.writeInt(payload.position());
+    out.write(payload.buffer(), 0, payload.position());
+    out.writeInt((int) crc.getValue());
+  }
+
+  private static void writePartition(
+      int partitionNo,
+      PartitionTopology<ClusterNodeUUID> topology,
+      Migration<ClusterNodeUUID> migration,
+      DataOutput out)
+      throws IOException {
+    out.writeInt(partitionNo);
+    out.writeBoolean(topology != null);
+    if (topology != null) {
+      writeTopology(topology, out);
+    }
+    out.writeBoolean(migration != null);
+    if (migration != null) {
+      writeTopology(migration.target(), out);
+      writeNodes(migration.holders(), out);
+      writeTopology(migration.effective(), out);
+    }
+  }
+
+  private static void writeTopology(PartitionTopology<ClusterNodeUUID> topology, DataOutput out)
+      throws IOException {
+    out.writeLong(topology.getVersion());
+    writeNodes(topology.getPrimaryAndBackups(), out);
+  }
+
+  private static void writeNodes(Collection<ClusterNodeUUID> nodes, DataOutput out)
+      throws IOException {
+    out.writeInt(nodes.size());
+    for (ClusterNodeUUID node : nodes) {
+      node.writeTo(out);
+    }
+  }
+
+  /**
+   * 从输入流读取集群状态并应用至本地
+   *
+   * @param input 输入流
+   * @return 传输统计
+   * @throws IOException 流格式错误、校验失败或者流被截断
+   */
+  TransferStats read(@NonNull InputStream input) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Invalid cluster state stream.");
+    }
+    short version = in.readShort();
+    if (version < 1 || version > FORMAT_VERSION) {
+      throw new IOException("Unsupported cluster state format version: " + version);
+    }
+
+    int views = 0;
+    int appliedViews = 0;
+    long tableVersion = -1;
+    List<ClusterNodeUUID> members = null;
+    PartitionTopology<ClusterNodeUUID>[] topologies = null;
+    Map<Integer, Migration<ClusterNodeUUID>> migrations = new HashMap<>();
+    int partitions = 0;
+    while (true) {
+      byte type = in.readByte();
+      DataInput frame = readFrame(type, in);
+      try {
+        switch (type) {
+          case CLOCK -> logicalClock.update(frame.readLong());
+          case VIEW -> {
+            views++;
+            if (clusterTopology.saveIfAbsent(Util.readView(frame))) {
+              appliedViews++;
+            }
+          }
+          case TABLE -> {
+            tableVersion = frame.readLong();
+            topologies = newTopologies(frame.readInt());
+            members = readNodes(frame);
+          }
+          case PARTITION -> {
+            if (topologies == null) {
+              throw new IOException("The partition frame precedes the table frame.");
+            }
+            readPartition(frame, topologies, migrations);
+            partitions++;
+          }
+          case END -> {
+            if (frame.readInt() != views || frame.readInt() != partitions || members == null) {
+              throw new IOException("The cluster state stream is incomplete.");
+            }
+            clusterMetadata.restore(
+                new Snapshot(new PartitionTable(tableVersion, members, topologies), migrations));
+            return new TransferStats(views, appliedViews, partitions);
+          }
+          default -> log.warn("Skip unknown frame type {} of cluster state stream.", type);
+        }
+      } catch (IOException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new IOException("Failed to apply frame type " + type + " of cluster state.", e);
+      }
+    }
+  }
+
+  private static DataInput readFrame(byte type, DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > MAX_FRAME_LENGTH) {
+      throw new IOException(String.format("Invalid length %d of frame type %d.", length, type));
+    }
+    byte[] payload = new byte[length];
+    in.readFully(payload);
+    CRC32C crc = new CRC32C();
+    crc.update(payload);
+    if ((int) crc.getValue() != in.readInt()) {
+      throw new IOException(String.format("Checksum mismatch of frame type %d.", type));
+    }
+    return new ByteArrayDataInputStream(payload);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PartitionTopology<ClusterNodeUUID>[] newTopologies(int size) throws IOException {
+    if (size <= 0) {
+      throw new IOException("Invalid number of partitions: " + size);
+    }
+    return new PartitionTopology[size];
+  }
+
+  private static void readPartition(
+      DataInput in,
+      PartitionTopology<ClusterNodeUUID>[] topologies,
+      Map<Integer, Migration<ClusterNodeUUID>> migrations)
+      throws IOException {
+    int partitionNo = in.readInt();
+    if (partitionNo < 0 || partitionNo >= topologies.length) {
+      throw new IOException("Invalid partition number: " + partitionNo);
+    }
+    if (in.readBoolean()) {
+      topologies[partitionNo] = readTopology(in);
+    }
+    if (in.readBoolean()) {
+      PartitionTopology<ClusterNodeUUID> target = readTopology(in);
+      LinkedHashSet<ClusterNodeUUID> holders = new LinkedHashSet<>(readNodes(in));
+      PartitionTopology<ClusterNodeUUID> effective = readTopology(in);
+      LinkedHashSet<ClusterNodeUUID> remaining = new LinkedHashSet<>();
+      for (ClusterNodeUUID node : target) {
+        if (!holders.contains(node)) {
+          remaining.add(node);
+        }
+      }
+      migrations.put(
+          partitionNo,
+          new Migration<>(
+              target,
+              Collections.unmodifiableSequencedSet(holders),
+              Collections.unmodifiableSet(remaining),
+              effective));
+    }
+  }
+
+  private static PartitionTopology<ClusterNodeUUID> readTopology(DataInput in) throws IOException {
+    long version = in.readLong();
+    return PartitionTopology.<ClusterNodeUUID>builder()
+        .primaryAndBackups(readNodes(in))
+        .version(version)
+        .build();
+  }
+
+  private static List<ClusterNodeUUID> readNodes(DataInput in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      throw new IOException("Invalid number of nodes: " + size);
+    }
+    List<ClusterNodeUUID> nodes = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      ClusterNodeUUID node = new ClusterNodeUUID();
+      node.readFrom(in);
+      nodes.add(node);
+    }
+    return List.copyOf(nodes);
+  }
+
+  @Autowired
+  public void setClusterTopology(ClusterTopology clusterTopology) {
+    this.clusterTopology = clusterTopology;
+  }
+
+  @Autowired
+  public void setClusterMetadata(DefaultClusterMetadata clusterMetadata) {
+    this.clusterMetadata = clusterMetadata;
+  }
+
+  @Autowired
+  public void setLogicalClock(LogicalClock logicalClock) {
+    this.logicalClock = logicalClock;
+  }
+}
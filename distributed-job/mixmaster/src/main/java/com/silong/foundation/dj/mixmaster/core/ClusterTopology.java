@@ -21,23 +21,28 @@
 
 package com.silong.foundation.dj.mixmaster.core;
 
-import static com.silong.foundation.dj.hook.utils.StampedLocks.tryOptimisticRead;
 import static com.silong.foundation.dj.hook.utils.StampedLocks.writeLock;
 import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_COLUMN_FAMILY;
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY;
 
 import com.silong.foundation.dj.hook.clock.LogicalClock;
 import com.silong.foundation.dj.hook.clock.LogicalClock.Timestamp;
+import com.silong.foundation.dj.longhaul.HistoryStore;
+import com.silong.foundation.dj.longhaul.HistoryStore.Entry;
 import com.silong.foundation.dj.longhaul.RocksDbPersistStorage;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.TopologyHistoryProperties;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.locks.StampedLock;
-import java.util.function.Supplier;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.jgroups.Address;
 import org.jgroups.View;
 import org.jgroups.ViewId;
 import org.jgroups.util.*;
@@ -46,7 +51,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * 集群拓扑图
+ * 集群拓扑图<br>
+ * 集群视图逐个持久化保存，key为视图的混合逻辑时钟加视图创建者，启动时不加载历史视图，按需从存储中查询；按配置的数量及时长定期淘汰过期视图并压缩存储，最新的视图始终保留。
  *
  * @author louis sin
  * @version 1.0.0
@@ -56,56 +62,118 @@ import org.springframework.stereotype.Component;
 @Component
 @ToString
 @NoArgsConstructor
-class ClusterTopology implements Serializable, SizeStreamable {
-
-  @Serial private static final long serialVersionUID = -8_703_813_222_462_062_393L;
+class ClusterTopology {
 
   /** 同步锁 */
   @ToString.Exclude private final StampedLock lock = new StampedLock();
 
-  /** 保存集群拓扑图，根据view自带的混合逻辑时钟排序，由近及远 */
-  private final TreeMap<ViewId, View> topologies =
-      new TreeMap<>(Collections.reverseOrder(ViewId::compareToIDs));
+  /** 最新的集群视图，首次访问时从存储加载 */
+  private volatile View last;
+
+  /** 是否已加载最新的集群视图 */
+  @ToString.Exclude private volatile boolean loaded;
+
+  /** 上次淘汰后保存的视图数量 */
+  @ToString.Exclude private int savedSinceRetain;
+
+  /** 集群视图历史存储 */
+  @ToString.Exclude private HistoryStore history;
 
   /** 持久化存储 */
   @ToString.Exclude private RocksDbPersistStorage persistStorage;
 
+  /** 历史配置 */
+  @ToString.Exclude private TopologyHistoryProperties config;
+
   /** 恢复持久化数据 */
   @PostConstruct
   void resume() {
-    // 加载持久化的数据
+    history = new HistoryStore(persistStorage, CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY);
+    migrate();
+    retain();
+  }
+
+  /** 把旧版本整体保存在拓扑列族中的视图迁移至历史存储 */
+  private void migrate() {
+    List<byte[]> keys = new LinkedList<>();
     persistStorage.iterate(
         CLUSTER_TOPOLOGY_COLUMN_FAMILY,
         (key, value) -> {
           try {
-            topologies.put(toViewId(key), toView(value));
+            View view = toView(value);
+            ViewId viewId = view.getViewId();
+            history.append(viewId.getId(), discriminator(viewId), value);
           } catch (IOException | ClassNotFoundException e) {
             log.error(
-                "Failed to resume views from local storage. {} : {}",
+                "Failed to migrate view from local storage. {} : {}",
                 HexFormat.of().formatHex(key),
                 HexFormat.of().formatHex(value),
                 e);
           }
+          keys.add(key);
         });
+    if (!keys.isEmpty()) {
+      keys.forEach(key -> persistStorage.remove(CLUSTER_TOPOLOGY_COLUMN_FAMILY, key));
+      log.info(
+          "{} views have been migrated to {}.",
+          keys.size(),
+          CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY);
+    }
   }
 
-  private byte[] toBytes(ViewId viewId) throws IOException {
-    ByteArrayDataOutputStream out = new ByteArrayDataOutputStream(Util.size(viewId));
-    Util.writeViewId(viewId, out);
-    return out.buffer();
+  /** 淘汰超出数量或时长的集群视图 */
+  private void retain() {
+    long minTimestamp =
+        LogicalClock.to(
+            new Timestamp(
+                Math.max(System.currentTimeMillis() - config.getMaxAge().toMillis(), 0), 0));
+    if (history.retain(config.getMaxViews(), minTimestamp) && log.isDebugEnabled()) {
+      log.debug("Expired views have been removed from {}.", CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY);
+    }
   }
 
-  private ViewId toViewId(byte[] bytes) throws IOException, ClassNotFoundException {
-    ByteArrayDataInputStream in = new ByteArrayDataInputStream(bytes);
-    return Util.readViewId(in);
+  /**
+   * 视图创建者作为区分符，区分逻辑时钟相同的视图
+   *
+   * @param viewId 视图id
+   * @return 区分符
+   */
+  private static byte[] discriminator(ViewId viewId) {
+    Address creator = viewId.getCreator();
+    if (creator instanceof UUID uuid) {
+      return ByteBuffer.allocate(Long.BYTES * 2)
+          .putLong(uuid.getMostSignificantBits())
+          .putLong(uuid.getLeastSignificantBits())
+          .array();
+    }
+    try {
+      ByteArrayDataOutputStream out = new ByteArrayDataOutputStream(Util.size(creator));
+      Util.writeAddress(creator, out);
+      return Arrays.copyOf(out.buffer(), out.position());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
-  private View toView(byte[] bytes) throws IOException, ClassNotFoundException {
+  private static View toView(byte[] bytes) throws IOException, ClassNotFoundException {
     ByteArrayDataInputStream in = new ByteArrayDataInputStream(bytes);
     return Util.readView(in);
   }
 
-  private byte[] toBytes(View view) throws IOException {
+  @Nullable
+  private static View toView(@Nullable Entry entry) {
+    if (entry == null) {
+      return null;
+    }
+    try {
+      return toView(entry.value());
+    } catch (IOException | ClassNotFoundException e) {
+      throw new IllegalStateException(
+          String.format("Failed to read view %d from local storage.", entry.timestamp()), e);
+    }
+  }
+
+  private static byte[] toBytes(View view) throws IOException {
     ByteArrayDataOutputStream out = new ByteArrayDataOutputStream(Util.size(view));
     Util.writeView(view, out);
     return out.buffer();
@@ -117,7 +185,7 @@ class ClusterTopology implements Serializable, SizeStreamable {
    * @return true or false
    */
   public boolean isEmpty() {
-    return tryOptimisticRead(lock, topologies::isEmpty);
+    return lastView() == null;
   }
 
   /**
@@ -127,12 +195,29 @@ class ClusterTopology implements Serializable, SizeStreamable {
    */
   @Nullable
   public View lastView() {
-    return tryOptimisticRead(lock, this::firstEntry);
+    if (!loaded) {
+      writeLock(
+          lock,
+          () -> {
+            if (!loaded) {
+              last = toView(history.latest());
+              loaded = true;
+            }
+          });
+    }
+    return last;
   }
 
-  private View firstEntry() {
-    Map.Entry<ViewId, View> entry = topologies.firstEntry();
-    return entry != null ? entry.getValue() : null;
+  /**
+   * 获取给定视图的前一个集群视图
+   *
+   * @param view 集群视图
+   * @return 视图，不存在则返回null
+   */
+  @Nullable
+  public View before(@NonNull View view) {
+    ViewId viewId = view.getViewId();
+    return toView(history.lower(viewId.getId(), discriminator(viewId)));
   }
 
   /**
@@ -143,10 +228,7 @@ class ClusterTopology implements Serializable, SizeStreamable {
    */
   @Nullable
   public View cellingView(long time) {
-    Map.Entry<ViewId, View> entry =
-        topologies.ceilingEntry(
-            new ViewId(UUID.randomUUID(), LogicalClock.to(new Timestamp(time, 0))));
-    return entry != null ? entry.getValue() : null;
+    return toView(history.ceiling(LogicalClock.to(new Timestamp(time, 0))));
   }
 
   /**
@@ -157,10 +239,7 @@ class ClusterTopology implements Serializable, SizeStreamable {
    */
   @Nullable
   public View floorView(long time) {
-    Map.Entry<ViewId, View> entry =
-        topologies.floorEntry(
-            new ViewId(UUID.randomUUID(), LogicalClock.to(new Timestamp(time, 0))));
-    return entry != null ? entry.getValue() : null;
+    return toView(history.floor(LogicalClock.to(new Timestamp(time, 0))));
   }
 
   /**
@@ -171,69 +250,65 @@ class ClusterTopology implements Serializable, SizeStreamable {
    */
   public void save(@NonNull View view) throws Exception {
     ViewId viewId = view.getViewId();
-    byte[] key = toBytes(viewId);
+    byte[] discriminator = discriminator(viewId);
     byte[] value = toBytes(view);
+    lastView();
     writeLock(
         lock,
         () -> {
-          persistStorage.put(CLUSTER_TOPOLOGY_COLUMN_FAMILY, key, value);
-          topologies.put(viewId, view);
+          history.append(viewId.getId(), discriminator, value);
+          if (last == null || isNewer(viewId, discriminator, last.getViewId())) {
+            last = view;
+          }
+          if (++savedSinceRetain >= config.getCompactionInterval()) {
+            savedSinceRetain = 0;
+            retain();
+          }
         });
   }
 
-  @Override
-  public int serializedSize() {
-    return tryOptimisticRead(
-        lock,
-        () ->
-            Integer.BYTES
-                + topologies.entrySet().stream()
-                    .mapToInt(e -> Util.size(e.getKey()) + Util.size(e.getValue()))
-                    .sum());
+  private static boolean isNewer(ViewId viewId, byte[] discriminator, ViewId lastViewId) {
+    int result = Long.compare(viewId.getId(), lastViewId.getId());
+    if (result != 0) {
+      return result > 0;
+    }
+    return Arrays.compareUnsigned(discriminator, discriminator(lastViewId)) >= 0;
   }
 
-  @Override
-  public void writeTo(DataOutput output) {
-    tryOptimisticRead(
-        lock,
-        (Supplier<Optional<?>>)
-            () -> {
-              try {
-                output.writeInt(topologies.size());
-              } catch (IOException e) {
-                throw new IllegalStateException(e);
-              }
-              topologies.forEach(
-                  (k, v) -> {
-                    try {
-                      Util.writeViewId(k, output);
-                      Util.writeView(v, output);
-                    } catch (IOException e) {
-                      throw new IllegalStateException(e);
-                    }
-                  });
-              return Optional.empty();
-            });
-  }
-
-  @Override
-  public void readFrom(DataInput input) {
-    writeLock(
-        lock,
-        () -> {
-          try {
-            int size = input.readInt();
-            for (int i = 0; i < size; i++) {
-              topologies.put(Util.readViewId(input), Util.readView(input));
-            }
-          } catch (Exception e) {
-            throw new IllegalStateException(e);
-          }
-        });
+  /**
+   * 保存集群视图，视图已存在时忽略
+   *
+   * @param view 集群视图
+   * @return 是否保存
+   * @exception Exception 异常
+   */
+  public boolean saveIfAbsent(@NonNull View view) throws Exception {
+    ViewId viewId = view.getViewId();
+    if (history.contains(viewId.getId(), discriminator(viewId))) {
+      return false;
+    }
+    save(view);
+    return true;
+  }
+
+  /**
+   * 集群视图快照，由近及远
+   *
+   * @return 视图列表
+   */
+  public List<View> snapshot() {
+    List<View> views = new ArrayList<>();
+    history.forEachNewestFirst(entry -> views.add(toView(entry)));
+    return views;
   }
 
   @Autowired
   public void setPersistStorage(RocksDbPersistStorage persistStorage) {
     this.persistStorage = persistStorage;
   }
+
+  @Autowired
+  public void setProperties(MixmasterProperties properties) {
+    this.config = properties.getTopologyHistory();
+  }
 }
@@ -21,27 +21,24 @@
 
 package com.silong.foundation.dj.mixmaster.core;
 
-import static com.silong.foundation.dj.mixmaster.core.DefaultDistributedEngine.VIEW_CHANGED_RECORDS;
-
 import com.silong.foundation.dj.mixmaster.ClusterMetadata;
 import com.silong.foundation.dj.mixmaster.Object2PartitionMapping;
 import com.silong.foundation.dj.mixmaster.Partition2NodesMapping;
 import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import com.silong.foundation.dj.mixmaster.core.PartitionOwnership.Migration;
+import com.silong.foundation.dj.mixmaster.core.RebalancePlanner.Rebalance;
 import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
-import com.silong.foundation.dj.mixmaster.vo.Partition;
 import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.locks.StampedLock;
-import java.util.stream.IntStream;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
+import jakarta.annotation.Nullable;
+import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NonNull;
-import lombok.SneakyThrows;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-import org.jctools.maps.NonBlockingHashMap;
-import org.jgroups.Address;
 import org.jgroups.View;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
@@ -65,9 +62,6 @@ class DefaultClusterMetadata implements ClusterMetadata<ClusterNodeUUID> {
   /** 对象分区映射器 */
   @ToString.Exclude private Object2PartitionMapping objectPartitionMapping;
 
-  /** 同步锁 */
-  @ToString.Exclude private final StampedLock lock = new StampedLock();
-
   /** 事件发送器 */
   @ToString.Exclude private ApplicationEventPublisher eventPublisher;
 
@@ -80,106 +74,117 @@ class DefaultClusterMetadata implements ClusterMetadata<ClusterNodeUUID> {
   /** 分区总数 */
   private int totalPartition;
 
-  /** 分区映射表 */
-  private NonBlockingHashMap<Integer, Partition<PartitionTopology<ClusterNodeUUID>>> partitionsMap;
+  /** 分区表，视图变化时整体替换，读取方无需加锁 */
+  @ToString.Exclude private volatile PartitionTable partitionTable;
+
+  /** 分区所有权，分区数据迁移完成前分区仍然路由至持有数据的节点 */
+  @ToString.Exclude
+  @Getter(AccessLevel.PACKAGE)
+  private final PartitionOwnership<ClusterNodeUUID> ownership = new PartitionOwnership<>();
+
+  /** 从coordinator同步的元数据快照，首次创建分区表时作为再平衡的起点 */
+  @ToString.Exclude
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Snapshot restored;
+
+  /**
+   * 元数据快照
+   *
+   * @param table 分区表
+   * @param migrations 迁移中的分区
+   */
+  record Snapshot(PartitionTable table, Map<Integer, Migration<ClusterNodeUUID>> migrations) {}
+
+  /**
+   * 更新元数据，计算新视图下的分区表并原子替换当前分区表，布局变化的分区进入迁移状态
+   *
+   * @param newView 新视图
+   * @return 分区再平衡计划
+   */
+  synchronized RebalancePlan<ClusterNodeUUID> update(@NonNull View newView) {
+    RebalancePlanner planner =
+        new RebalancePlanner(partition2NodesMapping, backupNum, totalPartition);
+    PartitionTable current = partitionTable;
+
+    // 如果分区表首次创建，并且当前节点不是coordinator，则以从coordinator同步的分区表作为再平衡的起点
+    Snapshot snapshot = restored;
+    restored = null;
+    if (current.isEmpty()
+        && snapshot != null
+        && snapshot.table().version() <= newView.getViewId().getId()) {
+      current = snapshot.table();
+      ownership.restore(snapshot.migrations());
+    }
 
-  @SneakyThrows
-  private <T> T doWithWriteLock(Callable<T> callable) {
-    long stamp = lock.writeLock();
-    try {
-      return callable.call();
-    } finally {
-      lock.unlockWrite(stamp);
+    // 没有同步到分区表时，以历史视图分布作为再平衡的起点
+    if (current.isEmpty() && !engine.isCoordinator()) {
+      View before = engine.clusterTopology().before(newView);
+      if (log.isDebugEnabled()) {
+        log.debug("view:{}, beforeView:{}", newView, before);
+      }
+      // 新加入的节点在同步到集群视图前没有历史视图
+      if (before != null) {
+        current = planner.plan(current, before).table();
+      }
     }
+
+    Rebalance rebalance = planner.plan(current, newView);
+    // 先登记迁移再发布分区表，避免读取方在此期间把布局变化的分区路由至尚无数据的新节点
+    ownership.rebalance(
+        rebalance.plan(), newView.getMembers().stream().map(ClusterNodeUUID.class::cast).toList());
+    partitionTable = rebalance.table();
+    return rebalance.plan();
   }
 
-  private void updatePartitions(View view) {
-    IntStream.range(0, totalPartition)
-        .parallel()
-        .forEach(
-            partitionNo -> {
-              // 获取存储分区
-              Partition<PartitionTopology<ClusterNodeUUID>> partition =
-                  partitionsMap.computeIfAbsent(
-                      partitionNo, key -> new Partition<>(partitionNo, VIEW_CHANGED_RECORDS));
-
-              // 如果分区首次创建，并且当前节点不是coordinator，则计算历史视图分布
-              if (partition.isEmpty() && !engine.isCoordinator()) {
-                View before = engine.clusterView.before(view);
-                if (log.isDebugEnabled()) {
-                  log.debug("view:{}, beforeView:{}", view, before);
-                }
-                if (before != null) {
-                  partition.insert(calculatePartitionTopology(partitionNo, before));
-                } else {
-                  throw new IllegalStateException(
-                      String.format(
-                          "The previous view of View cannot be found. %s, view:%s",
-                          engine.clusterView, view));
-                }
-              }
-
-              PartitionTopology<ClusterNodeUUID> historyNodes = partition.current();
-
-              // 计算分区映射的集群节点列表
-              PartitionTopology<ClusterNodeUUID> newNodes =
-                  calculatePartitionTopology(partitionNo, view);
-
-              // 记录当前分区对应的存储节点列表
-              partition.insert(newNodes);
-
-              ClusterNodeUUID local = engine.localAddress();
-
-              // 无历史视图表明本地节点是coordinator
-              if (historyNodes == null) {
-                // TODO coordinator初始化分区数据
-              } else {
-                // 如果分区历史布局包含本地节点，但是新分区布局不包含则表明分区已迁走到别的节点
-                if (historyNodes.contains(local) && !newNodes.contains(local)) {}
-              }
-            });
+  /**
+   * 元数据快照，用于向新加入集群的节点同步
+   *
+   * @return 快照
+   */
+  synchronized Snapshot snapshot() {
+    return new Snapshot(partitionTable, Map.copyOf(ownership.migrations()));
   }
 
-  private PartitionTopology<ClusterNodeUUID> calculatePartitionTopology(
-      int partitionNo, View newView) {
-    return PartitionTopology.<ClusterNodeUUID>builder()
-        .version(newView.getViewId().getId())
-        .primaryAndBackups(
-            partition2NodesMapping.allocatePartition(
-                partitionNo, backupNum, toClusterNodes(newView.getMembersRaw()), null))
-        .build();
+  /**
+   * 恢复从coordinator同步的元数据快照，分区表尚未创建时生效
+   *
+   * @param snapshot 快照
+   */
+  synchronized void restore(@NonNull Snapshot snapshot) {
+    if (snapshot.table().size() != totalPartition) {
+      throw new IllegalArgumentException(
+          String.format(
+              "The number of partitions is inconsistent. expected:%d, actual:%d",
+              totalPartition, snapshot.table().size()));
+    }
+    if (partitionTable.isEmpty()) {
+      restored = snapshot;
+    }
   }
 
   /**
-   * 更新元数据
+   * 节点完成分区数据迁移
    *
-   * @param newView 新视图
+   * @param partition 分区编号
+   * @param node 完成迁移的节点
+   * @param version 迁移的目标布局版本号
+   * @return 分区所有节点迁移完毕时返回结束的迁移，否则返回null
    */
-  void update(@NonNull View newView) {
-    this.<Void>doWithWriteLock(
-        () -> {
-          updatePartitions(newView);
-          return null;
-        });
+  @Nullable
+  Migration<ClusterNodeUUID> completeMigration(
+      int partition, @NonNull ClusterNodeUUID node, long version) {
+    return ownership.complete(partition, node, version);
   }
 
   @Override
+  @Nullable
   public PartitionTopology<ClusterNodeUUID> mapPartition2Nodes(int partition) {
     if (partition < 0 || partition >= totalPartition) {
       throw new IllegalArgumentException(
           String.format("partition(%d) exceeds boundary[%d, %d).", partition, 0, totalPartition));
     }
-    long stamp = lock.tryOptimisticRead();
-    PartitionTopology<ClusterNodeUUID> nodes = partitionsMap.get(partition).current();
-    if (!lock.validate(stamp)) {
-      stamp = lock.readLock();
-      try {
-        nodes = partitionsMap.get(partition).current();
-      } finally {
-        lock.unlockRead(stamp);
-      }
-    }
-    return nodes;
+    return ownership.route(partition, partitionTable.topology(partition));
   }
 
   @Override
@@ -192,10 +197,6 @@ class DefaultClusterMetadata implements ClusterMetadata<ClusterNodeUUID> {
     return objectPartitionMapping.partition(obj);
   }
 
-  private List<ClusterNodeUUID> toClusterNodes(Address[] addresses) {
-    return Arrays.stream(addresses).map(ClusterNodeUUID.class::cast).toList();
-  }
-
   public void setEngine(DefaultDistributedEngine engine) {
     this.engine = engine;
   }
@@ -204,7 +205,7 @@ class DefaultClusterMetadata implements ClusterMetadata<ClusterNodeUUID> {
   public void initialize(MixmasterProperties properties) {
     this.backupNum = properties.getBackupNum();
     this.totalPartition = properties.getPartitions();
-    this.partitionsMap = new NonBlockingHashMap<>(totalPartition);
+    this.partitionTable = PartitionTable.empty(totalPartition);
   }
 
   @Autowired
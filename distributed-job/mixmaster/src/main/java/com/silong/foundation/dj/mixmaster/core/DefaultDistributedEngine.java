@@ -25,6 +25,7 @@ import static com.silong.foundation.dj.mixmaster.utils.SystemInfo.HOST_NAME;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import com.google.protobuf.MessageLite;
 import com.google.protobuf.Parser;
@@ -38,12 +39,16 @@ import com.silong.foundation.dj.hook.event.ViewChangedEvent;
 import com.silong.foundation.dj.longhaul.RocksDbPersistStorage;
 import com.silong.foundation.dj.mixmaster.*;
 import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import com.silong.foundation.dj.mixmaster.core.ClusterStateTransfer.TransferStats;
 import com.silong.foundation.dj.mixmaster.exception.DistributedEngineException;
 import com.silong.foundation.dj.mixmaster.generated.Messages.LocalMetadata;
+import com.silong.foundation.dj.mixmaster.message.JobHeader;
+import com.silong.foundation.dj.mixmaster.message.MigrationHeader;
 import com.silong.foundation.dj.mixmaster.message.ProtoBufferMessage;
 import com.silong.foundation.dj.mixmaster.message.TimestampHeader;
 import com.silong.foundation.dj.mixmaster.utils.Slf4jLogFactory;
 import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jakarta.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
@@ -57,7 +62,7 @@ import lombok.NonNull;
 import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
-import org.jctools.queues.atomic.MpscAtomicArrayQueue;
+import org.jctools.maps.NonBlockingHashMap;
 import org.jgroups.*;
 import org.jgroups.auth.AuthToken;
 import org.jgroups.logging.LogFactory;
@@ -66,7 +71,6 @@ import org.jgroups.protocols.pbcast.DefaultGMS;
 import org.jgroups.stack.AddressGenerator;
 import org.jgroups.stack.MembershipChangePolicy;
 import org.jgroups.stack.ProtocolStack;
-import org.jgroups.util.ByteArrayDataInputStream;
 import org.jgroups.util.MessageBatch;
 import org.jgroups.util.Util;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -135,8 +139,14 @@ class DefaultDistributedEngine
   /** 逻辑时钟 */
   private LogicalClock logicalClock;
 
-  /** 消息队列，多生产者单消费者，异步保序处理事件 */
-  private MpscAtomicArrayQueue<ApplicationEvent> eventQueue;
+  /** 事件派发器，多生产者单消费者，异步保序处理事件 */
+  private EventDispatcher eventDispatcher;
+
+  /** 集群状态传输 */
+  private ClusterStateTransfer stateTransfer;
+
+  /** 发送消息批量合并器，未启用时为null */
+  private MessageBatcher messageBatcher;
 
   /** 集群成员变更策略 */
   private MembershipChangePolicy membershipChangePolicy;
@@ -150,8 +160,15 @@ class DefaultDistributedEngine
   /** 集群视图 */
   private ClusterTopology clusterTopology;
 
+  /** 分区迁移管理器 */
+  private PartitionMigrationManager migrationManager;
+
   private final CountDownLatch clusterViewLatch = new CountDownLatch(1);
 
+  /** 分布式任务调度器 */
+  private final NonBlockingHashMap<String, DefaultDistributedJobScheduler> schedulers =
+      new NonBlockingHashMap<>();
+
   static {
     // 使用slf4j进行日志打印
     LogFactory.setCustomLogFactory(new Slf4jLogFactory());
@@ -161,6 +178,11 @@ class DefaultDistributedEngine
 
     // 注册自定义消息头
     TimestampHeader.register();
+    JobHeader.register();
+    MigrationHeader.register();
+
+    // 注册自定义消息
+    ProtoBufferMessage.register();
   }
 
   /** 初始化方法 */
@@ -170,15 +192,21 @@ class DefaultDistributedEngine
       // 创建jchannel并配置
       configureDistributedEngine(jChannel = new JChannel(inputStream));
 
+      // 启用时合并发往同一目标的消息
+      if (properties.getBatching().isEnabled()) {
+        messageBatcher =
+            new MessageBatcher(
+                properties.getInstanceName(), properties.getBatching(), this::sendNow);
+      }
+
       // 从本地持久化存储加载元数据
       resumeMetadata();
 
-      // 加入集群，同步集群视图
-      jChannel
-          // 连接集群
-          .connect(properties.getClusterName())
-          // 从coordinator同步集群视图
-          .getState(null, properties.getClusterStateSyncTimeout().toMillis());
+      // 加入集群
+      jChannel.connect(properties.getClusterName());
+
+      // 从coordinator同步集群状态
+      syncClusterState();
 
       // 启动事件派发线程
       startEventDispatcherThread();
@@ -187,6 +215,36 @@ class DefaultDistributedEngine
     }
   }
 
+  /**
+   * 从coordinator同步集群状态，同步失败时在超时前向当前的coordinator重试。已同步的集群视图不会重复保存，coordinator变更后可安全地重新同步
+   *
+   * @throws Exception 超时仍未同步成功
+   */
+  private void syncClusterState() throws Exception {
+    long deadline = System.nanoTime() + properties.getClusterStateSyncTimeout().toNanos();
+    for (int attempt = 1; ; attempt++) {
+      // 本节点成为coordinator时无需同步
+      if (isCoordinator()) {
+        return;
+      }
+      long remaining = NANOSECONDS.toMillis(deadline - System.nanoTime());
+      try {
+        jChannel.getState(null, Math.max(remaining, 1));
+        return;
+      } catch (Exception e) {
+        if (deadline - System.nanoTime() <= 0) {
+          throw e;
+        }
+        log.warn(
+            "The node({}) failed to synchronize cluster state from coordinator, attempt:{}.",
+            name(),
+            attempt,
+            e);
+        MILLISECONDS.sleep(100);
+      }
+    }
+  }
+
   /** 从本地存储加载元数据 */
   private void resumeMetadata() {
     byte[] bytes = persistStorage.get(LOCAL_METADATA_KEY);
@@ -243,19 +301,32 @@ class DefaultDistributedEngine
     }
 
     log.info("Start event dispatch processing......");
-    while (!jChannel.isClosed()) {
-      ApplicationEvent event;
-      while ((event = eventQueue.poll()) != null) {
-        if (event instanceof ViewChangedEvent viewChangedEvent) {
-          clusterMetadata.update(viewChangedEvent.newView()); // 更新集群元数据
-        }
-        eventPublisher.publishEvent(event);
-      }
-      Thread.onSpinWait();
-    }
+    eventDispatcher.dispatch(this::onEvent);
     log.info("End event dispatch processing......");
   }
 
+  /**
+   * 处理内部事件
+   *
+   * @param event 事件
+   */
+  private void onEvent(ApplicationEvent event) {
+    // 内部事件不对外发布
+    if (event instanceof MigrationCompletedEvent migrationCompletedEvent) {
+      migrationManager.handle(migrationCompletedEvent.message(), migrationCompletedEvent.header());
+      return;
+    }
+    if (event instanceof ViewChangedEvent viewChangedEvent) {
+      // 更新集群元数据
+      RebalancePlan<ClusterNodeUUID> plan = clusterMetadata.update(viewChangedEvent.newView());
+      // 集群元数据更新后对发往离开节点的任务进行故障转移
+      schedulers.values().forEach(s -> s.onViewChanged(viewChangedEvent.newView()));
+      // 迁移布局变化的分区数据
+      migrationManager.onRebalanced(plan, viewChangedEvent.newView());
+    }
+    eventPublisher.publishEvent(event);
+  }
+
   /**
    * 获取传输协议
    *
@@ -285,15 +356,6 @@ class DefaultDistributedEngine
     return jChannel.getProtocolStack().findProtocol(DefaultGMS.class);
   }
 
-  /**
-   * 获取消息工厂
-   *
-   * @return 消息工程
-   */
-  private MessageFactory getMessageFactory(JChannel jChannel) {
-    return jChannel.getProtocolStack().getTransport().getMessageFactory();
-  }
-
   private void configureDistributedEngine(JChannel jChannel) {
     jChannel.setReceiver(this);
     jChannel.addAddressGenerator(addressGenerator);
@@ -301,9 +363,6 @@ class DefaultDistributedEngine
     jChannel.addChannelListener(this);
     jChannel.setName(properties.getInstanceName());
 
-    // 注册自定义消息
-    ProtoBufferMessage.register(getMessageFactory(jChannel));
-
     // 自定义集群节点策略
     DefaultGMS gmsProtocol = getGmsProtocol(jChannel);
     gmsProtocol.setMembershipChangePolicy(membershipChangePolicy);
@@ -326,9 +385,7 @@ class DefaultDistributedEngine
     View oldView = clusterTopology.lastView();
     clusterTopology.save(newView);
     ViewChangedEvent event = new ViewChangedEvent(oldView, newView);
-    if (!eventQueue.offer(event)) {
-      log.error("The event queue is full and new events are discarded. event:{}.", event);
-    }
+    eventDispatcher.publish(event);
   }
 
   @Override
@@ -342,9 +399,7 @@ class DefaultDistributedEngine
     }
     JoinClusterEvent event =
         new JoinClusterEvent(clusterTopology.lastView(), clusterName, channel.address());
-    if (!eventQueue.offer(event)) {
-      log.error("The event queue is full and new events are discarded. event:{}.", event);
-    }
+    eventDispatcher.publish(event);
   }
 
   @Override
@@ -355,18 +410,14 @@ class DefaultDistributedEngine
     }
     LeftClusterEvent event =
         new LeftClusterEvent(clusterTopology.lastView(), clusterName, channel.address());
-    if (!eventQueue.offer(event)) {
-      log.error("The event queue is full and new events are discarded. event:{}.", event);
-    }
+    eventDispatcher.publish(event);
   }
 
   @Override
   public void channelClosed(JChannel channel) {
     log.info("The node{} has been closed.", localIdentity(channel));
     ChannelClosedEvent event = new ChannelClosedEvent(channel);
-    if (!eventQueue.offer(event)) {
-      log.error("The event queue is full and new events are discarded. event:{}.", event);
-    }
+    eventDispatcher.publish(event);
   }
 
   private InetAddress bindAddress(JChannel jChannel) {
@@ -396,6 +447,15 @@ class DefaultDistributedEngine
     return jChannel.name();
   }
 
+  /**
+   * 集群拓扑图
+   *
+   * @return 拓扑图
+   */
+  ClusterTopology clusterTopology() {
+    return clusterTopology;
+  }
+
   @Override
   public String clusterName() {
     return jChannel.getClusterName();
@@ -417,9 +477,33 @@ class DefaultDistributedEngine
     return send(msg, 0, msg.length, dest);
   }
 
+  /**
+   * 立即发送消息
+   *
+   * @param msg 消息
+   * @throws Exception 异常
+   */
+  private void sendNow(Message msg) throws Exception {
+    jChannel.send(putTimestampHeader(msg));
+  }
+
+  /**
+   * 发送消息，启用批量合并时消息暂存于批次中，由批量合并器合并后发送
+   *
+   * @param msg 消息
+   * @throws Exception 异常
+   */
+  private void sendOutbound(Message msg) throws Exception {
+    if (messageBatcher != null) {
+      messageBatcher.send(msg);
+    } else {
+      sendNow(msg);
+    }
+  }
+
   @Override
   public DistributedEngine send(@NonNull Message msg) throws Exception {
-    jChannel.send(putTimestampHeader(msg));
+    sendNow(msg);
     return this;
   }
 
@@ -453,7 +537,7 @@ class DefaultDistributedEngine
       target = (Address) dest.uuid();
     }
 
-    jChannel.send(putTimestampHeader(new BytesMessage(target, msg, offset, length)));
+    sendOutbound(new BytesMessage(target, msg, offset, length));
     return this;
   }
 
@@ -475,23 +559,57 @@ class DefaultDistributedEngine
       }
       target = (Address) dest.uuid();
     }
-    jChannel.send(
-        putTimestampHeader(
-            new ProtoBufferMessage<T>(target)
-                .parser((Parser<T>) msg.getParserForType())
-                .payload(msg)));
+    sendOutbound(
+        new ProtoBufferMessage<T>(target).parser((Parser<T>) msg.getParserForType()).payload(msg));
     return this;
   }
 
   @Override
   public void receive(@NonNull MessageBatch batch) {
     for (Message message : batch) {
-      if (log.isDebugEnabled()) {
-        log.debug("A message received {}.", message);
+      receive(message);
+    }
+  }
+
+  @Override
+  public void receive(@NonNull Message message) {
+    if (log.isDebugEnabled()) {
+      log.debug("A message received {}.", message);
+    }
+
+    // 接收消息，更新逻辑时钟
+    logicalClock.update(message.<TimestampHeader>getHeader(TimestampHeader.TYPE).timestamp());
+
+    // 批量合并发送的消息逐个处理
+    if (message instanceof CompositeMessage compositeMessage) {
+      for (Message msg : compositeMessage) {
+        handle(msg);
       }
+    } else {
+      handle(message);
+    }
+  }
+
+  /**
+   * 按消息头把消息交由对应的组件处理
+   *
+   * @param message 消息
+   */
+  private void handle(Message message) {
+    // 分布式任务消息交由对应的调度器处理
+    JobHeader jobHeader = message.getHeader(JobHeader.TYPE);
+    if (jobHeader != null) {
+      try {
+        scheduler(jobHeader.scheduler()).handle(message, jobHeader);
+      } catch (Exception e) {
+        log.error("Failed to handle job message {} from {}.", jobHeader, message.getSrc(), e);
+      }
+    }
 
-      // 接收消息，更新逻辑时钟
-      logicalClock.update(message.<TimestampHeader>getHeader(TimestampHeader.TYPE).timestamp());
+    // 分区迁移消息经由事件派发器交由迁移管理器处理，保证在此前的视图变更更新元数据之后生效
+    MigrationHeader migrationHeader = message.getHeader(MigrationHeader.TYPE);
+    if (migrationHeader != null) {
+      eventDispatcher.publish(new MigrationCompletedEvent(message, migrationHeader));
     }
   }
 
@@ -554,9 +672,7 @@ class DefaultDistributedEngine
    */
   @Override
   public void getState(OutputStream output) throws Exception {
-//    clusterTopology.writeTo(output);
-//    log.info(
-//        "The node{} sends the {} to member of cluster.", localIdentity(jChannel), clusterTopology);
+    stateTransfer.write(output);
   }
 
   /**
@@ -566,20 +682,9 @@ class DefaultDistributedEngine
    */
   @Override
   public void setState(InputStream input) throws IOException {
-    int available = input.available();
-    byte[] bytes = new byte[available];
-    input.read(bytes);
-    clusterTopology.readFrom(new ByteArrayDataInputStream(bytes));
-//    if (log.isDebugEnabled()) {
-//      log.debug(
-//          "{} [coordinatorView:{}, localView:{}]", localIdentity(jChannel), cView, clusterView);
-//    }
-//    clusterView.merge(cView); // 合并集群视图
-//    if (log.isDebugEnabled()) {
-//      log.debug("{} [mergedView: {}]", localIdentity(jChannel), clusterView);
-//    }
-//    clusterViewLatch.countDown();
-//    log.info("The node{} receives the {} from coordinator.", localIdentity(jChannel), clusterView);
+    TransferStats stats = stateTransfer.read(input);
+    clusterViewLatch.countDown();
+    log.info("The node({}) receives the cluster state from coordinator. {}", name(), stats);
   }
 
   @Override
@@ -588,8 +693,15 @@ class DefaultDistributedEngine
   }
 
   @Override
-  public DistributedJobScheduler scheduler(String name) {
-    return null;
+  public DefaultDistributedJobScheduler scheduler(String name) {
+    if (name == null || name.isEmpty()) {
+      throw new IllegalArgumentException("name must not be null or empty.");
+    }
+    return schedulers.computeIfAbsent(
+        name,
+        key ->
+            new DefaultDistributedJobScheduler(
+                key, this, clusterMetadata, properties.getJobQueueCapacity()));
   }
 
   /**
@@ -626,10 +738,24 @@ class DefaultDistributedEngine
 
   @Override
   public void close() throws Exception {
+    schedulers.values().forEach(DefaultDistributedJobScheduler::close);
+
+    if (this.migrationManager != null) {
+      migrationManager.close();
+    }
+
+    if (this.messageBatcher != null) {
+      messageBatcher.close();
+    }
+
     if (this.jChannel != null) {
       shutdown(this.jChannel);
     }
 
+    if (this.eventDispatcher != null) {
+      eventDispatcher.close();
+    }
+
     if (this.persistStorage != null) {
       persistStorage.close();
     }
@@ -662,10 +788,13 @@ class DefaultDistributedEngine
   }
 
   @Autowired
-  public void setEventQueue(
-      @Qualifier("mixmasterEventQueue")
-          MpscAtomicArrayQueue<ApplicationEvent> mpscAtomicArrayQueue) {
-    this.eventQueue = mpscAtomicArrayQueue;
+  public void setStateTransfer(ClusterStateTransfer stateTransfer) {
+    this.stateTransfer = stateTransfer;
+  }
+
+  @Autowired
+  public void setEventDispatcher(EventDispatcher eventDispatcher) {
+    this.eventDispatcher = eventDispatcher;
   }
 
   @Autowired
@@ -674,6 +803,12 @@ class DefaultDistributedEngine
     clusterMetadata.setEngine(this);
   }
 
+  @Autowired
+  public void setMigrationManager(PartitionMigrationManager migrationManager) {
+    this.migrationManager = migrationManager;
+    migrationManager.setEngine(this);
+  }
+
   @Autowired
   public void setClusterTopology(ClusterTopology clusterTopology) {
     this.clusterTopology = clusterTopology;
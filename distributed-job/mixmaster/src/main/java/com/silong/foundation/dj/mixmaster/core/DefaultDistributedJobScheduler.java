@@ -0,0 +1,391 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import static com.silong.foundation.dj.mixmaster.message.JobHeader.ACK;
+import static com.silong.foundation.dj.mixmaster.message.JobHeader.REDIRECT;
+import static com.silong.foundation.dj.mixmaster.message.JobHeader.REJECT;
+import static com.silong.foundation.dj.mixmaster.message.JobHeader.REQUEST;
+
+import com.silong.foundation.dj.mixmaster.DistributedJobScheduler;
+import com.silong.foundation.dj.mixmaster.exception.DistributedEngineException;
+import com.silong.foundation.dj.mixmaster.message.JobHeader;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import java.io.Serializable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.maps.NonBlockingHashMap;
+import org.jctools.maps.NonBlockingHashMapLong;
+import org.jgroups.Address;
+import org.jgroups.BytesMessage;
+import org.jgroups.EmptyMessage;
+import org.jgroups.Message;
+import org.jgroups.View;
+import org.jgroups.util.Util;
+
+/**
+ * 分区亲和的分布式任务调度器<br>
+ * 任务按亲和键映射到分区，由分区主节点执行；每个分区拥有独立的有界队列，由虚拟线程按提交顺序串行执行。<br>
+ * 发往远程节点的任务在收到应答前保留在本地，视图变更时目标节点已离开集群的任务重新路由至新的主节点。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 09:30
+ */
+@Slf4j
+class DefaultDistributedJobScheduler implements DistributedJobScheduler, AutoCloseable {
+
+  /** 调度器名 */
+  private final String name;
+
+  /** 分布式引擎 */
+  private final DefaultDistributedEngine engine;
+
+  /** 集群元数据 */
+  private final DefaultClusterMetadata clusterMetadata;
+
+  /** 每个分区的任务队列长度 */
+  private final int queueCapacity;
+
+  /** 任务id生成器 */
+  private final AtomicLong jobIdGenerator = new AtomicLong();
+
+  /** 分区任务执行器 */
+  private final NonBlockingHashMap<Integer, PartitionWorker> workers = new NonBlockingHashMap<>();
+
+  /** 已发往远程节点执行，尚未收到应答的任务 */
+  private final NonBlockingHashMapLong<RemoteJob> remoteJobs = new NonBlockingHashMapLong<>();
+
+  /** 是否已关闭 */
+  private volatile boolean closed;
+
+  /**
+   * 构造方法
+   *
+   * @param name 调度器名
+   * @param engine 分布式引擎
+   * @param clusterMetadata 集群元数据
+   * @param queueCapacity 每个分区的任务队列长度
+   */
+  DefaultDistributedJobScheduler(
+      @NonNull String name,
+      @NonNull DefaultDistributedEngine engine,
+      @NonNull DefaultClusterMetadata clusterMetadata,
+      int queueCapacity) {
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("queueCapacity must be greater than 0.");
+    }
+    this.name = name;
+    this.engine = engine;
+    this.clusterMetadata = clusterMetadata;
+    this.queueCapacity = queueCapacity;
+  }
+
+  @Override
+  public void execute(@NonNull Object affinityKey, @NonNull Runnable command) throws Exception {
+    if (closed) {
+      throw new RejectedExecutionException(
+          String.format("The scheduler[%s] has been closed.", name));
+    }
+    dispatch(
+        new Job(
+            jobIdGenerator.incrementAndGet(),
+            clusterMetadata.mapObj2Partition(affinityKey),
+            engine.localAddress(),
+            command));
+  }
+
+  /**
+   * 把任务路由至分区主节点，本地节点为主节点时入队执行
+   *
+   * @param job 任务
+   * @throws Exception 异常
+   */
+  private void dispatch(Job job) throws Exception {
+    ClusterNodeUUID primary = primary(job.partition());
+    if (primary.equals(engine.localAddress())) {
+      workers.computeIfAbsent(job.partition(), PartitionWorker::new).submit(job);
+      return;
+    }
+
+    if (!(job.command() instanceof Serializable)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "The command must be serializable to be executed on remote node %s.", primary));
+    }
+
+    // 本节点提交的任务在收到应答前保留，用于主节点离开集群后的故障转移
+    if (job.origin().equals(engine.localAddress())) {
+      remoteJobs.put(job.jobId(), new RemoteJob(job, primary));
+    }
+    engine.send(
+        new BytesMessage(primary, Util.objectToByteBuffer(job.command()))
+            .putHeader(JobHeader.TYPE, header(REQUEST, job)));
+  }
+
+  /**
+   * 重新路由本节点提交的任务，分区主节点未就绪时保留任务，待下次视图变更后重试
+   *
+   * @param job 任务
+   */
+  private void redispatch(Job job) {
+    if (closed) {
+      return;
+    }
+    try {
+      dispatch(job);
+    } catch (DistributedEngineException e) {
+      log.warn("The job {} of scheduler[{}] is pending until the primary is ready.", job, name);
+      remoteJobs.put(job.jobId(), new RemoteJob(job, null));
+    } catch (Exception e) {
+      log.error("Failed to redispatch job {} of scheduler[{}].", job, name, e);
+    }
+  }
+
+  private boolean isLocalPrimary(int partition) {
+    PartitionTopology<ClusterNodeUUID> topology = clusterMetadata.mapPartition2Nodes(partition);
+    return topology != null && engine.localAddress().equals(topology.primary());
+  }
+
+  private ClusterNodeUUID primary(int partition) {
+    PartitionTopology<ClusterNodeUUID> topology = clusterMetadata.mapPartition2Nodes(partition);
+    ClusterNodeUUID primary = topology != null ? topology.primary() : null;
+    if (primary == null) {
+      throw new DistributedEngineException(
+          String.format("The primary node of partition[%d] is not ready.", partition));
+    }
+    return primary;
+  }
+
+  private JobHeader header(byte kind, Job job) {
+    return JobHeader.builder()
+        .kind(kind)
+        .scheduler(name)
+        .jobId(job.jobId())
+        .partition(job.partition())
+        .origin(job.origin())
+        .build();
+  }
+
+  /**
+   * 向任务提交节点发送应答
+   *
+   * @param kind 应答类型
+   * @param job 任务
+   */
+  private void reply(byte kind, Job job) {
+    try {
+      engine.send(new EmptyMessage(job.origin()).putHeader(JobHeader.TYPE, header(kind, job)));
+    } catch (Exception e) {
+      log.error("Failed to reply to {} for job {} of scheduler[{}].", job.origin(), job, name, e);
+    }
+  }
+
+  /**
+   * 处理远程节点发送的任务消息
+   *
+   * @param message 消息
+   * @param header 任务消息头
+   * @throws Exception 异常
+   */
+  void handle(@NonNull Message message, @NonNull JobHeader header) throws Exception {
+    switch (header.kind()) {
+      case REQUEST -> {
+        Runnable command =
+            Util.objectFromByteBuffer(message.getArray(), message.getOffset(), message.getLength());
+        Job job = new Job(header.jobId(), header.partition(), header.origin(), command);
+        try {
+          if (closed) {
+            throw new RejectedExecutionException(
+                String.format("The scheduler[%s] has been closed.", name));
+          }
+          // 本节点已不是分区主节点时不再转发，由提交节点重新路由以便跟踪任务的执行节点
+          if (isLocalPrimary(job.partition())) {
+            workers.computeIfAbsent(job.partition(), PartitionWorker::new).submit(job);
+          } else {
+            reply(REDIRECT, job);
+          }
+        } catch (RejectedExecutionException e) {
+          log.error("The job {} of scheduler[{}] was rejected.", job, name, e);
+          reply(REJECT, job);
+        }
+      }
+      case ACK -> remoteJobs.remove(header.jobId());
+      case REJECT -> {
+        RemoteJob remoteJob = remoteJobs.remove(header.jobId());
+        if (remoteJob != null) {
+          log.error(
+              "The job {} of scheduler[{}] was rejected by {}.",
+              remoteJob.job(),
+              name,
+              remoteJob.target());
+        }
+      }
+      case REDIRECT -> {
+        RemoteJob remoteJob = remoteJobs.remove(header.jobId());
+        if (remoteJob != null) {
+          log.info(
+              "The node {} is no longer the primary, job {} of scheduler[{}] is redispatched.",
+              remoteJob.target(),
+              remoteJob.job(),
+              name);
+          redispatch(remoteJob.job());
+        }
+      }
+      default -> log.error("Unknown kind of job message {} from {}.", header, message.getSrc());
+    }
+  }
+
+  /**
+   * 视图变更后，把发往已离开集群节点的任务以及等待主节点就绪的任务重新路由至分区新的主节点
+   *
+   * @param newView 新视图
+   */
+  void onViewChanged(@NonNull View newView) {
+    remoteJobs.forEach(
+        (jobId, remoteJob) -> {
+          Address target = remoteJob.target();
+          if ((target == null || !newView.containsMember(target))
+              && remoteJobs.remove(jobId, remoteJob)) {
+            log.info(
+                "The node {} has left the cluster, job {} of scheduler[{}] fails over.",
+                target,
+                remoteJob.job(),
+                name);
+            redispatch(remoteJob.job());
+          }
+        });
+  }
+
+  /**
+   * 等待远程节点应答的任务数量
+   *
+   * @return 任务数量
+   */
+  int remoteJobs() {
+    return remoteJobs.size();
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    workers.values().forEach(worker -> worker.queue.clear());
+    remoteJobs.clear();
+  }
+
+  /**
+   * 任务
+   *
+   * @param jobId 任务id
+   * @param partition 分区编号
+   * @param origin 提交任务的节点
+   * @param command 任务
+   */
+  private record Job(long jobId, int partition, Address origin, Runnable command) {}
+
+  /**
+   * 发往远程节点执行的任务
+   *
+   * @param job 任务
+   * @param target 执行任务的节点，分区主节点未就绪时为null
+   */
+  private record RemoteJob(Job job, Address target) {}
+
+  /** 分区任务执行器，同一时刻至多一个虚拟线程消费分区任务队列 */
+  private class PartitionWorker implements Runnable {
+
+    /** 分区编号 */
+    private final int partition;
+
+    /** 任务队列 */
+    private final ArrayBlockingQueue<Job> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+    /** 是否有线程正在消费任务队列 */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    PartitionWorker(int partition) {
+      this.partition = partition;
+    }
+
+    void submit(Job job) {
+      if (!queue.offer(job)) {
+        throw new RejectedExecutionException(
+            String.format(
+                "The job queue of partition[%d] in scheduler[%s] is full.", partition, name));
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (running.compareAndSet(false, true)) {
+        Thread.ofVirtual()
+            .name(String.format("%s-%s-partition%d", engine.name(), name, partition))
+            .start(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        Job job;
+        while (!closed && (job = queue.poll()) != null) {
+          execute(job);
+        }
+      } finally {
+        running.set(false);
+
+        // 释放消费权期间有新任务入队，或任务抛出Error中断消费，则重新调度
+        if (!closed && !queue.isEmpty()) {
+          schedule();
+        }
+      }
+    }
+
+    private void execute(Job job) {
+      boolean local = job.origin().equals(engine.localAddress());
+
+      // 排队期间分区主节点发生变更则由提交节点重新路由，使其更新任务的执行节点
+      if (!isLocalPrimary(partition)) {
+        if (local) {
+          redispatch(job);
+        } else {
+          reply(REDIRECT, job);
+        }
+        return;
+      }
+
+      try {
+        job.command().run();
+      } catch (Exception e) {
+        log.error("Failed to execute job {} of scheduler[{}].", job, name, e);
+      } finally {
+        if (!local) {
+          reply(ACK, job);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,340 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.EventDispatcherProperties;
+import com.silong.foundation.dj.mixmaster.enu.OverflowPolicy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.queues.MessagePassingQueue;
+import org.jctools.queues.atomic.MpscAtomicArrayQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * 内部事件派发器，多生产者单消费者，异步保序处理事件<br>
+ * 派发线程批量取出事件处理，队列为空时按配置的等待策略自旋、让出CPU或挂起，生产者投递事件时唤醒挂起的派发线程；
+ * 队列已满时按配置的溢出策略丢弃事件或阻塞生产者。按事件类型统计事件排队及处理耗时。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 13:30
+ */
+@Slf4j
+@Component
+class EventDispatcher implements AutoCloseable {
+
+  /** 阻塞生产者时单次挂起的最长时间 */
+  private static final long MAX_BLOCK_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /** 事件及其入队时间 */
+  private record Envelope(ApplicationEvent event, long enqueueNanos) {}
+
+  /**
+   * 事件统计
+   *
+   * @param published 入队事件数量
+   * @param dropped 丢弃事件数量
+   * @param dispatched 已派发事件数量
+   * @param failed 处理异常的事件数量
+   * @param totalQueueNanos 事件排队总耗时
+   * @param maxQueueNanos 事件排队最长耗时
+   * @param totalHandleNanos 事件处理总耗时
+   * @param maxHandleNanos 事件处理最长耗时
+   */
+  record EventStatistics(
+      long published,
+      long dropped,
+      long dispatched,
+      long failed,
+      long totalQueueNanos,
+      long maxQueueNanos,
+      long totalHandleNanos,
+      long maxHandleNanos) {
+
+    /**
+     * 事件平均排队耗时
+     *
+     * @return 纳秒
+     */
+    long avgQueueNanos() {
+      return dispatched == 0 ? 0 : totalQueueNanos / dispatched;
+    }
+
+    /**
+     * 事件平均处理耗时
+     *
+     * @return 纳秒
+     */
+    long avgHandleNanos() {
+      return dispatched == 0 ? 0 : totalHandleNanos / dispatched;
+    }
+  }
+
+  /** 单个事件类型的统计计数 */
+  private static final class EventMetrics {
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final AtomicLong totalHandleNanos = new AtomicLong();
+    private final AtomicLong maxHandleNanos = new AtomicLong();
+
+    void dispatched(long queueNanos, long handleNanos, boolean success) {
+      if (!success) {
+        failed.incrementAndGet();
+      }
+      totalQueueNanos.addAndGet(queueNanos);
+      maxQueueNanos.accumulateAndGet(queueNanos, Math::max);
+      totalHandleNanos.addAndGet(handleNanos);
+      maxHandleNanos.accumulateAndGet(handleNanos, Math::max);
+      // 最后更新派发数量，读取到派发数量时其耗时已计入
+      dispatched.incrementAndGet();
+    }
+
+    EventStatistics snapshot() {
+      return new EventStatistics(
+          published.sum(),
+          dropped.sum(),
+          dispatched.get(),
+          failed.get(),
+          totalQueueNanos.get(),
+          maxQueueNanos.get(),
+          totalHandleNanos.get(),
+          maxHandleNanos.get());
+    }
+  }
+
+  /** 按事件类型统计 */
+  private final Map<Class<? extends ApplicationEvent>, EventMetrics> metrics =
+      new ConcurrentHashMap<>();
+
+  /** 事件队列 */
+  private MpscAtomicArrayQueue<Envelope> queue;
+
+  /** 派发配置 */
+  private EventDispatcherProperties config;
+
+  /** 派发线程 */
+  private volatile Thread dispatcher;
+
+  /** 派发线程是否挂起 */
+  private volatile boolean parked;
+
+  /** 是否已关闭 */
+  private volatile boolean closed;
+
+  /**
+   * 投递事件，队列已满时按溢出策略处理
+   *
+   * @param event 事件
+   * @return 是否投递成功
+   */
+  boolean publish(@NonNull ApplicationEvent event) {
+    Envelope envelope = new Envelope(event, System.nanoTime());
+    EventMetrics eventMetrics = metrics(event.getClass());
+    if (closed
+        || (!queue.offer(envelope)
+            && (config.getOverflowPolicy() != OverflowPolicy.BLOCK
+                || !offerUntilTimeout(envelope)))) {
+      eventMetrics.dropped.increment();
+      // 事件风暴时按丢弃数量的2次方打印日志，避免日志风暴
+      long dropped = eventMetrics.dropped.sum();
+      if ((dropped & (dropped - 1)) == 0) {
+        log.error(
+            closed
+                ? "The event dispatcher has been closed and new events are discarded. event:{},"
+                    + " dropped:{}."
+                : "The event queue is full and new events are discarded. event:{}, dropped:{}.",
+            event,
+            dropped);
+      }
+      return false;
+    }
+    eventMetrics.published.increment();
+    signal();
+    return true;
+  }
+
+  /** 阻塞生产者直至队列有空闲位置或超时 */
+  private boolean offerUntilTimeout(Envelope envelope) {
+    long deadline = System.nanoTime() + config.getOverflowTimeout().toNanos();
+    long parkNanos = 1_000;
+    while (!closed && deadline - System.nanoTime() > 0) {
+      // 唤醒派发线程腾出队列位置
+      signal();
+      LockSupport.parkNanos(this, parkNanos);
+      if (queue.offer(envelope)) {
+        return true;
+      }
+      parkNanos = Math.min(parkNanos << 1, MAX_BLOCK_PARK_NANOS);
+    }
+    return false;
+  }
+
+  /** 唤醒挂起的派发线程 */
+  private void signal() {
+    if (parked) {
+      LockSupport.unpark(dispatcher);
+    }
+  }
+
+  private EventMetrics metrics(Class<? extends ApplicationEvent> type) {
+    EventMetrics eventMetrics = metrics.get(type);
+    return eventMetrics != null
+        ? eventMetrics
+        : metrics.computeIfAbsent(type, t -> new EventMetrics());
+  }
+
+  /**
+   * 在当前线程循环派发事件，直至派发器关闭，关闭后队列中未派发的事件被丢弃
+   *
+   * @param handler 事件处理器
+   */
+  void dispatch(@NonNull Consumer<ApplicationEvent> handler) {
+    dispatcher = Thread.currentThread();
+    MessagePassingQueue.Consumer<Envelope> consumer = envelope -> handle(handler, envelope);
+    int batchSize = config.getBatchSize();
+    int idleCount = 0;
+    while (!closed) {
+      if (queue.drain(consumer, batchSize) > 0) {
+        idleCount = 0;
+      } else {
+        idle(idleCount);
+        // 长时间空闲时计数饱和，避免溢出为负数后重新进入自旋阶段
+        if (idleCount < Integer.MAX_VALUE) {
+          idleCount++;
+        }
+      }
+    }
+  }
+
+  private void handle(Consumer<ApplicationEvent> handler, Envelope envelope) {
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      handler.accept(envelope.event());
+      success = true;
+    } catch (Exception e) {
+      log.error("Failed to dispatch event:{}.", envelope.event(), e);
+    } finally {
+      metrics(envelope.event().getClass())
+          .dispatched(start - envelope.enqueueNanos(), System.nanoTime() - start, success);
+    }
+  }
+
+  /**
+   * 队列为空时按等待策略等待新事件
+   *
+   * @param idleCount 连续空闲次数
+   */
+  private void idle(int idleCount) {
+    int spinTries = config.getSpinTries();
+    switch (config.getWaitStrategy()) {
+      case BUSY_SPIN -> Thread.onSpinWait();
+      case YIELDING -> {
+        if (idleCount < spinTries) {
+          Thread.onSpinWait();
+        } else {
+          Thread.yield();
+        }
+      }
+      case SPIN_THEN_PARK -> {
+        if (idleCount < spinTries) {
+          Thread.onSpinWait();
+        } else if (idleCount < (long) spinTries + config.getYieldTries()) {
+          Thread.yield();
+        } else {
+          park();
+        }
+      }
+      case PARKING -> park();
+    }
+  }
+
+  private void park() {
+    parked = true;
+    try {
+      // 设置挂起标识后再次检查队列，避免错过生产者的唤醒
+      if (queue.isEmpty() && !closed) {
+        LockSupport.parkNanos(this, config.getMaxParkTime().toNanos());
+      }
+    } finally {
+      parked = false;
+    }
+  }
+
+  /**
+   * 各事件类型的统计
+   *
+   * @return 事件类型及其统计
+   */
+  Map<Class<? extends ApplicationEvent>, EventStatistics> statistics() {
+    return metrics.entrySet().stream()
+        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> e.getValue().snapshot()));
+  }
+
+  /**
+   * 指定事件类型的统计
+   *
+   * @param type 事件类型
+   * @return 统计
+   */
+  EventStatistics statistics(Class<? extends ApplicationEvent> type) {
+    return metrics(type).snapshot();
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    Thread thread = dispatcher;
+    if (thread != null && thread != Thread.currentThread()) {
+      // 等待正在处理的事件完成
+      LockSupport.unpark(thread);
+      thread.join(config.getOverflowTimeout());
+    }
+    if (log.isDebugEnabled()) {
+      statistics()
+          .forEach((type, statistics) -> log.debug("{}: {}", type.getSimpleName(), statistics));
+    }
+  }
+
+  @Autowired
+  public void setProperties(MixmasterProperties properties) {
+    this.config = properties.getEventDispatcher();
+    this.queue = new MpscAtomicArrayQueue<>(properties.getEventDispatchQueueSize());
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.BatchingProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jgroups.Address;
+import org.jgroups.CompositeMessage;
+import org.jgroups.Message;
+
+/**
+ * 发送消息批量合并器<br>
+ * 发往同一目标的消息暂存于该目标的批次中，批次消息数量或字节数达到上限时立即发送，否则由定时任务在最长等待时间内发送。 批次中只有一个消息时直接发送，多个消息时合并为一个{@link
+ * CompositeMessage}发送，同一目标的消息保持发送顺序。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 15:15
+ */
+@Slf4j
+class MessageBatcher implements AutoCloseable {
+
+  /** 广播消息的批次键 */
+  private static final Object BROADCAST = new Object();
+
+  /** 消息发送器 */
+  @FunctionalInterface
+  interface Sender {
+
+    /**
+     * 发送消息
+     *
+     * @param msg 消息
+     * @throws Exception 异常
+     */
+    void send(Message msg) throws Exception;
+  }
+
+  /** 发往同一目标的消息批次 */
+  private final class Batch {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Message> messages = new ArrayList<>();
+    private final Address dest;
+    private int bytes;
+
+    /** 上次定时发送后是否有新消息加入 */
+    private boolean touched;
+
+    /** 长时间空闲已从批次表中移除 */
+    private boolean retired;
+
+    Batch(Address dest) {
+      this.dest = dest;
+    }
+
+    /**
+     * 加入消息，达到批次上限时发送
+     *
+     * @param msg 消息
+     * @return 批次已移除时返回false
+     * @throws Exception 异常
+     */
+    boolean add(Message msg) throws Exception {
+      lock.lock();
+      try {
+        if (retired) {
+          return false;
+        }
+        touched = true;
+        int size = msg.size();
+        // 加入后超出字节上限时先发送已暂存的消息
+        if (!messages.isEmpty() && bytes + size > config.getMaxBatchBytes()) {
+          flush();
+        }
+        messages.add(msg);
+        bytes += size;
+        // 关闭后加入的消息立即发送
+        if (closed
+            || messages.size() >= config.getMaxBatchMessages()
+            || bytes >= config.getMaxBatchBytes()) {
+          flush();
+        }
+        return true;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * 定时发送暂存的消息，连续两个周期无新消息的批次从批次表中移除
+     *
+     * @param key 批次键
+     */
+    void expire(Object key) {
+      lock.lock();
+      try {
+        if (messages.isEmpty() && !touched) {
+          retired = true;
+          batches.remove(key, this);
+        } else {
+          touched = false;
+          flush();
+        }
+      } catch (Exception e) {
+        log.error("Failed to send the batch of messages to {}.", dest, e);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** 发送暂存的消息，调用方须持有锁 */
+    private void flush() throws Exception {
+      if (messages.isEmpty()) {
+        return;
+      }
+      Message msg =
+          messages.size() == 1
+              ? messages.getFirst()
+              : new CompositeMessage(dest, messages.toArray(Message[]::new));
+      messages.clear();
+      bytes = 0;
+      sender.send(msg);
+    }
+  }
+
+  /** 按目标暂存的消息批次 */
+  private final Map<Object, Batch> batches = new ConcurrentHashMap<>();
+
+  /** 批量合并配置 */
+  private final BatchingProperties config;
+
+  /** 消息发送器 */
+  private final Sender sender;
+
+  /** 定时发送暂存消息 */
+  private final ScheduledExecutorService scheduler;
+
+  /** 是否已关闭 */
+  private volatile boolean closed;
+
+  /**
+   * 构造方法
+   *
+   * @param name 名称
+   * @param config 批量合并配置
+   * @param sender 消息发送器
+   */
+  MessageBatcher(@NonNull String name, @NonNull BatchingProperties config, @NonNull Sender sender) {
+    this.config = config;
+    this.sender = sender;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name(name + "-message-batcher").factory());
+    long delay = config.getMaxBatchDelay().toNanos();
+    scheduler.scheduleWithFixedDelay(this::flush, delay, delay, NANOSECONDS);
+  }
+
+  /**
+   * 发送消息，消息暂存于目标批次中，关闭后立即发送
+   *
+   * @param msg 消息
+   * @throws Exception 异常
+   */
+  void send(@NonNull Message msg) throws Exception {
+    Address dest = msg.getDest();
+    Object key = dest == null ? BROADCAST : dest;
+    // 批次被定时任务移除后重新创建
+    while (!batches.computeIfAbsent(key, k -> new Batch(dest)).add(msg)) {
+      Thread.onSpinWait();
+    }
+  }
+
+  /** 发送所有批次中暂存的消息，并移除空闲的批次 */
+  void flush() {
+    batches.forEach((key, batch) -> batch.expire(key));
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    scheduler.shutdown();
+    if (!scheduler.awaitTermination(config.getMaxBatchDelay().toNanos() * 2, NANOSECONDS)) {
+      log.warn("The message batcher did not terminate in time.");
+    }
+    // 发送关闭前暂存的消息
+    flush();
+  }
+}
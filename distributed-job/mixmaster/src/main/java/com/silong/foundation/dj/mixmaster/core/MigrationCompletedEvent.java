@@ -0,0 +1,71 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.message.MigrationHeader;
+import java.io.Serial;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import org.jgroups.Message;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 分区迁移完成事件，其他节点广播的迁移完成消息经由事件派发器处理，保证在此前的视图变更之后生效
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 15:10
+ */
+@Getter
+@Accessors(fluent = true)
+class MigrationCompletedEvent extends ApplicationEvent {
+
+  @Serial private static final long serialVersionUID = 4_271_095_338_612_508_843L;
+
+  /** 迁移消息头 */
+  private final transient MigrationHeader header;
+
+  /**
+   * 构造方法
+   *
+   * @param message 迁移完成消息
+   * @param header 迁移消息头
+   */
+  MigrationCompletedEvent(@NonNull Message message, @NonNull MigrationHeader header) {
+    super(message);
+    this.header = header;
+  }
+
+  /**
+   * 迁移完成消息
+   *
+   * @return 消息
+   */
+  Message message() {
+    return (Message) getSource();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MigrationCompletedEvent{src:%s, header:%s}", message().getSrc(), header);
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.common.lambda.Tuple2;
+import com.silong.foundation.dj.bonecrusher.PartitionDataExporter;
+import com.silong.foundation.dj.longhaul.RocksDbPersistStorage;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import jakarta.annotation.Nullable;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分区数据存储，每个分区的数据保存在独立的列族中<br>
+ * 分区迁移时把分区数据导出为带校验和的文件，由bonecrusher传输至新的分区节点后导入。<br>
+ * 文件格式：魔数(int) | 分区号(int) | [键长度(int) | 键 | 值长度(int) | 值]* | -1(int) | 数据条数(long) | crc32(long)
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 11:10
+ */
+@Slf4j
+@Component
+@SuppressFBWarnings("PATH_TRAVERSAL_IN")
+class PartitionDataStore implements PartitionDataExporter {
+
+  /** 导出文件魔数 */
+  static final int MAGIC = 0x4D584D50;
+
+  /** 数据条目结束标识 */
+  private static final int END_OF_ENTRIES = -1;
+
+  /** 批量写入或删除的条目数量 */
+  private static final int BATCH_SIZE = 1024;
+
+  /** 持久化存储 */
+  private RocksDbPersistStorage persistStorage;
+
+  /** 配置 */
+  private MixmasterProperties properties;
+
+  private String columnFamily(int partitionNo) {
+    if (partitionNo < 0 || partitionNo >= properties.getPartitions()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "partition(%d) exceeds boundary[%d, %d).",
+              partitionNo, 0, properties.getPartitions()));
+    }
+    return properties.partitionColumnFamily(partitionNo);
+  }
+
+  /**
+   * 保存分区数据
+   *
+   * @param partitionNo 分区号
+   * @param key 键
+   * @param value 值
+   */
+  void put(int partitionNo, byte @NonNull [] key, byte @NonNull [] value) {
+    persistStorage.put(columnFamily(partitionNo), key, value);
+  }
+
+  /**
+   * 查询分区数据
+   *
+   * @param partitionNo 分区号
+   * @param key 键
+   * @return 值，不存在时返回null
+   */
+  @Nullable
+  byte[] get(int partitionNo, byte @NonNull [] key) {
+    return persistStorage.get(columnFamily(partitionNo), key);
+  }
+
+  /**
+   * 统计分区数据条数
+   *
+   * @param partitionNo 分区号
+   * @return 数据条数
+   */
+  long count(int partitionNo) {
+    AtomicLong count = new AtomicLong();
+    persistStorage.iterate(columnFamily(partitionNo), (key, value) -> count.incrementAndGet());
+    return count.get();
+  }
+
+  /**
+   * 清空分区数据
+   *
+   * @param partitionNo 分区号
+   */
+  void clear(int partitionNo) {
+    String cf = columnFamily(partitionNo);
+    List<byte[]> keys = new ArrayList<>(BATCH_SIZE);
+    persistStorage.iterate(
+        cf,
+        (key, value) -> {
+          keys.add(key);
+          if (keys.size() == BATCH_SIZE) {
+            persistStorage.multiRemove(cf, keys.toArray(byte[][]::new));
+            keys.clear();
+          }
+        });
+    if (!keys.isEmpty()) {
+      persistStorage.multiRemove(cf, keys.toArray(byte[][]::new));
+    }
+  }
+
+  @Override
+  public Path export(int partitionNo, @NonNull Path directory) throws IOException {
+    String cf = columnFamily(partitionNo);
+    Path file = Files.createTempFile(directory, "partition" + partitionNo + "-", ".data");
+    try (OutputStream fileOutputStream = Files.newOutputStream(file)) {
+      CheckedOutputStream checkedOutputStream =
+          new CheckedOutputStream(new BufferedOutputStream(fileOutputStream), new CRC32());
+      DataOutputStream out = new DataOutputStream(checkedOutputStream);
+      out.writeInt(MAGIC);
+      out.writeInt(partitionNo);
+      AtomicLong count = new AtomicLong();
+      persistStorage.iterate(
+          cf,
+          (key, value) -> {
+            try {
+              out.writeInt(key.length);
+              out.write(key);
+              out.writeInt(value.length);
+              out.write(value);
+              count.incrementAndGet();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+      out.writeInt(END_OF_ENTRIES);
+      out.writeLong(count.get());
+      // 校验和不包含自身
+      long checksum = checkedOutputStream.getChecksum().getValue();
+      out.writeLong(checksum);
+      out.flush();
+      log.info("Exported {} entries of partition[{}] to {}.", count.get(), partitionNo, file);
+      return file;
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  /**
+   * 导入分区数据，校验通过后替换分区中的全部数据
+   *
+   * @param partitionNo 分区号
+   * @param file 分区数据文件
+   * @return 导入的数据条数
+   * @throws IOException 文件格式错误或校验失败
+   */
+  long importFrom(int partitionNo, @NonNull Path file) throws IOException {
+    String cf = columnFamily(partitionNo);
+
+    // 先完整校验文件，避免在清空本地数据后才发现文件损坏
+    long count = read(partitionNo, file, null);
+
+    clear(partitionNo);
+    List<Tuple2<byte[], byte[]>> batch = new ArrayList<>(BATCH_SIZE);
+    read(
+        partitionNo,
+        file,
+        (key, value) -> {
+          batch.add(new Tuple2<>(key, value));
+          if (batch.size() == BATCH_SIZE) {
+            putAll(cf, batch);
+          }
+        });
+    putAll(cf, batch);
+    log.info("Imported {} entries of partition[{}] from {}.", count, partitionNo, file);
+    return count;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void putAll(String cf, List<Tuple2<byte[], byte[]>> batch) {
+    if (!batch.isEmpty()) {
+      persistStorage.putAll(cf, batch.toArray(Tuple2[]::new));
+      batch.clear();
+    }
+  }
+
+  /**
+   * 读取并校验分区数据文件
+   *
+   * @param partitionNo 分区号
+   * @param file 文件
+   * @param consumer 数据条目消费者，为null时仅校验
+   * @return 数据条数
+   * @throws IOException 文件格式错误或校验失败
+   */
+  private long read(int partitionNo, Path file, @Nullable EntryConsumer consumer)
+      throws IOException {
+    try (CheckedInputStream checkedInputStream =
+        new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file)), new CRC32())) {
+      DataInputStream in = new DataInputStream(checkedInputStream);
+      if (in.readInt() != MAGIC) {
+        throw new IOException(
+            String.format("Invalid data file %s of partition[%d].", file, partitionNo));
+      }
+      int exportedPartitionNo = in.readInt();
+      if (exportedPartitionNo != partitionNo) {
+        throw new IOException(
+            String.format(
+                "The data file %s belongs to partition[%d], expected partition[%d].",
+                file, exportedPartitionNo, partitionNo));
+      }
+
+      long count = 0;
+      int keyLength;
+      while ((keyLength = in.readInt()) != END_OF_ENTRIES) {
+        // 校验通过前不信任文件中的长度，避免负数长度或截断文件导致异常或读取不完整的数据
+        byte[] key = readBytes(in, keyLength, partitionNo, file);
+        byte[] value = readBytes(in, in.readInt(), partitionNo, file);
+        if (consumer != null) {
+          consumer.accept(key, value);
+        }
+        count++;
+      }
+
+      long expectedCount = in.readLong();
+      long checksum = checkedInputStream.getChecksum().getValue();
+      long expectedChecksum = in.readLong();
+      if (count != expectedCount || checksum != expectedChecksum) {
+        throw new IOException(
+            String.format(
+                "The data file %s of partition[%d] is corrupted. count:[%d--->%d],"
+                    + " checksum:[%d--->%d]",
+                file, partitionNo, expectedCount, count, expectedChecksum, checksum));
+      }
+      return count;
+    }
+  }
+
+  private static byte[] readBytes(DataInputStream in, int length, int partitionNo, Path file)
+      throws IOException {
+    if (length < 0) {
+      throw new IOException(
+          String.format("Invalid data file %s of partition[%d].", file, partitionNo));
+    }
+    byte[] bytes = in.readNBytes(length);
+    if (bytes.length != length) {
+      throw new EOFException(
+          String.format("The data file %s of partition[%d] is truncated.", file, partitionNo));
+    }
+    return bytes;
+  }
+
+  /** 数据条目消费者 */
+  @FunctionalInterface
+  private interface EntryConsumer {
+    void accept(byte[] key, byte[] value) throws IOException;
+  }
+
+  @Autowired
+  public void setPersistStorage(
+      @Qualifier("mixmasterPersistStorage") RocksDbPersistStorage persistStorage) {
+    this.persistStorage = persistStorage;
+  }
+
+  @Autowired
+  public void setProperties(MixmasterProperties properties) {
+    this.properties = properties;
+  }
+}
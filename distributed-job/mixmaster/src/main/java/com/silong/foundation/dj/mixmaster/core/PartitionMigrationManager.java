@@ -0,0 +1,487 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import static com.silong.foundation.dj.bonecrusher.message.Messages.Type.DATA_SYNC_REQ;
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.PARTITION_MIGRATION_COLUMN_FAMILY;
+import static com.silong.foundation.dj.mixmaster.generated.Messages.MigrationState.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.silong.foundation.dj.bonecrusher.DataSyncClient;
+import com.silong.foundation.dj.bonecrusher.DataSyncServer;
+import com.silong.foundation.dj.bonecrusher.enu.ServerState;
+import com.silong.foundation.dj.bonecrusher.message.Messages.Request;
+import com.silong.foundation.dj.bonecrusher.message.Messages.SyncDataReq;
+import com.silong.foundation.dj.hook.event.JoinClusterEvent;
+import com.silong.foundation.dj.longhaul.RocksDbPersistStorage;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.MigrationProperties;
+import com.silong.foundation.dj.mixmaster.core.PartitionOwnership.Migration;
+import com.silong.foundation.dj.mixmaster.generated.Messages.IpAddress;
+import com.silong.foundation.dj.mixmaster.generated.Messages.MigrationState;
+import com.silong.foundation.dj.mixmaster.generated.Messages.PartitionMigration;
+import com.silong.foundation.dj.mixmaster.message.MigrationHeader;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan.Movement;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.jctools.maps.NonBlockingHashMapLong;
+import org.jgroups.EmptyMessage;
+import org.jgroups.Message;
+import org.jgroups.View;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分区迁移管理器<br>
+ * 视图变更后，本地节点作为分区新节点时，通过bonecrusher从持有数据的节点拉取分区数据并导入本地存储，
+ * 完成后向集群广播迁移完成消息，各节点据此切换分区所有权；迁出分区的节点在迁移结束后清理本地数据。<br>
+ * 每个分区的迁移状态保存在持久化存储中。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 11:40
+ */
+@Slf4j
+@Component
+class PartitionMigrationManager implements ApplicationListener<JoinClusterEvent>, AutoCloseable {
+
+  /** 数据同步服务 */
+  private DataSyncServer dataSyncServer;
+
+  /** 分区数据存储 */
+  private PartitionDataStore dataStore;
+
+  /** 持久化存储 */
+  private RocksDbPersistStorage persistStorage;
+
+  /** 集群元数据 */
+  private DefaultClusterMetadata clusterMetadata;
+
+  /** 迁移配置 */
+  private MigrationProperties migrationProperties;
+
+  /** 分布式引擎 */
+  private DefaultDistributedEngine engine;
+
+  /** 迁移执行器，数据传输期间会阻塞等待netty的异步结果，使用平台线程避免虚拟线程被钉住 */
+  private ExecutorService executor;
+
+  /** 正在迁移的分区，key：分区编号，value：目标布局版本号 */
+  private final NonBlockingHashMapLong<Long> fetching = new NonBlockingHashMapLong<>();
+
+  /** 数据同步客户端，每个数据源节点一个，同一节点只建立一次连接 */
+  private final ConcurrentHashMap<ClusterNodeUUID, DataSyncClient> clients =
+      new ConcurrentHashMap<>();
+
+  /** 是否已关闭 */
+  private volatile boolean closed;
+
+  /**
+   * 本地节点加入集群后启动数据同步服务，服务启动时会等待bonecrusher感知到节点加入集群
+   *
+   * @param event 加入集群事件
+   */
+  @Override
+  public void onApplicationEvent(@NonNull JoinClusterEvent event) {
+    if (dataSyncServer.state() == ServerState.INITIALIZED) {
+      Thread.ofPlatform()
+          .daemon()
+          .name("data-sync-server-" + engine.name())
+          .start(
+              () -> {
+                try {
+                  dataSyncServer.start(false);
+                } catch (Exception e) {
+                  log.error("Failed to start the data sync server of node {}.", engine.name(), e);
+                }
+              });
+    }
+  }
+
+  /**
+   * 分区再平衡后，释放已迁出的分区并拉取本地节点新分配的分区
+   *
+   * @param plan 再平衡计划
+   * @param newView 新视图
+   */
+  void onRebalanced(@NonNull RebalancePlan<ClusterNodeUUID> plan, @NonNull View newView) {
+    if (closed) {
+      return;
+    }
+
+    // 关闭已离开集群的节点的客户端
+    clients.keySet().stream()
+        .filter(node -> !newView.containsMember(node))
+        .toList()
+        .forEach(this::closeClient);
+
+    ClusterNodeUUID local = engine.localAddress();
+    PartitionOwnership<ClusterNodeUUID> ownership = clusterMetadata.getOwnership();
+    for (Movement<ClusterNodeUUID> movement : plan.movements()) {
+      // 不需要迁移即完成切换的分区，迁出节点立即清理数据
+      if (movement.before() != null
+          && movement.before().contains(local)
+          && !movement.after().contains(local)
+          && ownership.migration(movement.partitionNo()) == null) {
+        release(movement.partitionNo(), movement.after().getVersion());
+      }
+    }
+
+    ownership
+        .migrations()
+        .forEach(
+            (partitionNo, migration) -> {
+              if (migration.remaining().contains(local)) {
+                fetch(partitionNo, migration.target().getVersion());
+              }
+            });
+  }
+
+  /**
+   * 异步拉取分区数据，相同分区相同版本的迁移同一时刻只有一个，同时进行的迁移数量受执行器线程数限制
+   *
+   * @param partitionNo 分区编号
+   * @param version 目标布局版本号
+   */
+  private void fetch(int partitionNo, long version) {
+    Long previous = fetching.put(partitionNo, Long.valueOf(version));
+    if (previous != null && previous == version) {
+      return;
+    }
+
+    try {
+      executor.execute(
+          () -> {
+            boolean finished = true;
+            try {
+              finished = migrate(partitionNo, version);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              fetching.remove(partitionNo, Long.valueOf(version));
+            }
+            if (!finished) {
+              retryLater(partitionNo, version);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      fetching.remove(partitionNo, Long.valueOf(version));
+      log.error("Failed to schedule the migration of partition[{}].", partitionNo, e);
+    }
+  }
+
+  /**
+   * 迁移分区数据，失败后按指数退避重试
+   *
+   * @param partitionNo 分区编号
+   * @param version 目标布局版本号
+   * @return 迁移完成或已过期返回true，达到最大尝试次数仍失败返回false
+   * @throws InterruptedException 中断异常
+   */
+  private boolean migrate(int partitionNo, long version) throws InterruptedException {
+    ClusterNodeUUID local = engine.localAddress();
+    for (int attempt = 1; attempt <= migrationProperties.getMaxAttempts(); attempt++) {
+      Migration<ClusterNodeUUID> migration = clusterMetadata.getOwnership().migration(partitionNo);
+      // 迁移已过期，由新的视图触发后续迁移
+      if (closed
+          || migration == null
+          || migration.target().getVersion() != version
+          || !migration.remaining().contains(local)) {
+        return true;
+      }
+
+      List<ClusterNodeUUID> holders = migration.holders().stream().toList();
+      ClusterNodeUUID source = holders.get((attempt - 1) % holders.size());
+      saveState(partitionNo, version, MIGRATING, source, attempt);
+      try {
+        long count = transfer(partitionNo, source);
+        saveState(partitionNo, version, COMPLETED, source, attempt);
+        log.info(
+            "The node {} has migrated {} entries of partition[{}] from {}.",
+            local,
+            count,
+            partitionNo,
+            source);
+        engine.send(
+            new EmptyMessage(null)
+                .putHeader(
+                    MigrationHeader.TYPE,
+                    MigrationHeader.builder()
+                        .kind(MigrationHeader.COMPLETED)
+                        .partition(partitionNo)
+                        .version(version)
+                        .build()));
+        return true;
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Exception e) {
+        log.error(
+            "Failed to migrate partition[{}] from {}, attempts:{}.",
+            partitionNo,
+            source,
+            attempt,
+            e);
+        saveState(partitionNo, version, FAILED, source, attempt);
+        closeClient(source);
+        if (attempt < migrationProperties.getMaxAttempts()) {
+          Thread.sleep(backoff(attempt));
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 达到最大尝试次数后，按重试间隔上限延迟重新发起迁移。迁移完成前分区仍路由至原持有节点，不能放弃迁移
+   *
+   * @param partitionNo 分区编号
+   * @param version 目标布局版本号
+   */
+  private void retryLater(int partitionNo, long version) {
+    long delay = migrationProperties.getMaxRetryInterval().toMillis();
+    log.error(
+        "Failed to migrate partition[{}] after {} attempts, retry after {}ms.",
+        partitionNo,
+        migrationProperties.getMaxAttempts(),
+        delay);
+    CompletableFuture.delayedExecutor(delay, MILLISECONDS)
+        .execute(
+            () -> {
+              if (!closed) {
+                fetch(partitionNo, version);
+              }
+            });
+  }
+
+  /**
+   * 计算重试间隔，每次失败后翻倍，不超过重试间隔上限
+   *
+   * @param attempt 已尝试次数
+   * @return 重试间隔，单位：毫秒
+   */
+  private long backoff(int attempt) {
+    long interval = migrationProperties.getRetryInterval().toMillis();
+    long maxInterval = migrationProperties.getMaxRetryInterval().toMillis();
+    // 限制位移位数避免溢出
+    int shift = Math.min(attempt - 1, Long.numberOfLeadingZeros(interval) - 1);
+    return Math.min(interval << shift, maxInterval);
+  }
+
+  /**
+   * 从数据源节点拉取分区数据并导入本地存储
+   *
+   * @param partitionNo 分区编号
+   * @param source 数据源节点
+   * @return 导入的数据条数
+   * @throws Exception 异常
+   */
+  private long transfer(int partitionNo, ClusterNodeUUID source) throws Exception {
+    DataSyncClient client = clients.computeIfAbsent(source, this::connect);
+    Path file = Files.createTempFile("partition" + partitionNo + "-", ".migrating");
+    try {
+      try (OutputStream out = Files.newOutputStream(file)) {
+        client
+            .sendAsync(
+                Request.newBuilder()
+                    .setType(DATA_SYNC_REQ)
+                    .setSyncData(
+                        SyncDataReq.newBuilder().setPartitionNo(String.valueOf(partitionNo))),
+                (buf, metadata) -> {
+                  try {
+                    buf.readBytes(out, buf.readableBytes());
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                })
+            .get(migrationProperties.getTransferTimeout().toMillis(), MILLISECONDS);
+      }
+      return dataStore.importFrom(partitionNo, file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @SneakyThrows
+  private DataSyncClient connect(ClusterNodeUUID node) {
+    IpAddress address = node.clusterNodeInfo().getHost().getDataPlaneAddress();
+    log.debug(
+        "Connecting to the data sync server[{}:{}] of node {}.",
+        address.getIpAddress(),
+        address.getPort(),
+        node);
+    return dataSyncServer.newClient().connect(address.getIpAddress(), address.getPort());
+  }
+
+  private void closeClient(ClusterNodeUUID node) {
+    DataSyncClient client = clients.remove(node);
+    if (client != null) {
+      try {
+        client.close();
+      } catch (Exception e) {
+        log.error("Failed to close the data sync client of node {}.", node, e);
+      }
+    }
+  }
+
+  /**
+   * 处理其他节点广播的迁移完成消息，在事件派发线程执行，此前的视图变更已更新集群元数据
+   *
+   * @param message 消息
+   * @param header 迁移消息头
+   */
+  void handle(@NonNull Message message, @NonNull MigrationHeader header) {
+    if (header.kind() != MigrationHeader.COMPLETED) {
+      log.error("Unknown kind of migration message {} from {}.", header, message.getSrc());
+      return;
+    }
+
+    Migration<ClusterNodeUUID> finished =
+        clusterMetadata.completeMigration(
+            header.partition(), (ClusterNodeUUID) message.getSrc(), header.version());
+    ClusterNodeUUID local = engine.localAddress();
+    // 迁移结束后，不在目标布局中的原数据持有节点清理分区数据
+    if (finished != null
+        && finished.holders().contains(local)
+        && !finished.target().contains(local)) {
+      release(header.partition(), header.version());
+    }
+  }
+
+  /**
+   * 清理已迁出的分区数据
+   *
+   * @param partitionNo 分区编号
+   * @param version 目标布局版本号
+   */
+  private void release(int partitionNo, long version) {
+    try {
+      dataStore.clear(partitionNo);
+      saveState(partitionNo, version, RELEASED, null, 0);
+      log.info("The node {} has released partition[{}].", engine.localAddress(), partitionNo);
+    } catch (Exception e) {
+      log.error("Failed to release partition[{}].", partitionNo, e);
+    }
+  }
+
+  private static byte[] key(int partitionNo) {
+    return ByteBuffer.allocate(Integer.BYTES).putInt(partitionNo).array();
+  }
+
+  private void saveState(
+      int partitionNo,
+      long version,
+      MigrationState state,
+      @Nullable ClusterNodeUUID source,
+      int attempts) {
+    PartitionMigration.Builder builder =
+        PartitionMigration.newBuilder()
+            .setVersion(version)
+            .setState(state)
+            .setUpdateTime(System.currentTimeMillis())
+            .setAttempts(attempts);
+    if (source != null) {
+      builder.setSource(source.toString());
+    }
+    persistStorage.put(
+        PARTITION_MIGRATION_COLUMN_FAMILY, key(partitionNo), builder.build().toByteArray());
+  }
+
+  /**
+   * 查询本地节点的分区迁移记录
+   *
+   * @param partitionNo 分区编号
+   * @return 迁移记录，不存在时返回null
+   */
+  @Nullable
+  @SneakyThrows
+  PartitionMigration state(int partitionNo) {
+    byte[] bytes = persistStorage.get(PARTITION_MIGRATION_COLUMN_FAMILY, key(partitionNo));
+    return bytes == null ? null : PartitionMigration.parseFrom(bytes);
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    executor.shutdownNow();
+    clients.keySet().stream().toList().forEach(this::closeClient);
+    if (dataSyncServer.state() == ServerState.RUNNING) {
+      dataSyncServer.shutdown();
+    }
+  }
+
+  void setEngine(DefaultDistributedEngine engine) {
+    this.engine = engine;
+  }
+
+  @Autowired
+  public void setProperties(MixmasterProperties properties) {
+    this.migrationProperties = properties.getMigration();
+    this.executor =
+        Executors.newFixedThreadPool(
+            migrationProperties.getMaxConcurrentMigrations(),
+            Thread.ofPlatform()
+                .daemon()
+                .name(properties.getInstanceName() + "-migration-", 0)
+                .factory());
+  }
+
+  @Autowired
+  public void setDataSyncServer(DataSyncServer dataSyncServer) {
+    this.dataSyncServer = dataSyncServer;
+  }
+
+  @Autowired
+  public void setDataStore(PartitionDataStore dataStore) {
+    this.dataStore = dataStore;
+  }
+
+  @Autowired
+  public void setPersistStorage(
+      @Qualifier("mixmasterPersistStorage") RocksDbPersistStorage persistStorage) {
+    this.persistStorage = persistStorage;
+  }
+
+  @Autowired
+  public void setClusterMetadata(DefaultClusterMetadata clusterMetadata) {
+    this.clusterMetadata = clusterMetadata;
+  }
+}
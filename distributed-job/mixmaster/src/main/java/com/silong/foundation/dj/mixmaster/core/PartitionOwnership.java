@@ -0,0 +1,224 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan.Movement;
+import jakarta.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * 分区所有权，跟踪再平衡后尚未完成数据迁移的分区<br>
+ * 分区布局变化后，新加入分区的节点从持有数据的节点拉取分区数据，在目标主节点完成迁移前， 分区仍然路由至持有数据的节点，所有新节点完成迁移后迁移结束。更新操作串行执行，路由查询无需加锁。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 11:20
+ * @param <T> 节点类型
+ */
+final class PartitionOwnership<T> {
+
+  /** 迁移中的分区，key：分区编号 */
+  private final ConcurrentHashMap<Integer, Migration<T>> migrations = new ConcurrentHashMap<>();
+
+  /**
+   * 根据再平衡计划更新迁移中的分区
+   *
+   * @param plan 再平衡计划
+   * @param members 新视图的集群成员
+   */
+  synchronized void rebalance(@NonNull RebalancePlan<T> plan, @NonNull Collection<T> members) {
+    Set<T> alive = Set.copyOf(members);
+    Set<Integer> moved = new HashSet<>();
+    for (Movement<T> movement : plan.movements()) {
+      int partitionNo = movement.partitionNo();
+      moved.add(partitionNo);
+      Migration<T> migration = migrations.get(partitionNo);
+      Iterable<T> holders = migration != null ? migration.holders() : movement.before();
+      PartitionTopology<T> before = migration != null ? migration.effective() : movement.before();
+
+      // 分区首次分配，没有需要迁移的数据
+      update(
+          partitionNo,
+          before == null ? null : Migration.of(movement.after(), alive(holders, alive), before));
+    }
+
+    // 布局未变的分区，仅需剔除已离开集群的数据持有节点
+    for (Integer partitionNo : migrations.keySet()) {
+      Migration<T> migration = migrations.get(partitionNo);
+      if (migration != null
+          && !moved.contains(partitionNo)
+          && !alive.containsAll(migration.holders())) {
+        update(
+            partitionNo,
+            Migration.of(
+                migration.target(), alive(migration.holders(), alive), migration.effective()));
+      }
+    }
+  }
+
+  /**
+   * 恢复迁移中的分区
+   *
+   * @param restored 迁移中的分区
+   */
+  synchronized void restore(@NonNull Map<Integer, Migration<T>> restored) {
+    migrations.clear();
+    migrations.putAll(restored);
+  }
+
+  private void update(int partitionNo, @Nullable Migration<T> migration) {
+    if (migration == null) {
+      migrations.remove(partitionNo);
+    } else {
+      migrations.put(partitionNo, migration);
+    }
+  }
+
+  private static <T> LinkedHashSet<T> alive(Iterable<T> nodes, Set<T> alive) {
+    LinkedHashSet<T> result = new LinkedHashSet<>();
+    for (T node : nodes) {
+      if (alive.contains(node)) {
+        result.add(node);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 节点完成分区数据迁移
+   *
+   * @param partitionNo 分区编号
+   * @param node 完成迁移的节点
+   * @param version 迁移的目标布局版本号
+   * @return 分区所有节点迁移完毕时返回结束的迁移，否则返回null
+   */
+  @Nullable
+  synchronized Migration<T> complete(int partitionNo, @NonNull T node, long version) {
+    Migration<T> migration = migrations.get(partitionNo);
+    // 过期的迁移应答直接忽略
+    if (migration == null
+        || migration.target().getVersion() != version
+        || !migration.remaining().contains(node)) {
+      return null;
+    }
+
+    LinkedHashSet<T> holders = new LinkedHashSet<>(migration.holders());
+    holders.add(node);
+    Migration<T> next = Migration.of(migration.target(), holders, migration.effective());
+    update(partitionNo, next);
+    return next == null ? migration : null;
+  }
+
+  /**
+   * 分区路由，迁移中的分区返回持有数据的节点布局
+   *
+   * @param partitionNo 分区编号
+   * @param target 分区表中的目标布局
+   * @return 分区布局
+   */
+  @Nullable
+  PartitionTopology<T> route(int partitionNo, @Nullable PartitionTopology<T> target) {
+    Migration<T> migration = migrations.get(partitionNo);
+    return migration == null ? target : migration.effective();
+  }
+
+  /**
+   * 查询分区迁移
+   *
+   * @param partitionNo 分区编号
+   * @return 迁移中的分区返回迁移信息，否则返回null
+   */
+  @Nullable
+  Migration<T> migration(int partitionNo) {
+    return migrations.get(partitionNo);
+  }
+
+  /**
+   * 迁移中的分区
+   *
+   * @return 迁移中的分区
+   */
+  Map<Integer, Migration<T>> migrations() {
+    return Collections.unmodifiableMap(migrations);
+  }
+
+  /**
+   * 分区迁移
+   *
+   * @param target 目标布局
+   * @param holders 持有分区数据的节点
+   * @param remaining 目标布局中尚未完成迁移的节点
+   * @param effective 迁移期间生效的布局
+   * @param <T> 节点类型
+   */
+  record Migration<T>(
+      PartitionTopology<T> target,
+      SequencedSet<T> holders,
+      Set<T> remaining,
+      PartitionTopology<T> effective) {
+
+    /**
+     * 创建分区迁移
+     *
+     * @param target 目标布局
+     * @param holders 持有分区数据的节点
+     * @param before 迁移前生效的布局
+     * @return 没有持有数据的节点或者目标布局中的节点都已持有数据时返回null
+     * @param <T> 节点类型
+     */
+    @Nullable
+    static <T> Migration<T> of(
+        PartitionTopology<T> target, SequencedSet<T> holders, PartitionTopology<T> before) {
+      // 分区数据已经全部丢失，无法迁移
+      if (holders.isEmpty()) {
+        return null;
+      }
+
+      LinkedHashSet<T> remaining = new LinkedHashSet<>();
+      for (T node : target) {
+        if (!holders.contains(node)) {
+          remaining.add(node);
+        }
+      }
+      if (remaining.isEmpty()) {
+        return null;
+      }
+
+      // 目标主节点已持有数据时直接切换至目标布局，否则由持有数据的节点继续提供服务
+      PartitionTopology<T> effective =
+          holders.contains(target.primary())
+              ? target
+              : PartitionTopology.<T>builder()
+                  .primaryAndBackups(List.copyOf(holders))
+                  .version(before.getVersion())
+                  .build();
+      return new Migration<>(
+          target,
+          Collections.unmodifiableSequencedSet(holders),
+          Collections.unmodifiableSet(remaining),
+          effective);
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * 分区表快照，创建后不可变。视图变化时由再平衡计划生成新的分区表并整体替换，读取方通过一次volatile读取即可获得一致的分区布局
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 06:20
+ */
+final class PartitionTable {
+
+  /** 分区表版本号，即生成分区表的视图编号，空表为-1 */
+  private final long version;
+
+  /** 生成分区表的集群成员列表 */
+  private final List<ClusterNodeUUID> members;
+
+  /** 各分区布局，下标为分区编号 */
+  private final PartitionTopology<ClusterNodeUUID>[] topologies;
+
+  /**
+   * 构造方法
+   *
+   * @param version 版本号
+   * @param members 集群成员
+   * @param topologies 分区布局，调用方移交所有权，之后不得再修改
+   */
+  PartitionTable(
+      long version,
+      @NonNull List<ClusterNodeUUID> members,
+      @NonNull PartitionTopology<ClusterNodeUUID>[] topologies) {
+    this.version = version;
+    this.members = List.copyOf(members);
+    this.topologies = topologies;
+  }
+
+  /**
+   * 创建空分区表
+   *
+   * @param totalPartition 分区总数
+   * @return 空分区表
+   */
+  @SuppressWarnings("unchecked")
+  static PartitionTable empty(int totalPartition) {
+    return new PartitionTable(-1, List.of(), new PartitionTopology[totalPartition]);
+  }
+
+  /**
+   * 分区表是否尚未分配
+   *
+   * @return true or false
+   */
+  boolean isEmpty() {
+    return members.isEmpty();
+  }
+
+  /**
+   * 分区表版本号
+   *
+   * @return 版本号
+   */
+  long version() {
+    return version;
+  }
+
+  /**
+   * 生成分区表的集群成员
+   *
+   * @return 成员列表
+   */
+  List<ClusterNodeUUID> members() {
+    return members;
+  }
+
+  /**
+   * 分区总数
+   *
+   * @return 分区总数
+   */
+  int size() {
+    return topologies.length;
+  }
+
+  /**
+   * 查询分区布局
+   *
+   * @param partitionNo 分区编号
+   * @return 分区布局，尚未分配时返回null
+   */
+  @Nullable
+  PartitionTopology<ClusterNodeUUID> topology(int partitionNo) {
+    return topologies[partitionNo];
+  }
+
+  /**
+   * 复制分区布局数组，用于生成下一版本分区表
+   *
+   * @return 分区布局副本
+   */
+  PartitionTopology<ClusterNodeUUID>[] copyTopologies() {
+    return topologies.clone();
+  }
+}
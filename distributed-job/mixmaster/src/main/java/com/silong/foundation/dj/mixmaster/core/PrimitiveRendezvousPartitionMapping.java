@@ -0,0 +1,186 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import jakarta.annotation.Nullable;
+import java.io.Serial;
+import java.util.*;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <pre>
+ *   基于原生类型数组的Rendezvous一致性哈希实现，分配结果与{@link RendezvousPartitionMapping}一致。
+ *   节点权重保存于线程复用的long数组，通过原地建堆(O(n))后按需出堆选取TopK节点，
+ *   计算过程中除返回结果外不产生临时对象，降低大规模集群全量计算分区表时的GC压力。
+ *   权重相同时按节点在列表中的位置排序，仅在节点uuid的hashCode冲突时出现。
+ * </pre>
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 12:40
+ */
+@Component
+final class PrimitiveRendezvousPartitionMapping extends RendezvousPartitionMapping {
+
+  @Serial private static final long serialVersionUID = -2_760_541_317_028_614_977L;
+
+  private static final ThreadLocal<Workspace> WORKSPACE = new ThreadLocal<>();
+
+  /** 计算分区分配使用的工作区，按集群规模扩容 */
+  private static final class Workspace {
+
+    /** 集群节点 */
+    private ClusterNodeUUID[] nodes = new ClusterNodeUUID[0];
+
+    /** 节点权重，下标与nodes一致 */
+    private long[] weights = new long[0];
+
+    /** 节点下标组成的大顶堆 */
+    private int[] heap = new int[0];
+
+    Workspace ensureCapacity(int size) {
+      if (nodes.length < size) {
+        nodes = new ClusterNodeUUID[size];
+        weights = new long[size];
+        heap = new int[size];
+      }
+      return this;
+    }
+  }
+
+  @Override
+  public SequencedCollection<ClusterNodeUUID> allocatePartition(
+      int partitionNo,
+      int backupNum,
+      SequencedCollection<ClusterNodeUUID> clusterNodes,
+      @Nullable Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood) {
+    int primaryAndBackups = primaryAndBackups(partitionNo, backupNum, clusterNodes);
+    int size = clusterNodes.size();
+
+    // 是否排除邻居节点
+    boolean exclNeighbors = neighborhood != null && !neighborhood.isEmpty();
+    Workspace workspace = getThreadLocalValue(WORKSPACE, Workspace::new).ensureCapacity(size);
+    ClusterNodeUUID[] nodes = workspace.nodes;
+    long[] weights = workspace.weights;
+    int[] heap = workspace.heap;
+
+    try {
+      int index = 0;
+      for (ClusterNodeUUID node : clusterNodes) {
+        nodes[index] = node;
+        weights[index] = mixHash(node.uuid().hashCode(), partitionNo);
+        heap[index] = index;
+        index++;
+      }
+
+      // 原地建堆，仅对实际选取的节点出堆，解决TopK问题
+      for (int i = (size >>> 1) - 1; i >= 0; i--) {
+        siftDown(heap, weights, i, size);
+      }
+
+      // 先添加主(最高随机权重)
+      ClusterNodeUUID primary = nodes[heap[0]];
+      int remaining = removeTop(heap, weights, size);
+      List<ClusterNodeUUID> res = new ArrayList<>(primaryAndBackups);
+      res.add(primary);
+
+      // 选取备份节点
+      if (backupNum > 0) {
+        while (remaining > 0 && res.size() < primaryAndBackups) {
+          ClusterNodeUUID node = nodes[heap[0]];
+          remaining = removeTop(heap, weights, remaining);
+          if (isBackupCandidate(primary, node, res)
+              && !(exclNeighbors && isNeighbor(node, res, neighborhood))) {
+            res.add(node);
+          }
+        }
+      }
+
+      checkAllocated(res.size(), primaryAndBackups, exclNeighbors);
+      return res;
+    } finally {
+      Arrays.fill(nodes, 0, size, null);
+    }
+  }
+
+  /**
+   * 节点是否为已分配备份节点的邻居，主节点的邻居不参与排除
+   *
+   * @param node 被测试节点
+   * @param allocated 已分配的节点列表
+   * @param neighborhood 各节点邻居关系表
+   * @return 是否为邻居
+   */
+  private static boolean isNeighbor(
+      ClusterNodeUUID node,
+      List<ClusterNodeUUID> allocated,
+      Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood) {
+    for (int i = 1; i < allocated.size(); i++) {
+      SequencedCollection<ClusterNodeUUID> neighbors = neighborhood.get(allocated.get(i));
+      if (neighbors != null && neighbors.contains(node)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 移除堆顶元素
+   *
+   * @param heap 堆
+   * @param weights 节点权重
+   * @param size 堆大小
+   * @return 移除后的堆大小
+   */
+  private static int removeTop(int[] heap, long[] weights, int size) {
+    if (--size > 0) {
+      heap[0] = heap[size];
+      siftDown(heap, weights, 0, size);
+    }
+    return size;
+  }
+
+  private static void siftDown(int[] heap, long[] weights, int pos, int size) {
+    int node = heap[pos];
+    int half = size >>> 1;
+    while (pos < half) {
+      int child = (pos << 1) + 1;
+      int right = child + 1;
+      if (right < size && precedes(heap[right], heap[child], weights)) {
+        child = right;
+      }
+      if (!precedes(heap[child], node, weights)) {
+        break;
+      }
+      heap[pos] = heap[child];
+      pos = child;
+    }
+    heap[pos] = node;
+  }
+
+  /** 权重大者优先，权重相同时下标小者优先 */
+  private static boolean precedes(int i, int j, long[] weights) {
+    return weights[i] > weights[j] || (weights[i] == weights[j] && i < j);
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.Partition2NodesMapping;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan.Movement;
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jgroups.Address;
+import org.jgroups.View;
+
+/**
+ *
+ *
+ * <pre>
+ *   分区再平衡计划器，根据当前分区表和新视图计算新的分区表以及分区变化列表。
+ *   为降低视图变化时的计算量，仅重新计算可能发生变化的分区：
+ *   1. 分区表为空或有节点加入时，任一分区都可能被新节点抢占，需全量计算
+ *   2. 仅有节点离开时，只有布局中包含离开节点的分区需要重新计算
+ *   3. 集群成员未变化时，无需计算
+ *   第2、3点依赖{@link Partition2NodesMapping}的约定：分配结果与节点顺序无关，并且移除未被选中的节点不影响分配结果。
+ * </pre>
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 06:30
+ */
+@Slf4j
+final class RebalancePlanner {
+
+  /** 分区节点映射器 */
+  private final Partition2NodesMapping<ClusterNodeUUID> partition2NodesMapping;
+
+  /** 备份数量，不含主 */
+  private final int backupNum;
+
+  /** 分区总数 */
+  private final int totalPartition;
+
+  /**
+   * 再平衡结果
+   *
+   * @param table 新分区表
+   * @param plan 分区变化计划
+   */
+  record Rebalance(PartitionTable table, RebalancePlan<ClusterNodeUUID> plan) {}
+
+  /**
+   * 构造方法
+   *
+   * @param partition2NodesMapping 分区节点映射器
+   * @param backupNum 备份数量
+   * @param totalPartition 分区总数
+   */
+  RebalancePlanner(
+      @NonNull Partition2NodesMapping<ClusterNodeUUID> partition2NodesMapping,
+      int backupNum,
+      int totalPartition) {
+    if (backupNum < 0) {
+      throw new IllegalArgumentException("backupNum must be greater than or equal to 0.");
+    }
+    if (totalPartition <= 0) {
+      throw new IllegalArgumentException("totalPartition must be greater than 0.");
+    }
+    this.partition2NodesMapping = partition2NodesMapping;
+    this.backupNum = backupNum;
+    this.totalPartition = totalPartition;
+  }
+
+  /**
+   * 根据新视图计算再平衡计划
+   *
+   * @param current 当前分区表
+   * @param newView 新视图
+   * @return 再平衡结果
+   */
+  Rebalance plan(@NonNull PartitionTable current, @NonNull View newView) {
+    if (current.size() != totalPartition) {
+      throw new IllegalArgumentException(
+          String.format(
+              "The size of partition table(%d) does not match totalPartition(%d).",
+              current.size(), totalPartition));
+    }
+
+    long version = newView.getViewId().getId();
+    List<ClusterNodeUUID> members = toClusterNodes(newView.getMembersRaw());
+    IntPredicate affected = affectedPartitions(current, members);
+
+    PartitionTopology<ClusterNodeUUID>[] topologies = current.copyTopologies();
+    int[] recalculated = IntStream.range(0, totalPartition).filter(affected).parallel().toArray();
+    Arrays.stream(recalculated)
+        .parallel()
+        .forEach(
+            partitionNo -> {
+              PartitionTopology<ClusterNodeUUID> before = topologies[partitionNo];
+              PartitionTopology<ClusterNodeUUID> after =
+                  calculatePartitionTopology(partitionNo, version, members);
+              // 布局未变化的分区保留原对象，分区布局版本号为其最近一次变化时的视图编号
+              if (before == null || !sameLayout(before, after)) {
+                topologies[partitionNo] = after;
+              }
+            });
+
+    List<Movement<ClusterNodeUUID>> movements = new ArrayList<>();
+    for (int partitionNo : recalculated) {
+      PartitionTopology<ClusterNodeUUID> before = current.topology(partitionNo);
+      PartitionTopology<ClusterNodeUUID> after = topologies[partitionNo];
+      if (before != after) {
+        movements.add(new Movement<>(partitionNo, before, after));
+      }
+    }
+
+    RebalancePlan<ClusterNodeUUID> plan =
+        new RebalancePlan<>(
+            current.version(), version, totalPartition, recalculated.length, movements);
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Rebalance from version {} to {}: recalculated {} partitions, {} partitions moved, {}"
+              + " primaries changed.",
+          plan.fromVersion(),
+          plan.toVersion(),
+          plan.recalculated(),
+          movements.size(),
+          plan.primaryChanges());
+    }
+    return new Rebalance(new PartitionTable(version, members, topologies), plan);
+  }
+
+  private IntPredicate affectedPartitions(PartitionTable current, List<ClusterNodeUUID> members) {
+    if (current.isEmpty()) {
+      return partitionNo -> true;
+    }
+
+    Set<ClusterNodeUUID> newMembers = new HashSet<>(members);
+    Set<ClusterNodeUUID> oldMembers = new HashSet<>(current.members());
+    if (!oldMembers.containsAll(newMembers)) {
+      // 有节点加入，任一分区都可能被新节点抢占
+      return partitionNo -> true;
+    }
+
+    oldMembers.removeAll(newMembers);
+    if (oldMembers.isEmpty()) {
+      return partitionNo -> false;
+    }
+
+    // 仅有节点离开，只需重新计算包含离开节点的分区
+    return partitionNo -> {
+      PartitionTopology<ClusterNodeUUID> topology = current.topology(partitionNo);
+      if (topology == null) {
+        return true;
+      }
+      for (ClusterNodeUUID node : topology) {
+        if (oldMembers.contains(node)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private PartitionTopology<ClusterNodeUUID> calculatePartitionTopology(
+      int partitionNo, long version, List<ClusterNodeUUID> members) {
+    return PartitionTopology.<ClusterNodeUUID>builder()
+        .version(version)
+        .primaryAndBackups(
+            partition2NodesMapping.allocatePartition(partitionNo, backupNum, members, null))
+        .build();
+  }
+
+  private static boolean sameLayout(
+      PartitionTopology<ClusterNodeUUID> t1, PartitionTopology<ClusterNodeUUID> t2) {
+    SequencedCollection<ClusterNodeUUID> c1 = t1.getPrimaryAndBackups();
+    SequencedCollection<ClusterNodeUUID> c2 = t2.getPrimaryAndBackups();
+    if (c1.size() != c2.size()) {
+      return false;
+    }
+    Iterator<ClusterNodeUUID> i1 = c1.iterator();
+    Iterator<ClusterNodeUUID> i2 = c2.iterator();
+    while (i1.hasNext()) {
+      if (!i1.next().equals(i2.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<ClusterNodeUUID> toClusterNodes(Address[] addresses) {
+    return Arrays.stream(addresses).map(ClusterNodeUUID.class::cast).toList();
+  }
+}
@@ -33,7 +33,6 @@ import java.util.*;
 import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.jgroups.Address;
-import org.springframework.stereotype.Component;
 
 /**
  *
@@ -48,6 +47,7 @@ import org.springframework.stereotype.Component;
  *   5. 分布式系统存在频繁的数据存储或读取，需要稳定，可靠，高性能且实现相对简单。
  *   为达到以上效果，业界一般采取一致性hash算法解决此问题。
  *   此处使用Rendezvous一致性哈希算法解决此问题，具体实现是把数据先映射至分区，在把分区映射至集群节点，通过分层提升算法性能以及灵活性。
+ *   此实现使用优先级队列选取TopK节点，作为{@link PrimitiveRendezvousPartitionMapping}的对照实现。
  * </pre>
  *
  * @see <a href="https://randorithms.com/2020/12/26/rendezvous-hashing.html">rendezvous-hashing</a>
@@ -56,7 +56,6 @@ import org.springframework.stereotype.Component;
  * @since 2022-04-06 22:29
  */
 @Slf4j
-@Component
 class RendezvousPartitionMapping implements Partition2NodesMapping<ClusterNodeUUID>, Serializable {
 
   @Serial private static final long serialVersionUID = 8_142_384_185_333_518_222L;
@@ -102,7 +101,7 @@ class RendezvousPartitionMapping implements Partition2NodesMapping<ClusterNodeUU
     return this;
   }
 
-  private <T> T getThreadLocalValue(ThreadLocal<T> threadLocal, Supplier<T> supplier) {
+  static <T> T getThreadLocalValue(ThreadLocal<T> threadLocal, Supplier<T> supplier) {
     // 协程数量可能很多，不复用，所以直接创建，不缓存
     if (Thread.currentThread().isVirtual()) {
       return supplier.get();
@@ -121,30 +120,8 @@ class RendezvousPartitionMapping implements Partition2NodesMapping<ClusterNodeUU
       int backupNum,
       SequencedCollection<ClusterNodeUUID> clusterNodes,
       @Nullable Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood) {
-    if (partitionNo < 0) {
-      throw new IllegalArgumentException("partitionNo must be greater than or equal to 0.");
-    }
-
-    if (backupNum < 0) {
-      throw new IllegalArgumentException("backupNum must be greater than or equal to 0");
-    }
-
-    if (clusterNodes == null || clusterNodes.isEmpty()) {
-      throw new IllegalArgumentException("clusterNodes must not be null or empty.");
-    }
-
+    int primaryAndBackups = primaryAndBackups(partitionNo, backupNum, clusterNodes);
     int nodesSize = clusterNodes.size();
-    if (log.isDebugEnabled() && backupNum >= nodesSize) {
-      log.debug(
-          "partitionNo: {} ---> backupNum({}) greater than or equals to clusterNodes({}).",
-          partitionNo,
-          backupNum,
-          nodesSize);
-    }
-
-    // 主备数量大于集群节点数量则按节点数量保存
-    int primaryAndBackups =
-        backupNum == Integer.MAX_VALUE ? nodesSize : Math.min(backupNum + 1, nodesSize);
 
     // 是否排除邻居节点
     boolean exclNeighbors = neighborhood != null && !neighborhood.isEmpty();
@@ -169,10 +146,7 @@ class RendezvousPartitionMapping implements Partition2NodesMapping<ClusterNodeUU
       if (backupNum > 0) {
         ClusterNodeUUID node;
         while ((node = priorityQueue.poll()) != null && res.size() < primaryAndBackups) {
-          // 启用备份节点过滤器，亲和性过滤器
-          if ((backupFilter != null && backupFilter.test(primary, node))
-              || (affinityBackupFilter != null && affinityBackupFilter.test(node, res))
-              || (affinityBackupFilter == null && backupFilter == null)) {
+          if (isBackupCandidate(primary, node, res)) {
             // 开启邻居过滤
             if (exclNeighbors) {
               if (!allNeighbors.contains(node)) {
@@ -186,15 +160,7 @@ class RendezvousPartitionMapping implements Partition2NodesMapping<ClusterNodeUU
         }
       }
 
-      // 如果分配的主备节点数量不足，则可能是集群节点数量不足，或者是使用了节点排他条件过滤掉了可用节点
-      if (res.size() < primaryAndBackups) {
-        log.error(
-            "There are not enough nodes in the cluster to assign to the backup partition. enableBackupFilter:{}, enableAffinityBackupFilter:{}, excludeNeighbor:{}.",
-            backupFilter != null,
-            affinityBackupFilter != null,
-            exclNeighbors);
-      }
-
+      checkAllocated(res.size(), primaryAndBackups, exclNeighbors);
       return res;
     } finally {
       if (allNeighbors != null) {
@@ -205,6 +171,74 @@ class RendezvousPartitionMapping implements Partition2NodesMapping<ClusterNodeUU
     }
   }
 
+  /**
+   * 校验分区分配参数
+   *
+   * @param partitionNo 分区编号
+   * @param backupNum 副本数量
+   * @param clusterNodes 集群节点列表
+   * @return 需分配的主备节点数量
+   */
+  static int primaryAndBackups(
+      int partitionNo, int backupNum, SequencedCollection<ClusterNodeUUID> clusterNodes) {
+    if (partitionNo < 0) {
+      throw new IllegalArgumentException("partitionNo must be greater than or equal to 0.");
+    }
+
+    if (backupNum < 0) {
+      throw new IllegalArgumentException("backupNum must be greater than or equal to 0");
+    }
+
+    if (clusterNodes == null || clusterNodes.isEmpty()) {
+      throw new IllegalArgumentException("clusterNodes must not be null or empty.");
+    }
+
+    int nodesSize = clusterNodes.size();
+    if (log.isDebugEnabled() && backupNum >= nodesSize) {
+      log.debug(
+          "partitionNo: {} ---> backupNum({}) greater than or equals to clusterNodes({}).",
+          partitionNo,
+          backupNum,
+          nodesSize);
+    }
+
+    // 主备数量大于集群节点数量则按节点数量保存
+    return backupNum == Integer.MAX_VALUE ? nodesSize : Math.min(backupNum + 1, nodesSize);
+  }
+
+  /**
+   * 启用备份节点过滤器，亲和性过滤器，判断节点是否可作为备份节点
+   *
+   * @param primary 主节点
+   * @param node 被测试节点
+   * @param allocated 已分配的节点列表
+   * @return 是否可作为备份节点
+   */
+  boolean isBackupCandidate(
+      ClusterNodeUUID primary, ClusterNodeUUID node, List<ClusterNodeUUID> allocated) {
+    return (backupFilter != null && backupFilter.test(primary, node))
+        || (affinityBackupFilter != null && affinityBackupFilter.test(node, allocated))
+        || (affinityBackupFilter == null && backupFilter == null);
+  }
+
+  /**
+   * 如果分配的主备节点数量不足，则可能是集群节点数量不足，或者是使用了节点排他条件过滤掉了可用节点
+   *
+   * @param allocated 已分配节点数量
+   * @param expected 需分配节点数量
+   * @param exclNeighbors 是否排除邻居节点
+   */
+  void checkAllocated(int allocated, int expected, boolean exclNeighbors) {
+    if (allocated < expected) {
+      log.error(
+          "There are not enough nodes in the cluster to assign to the backup partition."
+              + " enableBackupFilter:{}, enableAffinityBackupFilter:{}, excludeNeighbor:{}.",
+          backupFilter != null,
+          affinityBackupFilter != null,
+          exclNeighbors);
+    }
+  }
+
   /**
    * 把两个int类型hash值组合成一个long型hash。<br>
    * 基于Wang/Jenkins hash
@@ -0,0 +1,43 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.enu;
+
+/**
+ * 事件派发线程在事件队列为空时的等待策略
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 13:20
+ */
+public enum WaitStrategy {
+  /** 持续自旋，延迟最低，空闲时占满一个CPU核 */
+  BUSY_SPIN,
+
+  /** 自旋指定次数后让出CPU */
+  YIELDING,
+
+  /** 依次自旋、让出CPU，最后挂起线程直至新事件到达或超时 */
+  SPIN_THEN_PARK,
+
+  /** 直接挂起线程直至新事件到达或超时 */
+  PARKING
+}
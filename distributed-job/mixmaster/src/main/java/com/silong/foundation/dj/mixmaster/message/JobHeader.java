@@ -0,0 +1,123 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.message;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.Supplier;
+import lombok.*;
+import lombok.experimental.Accessors;
+import org.jgroups.Address;
+import org.jgroups.Global;
+import org.jgroups.Header;
+import org.jgroups.conf.ClassConfigurator;
+import org.jgroups.util.Bits;
+import org.jgroups.util.Streamable;
+import org.jgroups.util.Util;
+
+/**
+ * 分布式任务消息头，任务请求消息负载为序列化后的任务，应答消息无负载
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 09:12
+ */
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class JobHeader extends Header implements Streamable {
+
+  /** 请求头类型 */
+  public static final short TYPE = (short) 7713;
+
+  /** 任务执行请求 */
+  public static final byte REQUEST = 0;
+
+  /** 任务执行完毕应答 */
+  public static final byte ACK = 1;
+
+  /** 任务被拒绝应答 */
+  public static final byte REJECT = 2;
+
+  /** 执行节点已不是分区主节点，由提交任务的节点重新路由 */
+  public static final byte REDIRECT = 3;
+
+  /** 消息种类 */
+  private byte kind;
+
+  /** 调度器名 */
+  private String scheduler;
+
+  /** 任务id，由提交任务的节点分配 */
+  private long jobId;
+
+  /** 任务映射的分区编号 */
+  private int partition;
+
+  /** 提交任务的节点，任务被转发时应答仍然发往此节点 */
+  private Address origin;
+
+  /** 注册消息头 */
+  public static void register() {
+    ClassConfigurator.add(JobHeader.TYPE, JobHeader.class);
+  }
+
+  @Override
+  public short getMagicId() {
+    return TYPE;
+  }
+
+  @Override
+  public Supplier<? extends Header> create() {
+    return JobHeader::new;
+  }
+
+  @Override
+  public int serializedSize() {
+    return Global.BYTE_SIZE
+        + Bits.size(scheduler)
+        + Global.LONG_SIZE
+        + Global.INT_SIZE
+        + Util.size(origin);
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    out.writeByte(kind);
+    Bits.writeString(scheduler, out);
+    out.writeLong(jobId);
+    out.writeInt(partition);
+    Util.writeAddress(origin, out);
+  }
+
+  @Override
+  public void readFrom(DataInput in) throws IOException, ClassNotFoundException {
+    kind = in.readByte();
+    scheduler = Bits.readString(in);
+    jobId = in.readLong();
+    partition = in.readInt();
+    origin = Util.readAddress(in);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.message;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.Supplier;
+import lombok.*;
+import lombok.experimental.Accessors;
+import org.jgroups.Global;
+import org.jgroups.Header;
+import org.jgroups.conf.ClassConfigurator;
+import org.jgroups.util.Streamable;
+
+/**
+ * 分区迁移消息头，节点完成分区数据迁移后广播，消息无负载
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 11:30
+ */
+@Getter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class MigrationHeader extends Header implements Streamable {
+
+  /** 请求头类型 */
+  public static final short TYPE = (short) 7714;
+
+  /** 分区迁移完成 */
+  public static final byte COMPLETED = 0;
+
+  /** 消息种类 */
+  private byte kind;
+
+  /** 分区编号 */
+  private int partition;
+
+  /** 迁移的目标分区布局版本号 */
+  private long version;
+
+  /** 注册消息头 */
+  public static void register() {
+    ClassConfigurator.add(MigrationHeader.TYPE, MigrationHeader.class);
+  }
+
+  @Override
+  public short getMagicId() {
+    return TYPE;
+  }
+
+  @Override
+  public Supplier<? extends Header> create() {
+    return MigrationHeader::new;
+  }
+
+  @Override
+  public int serializedSize() {
+    return Global.BYTE_SIZE + Global.INT_SIZE + Global.LONG_SIZE;
+  }
+
+  @Override
+  public void writeTo(DataOutput out) throws IOException {
+    out.writeByte(kind);
+    out.writeInt(partition);
+    out.writeLong(version);
+  }
+
+  @Override
+  public void readFrom(DataInput in) throws IOException {
+    kind = in.readByte();
+    partition = in.readInt();
+    version = in.readLong();
+  }
+}
@@ -32,6 +32,7 @@ import lombok.*;
 import lombok.experimental.Accessors;
 import org.jgroups.Address;
 import org.jgroups.BaseMessage;
+import org.jgroups.Global;
 import org.jgroups.Message;
 import org.jgroups.MessageFactory;
 import org.jgroups.util.ByteArray;
@@ -69,13 +70,9 @@ public class ProtoBufferMessage<T extends MessageLite> extends BaseMessage {
     super(target);
   }
 
-  /**
-   * 注册消息类型
-   *
-   * @param messageFactory 消息工厂
-   */
-  public static void register(@NonNull MessageFactory messageFactory) {
-    messageFactory.register(PB_MSG_TYPE, ProtoBufferMessage::new);
+  /** 注册消息类型 */
+  public static void register() {
+    MessageFactory.register(PB_MSG_TYPE, ProtoBufferMessage::new);
   }
 
   @Override
@@ -128,6 +125,16 @@ public class ProtoBufferMessage<T extends MessageLite> extends BaseMessage {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  protected int payloadSize() {
+    // 压缩后的长度未知，按最大压缩长度估算
+    return payload == null
+        ? 0
+        : Global.BYTE_SIZE
+            + Global.INT_SIZE
+            + Snappy.maxCompressedLength(payload.getSerializedSize());
+  }
+
   @Override
   public void writePayload(DataOutput out) throws IOException {
     if (payload == null) {
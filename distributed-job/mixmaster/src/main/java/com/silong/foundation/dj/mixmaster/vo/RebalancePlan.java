@@ -0,0 +1,161 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.vo;
+
+import jakarta.annotation.Nullable;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * 分区再平衡计划，记录两个集群视图之间主节点或备份节点发生变化的分区，未变化的分区不包含在计划内
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 06:10
+ * @param <T> 节点类型
+ */
+@Getter
+@ToString
+@Accessors(fluent = true)
+public class RebalancePlan<T> implements Serializable {
+
+  @Serial private static final long serialVersionUID = 2_906_518_223_470_141_637L;
+
+  /** 再平衡前分区表版本号，分区表首次创建时为-1 */
+  private final long fromVersion;
+
+  /** 再平衡后分区表版本号 */
+  private final long toVersion;
+
+  /** 分区总数 */
+  private final int totalPartition;
+
+  /** 本次视图变化中重新计算过分布的分区数量 */
+  private final int recalculated;
+
+  /** 分布发生变化的分区，按分区编号升序排列 */
+  @NonNull private final List<Movement<T>> movements;
+
+  /**
+   * 构造方法
+   *
+   * @param fromVersion 再平衡前分区表版本号
+   * @param toVersion 再平衡后分区表版本号
+   * @param totalPartition 分区总数
+   * @param recalculated 重新计算的分区数量
+   * @param movements 分布发生变化的分区
+   */
+  public RebalancePlan(
+      long fromVersion,
+      long toVersion,
+      int totalPartition,
+      int recalculated,
+      @NonNull List<Movement<T>> movements) {
+    this.fromVersion = fromVersion;
+    this.toVersion = toVersion;
+    this.totalPartition = totalPartition;
+    this.recalculated = recalculated;
+    this.movements = List.copyOf(movements);
+  }
+
+  /**
+   * 分区分布是否无变化
+   *
+   * @return true or false
+   */
+  public boolean isEmpty() {
+    return movements.isEmpty();
+  }
+
+  /**
+   * 主节点发生变化的分区数量
+   *
+   * @return 分区数量
+   */
+  public long primaryChanges() {
+    return movements.stream().filter(Movement::primaryChanged).count();
+  }
+
+  /**
+   * 查询给定节点参与的分区变化，即变化前或变化后分区布局包含该节点
+   *
+   * @param node 节点
+   * @return 分区变化列表
+   */
+  public List<Movement<T>> movementsOf(@NonNull T node) {
+    return movements.stream()
+        .filter(m -> m.after().contains(node) || (m.before() != null && m.before().contains(node)))
+        .toList();
+  }
+
+  /**
+   * 单个分区的分布变化
+   *
+   * @param partitionNo 分区编号
+   * @param before 变化前分区布局，分区首次分配时为null
+   * @param after 变化后分区布局
+   * @param <T> 节点类型
+   */
+  public record Movement<T>(
+      int partitionNo, @Nullable PartitionTopology<T> before, @NonNull PartitionTopology<T> after)
+      implements Serializable {
+
+    @Serial private static final long serialVersionUID = -4_512_339_870_266_021_388L;
+
+    /**
+     * 分区主节点是否变化
+     *
+     * @return true or false
+     */
+    public boolean primaryChanged() {
+      return before == null || !Objects.equals(before.primary(), after.primary());
+    }
+
+    /**
+     * 变化后新加入分区布局的节点，这些节点需要从原有节点迁入分区数据
+     *
+     * @return 节点列表
+     */
+    public List<T> joined() {
+      return after.getPrimaryAndBackups().stream()
+          .filter(node -> before == null || !before.contains(node))
+          .toList();
+    }
+
+    /**
+     * 变化后离开分区布局的节点，这些节点上的分区数据可以在迁移完成后清理
+     *
+     * @return 节点列表
+     */
+    public List<T> left() {
+      return before == null
+          ? List.of()
+          : before.getPrimaryAndBackups().stream().filter(node -> !after.contains(node)).toList();
+    }
+  }
+}
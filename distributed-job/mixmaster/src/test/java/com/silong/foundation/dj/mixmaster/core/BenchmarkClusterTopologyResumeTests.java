@@ -0,0 +1,154 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_COLUMN_FAMILY;
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY;
+
+import com.silong.foundation.dj.hook.clock.LogicalClock;
+import com.silong.foundation.dj.hook.clock.LogicalClock.Timestamp;
+import com.silong.foundation.dj.longhaul.RocksDbPersistStorage;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.jgroups.ViewId;
+import org.jgroups.util.ByteArrayDataInputStream;
+import org.jgroups.util.UUID;
+import org.jgroups.util.Util;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM测量保存10万个历史视图时集群拓扑图启动恢复耗时，对比全量加载反序列化与按需加载，按需加载包含启动时的淘汰检查
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 19:20
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkClusterTopologyResumeTests {
+
+  private static final int VIEWS = 100_000;
+
+  /** 最多保留的视图数量，小于历史视图数量时首次恢复淘汰多余视图 */
+  @Param({"1000", "100000"})
+  private int maxViews;
+
+  private Path dataDir;
+
+  private RocksDbPersistStorage storage;
+
+  private MixmasterProperties properties;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkClusterTopologyResumeTests.class.getSimpleName())
+            .build();
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    dataDir = Files.createTempDirectory("benchmark-cluster-topology");
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(dataDir.toFile().getAbsolutePath());
+    config.setColumnFamilyNames(
+        List.of(CLUSTER_TOPOLOGY_COLUMN_FAMILY, CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY));
+    storage = new RocksDbPersistStorage(config);
+
+    // 写入历史视图期间不淘汰
+    properties = new MixmasterProperties();
+    properties.getTopologyHistory().setMaxViews(VIEWS);
+    properties.getTopologyHistory().setMaxAge(Duration.ofDays(3650));
+    properties.getTopologyHistory().setCompactionInterval(Integer.MAX_VALUE);
+
+    ClusterTopology topology = topology();
+    Address[] members = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+    long start = System.currentTimeMillis() - VIEWS;
+    for (int i = 0; i < VIEWS; i++) {
+      topology.save(
+          new View(
+              new ViewId(members[i % members.length], LogicalClock.to(new Timestamp(start + i, 0))),
+              members));
+    }
+    properties.getTopologyHistory().setMaxViews(maxViews);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    storage.close();
+    try (var paths = Files.walk(dataDir)) {
+      paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  private ClusterTopology topology() {
+    ClusterTopology topology = new ClusterTopology();
+    topology.setPersistStorage(storage);
+    topology.setProperties(properties);
+    topology.resume();
+    return topology;
+  }
+
+  /** 启动时全量加载并反序列化所有历史视图 */
+  @Benchmark
+  public View eagerResume() {
+    TreeMap<ViewId, View> topologies =
+        new TreeMap<>(Collections.reverseOrder(ViewId::compareToIDs));
+    storage.iterate(
+        CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY,
+        (key, value) -> {
+          try {
+            View view = Util.readView(new ByteArrayDataInputStream(value));
+            topologies.put(view.getViewId(), view);
+          } catch (IOException | ClassNotFoundException e) {
+            throw new UncheckedIOException(new IOException(e));
+          }
+        });
+    return topologies.firstEntry().getValue();
+  }
+
+  /** 启动时仅执行淘汰检查，按需加载最新视图 */
+  @Benchmark
+  public View lazyResume() {
+    return topology().lastView();
+  }
+}
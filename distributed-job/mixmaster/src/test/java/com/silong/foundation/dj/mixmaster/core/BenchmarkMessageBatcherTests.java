@@ -0,0 +1,159 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.BatchingProperties;
+import com.silong.foundation.dj.mixmaster.message.TimestampHeader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jgroups.*;
+import org.jgroups.protocols.*;
+import org.jgroups.protocols.pbcast.GMS;
+import org.jgroups.protocols.pbcast.NAKACK2;
+import org.jgroups.protocols.pbcast.STABLE;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM测量进程内JGroups协议栈上不同消息大小时逐个发送与批量合并发送的消息吞吐量
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 16:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkMessageBatcherTests {
+
+  private static final int MESSAGES = 1000;
+
+  private static final String CLUSTER = "benchmark-message-batcher";
+
+  @Param({"false", "true"})
+  private boolean batching;
+
+  @Param({"64", "1024"})
+  private int payloadSize;
+
+  private final AtomicLong received = new AtomicLong();
+
+  private JChannel sender;
+
+  private JChannel receiver;
+
+  private MessageBatcher batcher;
+
+  private byte[] payload;
+
+  private long expected;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(BenchmarkMessageBatcherTests.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  private static JChannel channel(Receiver receiver) throws Exception {
+    return new JChannel(
+            new SHARED_LOOPBACK(),
+            new SHARED_LOOPBACK_PING(),
+            new NAKACK2(),
+            new UNICAST3(),
+            new STABLE(),
+            new GMS().setJoinTimeout(1000),
+            new FRAG2())
+        .setReceiver(receiver)
+        .connect(CLUSTER);
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    TimestampHeader.register();
+    payload = new byte[payloadSize];
+    receiver =
+        channel(
+            new Receiver() {
+              @Override
+              public void receive(Message msg) {
+                received.addAndGet(
+                    msg instanceof CompositeMessage compositeMessage
+                        ? compositeMessage.getNumberOfMessages()
+                        : 1);
+              }
+            });
+    sender = channel(null);
+    while (sender.getView().size() != 2) {
+      Thread.sleep(10);
+    }
+
+    if (batching) {
+      BatchingProperties config = new BatchingProperties();
+      config.setEnabled(true);
+      batcher = new MessageBatcher("benchmark", config, this::sendNow);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (batcher != null) {
+      batcher.close();
+    }
+    sender.close();
+    receiver.close();
+  }
+
+  /** 与引擎一致，每个发送的消息附带时间戳消息头 */
+  private void sendNow(Message msg) throws Exception {
+    sender.send(
+        msg.putHeader(
+            TimestampHeader.TYPE, TimestampHeader.builder().timestamp(System.nanoTime()).build()));
+  }
+
+  /** 发送一组消息并等待接收方全部收到 */
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void send() throws Exception {
+    Address dest = receiver.getAddress();
+    for (int i = 0; i < MESSAGES; i++) {
+      Message msg = new BytesMessage(dest, payload);
+      if (batcher != null) {
+        batcher.send(msg);
+      } else {
+        sendNow(msg);
+      }
+    }
+    if (batcher != null) {
+      batcher.flush();
+    }
+    expected += MESSAGES;
+    while (received.get() < expected) {
+      Thread.onSpinWait();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.core.RebalancePlanner.Rebalance;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM测量不同分区数量、集群规模下视图变化(节点加入、节点离开)时的分区再平衡耗时，以全量重建作为对照
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 07:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkRebalancePlannerTests {
+
+  private static final int BACKUP_NUM = 2;
+
+  @Param({"1024", "8192"})
+  private int partitions;
+
+  @Param({"3", "16", "64", "256"})
+  private int clusterSize;
+
+  private RebalancePlanner planner;
+
+  private PartitionTable table;
+
+  private View currentView;
+
+  private View joinView;
+
+  private View leaveView;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder().include(BenchmarkRebalancePlannerTests.class.getSimpleName()).build();
+    new Runner(opt).run();
+  }
+
+  private static View view(long id, List<ClusterNodeUUID> nodes) {
+    return View.create(nodes.getFirst(), id, nodes.toArray(new Address[0]));
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    planner = new RebalancePlanner(new RendezvousPartitionMapping(), BACKUP_NUM, partitions);
+    List<ClusterNodeUUID> nodes = new ArrayList<>(clusterSize + 1);
+    for (int i = 0; i < clusterSize; i++) {
+      nodes.add(ClusterNodeUUID.random());
+    }
+    currentView = view(1, nodes);
+    table = planner.plan(PartitionTable.empty(partitions), currentView).table();
+
+    List<ClusterNodeUUID> joined = new ArrayList<>(nodes);
+    joined.add(ClusterNodeUUID.random());
+    joinView = view(2, joined);
+
+    List<ClusterNodeUUID> left = new ArrayList<>(nodes);
+    left.remove(clusterSize / 2);
+    leaveView = view(2, left);
+  }
+
+  /** 节点加入 */
+  @Benchmark
+  public Rebalance nodeJoin() {
+    return planner.plan(table, joinView);
+  }
+
+  /** 节点离开 */
+  @Benchmark
+  public Rebalance nodeLeave() {
+    return planner.plan(table, leaveView);
+  }
+
+  /** 全量重建分区表 */
+  @Benchmark
+  public Rebalance fullRebuild() {
+    return planner.plan(PartitionTable.empty(partitions), currentView);
+  }
+}
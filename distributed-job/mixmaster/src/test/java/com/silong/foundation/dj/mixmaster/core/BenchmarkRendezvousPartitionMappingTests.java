@@ -0,0 +1,98 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM测量不同分区数量、集群规模下全量计算分区分配的耗时及内存分配，对比优先级队列实现与原生类型实现
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 13:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BenchmarkRendezvousPartitionMappingTests {
+
+  private static final int BACKUP_NUM = 2;
+
+  @Param({"1024", "8192"})
+  private int partitions;
+
+  @Param({"3", "16", "64", "256", "1024"})
+  private int clusterSize;
+
+  private final RendezvousPartitionMapping priorityQueueMapping = new RendezvousPartitionMapping();
+
+  private final PrimitiveRendezvousPartitionMapping primitiveMapping =
+      new PrimitiveRendezvousPartitionMapping();
+
+  private List<ClusterNodeUUID> nodes;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkRendezvousPartitionMappingTests.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    nodes = new ArrayList<>(clusterSize);
+    for (int i = 0; i < clusterSize; i++) {
+      nodes.add(ClusterNodeUUID.random());
+    }
+  }
+
+  /** 优先级队列实现 */
+  @Benchmark
+  public void priorityQueue(Blackhole blackhole) {
+    for (int i = 0; i < partitions; i++) {
+      blackhole.consume(priorityQueueMapping.allocatePartition(i, BACKUP_NUM, nodes, null));
+    }
+  }
+
+  /** 原生类型实现 */
+  @Benchmark
+  public void primitive(Blackhole blackhole) {
+    for (int i = 0; i < partitions; i++) {
+      blackhole.consume(primitiveMapping.allocatePartition(i, BACKUP_NUM, nodes, null));
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.hook.clock.LogicalClock;
+import com.silong.foundation.dj.mixmaster.MixmasterApp4Test;
+import com.silong.foundation.dj.mixmaster.core.ClusterStateTransfer.TransferStats;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import lombok.SneakyThrows;
+import org.jgroups.View;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 集群状态传输测试，多个节点在同一个进程内通过共享内存协议栈组成集群
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 17:00
+ */
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class ClusterStateTransferTests {
+
+  private static final Map<String, Integer> PORTS =
+      Map.of("lion", 6241, "zebra", 6242, "hippo", 6243, "tiger", 6244);
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+  private static final String CLUSTER_NAME = "state-transfer-" + UUID.randomUUID();
+
+  private static final Map<String, ConfigurableApplicationContext> CONTEXTS = new LinkedHashMap<>();
+
+  /** zebra加入集群前lion保存的集群视图 */
+  private static List<View> lionViews;
+
+  /** zebra加入集群前lion的逻辑时钟 */
+  private static long lionClock;
+
+  @TempDir static Path dataDir;
+
+  @BeforeAll
+  static void init() {
+    start("lion");
+    await(() -> engine("lion").currentView() != null);
+
+    // 节点加入后离开，lion产生历史视图
+    start("tiger");
+    awaitStable();
+    CONTEXTS.remove("tiger").close();
+    awaitStable();
+
+    lionViews = topology("lion").snapshot();
+    lionClock = clock("lion").tick();
+    start("zebra");
+    awaitStable();
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    CONTEXTS.values().forEach(ConfigurableApplicationContext::close);
+  }
+
+  private static void start(String node) {
+    int port = PORTS.get(node);
+    CONTEXTS.put(
+        node,
+        new SpringApplicationBuilder(MixmasterApp4Test.class)
+            .properties(
+                "mixmaster.config-file=shared-loopback.xml",
+                "mixmaster.cluster-name=" + CLUSTER_NAME,
+                "mixmaster.instance-name=" + node,
+                "mixmaster.backup-num=1",
+                "bonecrusher.server.port=" + port,
+                "mixmaster.long-haul.persist-data-path="
+                    + dataDir.resolve(node).toFile().getAbsolutePath())
+            // 默认属性优先级低于application.properties，数据平面端口通过命令行参数覆盖
+            .run("--mixmaster.data-plane-address.port=" + port));
+  }
+
+  private static DefaultDistributedEngine engine(String node) {
+    return CONTEXTS.get(node).getBean(DefaultDistributedEngine.class);
+  }
+
+  private static DefaultClusterMetadata metadata(String node) {
+    return CONTEXTS.get(node).getBean(DefaultClusterMetadata.class);
+  }
+
+  private static ClusterTopology topology(String node) {
+    return CONTEXTS.get(node).getBean(ClusterTopology.class);
+  }
+
+  private static ClusterStateTransfer stateTransfer(String node) {
+    return CONTEXTS.get(node).getBean(ClusterStateTransfer.class);
+  }
+
+  private static LogicalClock clock(String node) {
+    return CONTEXTS.get(node).getBean(LogicalClock.class);
+  }
+
+  @SneakyThrows
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        Assertions.fail("Timed out waiting for condition.");
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  /** 等待所有节点视图一致并且分区迁移全部结束 */
+  private static void awaitStable() {
+    await(
+        () ->
+            CONTEXTS.keySet().stream()
+                .allMatch(
+                    node -> {
+                      DefaultDistributedEngine engine = engine(node);
+                      return engine.currentView() != null
+                          && engine.currentView().size() == CONTEXTS.size()
+                          && metadata(node).getOwnership().migrations().isEmpty();
+                    }));
+  }
+
+  /** 各节点分区表一致 */
+  private static void assertSameMetadata(String expected, String actual) {
+    for (int partition = 0; partition < metadata(expected).getTotalPartition(); partition++) {
+      Assertions.assertEquals(
+          metadata(expected).mapPartition2Nodes(partition),
+          metadata(actual).mapPartition2Nodes(partition),
+          actual + ":" + partition);
+    }
+  }
+
+  @SneakyThrows
+  private static byte[] state(String node) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    stateTransfer(node).write(out);
+    return out.toByteArray();
+  }
+
+  @Test
+  @DisplayName("sync-state-to-joined-node")
+  void test1() {
+    // 新节点同步了coordinator的历史视图、逻辑时钟以及分区表
+    Assertions.assertTrue(topology("zebra").snapshot().containsAll(lionViews));
+    Assertions.assertTrue(LogicalClock.compare(clock("zebra").now(), lionClock) > 0);
+    assertSameMetadata("lion", "zebra");
+  }
+
+  @Test
+  @DisplayName("reject-corrupted-stream")
+  void test2() throws IOException {
+    byte[] state = state("lion");
+    ClusterStateTransfer transfer = stateTransfer("zebra");
+
+    // 内容被篡改
+    byte[] corrupted = state.clone();
+    corrupted[corrupted.length / 2] ^= 0x5A;
+    Assertions.assertThrows(
+        IOException.class, () -> transfer.read(new ByteArrayInputStream(corrupted)));
+
+    // 传输中断
+    byte[] truncated = Arrays.copyOf(state, state.length / 2);
+    Assertions.assertThrows(
+        IOException.class, () -> transfer.read(new ByteArrayInputStream(truncated)));
+
+    // 不支持的格式版本
+    byte[] unsupported = state.clone();
+    unsupported[4] = 0x7F;
+    IOException e =
+        Assertions.assertThrows(
+            IOException.class, () -> transfer.read(new ByteArrayInputStream(unsupported)));
+    Assertions.assertTrue(e.getMessage().startsWith("Unsupported"));
+
+    // 重新同步时已有的视图不会重复保存
+    TransferStats stats = transfer.read(new ByteArrayInputStream(state));
+    Assertions.assertEquals(topology("lion").snapshot().size(), stats.views());
+    Assertions.assertEquals(0, stats.appliedViews());
+    Assertions.assertEquals(metadata("lion").getTotalPartition(), stats.partitions());
+  }
+
+  @Test
+  @DisplayName("sync-state-from-new-coordinator")
+  void test3() {
+    CONTEXTS.remove("lion").close();
+    awaitStable();
+    Assertions.assertTrue(engine("zebra").isCoordinator());
+
+    // 新节点从新的coordinator同步状态，包含原coordinator时期的历史视图
+    start("hippo");
+    awaitStable();
+    Assertions.assertTrue(topology("hippo").snapshot().containsAll(lionViews));
+    assertSameMetadata("zebra", "hippo");
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_COLUMN_FAMILY;
+import static com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY;
+
+import com.silong.foundation.dj.hook.clock.LogicalClock;
+import com.silong.foundation.dj.hook.clock.LogicalClock.Timestamp;
+import com.silong.foundation.dj.longhaul.RocksDbPersistStorage;
+import com.silong.foundation.dj.longhaul.ScanRange;
+import com.silong.foundation.dj.longhaul.config.PersistStorageProperties;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.jgroups.ViewId;
+import org.jgroups.util.ByteArrayDataOutputStream;
+import org.jgroups.util.UUID;
+import org.jgroups.util.Util;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 集群拓扑图单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 19:00
+ */
+public class ClusterTopologyTests {
+
+  private static final Address CREATOR = UUID.randomUUID();
+
+  @TempDir static Path dataDir;
+
+  private static RocksDbPersistStorage storage;
+
+  private MixmasterProperties properties;
+
+  @BeforeAll
+  static void init() {
+    PersistStorageProperties config = new PersistStorageProperties();
+    config.setPersistDataPath(dataDir.toFile().getAbsolutePath());
+    config.setColumnFamilyNames(
+        List.of(CLUSTER_TOPOLOGY_COLUMN_FAMILY, CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY));
+    storage = new RocksDbPersistStorage(config);
+  }
+
+  @AfterAll
+  static void cleanUp() throws InterruptedException {
+    storage.close();
+    // 等待存储异步关闭后再清理数据目录
+    Thread.sleep(1000);
+  }
+
+  @BeforeEach
+  void prepare() {
+    for (String cf :
+        List.of(CLUSTER_TOPOLOGY_COLUMN_FAMILY, CLUSTER_TOPOLOGY_HISTORY_COLUMN_FAMILY)) {
+      storage.deleteColumnFamily(cf);
+      storage.createColumnFamily(cf);
+    }
+    properties = new MixmasterProperties();
+  }
+
+  private ClusterTopology topology() {
+    ClusterTopology topology = new ClusterTopology();
+    topology.setPersistStorage(storage);
+    topology.setProperties(properties);
+    topology.resume();
+    return topology;
+  }
+
+  private static View view(long time) {
+    return new View(
+        new ViewId(CREATOR, LogicalClock.to(new Timestamp(time, 0))), new Address[] {CREATOR});
+  }
+
+  @Test
+  @DisplayName("save-lastView-before")
+  void test1() throws Exception {
+    ClusterTopology topology = topology();
+    Assertions.assertTrue(topology.isEmpty());
+    Assertions.assertNull(topology.lastView());
+
+    long now = System.currentTimeMillis();
+    View v1 = view(now - 2000);
+    View v2 = view(now - 1000);
+    View v3 = view(now);
+    topology.save(v2);
+    topology.save(v3);
+    topology.save(v1);
+    Assertions.assertEquals(v3, topology.lastView());
+    Assertions.assertEquals(v2, topology.before(v3));
+    Assertions.assertEquals(v1, topology.before(v2));
+    Assertions.assertNull(topology.before(v1));
+    Assertions.assertEquals(List.of(v3, v2, v1), topology.snapshot());
+    Assertions.assertFalse(topology.saveIfAbsent(v2));
+    Assertions.assertEquals(v2, topology.floorView(now - 500));
+    Assertions.assertEquals(v3, topology.cellingView(now - 500));
+    Assertions.assertNull(topology.floorView(now - 3000));
+  }
+
+  @Test
+  @DisplayName("lazy-resume")
+  void test2() throws Exception {
+    long now = System.currentTimeMillis();
+    ClusterTopology topology = topology();
+    for (int i = 10; i >= 0; i--) {
+      topology.save(view(now - i));
+    }
+
+    ClusterTopology resumed = topology();
+    Assertions.assertEquals(view(now), resumed.lastView());
+    Assertions.assertEquals(11, resumed.snapshot().size());
+    Assertions.assertTrue(resumed.saveIfAbsent(view(now + 1)));
+    Assertions.assertEquals(view(now + 1), resumed.lastView());
+  }
+
+  @Test
+  @DisplayName("retain-by-count")
+  void test3() throws Exception {
+    properties.getTopologyHistory().setMaxViews(5);
+    properties.getTopologyHistory().setCompactionInterval(10);
+    long now = System.currentTimeMillis();
+    ClusterTopology topology = topology();
+    for (int i = 0; i < 10; i++) {
+      topology.save(view(now + i));
+    }
+    List<View> views = topology.snapshot();
+    Assertions.assertEquals(5, views.size());
+    Assertions.assertEquals(view(now + 9), views.getFirst());
+    Assertions.assertEquals(view(now + 5), views.getLast());
+  }
+
+  @Test
+  @DisplayName("retain-by-age")
+  void test4() throws Exception {
+    properties.getTopologyHistory().setMaxAge(Duration.ofHours(1));
+    long now = System.currentTimeMillis();
+    ClusterTopology topology = topology();
+    topology.save(view(now - Duration.ofHours(3).toMillis()));
+    topology.save(view(now - Duration.ofHours(2).toMillis()));
+    topology.save(view(now - Duration.ofMinutes(1).toMillis()));
+
+    Assertions.assertEquals(1, topology().snapshot().size());
+    Assertions.assertEquals(view(now - Duration.ofMinutes(1).toMillis()), topology().lastView());
+  }
+
+  @Test
+  @DisplayName("migrate-legacy")
+  void test5() throws Exception {
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < 3; i++) {
+      View view = view(now + i);
+      ByteArrayDataOutputStream key = new ByteArrayDataOutputStream(Util.size(view.getViewId()));
+      Util.writeViewId(view.getViewId(), key);
+      ByteArrayDataOutputStream value = new ByteArrayDataOutputStream(Util.size(view));
+      Util.writeView(view, value);
+      storage.put(CLUSTER_TOPOLOGY_COLUMN_FAMILY, key.buffer(), value.buffer());
+    }
+
+    ClusterTopology topology = topology();
+    Assertions.assertEquals(view(now + 2), topology.lastView());
+    Assertions.assertEquals(3, topology.snapshot().size());
+    Assertions.assertEquals(
+        0, storage.stream(CLUSTER_TOPOLOGY_COLUMN_FAMILY, ScanRange.all()).count());
+  }
+}
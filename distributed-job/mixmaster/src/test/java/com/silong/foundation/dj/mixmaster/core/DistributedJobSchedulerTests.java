@@ -0,0 +1,305 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.MixmasterApp4Test;
+import com.silong.foundation.dj.mixmaster.utils.LambdaSerializable.SerializableRunnable;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 分布式任务调度器测试，多个节点在同一个进程内通过共享内存协议栈组成集群
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 10:20
+ */
+@Slf4j
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class DistributedJobSchedulerTests {
+
+  private static final String SCHEDULER = "affinity";
+
+  private static final List<String> NODES = List.of("lion", "zebra", "hippo");
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  /** 任务执行记录，key：亲和键，value：执行任务的线程名 */
+  private static final Map<Object, List<String>> EXECUTIONS = new ConcurrentHashMap<>();
+
+  /** 有序执行记录 */
+  private static final Map<Object, List<Integer>> ORDER = new ConcurrentHashMap<>();
+
+  /** 阻塞任务的闭锁 */
+  private static final CountDownLatch BLOCKER = new CountDownLatch(1);
+
+  private static final Map<String, ConfigurableApplicationContext> CONTEXTS = new LinkedHashMap<>();
+
+  @TempDir static Path dataDir;
+
+  @BeforeAll
+  static void init() {
+    String clusterName = "scheduler-" + UUID.randomUUID();
+    for (int i = 0; i < NODES.size(); i++) {
+      String node = NODES.get(i);
+      // 每个节点的数据同步服务监听不同的端口
+      int port = 6221 + i;
+      CONTEXTS.put(
+          node,
+          new SpringApplicationBuilder(MixmasterApp4Test.class)
+              .properties(
+                  "mixmaster.config-file=shared-loopback.xml",
+                  "mixmaster.cluster-name=" + clusterName,
+                  "mixmaster.instance-name=" + node,
+                  "bonecrusher.server.port=" + port,
+                  "mixmaster.long-haul.persist-data-path="
+                      + dataDir.resolve(node).toFile().getAbsolutePath())
+              // 默认属性优先级低于application.properties，数据平面端口通过命令行参数覆盖
+              .run("--mixmaster.data-plane-address.port=" + port));
+    }
+    awaitStable(NODES);
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    BLOCKER.countDown();
+    CONTEXTS.values().forEach(ConfigurableApplicationContext::close);
+  }
+
+  private static DefaultDistributedEngine engine(String node) {
+    return CONTEXTS.get(node).getBean(DefaultDistributedEngine.class);
+  }
+
+  private static DefaultClusterMetadata metadata(String node) {
+    return CONTEXTS.get(node).getBean(DefaultClusterMetadata.class);
+  }
+
+  @SneakyThrows
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        Assertions.fail("Timed out waiting for condition.");
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  /** 等待所有节点视图一致、分区迁移完成且分区主节点一致 */
+  private static void awaitStable(List<String> nodes) {
+    await(
+        () ->
+            nodes.stream()
+                .allMatch(
+                    node -> {
+                      DefaultDistributedEngine engine = engine(node);
+                      return engine.currentView() != null
+                          && engine.currentView().size() == nodes.size()
+                          && metadata(node).getOwnership().migrations().isEmpty();
+                    }));
+    int partitions = metadata(nodes.getFirst()).getTotalPartition();
+    await(
+        () ->
+            IntStream.range(0, partitions)
+                .allMatch(
+                    partition -> {
+                      Set<ClusterNodeUUID> primaries = new HashSet<>();
+                      for (String node : nodes) {
+                        ClusterNodeUUID primary = primary(node, partition);
+                        if (primary == null
+                            || !engine(node).currentView().containsMember(primary)) {
+                          return false;
+                        }
+                        primaries.add(primary);
+                      }
+                      return primaries.size() == 1;
+                    }));
+  }
+
+  private static ClusterNodeUUID primary(String node, int partition) {
+    PartitionTopology<ClusterNodeUUID> topology = metadata(node).mapPartition2Nodes(partition);
+    return topology != null ? topology.primary() : null;
+  }
+
+  /** 分区主节点名 */
+  private static String primaryNode(Object key) {
+    DefaultClusterMetadata metadata = metadata(NODES.getFirst());
+    ClusterNodeUUID primary = primary(NODES.getFirst(), metadata.mapObj2Partition(key));
+    return CONTEXTS.keySet().stream()
+        .filter(node -> engine(node).localAddress().equals(primary))
+        .findAny()
+        .orElseThrow();
+  }
+
+  private static Object keyOwnedBy(String node, String prefix) {
+    return IntStream.range(0, 10_000)
+        .mapToObj(i -> prefix + i)
+        .filter(key -> primaryNode(key).equals(node))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static void record(Object key) {
+    EXECUTIONS
+        .computeIfAbsent(key, k -> new CopyOnWriteArrayList<>())
+        .add(Thread.currentThread().getName());
+  }
+
+  @Test
+  @DisplayName("partition-affinity")
+  void test1() throws Exception {
+    DefaultDistributedJobScheduler scheduler = engine("lion").scheduler(SCHEDULER);
+    Assertions.assertSame(scheduler, engine("lion").scheduler(SCHEDULER));
+    List<Object> keys = IntStream.range(0, 200).mapToObj(i -> (Object) ("affinity-" + i)).toList();
+    for (Object key : keys) {
+      scheduler.execute(key, (SerializableRunnable) () -> record(key));
+    }
+    await(() -> keys.stream().allMatch(EXECUTIONS::containsKey));
+
+    Set<String> executors = new HashSet<>();
+    for (Object key : keys) {
+      List<String> threads = EXECUTIONS.get(key);
+      Assertions.assertEquals(1, threads.size());
+      String primary = primaryNode(key);
+      Assertions.assertTrue(
+          threads.getFirst().startsWith(primary + "-" + SCHEDULER + "-partition"),
+          threads.getFirst());
+      executors.add(primary);
+    }
+    // 任务分布到多个节点执行，远程节点应答后不再保留任务
+    Assertions.assertTrue(executors.size() > 1);
+    await(() -> scheduler.remoteJobs() == 0);
+  }
+
+  @Test
+  @DisplayName("ordered-within-partition")
+  void test2() throws Exception {
+    Object key = keyOwnedBy("zebra", "order-");
+    List<Integer> sequence = new CopyOnWriteArrayList<>();
+    // 同一进程内反序列化后的任务仍然引用相同的静态记录
+    ORDER.put(key, sequence);
+    DefaultDistributedJobScheduler scheduler = engine("lion").scheduler(SCHEDULER);
+    for (int i = 0; i < 500; i++) {
+      int seq = i;
+      scheduler.execute(key, (SerializableRunnable) () -> ORDER.get(key).add(seq));
+    }
+    await(() -> sequence.size() == 500);
+    Assertions.assertEquals(IntStream.range(0, 500).boxed().toList(), sequence);
+    await(() -> scheduler.remoteJobs() == 0);
+  }
+
+  @Test
+  @DisplayName("invalid-arguments")
+  void test3() {
+    DefaultDistributedEngine engine = engine("lion");
+    Assertions.assertThrows(IllegalArgumentException.class, () -> engine.scheduler(""));
+    DefaultDistributedJobScheduler scheduler = engine.scheduler(SCHEDULER);
+    Assertions.assertThrows(NullPointerException.class, () -> scheduler.execute(null, () -> {}));
+
+    // 远程执行的任务必须可序列化
+    Object remoteKey = keyOwnedBy("zebra", "remote-");
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> scheduler.execute(remoteKey, () -> {}));
+  }
+
+  @Test
+  @DisplayName("failover-to-backup")
+  void test4() throws Exception {
+    Object key = keyOwnedBy("hippo", "failover-");
+    DefaultDistributedJobScheduler scheduler = engine("lion").scheduler(SCHEDULER);
+
+    // 第一个任务阻塞主节点上的分区队列，后续任务排队等待
+    scheduler.execute(
+        key,
+        (SerializableRunnable)
+            () -> {
+              record(key);
+              if (Thread.currentThread().getName().startsWith("hippo-")) {
+                try {
+                  BLOCKER.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            });
+    List<Object> queued = IntStream.range(0, 10).mapToObj(i -> (Object) (key + "-" + i)).toList();
+    for (Object k : queued) {
+      scheduler.execute(key, (SerializableRunnable) () -> record(k));
+    }
+    await(() -> EXECUTIONS.containsKey(key));
+    Assertions.assertEquals(11, scheduler.remoteJobs());
+
+    // 主节点离开集群，未应答的任务转由新的主节点执行
+    CONTEXTS.remove("hippo").close();
+    awaitStable(List.of("lion", "zebra"));
+    await(() -> queued.stream().allMatch(EXECUTIONS::containsKey));
+    await(() -> scheduler.remoteJobs() == 0);
+
+    String newPrimary = primaryNode(key);
+    Assertions.assertNotEquals("hippo", newPrimary);
+    for (Object k : queued) {
+      Assertions.assertTrue(EXECUTIONS.get(k).getLast().startsWith(newPrimary + "-"));
+    }
+    // 阻塞的任务在新的主节点上再次执行，任务至少执行一次
+    await(() -> EXECUTIONS.get(key).size() == 2);
+    Assertions.assertTrue(EXECUTIONS.get(key).getLast().startsWith(newPrimary + "-"));
+  }
+
+  @Test
+  @DisplayName("error-does-not-stall-partition")
+  void test5() throws Exception {
+    Object key = keyOwnedBy("lion", "error-");
+    DefaultDistributedJobScheduler scheduler = engine("lion").scheduler(SCHEDULER);
+    CountDownLatch latch = new CountDownLatch(1);
+
+    // 第一个任务在后续任务入队后抛出Error，分区队列中的任务仍然继续执行
+    scheduler.execute(
+        key,
+        () -> {
+          try {
+            latch.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          throw new AssertionError("expected");
+        });
+    List<Object> queued = IntStream.range(0, 10).mapToObj(i -> (Object) (key + "-" + i)).toList();
+    for (Object k : queued) {
+      scheduler.execute(key, () -> record(k));
+    }
+    latch.countDown();
+    await(() -> queued.stream().allMatch(EXECUTIONS::containsKey));
+  }
+}
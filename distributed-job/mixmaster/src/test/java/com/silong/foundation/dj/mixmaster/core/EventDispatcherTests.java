@@ -0,0 +1,286 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.hook.event.JoinClusterEvent;
+import com.silong.foundation.dj.hook.event.LeftClusterEvent;
+import com.silong.foundation.dj.hook.event.ViewChangedEvent;
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties;
+import com.silong.foundation.dj.mixmaster.core.EventDispatcher.EventStatistics;
+import com.silong.foundation.dj.mixmaster.enu.OverflowPolicy;
+import com.silong.foundation.dj.mixmaster.enu.WaitStrategy;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import lombok.SneakyThrows;
+import org.jgroups.View;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 内部事件派发器测试，模拟视图变化、加入集群、离开集群事件风暴
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 13:50
+ */
+public class EventDispatcherTests {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private static final String CLUSTER = "event-storm";
+
+  private static final int PRODUCERS = 4;
+
+  private static final int EVENTS_PER_PRODUCER = 5_000;
+
+  private final ClusterNodeUUID local = ClusterNodeUUID.random();
+
+  private EventDispatcher dispatcher;
+
+  private Thread dispatcherThread;
+
+  @AfterEach
+  void cleanUp() throws InterruptedException {
+    if (dispatcher != null) {
+      dispatcher.close();
+    }
+  }
+
+  private EventDispatcher start(
+      int queueSize,
+      WaitStrategy waitStrategy,
+      OverflowPolicy overflowPolicy,
+      Consumer<ApplicationEvent> handler) {
+    MixmasterProperties properties = new MixmasterProperties();
+    properties.setEventDispatchQueueSize(queueSize);
+    properties.getEventDispatcher().setWaitStrategy(waitStrategy);
+    properties.getEventDispatcher().setOverflowPolicy(overflowPolicy);
+    properties.getEventDispatcher().setMaxParkTime(Duration.ofSeconds(10));
+    dispatcher = new EventDispatcher();
+    dispatcher.setProperties(properties);
+    dispatcherThread =
+        Thread.ofPlatform()
+            .name("event-dispatcher")
+            .daemon()
+            .start(() -> dispatcher.dispatch(handler));
+    return dispatcher;
+  }
+
+  private View view(long id) {
+    return View.create(local, id, local);
+  }
+
+  /** 按序号轮流生成视图变化、加入集群、离开集群事件 */
+  private ApplicationEvent event(int producer, int seq) {
+    View view = view((long) producer * EVENTS_PER_PRODUCER + seq);
+    return switch (seq % 3) {
+      case 0 -> new ViewChangedEvent(null, view);
+      case 1 -> new JoinClusterEvent(view, CLUSTER, local);
+      default -> new LeftClusterEvent(view, CLUSTER, local);
+    };
+  }
+
+  private static long viewId(ApplicationEvent event) {
+    return ((View) event.getSource()).getViewId().getId();
+  }
+
+  @SneakyThrows
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        Assertions.fail("Timed out waiting for condition.");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  /** 多个生产者同时突发投递事件 */
+  @SneakyThrows
+  private void storm(EventDispatcher dispatcher) {
+    CountDownLatch ready = new CountDownLatch(1);
+    List<Thread> producers = new ArrayList<>(PRODUCERS);
+    for (int p = 0; p < PRODUCERS; p++) {
+      int producer = p;
+      producers.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    try {
+                      ready.await();
+                    } catch (InterruptedException e) {
+                      throw new IllegalStateException(e);
+                    }
+                    for (int seq = 0; seq < EVENTS_PER_PRODUCER; seq++) {
+                      dispatcher.publish(event(producer, seq));
+                    }
+                  }));
+    }
+    ready.countDown();
+    for (Thread producer : producers) {
+      producer.join();
+    }
+  }
+
+  private static long total(Map<Class<? extends ApplicationEvent>, EventStatistics> statistics) {
+    return statistics.values().stream().mapToLong(EventStatistics::dispatched).sum();
+  }
+
+  @Test
+  @DisplayName("storm-without-loss")
+  void test1() {
+    List<ApplicationEvent> received = new CopyOnWriteArrayList<>();
+    EventDispatcher dispatcher =
+        start(8, WaitStrategy.SPIN_THEN_PARK, OverflowPolicy.BLOCK, received::add);
+    storm(dispatcher);
+    await(() -> received.size() == PRODUCERS * EVENTS_PER_PRODUCER);
+
+    // 同一生产者投递的事件按投递顺序派发
+    Map<Long, Long> lastSeq = new ConcurrentHashMap<>();
+    for (ApplicationEvent event : received) {
+      long id = viewId(event);
+      long producer = id / EVENTS_PER_PRODUCER;
+      Long last = lastSeq.put(producer, id);
+      Assertions.assertTrue(last == null || last < id, event.toString());
+    }
+
+    Map<Class<? extends ApplicationEvent>, EventStatistics> statistics = dispatcher.statistics();
+    Assertions.assertEquals(3, statistics.size());
+    for (Class<? extends ApplicationEvent> type :
+        List.of(ViewChangedEvent.class, JoinClusterEvent.class, LeftClusterEvent.class)) {
+      EventStatistics s = statistics.get(type);
+      Assertions.assertEquals(0, s.dropped(), type.getSimpleName());
+      Assertions.assertEquals(s.published(), s.dispatched(), type.getSimpleName());
+      Assertions.assertTrue(s.maxQueueNanos() >= s.avgQueueNanos());
+      Assertions.assertTrue(s.maxHandleNanos() >= s.avgHandleNanos());
+    }
+    Assertions.assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, total(statistics));
+  }
+
+  @Test
+  @DisplayName("storm-discarded-when-full")
+  void test2() throws InterruptedException {
+    CountDownLatch blocker = new CountDownLatch(1);
+    List<ApplicationEvent> received = new CopyOnWriteArrayList<>();
+    EventDispatcher dispatcher =
+        start(
+            8,
+            WaitStrategy.PARKING,
+            OverflowPolicy.DISCARD,
+            event -> {
+              try {
+                blocker.await();
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+              received.add(event);
+            });
+    // 派发线程阻塞期间队列满，后续事件被丢弃
+    storm(dispatcher);
+    blocker.countDown();
+
+    await(
+        () -> {
+          Map<Class<? extends ApplicationEvent>, EventStatistics> statistics =
+              dispatcher.statistics();
+          return total(statistics)
+              == statistics.values().stream().mapToLong(EventStatistics::published).sum();
+        });
+    long dropped =
+        dispatcher.statistics().values().stream().mapToLong(EventStatistics::dropped).sum();
+    Assertions.assertTrue(dropped > 0);
+    Assertions.assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, received.size() + dropped);
+  }
+
+  @Test
+  @DisplayName("park-when-idle")
+  void test3() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    EventDispatcher dispatcher =
+        start(8, WaitStrategy.SPIN_THEN_PARK, OverflowPolicy.BLOCK, event -> latch.countDown());
+
+    // 空闲时派发线程挂起，不再占用CPU
+    await(() -> dispatcherThread.getState() == Thread.State.TIMED_WAITING);
+
+    // 投递事件唤醒挂起的派发线程，无需等待挂起超时
+    dispatcher.publish(new JoinClusterEvent(view(1), CLUSTER, local));
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    EventStatistics statistics = dispatcher.statistics(JoinClusterEvent.class);
+    Assertions.assertEquals(1, statistics.published());
+    Assertions.assertTrue(statistics.maxQueueNanos() < TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  @DisplayName("busy-spin-and-yielding")
+  void test4() throws InterruptedException {
+    for (WaitStrategy waitStrategy : List.of(WaitStrategy.BUSY_SPIN, WaitStrategy.YIELDING)) {
+      List<ApplicationEvent> received = new CopyOnWriteArrayList<>();
+      EventDispatcher dispatcher = start(16, waitStrategy, OverflowPolicy.BLOCK, received::add);
+      storm(dispatcher);
+      await(() -> received.size() == PRODUCERS * EVENTS_PER_PRODUCER);
+      Assertions.assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, total(dispatcher.statistics()));
+      dispatcher.close();
+    }
+  }
+
+  @Test
+  @DisplayName("handler-failure-and-close")
+  void test5() throws InterruptedException {
+    List<ApplicationEvent> received = new CopyOnWriteArrayList<>();
+    EventDispatcher dispatcher =
+        start(
+            8,
+            WaitStrategy.PARKING,
+            OverflowPolicy.BLOCK,
+            event -> {
+              if (event instanceof LeftClusterEvent) {
+                throw new IllegalStateException("expected");
+              }
+              received.add(event);
+            });
+
+    // 事件处理异常不影响后续事件派发
+    dispatcher.publish(new LeftClusterEvent(view(1), CLUSTER, local));
+    dispatcher.publish(new JoinClusterEvent(view(2), CLUSTER, local));
+    await(() -> received.size() == 1);
+    Assertions.assertEquals(1, dispatcher.statistics(LeftClusterEvent.class).failed());
+
+    // 关闭后派发线程退出，新事件被丢弃
+    dispatcher.close();
+    dispatcherThread.join(TIMEOUT);
+    Assertions.assertFalse(dispatcherThread.isAlive());
+    Assertions.assertFalse(dispatcher.publish(new ViewChangedEvent(null, view(3))));
+    Assertions.assertEquals(1, dispatcher.statistics(ViewChangedEvent.class).dropped());
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.configure.config.MixmasterProperties.BatchingProperties;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import lombok.SneakyThrows;
+import org.jgroups.*;
+import org.jgroups.protocols.*;
+import org.jgroups.protocols.pbcast.GMS;
+import org.jgroups.protocols.pbcast.NAKACK2;
+import org.jgroups.protocols.pbcast.STABLE;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 发送消息批量合并器测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 15:40
+ */
+public class MessageBatcherTests {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private final List<Message> sent = new CopyOnWriteArrayList<>();
+
+  private final List<AutoCloseable> closeables = new ArrayList<>();
+
+  @AfterEach
+  void cleanUp() throws Exception {
+    for (AutoCloseable closeable : closeables.reversed()) {
+      closeable.close();
+    }
+  }
+
+  private MessageBatcher batcher(int maxBatchMessages, int maxBatchBytes, Duration maxBatchDelay) {
+    return batcher(maxBatchMessages, maxBatchBytes, maxBatchDelay, sent::add);
+  }
+
+  private MessageBatcher batcher(
+      int maxBatchMessages,
+      int maxBatchBytes,
+      Duration maxBatchDelay,
+      MessageBatcher.Sender sender) {
+    BatchingProperties config = new BatchingProperties();
+    config.setEnabled(true);
+    config.setMaxBatchMessages(maxBatchMessages);
+    config.setMaxBatchBytes(maxBatchBytes);
+    config.setMaxBatchDelay(maxBatchDelay);
+    MessageBatcher batcher = new MessageBatcher("test", config, sender);
+    closeables.add(batcher);
+    return batcher;
+  }
+
+  private static Message message(Address dest, int seq) {
+    return new BytesMessage(dest, ByteBuffer.allocate(Integer.BYTES).putInt(seq).array());
+  }
+
+  private static int seq(Message message) {
+    return ByteBuffer.wrap(message.getArray(), message.getOffset(), message.getLength()).getInt();
+  }
+
+  /** 展开合并消息后的序号 */
+  private static List<Integer> unbatch(List<Message> messages) {
+    List<Integer> seqs = new ArrayList<>();
+    for (Message message : messages) {
+      if (message instanceof CompositeMessage compositeMessage) {
+        compositeMessage.forEach(msg -> seqs.add(seq(msg)));
+      } else {
+        seqs.add(seq(message));
+      }
+    }
+    return seqs;
+  }
+
+  @SneakyThrows
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        Assertions.fail("Timed out waiting for condition.");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  @DisplayName("flush-when-max-messages-reached")
+  void test1() throws Exception {
+    Address dest = ClusterNodeUUID.random();
+    MessageBatcher batcher = batcher(4, 60_000, Duration.ofMinutes(1));
+    for (int i = 0; i < 10; i++) {
+      batcher.send(message(dest, i));
+    }
+
+    // 达到消息数量上限的批次立即发送
+    Assertions.assertEquals(2, sent.size());
+    for (Message message : sent) {
+      CompositeMessage compositeMessage =
+          Assertions.assertInstanceOf(CompositeMessage.class, message);
+      Assertions.assertEquals(4, compositeMessage.getNumberOfMessages());
+      Assertions.assertEquals(dest, compositeMessage.getDest());
+    }
+
+    batcher.flush();
+    Assertions.assertEquals(3, sent.size());
+    Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), unbatch(sent));
+  }
+
+  @Test
+  @DisplayName("flush-when-max-bytes-reached")
+  void test2() throws Exception {
+    Address dest = ClusterNodeUUID.random();
+    int size = message(dest, 0).size();
+    MessageBatcher batcher = batcher(64, size * 3, Duration.ofMinutes(1));
+    for (int i = 0; i < 7; i++) {
+      batcher.send(message(dest, i));
+    }
+
+    // 每个批次不超过字节上限
+    Assertions.assertEquals(2, sent.size());
+    for (Message message : sent) {
+      Assertions.assertEquals(3, ((CompositeMessage) message).getNumberOfMessages());
+    }
+
+    // 批次中只有一个消息时直接发送
+    batcher.flush();
+    Assertions.assertEquals(3, sent.size());
+    Assertions.assertInstanceOf(BytesMessage.class, sent.getLast());
+    Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), unbatch(sent));
+  }
+
+  @Test
+  @DisplayName("flush-after-max-delay")
+  void test3() throws Exception {
+    Address dest = ClusterNodeUUID.random();
+    MessageBatcher batcher = batcher(64, 60_000, Duration.ofMillis(20));
+    for (int i = 0; i < 5; i++) {
+      batcher.send(message(dest, i));
+    }
+    Assertions.assertTrue(sent.isEmpty());
+
+    // 未达到上限的批次在最长等待时间后发送
+    await(() -> !sent.isEmpty());
+    Assertions.assertEquals(List.of(0, 1, 2, 3, 4), unbatch(sent));
+  }
+
+  @Test
+  @DisplayName("batch-per-destination")
+  void test4() throws Exception {
+    Address dest1 = ClusterNodeUUID.random();
+    Address dest2 = ClusterNodeUUID.random();
+    MessageBatcher batcher = batcher(64, 60_000, Duration.ofMinutes(1));
+    for (int i = 0; i < 6; i++) {
+      batcher.send(message(i % 3 == 0 ? null : i % 3 == 1 ? dest1 : dest2, i));
+    }
+    batcher.flush();
+
+    // 发往不同目标（含广播）的消息分别合并
+    Assertions.assertEquals(3, sent.size());
+    for (Message message : sent) {
+      List<Integer> seqs = unbatch(List.of(message));
+      Assertions.assertEquals(2, seqs.size());
+      Address expected = seqs.getFirst() % 3 == 0 ? null : seqs.getFirst() % 3 == 1 ? dest1 : dest2;
+      Assertions.assertEquals(expected, message.getDest());
+      Assertions.assertEquals(seqs.getFirst() + 3, seqs.getLast());
+    }
+  }
+
+  @Test
+  @DisplayName("flush-on-close")
+  void test5() throws Exception {
+    Address dest = ClusterNodeUUID.random();
+    MessageBatcher batcher = batcher(64, 60_000, Duration.ofMinutes(1));
+    batcher.send(message(dest, 0));
+    batcher.send(message(dest, 1));
+    Assertions.assertTrue(sent.isEmpty());
+
+    // 关闭时发送暂存的消息，关闭后的消息立即发送
+    batcher.close();
+    Assertions.assertEquals(List.of(0, 1), unbatch(sent));
+    batcher.send(message(dest, 2));
+    Assertions.assertEquals(List.of(0, 1, 2), unbatch(sent));
+  }
+
+  @Test
+  @DisplayName("unbatch-over-jgroups")
+  void test6() throws Exception {
+    List<Integer> received = new CopyOnWriteArrayList<>();
+    JChannel sender = channel(null);
+    JChannel receiver =
+        channel(
+            new Receiver() {
+              @Override
+              public void receive(Message msg) {
+                // 合并消息中的消息继承合并消息的源地址
+                List<Message> messages = new ArrayList<>();
+                if (msg instanceof CompositeMessage compositeMessage) {
+                  compositeMessage.forEach(messages::add);
+                } else {
+                  messages.add(msg);
+                }
+                for (Message message : messages) {
+                  Assertions.assertEquals(sender.getAddress(), message.getSrc());
+                  received.add(seq(message));
+                }
+              }
+            });
+    await(() -> sender.getView().size() == 2);
+
+    MessageBatcher batcher = batcher(8, 60_000, Duration.ofMillis(5), sender::send);
+    for (int i = 0; i < 100; i++) {
+      batcher.send(message(receiver.getAddress(), i));
+    }
+    batcher.flush();
+    await(() -> received.size() == 100);
+    Assertions.assertEquals(100, received.stream().distinct().count());
+    for (int i = 0; i < 100; i++) {
+      Assertions.assertEquals(i, received.get(i));
+    }
+  }
+
+  @SneakyThrows
+  private JChannel channel(Receiver receiver) {
+    JChannel channel =
+        new JChannel(
+                new SHARED_LOOPBACK(),
+                new SHARED_LOOPBACK_PING(),
+                new NAKACK2(),
+                new UNICAST3(),
+                new STABLE(),
+                new GMS().setJoinTimeout(1000),
+                new FRAG2())
+            .setReceiver(receiver);
+    closeables.add(channel);
+    return channel.connect("message-batcher");
+  }
+}
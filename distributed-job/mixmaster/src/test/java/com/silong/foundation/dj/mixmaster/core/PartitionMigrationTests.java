@@ -0,0 +1,292 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import static com.silong.foundation.dj.mixmaster.generated.Messages.MigrationState.COMPLETED;
+import static com.silong.foundation.dj.mixmaster.generated.Messages.MigrationState.RELEASED;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.dj.mixmaster.MixmasterApp4Test;
+import com.silong.foundation.dj.mixmaster.generated.Messages.PartitionMigration;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * 分区迁移测试，多个节点在同一个进程内组成集群，分区数据通过本机bonecrusher服务迁移
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 12:20
+ */
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class PartitionMigrationTests {
+
+  private static final Map<String, Integer> PORTS =
+      Map.of("lion", 6231, "zebra", 6232, "hippo", 6233, "tiger", 6234);
+
+  private static final int ENTRIES = 50;
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+  private static final String CLUSTER_NAME = "migration-" + UUID.randomUUID();
+
+  private static final Map<String, ConfigurableApplicationContext> CONTEXTS = new LinkedHashMap<>();
+
+  @TempDir static Path dataDir;
+
+  @BeforeAll
+  static void init() {
+    start("lion");
+    await(() -> engine("lion").currentView() != null);
+    PartitionDataStore dataStore = dataStore("lion");
+    for (int partition = 0; partition < partitions(); partition++) {
+      for (int i = 0; i < ENTRIES; i++) {
+        dataStore.put(partition, key(i), value(partition, i));
+      }
+    }
+  }
+
+  @AfterAll
+  static void cleanUp() {
+    CONTEXTS.values().forEach(ConfigurableApplicationContext::close);
+  }
+
+  private static void start(String node) {
+    int port = PORTS.get(node);
+    CONTEXTS.put(
+        node,
+        new SpringApplicationBuilder(MixmasterApp4Test.class)
+            .properties(
+                "mixmaster.config-file=shared-loopback.xml",
+                "mixmaster.cluster-name=" + CLUSTER_NAME,
+                "mixmaster.instance-name=" + node,
+                "mixmaster.backup-num=1",
+                "bonecrusher.server.port=" + port,
+                "mixmaster.long-haul.persist-data-path="
+                    + dataDir.resolve(node).toFile().getAbsolutePath())
+            // 默认属性优先级低于application.properties，数据平面端口通过命令行参数覆盖
+            .run("--mixmaster.data-plane-address.port=" + port));
+  }
+
+  private static DefaultDistributedEngine engine(String node) {
+    return CONTEXTS.get(node).getBean(DefaultDistributedEngine.class);
+  }
+
+  private static DefaultClusterMetadata metadata(String node) {
+    return CONTEXTS.get(node).getBean(DefaultClusterMetadata.class);
+  }
+
+  private static PartitionDataStore dataStore(String node) {
+    return CONTEXTS.get(node).getBean(PartitionDataStore.class);
+  }
+
+  private static PartitionMigrationManager migrationManager(String node) {
+    return CONTEXTS.get(node).getBean(PartitionMigrationManager.class);
+  }
+
+  private static int partitions() {
+    return metadata("lion").getTotalPartition();
+  }
+
+  private static byte[] key(int i) {
+    return ("key-" + i).getBytes(UTF_8);
+  }
+
+  private static byte[] value(int partition, int i) {
+    return String.format("partition-%d-value-%d", partition, i).getBytes(UTF_8);
+  }
+
+  @SneakyThrows
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        Assertions.fail("Timed out waiting for condition.");
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  /** 等待所有节点视图一致并且分区迁移全部结束 */
+  private static void awaitMigrated() {
+    await(
+        () ->
+            CONTEXTS.keySet().stream()
+                .allMatch(
+                    node -> {
+                      DefaultDistributedEngine engine = engine(node);
+                      return engine.currentView() != null
+                          && engine.currentView().size() == CONTEXTS.size()
+                          && metadata(node).getOwnership().migrations().isEmpty();
+                    }));
+  }
+
+  private static String nodeName(ClusterNodeUUID address) {
+    return CONTEXTS.keySet().stream()
+        .filter(node -> engine(node).localAddress().equals(address))
+        .findAny()
+        .orElseThrow();
+  }
+
+  /** 分区数据只保存在分区布局中的节点上 */
+  private static void assertPlacement() {
+    for (int partition = 0; partition < partitions(); partition++) {
+      PartitionTopology<ClusterNodeUUID> topology = metadata("lion").mapPartition2Nodes(partition);
+      List<String> owners = topology.getPrimaryAndBackups().stream().map(n -> nodeName(n)).toList();
+      Assertions.assertEquals(2, owners.size());
+      for (String node : CONTEXTS.keySet()) {
+        Assertions.assertEquals(
+            topology, metadata(node).mapPartition2Nodes(partition), node + ":" + partition);
+        PartitionDataStore dataStore = dataStore(node);
+        if (owners.contains(node)) {
+          Assertions.assertEquals(ENTRIES, dataStore.count(partition), node + ":" + partition);
+          for (int i = 0; i < ENTRIES; i++) {
+            Assertions.assertArrayEquals(value(partition, i), dataStore.get(partition, key(i)));
+          }
+        } else {
+          Assertions.assertEquals(0, dataStore.count(partition), node + ":" + partition);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("migrate-to-joined-node")
+  void test1() {
+    start("zebra");
+    awaitMigrated();
+    assertPlacement();
+
+    // 新节点从lion拉取了全部分区
+    PartitionMigrationManager manager = migrationManager("zebra");
+    for (int partition = 0; partition < partitions(); partition++) {
+      PartitionMigration migration = manager.state(partition);
+      Assertions.assertNotNull(migration, "partition:" + partition);
+      Assertions.assertEquals(COMPLETED, migration.getState());
+      Assertions.assertEquals(
+          metadata("zebra").mapPartition2Nodes(partition).getVersion(), migration.getVersion());
+    }
+  }
+
+  @Test
+  @DisplayName("release-migrated-partitions")
+  void test2() {
+    start("hippo");
+    awaitMigrated();
+    assertPlacement();
+
+    int migrated = 0;
+    for (int partition = 0; partition < partitions(); partition++) {
+      PartitionTopology<ClusterNodeUUID> topology = metadata("hippo").mapPartition2Nodes(partition);
+      if (topology.contains(engine("hippo").localAddress())) {
+        migrated++;
+        Assertions.assertEquals(COMPLETED, migrationManager("hippo").state(partition).getState());
+      }
+      // 迁出分区的节点清理数据并记录状态
+      for (String node : List.of("lion", "zebra")) {
+        if (!topology.contains(engine(node).localAddress())) {
+          Assertions.assertEquals(RELEASED, migrationManager(node).state(partition).getState());
+        }
+      }
+    }
+    Assertions.assertTrue(migrated > 0);
+  }
+
+  @Test
+  @DisplayName("reject-corrupted-data-file")
+  void test3() throws IOException {
+    PartitionDataStore dataStore = dataStore("lion");
+    // 值长度为负数或超过文件剩余长度时，在校验和之前拒绝导入
+    for (int valueLength : new int[] {-5, Integer.MAX_VALUE}) {
+      Path file = dataDir.resolve("corrupted" + valueLength);
+      try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+        out.writeInt(PartitionDataStore.MAGIC);
+        out.writeInt(0);
+        out.writeInt(1);
+        out.writeByte(1);
+        out.writeInt(valueLength);
+        out.writeByte(1);
+      }
+      Assertions.assertThrows(IOException.class, () -> dataStore.importFrom(0, file));
+    }
+  }
+
+  @Test
+  @DisplayName("completion-before-view-handled")
+  void test4() {
+    // 阻塞zebra的事件派发线程，其他节点的迁移完成消息先于新视图的元数据更新到达zebra
+    CountDownLatch blocker = new CountDownLatch(1);
+    ConfigurableApplicationContext zebra = CONTEXTS.get("zebra");
+    zebra.addApplicationListener(
+        (ApplicationListener<ApplicationEvent>)
+            event -> {
+              if (event instanceof BlockingEvent) {
+                awaitQuietly(blocker);
+              }
+            });
+    Assertions.assertTrue(zebra.getBean(EventDispatcher.class).publish(new BlockingEvent()));
+
+    start("tiger");
+    PartitionMigrationManager manager = migrationManager("tiger");
+    await(
+        () ->
+            engine("tiger").currentView() != null
+                && IntStream.range(0, partitions())
+                    .mapToObj(manager::state)
+                    .anyMatch(state -> state != null && state.getState() == COMPLETED));
+    blocker.countDown();
+
+    // zebra恢复后依次处理视图变更与迁移完成消息，所有节点的迁移均能结束
+    awaitMigrated();
+    assertPlacement();
+  }
+
+  @SneakyThrows
+  private static void awaitQuietly(CountDownLatch latch) {
+    latch.await();
+  }
+
+  /** 阻塞事件派发线程的事件 */
+  private static class BlockingEvent extends ApplicationEvent {
+    BlockingEvent() {
+      super("blocking");
+    }
+  }
+}
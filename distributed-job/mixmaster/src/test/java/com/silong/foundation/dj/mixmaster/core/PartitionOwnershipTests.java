@@ -0,0 +1,156 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.core.PartitionOwnership.Migration;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan.Movement;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 分区所有权测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 12:10
+ */
+public class PartitionOwnershipTests {
+
+  private static final int PARTITION = 3;
+
+  private final PartitionOwnership<String> ownership = new PartitionOwnership<>();
+
+  private static PartitionTopology<String> topology(long version, String... nodes) {
+    return PartitionTopology.<String>builder()
+        .primaryAndBackups(List.of(nodes))
+        .version(version)
+        .build();
+  }
+
+  private static RebalancePlan<String> plan(
+      long version, PartitionTopology<String> before, PartitionTopology<String> after) {
+    return new RebalancePlan<>(
+        version - 1, version, 8, 1, List.of(new Movement<>(PARTITION, before, after)));
+  }
+
+  private static RebalancePlan<String> emptyPlan(long version) {
+    return new RebalancePlan<>(version - 1, version, 8, 0, List.of());
+  }
+
+  private List<String> route() {
+    return List.copyOf(ownership.route(PARTITION, null).getPrimaryAndBackups());
+  }
+
+  @Test
+  @DisplayName("PartitionOwnership-1")
+  public void test1() {
+    // 分区首次分配没有需要迁移的数据
+    PartitionTopology<String> target = topology(1, "a", "b");
+    ownership.rebalance(plan(1, null, target), List.of("a", "b"));
+    Assertions.assertTrue(ownership.migrations().isEmpty());
+    Assertions.assertSame(target, ownership.route(PARTITION, target));
+  }
+
+  @Test
+  @DisplayName("PartitionOwnership-2")
+  public void test2() {
+    PartitionTopology<String> target = topology(2, "c", "a");
+    ownership.rebalance(plan(2, topology(1, "a", "b"), target), List.of("a", "b", "c"));
+
+    // 目标主节点完成迁移前，分区仍然路由至持有数据的节点
+    Migration<String> migration = ownership.migration(PARTITION);
+    Assertions.assertNotNull(migration);
+    Assertions.assertEquals(List.of("a", "b"), List.copyOf(migration.holders()));
+    Assertions.assertEquals(List.of("c"), List.copyOf(migration.remaining()));
+    Assertions.assertEquals(List.of("a", "b"), route());
+    Assertions.assertEquals(1, ownership.route(PARTITION, target).getVersion());
+
+    // 过期版本和非目标节点的迁移完成消息被忽略
+    Assertions.assertNull(ownership.complete(PARTITION, "c", 1));
+    Assertions.assertNull(ownership.complete(PARTITION, "b", 2));
+    Assertions.assertEquals(List.of("a", "b"), route());
+
+    Migration<String> finished = ownership.complete(PARTITION, "c", 2);
+    Assertions.assertSame(migration, finished);
+    Assertions.assertNull(ownership.migration(PARTITION));
+    Assertions.assertSame(target, ownership.route(PARTITION, target));
+  }
+
+  @Test
+  @DisplayName("PartitionOwnership-3")
+  public void test3() {
+    // 目标主节点已持有数据时立即切换布局，备份节点继续迁移
+    PartitionTopology<String> target = topology(2, "a", "c", "d");
+    ownership.rebalance(plan(2, topology(1, "b", "a"), target), List.of("a", "b", "c", "d"));
+    Migration<String> migration = ownership.migration(PARTITION);
+    Assertions.assertNotNull(migration);
+    Assertions.assertSame(target, migration.effective());
+    Assertions.assertEquals(List.of("c", "d"), List.copyOf(migration.remaining()));
+
+    Assertions.assertNull(ownership.complete(PARTITION, "d", 2));
+    Assertions.assertEquals(List.of("c"), List.copyOf(ownership.migration(PARTITION).remaining()));
+    Assertions.assertNotNull(ownership.complete(PARTITION, "c", 2));
+    Assertions.assertTrue(ownership.migrations().isEmpty());
+  }
+
+  @Test
+  @DisplayName("PartitionOwnership-4")
+  public void test4() {
+    PartitionTopology<String> target = topology(2, "c", "a");
+    ownership.rebalance(plan(2, topology(1, "a", "b"), target), List.of("a", "b", "c"));
+
+    // 布局未变，持有数据的节点离开集群
+    ownership.rebalance(emptyPlan(3), List.of("a", "c"));
+    Assertions.assertEquals(List.of("a"), route());
+    Assertions.assertEquals(List.of("c"), List.copyOf(ownership.migration(PARTITION).remaining()));
+
+    // 持有数据的节点全部离开，数据无法迁移，直接切换至目标布局
+    ownership.rebalance(emptyPlan(4), List.of("c"));
+    Assertions.assertNull(ownership.migration(PARTITION));
+    Assertions.assertSame(target, ownership.route(PARTITION, target));
+  }
+
+  @Test
+  @DisplayName("PartitionOwnership-5")
+  public void test5() {
+    ownership.rebalance(
+        plan(2, topology(1, "a", "b"), topology(2, "c", "a")), List.of("a", "b", "c"));
+
+    // 迁移未完成时再次再平衡，以实际持有数据的节点作为数据源，而不是上一个目标布局
+    PartitionTopology<String> target = topology(3, "d", "c");
+    ownership.rebalance(plan(3, topology(2, "c", "a"), target), List.of("a", "b", "c", "d"));
+    Migration<String> migration = ownership.migration(PARTITION);
+    Assertions.assertEquals(List.of("a", "b"), List.copyOf(migration.holders()));
+    Assertions.assertEquals(List.of("d", "c"), List.copyOf(migration.remaining()));
+    Assertions.assertEquals(List.of("a", "b"), route());
+
+    // 旧版本的迁移完成消息不影响新的迁移
+    Assertions.assertNull(ownership.complete(PARTITION, "c", 2));
+    Assertions.assertNull(ownership.complete(PARTITION, "d", 3));
+    Assertions.assertEquals(List.of("d", "c"), route());
+    Assertions.assertNotNull(ownership.complete(PARTITION, "c", 3));
+    Assertions.assertTrue(ownership.migrations().isEmpty());
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.utils.LambdaSerializable.SerializableBiPredicate;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import java.util.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 原生类型Rendezvous一致性哈希测试，以优先级队列实现作为对照
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 12:50
+ */
+public class PrimitiveRendezvousPartitionMappingTests {
+
+  private static final int TOTAL_PARTITION = 1024;
+
+  private static final int[] CLUSTER_SIZES = {1, 2, 3, 16, 97};
+
+  private static final int[] BACKUP_NUMS = {0, 1, 2, 5, Integer.MAX_VALUE};
+
+  private static List<ClusterNodeUUID> randomNodes(int count) {
+    List<ClusterNodeUUID> nodes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      nodes.add(ClusterNodeUUID.random());
+    }
+    return nodes;
+  }
+
+  /** 节点按下标取模分组，同组节点互为邻居 */
+  private static Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood(
+      List<ClusterNodeUUID> nodes, int groups) {
+    Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood = new HashMap<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      List<ClusterNodeUUID> neighbors = new ArrayList<>();
+      for (int j = 0; j < nodes.size(); j++) {
+        if (i != j && i % groups == j % groups) {
+          neighbors.add(nodes.get(j));
+        }
+      }
+      neighborhood.put(nodes.get(i), neighbors);
+    }
+    return neighborhood;
+  }
+
+  private static void assertSameAllocation(
+      RendezvousPartitionMapping expected,
+      PrimitiveRendezvousPartitionMapping actual,
+      Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood,
+      List<ClusterNodeUUID> nodes) {
+    for (int backupNum : BACKUP_NUMS) {
+      for (int i = 0; i < TOTAL_PARTITION; i++) {
+        Assertions.assertEquals(
+            List.copyOf(expected.allocatePartition(i, backupNum, nodes, neighborhood)),
+            List.copyOf(actual.allocatePartition(i, backupNum, nodes, neighborhood)),
+            "partition" + i + " backupNum:" + backupNum);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("same-as-priority-queue")
+  void test1() {
+    RendezvousPartitionMapping expected = new RendezvousPartitionMapping();
+    PrimitiveRendezvousPartitionMapping actual = new PrimitiveRendezvousPartitionMapping();
+    for (int clusterSize : CLUSTER_SIZES) {
+      assertSameAllocation(expected, actual, null, randomNodes(clusterSize));
+    }
+  }
+
+  @Test
+  @DisplayName("same-with-backup-filters")
+  void test2() {
+    SerializableBiPredicate<ClusterNodeUUID, ClusterNodeUUID> backupFilter =
+        (primary, node) -> ((primary.hashCode() ^ node.hashCode()) & 3) != 0;
+    SerializableBiPredicate<ClusterNodeUUID, Collection<ClusterNodeUUID>> affinityBackupFilter =
+        (node, allocated) -> allocated.size() < 2 || (node.hashCode() & 1) == 0;
+
+    RendezvousPartitionMapping expected = new RendezvousPartitionMapping();
+    PrimitiveRendezvousPartitionMapping actual = new PrimitiveRendezvousPartitionMapping();
+    expected.setBackupFilter(backupFilter);
+    actual.setBackupFilter(backupFilter);
+    for (int clusterSize : CLUSTER_SIZES) {
+      assertSameAllocation(expected, actual, null, randomNodes(clusterSize));
+    }
+
+    expected.setAffinityBackupFilter(affinityBackupFilter);
+    actual.setAffinityBackupFilter(affinityBackupFilter);
+    for (int clusterSize : CLUSTER_SIZES) {
+      assertSameAllocation(expected, actual, null, randomNodes(clusterSize));
+    }
+
+    expected.setBackupFilter(null);
+    actual.setBackupFilter(null);
+    for (int clusterSize : CLUSTER_SIZES) {
+      assertSameAllocation(expected, actual, null, randomNodes(clusterSize));
+    }
+  }
+
+  @Test
+  @DisplayName("same-with-neighbors-excluded")
+  void test3() {
+    RendezvousPartitionMapping expected = new RendezvousPartitionMapping();
+    PrimitiveRendezvousPartitionMapping actual = new PrimitiveRendezvousPartitionMapping();
+    for (int clusterSize : CLUSTER_SIZES) {
+      List<ClusterNodeUUID> nodes = randomNodes(clusterSize);
+      Map<ClusterNodeUUID, SequencedCollection<ClusterNodeUUID>> neighborhood =
+          neighborhood(nodes, 4);
+      assertSameAllocation(expected, actual, neighborhood, nodes);
+
+      // 备份节点之间互不为邻居
+      for (int i = 0; i < TOTAL_PARTITION; i++) {
+        List<ClusterNodeUUID> allocated =
+            List.copyOf(actual.allocatePartition(i, 3, nodes, neighborhood));
+        for (int j = 1; j < allocated.size(); j++) {
+          for (int k = j + 1; k < allocated.size(); k++) {
+            Assertions.assertFalse(neighborhood.get(allocated.get(j)).contains(allocated.get(k)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("independent-of-node-order")
+  void test4() {
+    PrimitiveRendezvousPartitionMapping mapping = new PrimitiveRendezvousPartitionMapping();
+    List<ClusterNodeUUID> nodes = randomNodes(64);
+    List<ClusterNodeUUID> shuffled = new ArrayList<>(nodes);
+    Collections.shuffle(shuffled, new Random(64));
+    for (int i = 0; i < TOTAL_PARTITION; i++) {
+      List<ClusterNodeUUID> allocated = List.copyOf(mapping.allocatePartition(i, 2, nodes, null));
+      Assertions.assertEquals(
+          allocated, List.copyOf(mapping.allocatePartition(i, 2, shuffled, null)));
+
+      // 移除未被分配给分区的节点，不改变分区分配结果
+      List<ClusterNodeUUID> remaining = new ArrayList<>(nodes);
+      remaining.removeIf(node -> !allocated.contains(node) && (node.hashCode() & 1) == 0);
+      Assertions.assertEquals(
+          allocated, List.copyOf(mapping.allocatePartition(i, 2, remaining, null)));
+    }
+  }
+
+  @Test
+  @DisplayName("invalid-arguments")
+  void test5() {
+    PrimitiveRendezvousPartitionMapping mapping = new PrimitiveRendezvousPartitionMapping();
+    List<ClusterNodeUUID> nodes = randomNodes(1);
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> mapping.allocatePartition(-1, 0, nodes, null));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> mapping.allocatePartition(0, -1, nodes, null));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> mapping.allocatePartition(0, 0, List.of(), null));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> mapping.allocatePartition(0, 0, null, null));
+  }
+}
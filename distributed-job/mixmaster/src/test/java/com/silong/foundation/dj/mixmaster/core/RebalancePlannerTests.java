@@ -0,0 +1,189 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.dj.mixmaster.core;
+
+import com.silong.foundation.dj.mixmaster.core.RebalancePlanner.Rebalance;
+import com.silong.foundation.dj.mixmaster.vo.ClusterNodeUUID;
+import com.silong.foundation.dj.mixmaster.vo.PartitionTopology;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan;
+import com.silong.foundation.dj.mixmaster.vo.RebalancePlan.Movement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.jgroups.Address;
+import org.jgroups.View;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 分区再平衡计划测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 06:50
+ */
+public class RebalancePlannerTests {
+
+  private static final int TOTAL_PARTITION = 1024;
+
+  private static final int BACKUP_NUM = 2;
+
+  private final RebalancePlanner planner =
+      new RebalancePlanner(new RendezvousPartitionMapping(), BACKUP_NUM, TOTAL_PARTITION);
+
+  private static List<ClusterNodeUUID> randomNodes(int count) {
+    List<ClusterNodeUUID> nodes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      nodes.add(ClusterNodeUUID.random());
+    }
+    return nodes;
+  }
+
+  private static View view(long id, List<ClusterNodeUUID> nodes) {
+    return View.create(nodes.getFirst(), id, nodes.toArray(new Address[0]));
+  }
+
+  /** 全量计算新视图的分区表，作为增量计算的对照 */
+  private PartitionTable fullTable(View view) {
+    return planner.plan(PartitionTable.empty(TOTAL_PARTITION), view).table();
+  }
+
+  private static void assertSameLayout(PartitionTable expected, PartitionTable actual) {
+    for (int i = 0; i < TOTAL_PARTITION; i++) {
+      Assertions.assertEquals(
+          List.copyOf(expected.topology(i).getPrimaryAndBackups()),
+          List.copyOf(actual.topology(i).getPrimaryAndBackups()),
+          "partition " + i);
+    }
+  }
+
+  @Test
+  @DisplayName("RebalancePlanner-1")
+  public void test1() {
+    List<ClusterNodeUUID> nodes = randomNodes(5);
+    Rebalance rebalance = planner.plan(PartitionTable.empty(TOTAL_PARTITION), view(1, nodes));
+    RebalancePlan<ClusterNodeUUID> plan = rebalance.plan();
+    Assertions.assertEquals(-1, plan.fromVersion());
+    Assertions.assertEquals(1, plan.toVersion());
+    Assertions.assertEquals(TOTAL_PARTITION, plan.recalculated());
+    Assertions.assertEquals(TOTAL_PARTITION, plan.movements().size());
+    Assertions.assertEquals(TOTAL_PARTITION, plan.primaryChanges());
+    for (int i = 0; i < TOTAL_PARTITION; i++) {
+      Assertions.assertEquals(
+          BACKUP_NUM + 1, rebalance.table().topology(i).getPrimaryAndBackups().size());
+      Assertions.assertEquals(i, plan.movements().get(i).partitionNo());
+    }
+  }
+
+  @Test
+  @DisplayName("RebalancePlanner-2")
+  public void test2() {
+    List<ClusterNodeUUID> nodes = randomNodes(6);
+    PartitionTable table = fullTable(view(1, nodes));
+
+    ClusterNodeUUID left = nodes.remove(3);
+    View newView = view(2, nodes);
+    Rebalance rebalance = planner.plan(table, newView);
+
+    // 增量计算结果与全量计算一致
+    assertSameLayout(fullTable(newView), rebalance.table());
+
+    // 仅重新计算包含离开节点的分区，且这些分区全部发生变化
+    long affected =
+        IntStream.range(0, TOTAL_PARTITION).filter(i -> table.topology(i).contains(left)).count();
+    RebalancePlan<ClusterNodeUUID> plan = rebalance.plan();
+    Assertions.assertEquals(affected, plan.recalculated());
+    Assertions.assertEquals(affected, plan.movements().size());
+    Assertions.assertEquals(plan.movements(), plan.movementsOf(left));
+    for (Movement<ClusterNodeUUID> movement : plan.movements()) {
+      Assertions.assertEquals(List.of(left), movement.left());
+      Assertions.assertEquals(1, movement.joined().size());
+      Assertions.assertEquals(movement.before().isPrimary(left), movement.primaryChanged());
+    }
+
+    // 未变化的分区保留原布局对象
+    for (int i = 0; i < TOTAL_PARTITION; i++) {
+      if (!table.topology(i).contains(left)) {
+        Assertions.assertSame(table.topology(i), rebalance.table().topology(i));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("RebalancePlanner-3")
+  public void test3() {
+    List<ClusterNodeUUID> nodes = randomNodes(6);
+    PartitionTable table = fullTable(view(1, nodes));
+
+    ClusterNodeUUID joined = ClusterNodeUUID.random();
+    nodes.add(joined);
+    View newView = view(2, nodes);
+    Rebalance rebalance = planner.plan(table, newView);
+
+    assertSameLayout(fullTable(newView), rebalance.table());
+
+    // 节点加入时全量计算，但只有被新节点抢占的分区出现在计划中
+    RebalancePlan<ClusterNodeUUID> plan = rebalance.plan();
+    Assertions.assertEquals(TOTAL_PARTITION, plan.recalculated());
+    Assertions.assertFalse(plan.isEmpty());
+    Assertions.assertTrue(plan.movements().size() < TOTAL_PARTITION);
+    for (Movement<ClusterNodeUUID> movement : plan.movements()) {
+      Assertions.assertEquals(List.of(joined), movement.joined());
+      Assertions.assertEquals(1, movement.left().size());
+      Assertions.assertEquals(movement.after().isPrimary(joined), movement.primaryChanged());
+    }
+    Assertions.assertEquals(plan.movements(), plan.movementsOf(joined));
+  }
+
+  @Test
+  @DisplayName("RebalancePlanner-4")
+  public void test4() {
+    List<ClusterNodeUUID> nodes = randomNodes(4);
+    PartitionTable table = fullTable(view(1, nodes));
+
+    // 成员不变仅顺序变化，分区表无需重新计算
+    Rebalance rebalance = planner.plan(table, view(2, nodes.reversed()));
+    Assertions.assertTrue(rebalance.plan().isEmpty());
+    Assertions.assertEquals(0, rebalance.plan().recalculated());
+    Assertions.assertEquals(2, rebalance.table().version());
+    for (int i = 0; i < TOTAL_PARTITION; i++) {
+      PartitionTopology<ClusterNodeUUID> topology = rebalance.table().topology(i);
+      Assertions.assertSame(table.topology(i), topology);
+      Assertions.assertEquals(1, topology.getVersion());
+    }
+  }
+
+  @Test
+  @DisplayName("RebalancePlanner-5")
+  public void test5() {
+    Assertions.assertThrowsExactly(
+        IllegalArgumentException.class,
+        () -> new RebalancePlanner(new RendezvousPartitionMapping(), -1, TOTAL_PARTITION));
+    Assertions.assertThrowsExactly(
+        IllegalArgumentException.class,
+        () -> new RebalancePlanner(new RendezvousPartitionMapping(), BACKUP_NUM, 0));
+    Assertions.assertThrowsExactly(
+        IllegalArgumentException.class,
+        () -> planner.plan(PartitionTable.empty(TOTAL_PARTITION / 2), view(1, randomNodes(3))));
+  }
+}
@@ -25,6 +25,7 @@ import static com.silong.foundation.duuid.spi.MysqlWorkerIdAllocator.*;
 import static com.silong.foundation.springboot.starter.simpleauth.constants.AuthHeaders.*;
 import static java.util.Spliterator.ORDERED;
 import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.springframework.http.MediaType.*;
 import static org.springframework.web.bind.annotation.RequestMethod.POST;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
@@ -34,17 +35,25 @@ import com.silong.foundation.common.model.ErrorDetail;
 import com.silong.foundation.crypto.aes.AesGcmToolkit;
 import com.silong.foundation.duuid.generator.DuuidGenerator;
 import com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator;
+import com.silong.foundation.duuid.generator.impl.SegmentLeasingDuuidGenerator;
+import com.silong.foundation.duuid.generator.impl.WorkerIdReservoir;
 import com.silong.foundation.duuid.server.configure.properties.*;
+import com.silong.foundation.duuid.server.handlers.BatchIdGeneratorHandler;
 import com.silong.foundation.duuid.server.handlers.IdGeneratorHandler;
 import com.silong.foundation.duuid.server.model.Duuid;
+import com.silong.foundation.duuid.server.model.Duuids;
 import com.silong.foundation.duuid.spi.Etcdv3WorkerIdAllocator;
 import com.silong.foundation.duuid.spi.MysqlWorkerIdAllocator;
 import com.silong.foundation.duuid.spi.WorkerIdAllocator;
 import com.silong.foundation.duuid.spi.WorkerInfo;
 import com.silong.foundation.springboot.starter.simpleauth.configure.SecurityAutoConfiguration;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -89,7 +98,7 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 })
 @Import({SecurityAutoConfiguration.class})
 @ImportRuntimeHints(ServiceRuntimeHintsRegistrar.class)
-@RegisterReflectionForBinding({ErrorDetail.class, Duuid.class})
+@RegisterReflectionForBinding({ErrorDetail.class, Duuid.class, Duuids.class})
 @SuppressFBWarnings(
     value = {"EI_EXPOSE_REP2"},
     justification = "只读初始配置")
@@ -171,12 +180,45 @@ public class RoutesAutoConfiguration {
   }
 
   @Bean(destroyMethod = "close")
-  DuuidGenerator registerIdGenerator(WorkerIdAllocator allocator, WorkerInfo workerInfo) {
+  WorkerIdReservoir registerWorkerIdReservoir(
+      WorkerIdAllocator allocator, WorkerInfo workerInfo, MeterRegistry meterRegistry) {
+    WorkerIdReservoir reservoir =
+        new WorkerIdReservoir(
+            () -> allocator.allocate(workerInfo),
+            generatorProperties.getWorkerIdReservoirCapacity(),
+            generatorProperties.getWorkerIdRetryIntervalMillis(),
+            generatorProperties.getWorkerIdMaxWaitMillis());
+    Gauge.builder("workerid_reservoir_depth", reservoir, WorkerIdReservoir::depth)
+        .register(meterRegistry);
+    FunctionTimer.builder(
+            "workerid_reservoir_stall",
+            reservoir,
+            WorkerIdReservoir::stallCount,
+            WorkerIdReservoir::stallTimeNanos,
+            NANOSECONDS)
+        .register(meterRegistry);
+    return reservoir;
+  }
+
+  @Bean(destroyMethod = "close")
+  DuuidGenerator registerIdGenerator(WorkerIdReservoir workerIdReservoir) {
+    if (generatorProperties.getType() == DuuidGeneratorProperties.Type.SEGMENT_LEASING) {
+      return new SegmentLeasingDuuidGenerator(
+          generatorProperties.getWorkerIdBits(),
+          generatorProperties.getDeltaDaysBits(),
+          generatorProperties.getSequenceBits(),
+          workerIdReservoir,
+          SYSTEM_CLOCK_PROVIDER,
+          generatorProperties.getSequence(),
+          generatorProperties.getSegmentSize(),
+          generatorProperties.isEnableSequenceRandom(),
+          generatorProperties.getMaxRandomIncrement());
+    }
     return new CircularQueueDuuidGenerator(
         generatorProperties.getWorkerIdBits(),
         generatorProperties.getDeltaDaysBits(),
         generatorProperties.getSequenceBits(),
-        () -> allocator.allocate(workerInfo),
+        workerIdReservoir,
         SYSTEM_CLOCK_PROVIDER,
         generatorProperties.getSequence(),
         generatorProperties.getQueueCapacity(),
@@ -193,40 +235,95 @@ public class RoutesAutoConfiguration {
   }
 
   @Bean
-  @RouterOperations(
-      @RouterOperation(
-          produces = {APPLICATION_JSON_VALUE},
-          consumes = {ALL_VALUE},
-          method = POST,
-          beanClass = IdGeneratorHandler.class,
-          beanMethod = "handle",
-          operation =
-              @Operation(
-                  operationId = "nextId",
-                  summary = "Generate a globally unique id",
-                  tags = {"nextId"},
-                  security = {
-                    @SecurityRequirement(name = IDENTITY),
-                    @SecurityRequirement(name = SIGNATURE),
-                    @SecurityRequirement(name = RANDOM),
-                    @SecurityRequirement(name = TIMESTAMP)
-                  },
-                  responses = {
-                    @ApiResponse(
-                        responseCode = OK,
-                        description = "OK",
-                        content = @Content(schema = @Schema(implementation = Duuid.class))),
-                    @ApiResponse(
-                        responseCode = UNAUTHORIZED,
-                        description = "UNAUTHORIZED",
-                        content = @Content(schema = @Schema(implementation = ErrorDetail.class))),
-                    @ApiResponse(
-                        responseCode = FORBIDDEN,
-                        description = "FORBIDDEN",
-                        content = @Content(schema = @Schema(implementation = ErrorDetail.class)))
-                  })))
-  RouterFunction<ServerResponse> routes(IdGeneratorHandler handler) {
-    return RouterFunctions.route(POST(serverProperties.getServicePath()).and(accept(ALL)), handler);
+  BatchIdGeneratorHandler registerBatchHandler(
+      @Value("${spring.application.name}") String applicationName,
+      DuuidGenerator duuidGenerator,
+      MeterRegistry meterRegistry) {
+    return new BatchIdGeneratorHandler(
+        applicationName, duuidGenerator, serverProperties.getMaxBatchSize(), meterRegistry);
+  }
+
+  @Bean
+  @RouterOperations({
+    @RouterOperation(
+        produces = {APPLICATION_JSON_VALUE},
+        consumes = {ALL_VALUE},
+        method = POST,
+        beanClass = IdGeneratorHandler.class,
+        beanMethod = "handle",
+        operation =
+            @Operation(
+                operationId = "nextId",
+                summary = "Generate a globally unique id",
+                tags = {"nextId"},
+                security = {
+                  @SecurityRequirement(name = IDENTITY),
+                  @SecurityRequirement(name = SIGNATURE),
+                  @SecurityRequirement(name = RANDOM),
+                  @SecurityRequirement(name = TIMESTAMP)
+                },
+                responses = {
+                  @ApiResponse(
+                      responseCode = OK,
+                      description = "OK",
+                      content = @Content(schema = @Schema(implementation = Duuid.class))),
+                  @ApiResponse(
+                      responseCode = UNAUTHORIZED,
+                      description = "UNAUTHORIZED",
+                      content = @Content(schema = @Schema(implementation = ErrorDetail.class))),
+                  @ApiResponse(
+                      responseCode = FORBIDDEN,
+                      description = "FORBIDDEN",
+                      content = @Content(schema = @Schema(implementation = ErrorDetail.class)))
+                })),
+    @RouterOperation(
+        produces = {APPLICATION_JSON_VALUE},
+        consumes = {ALL_VALUE},
+        method = POST,
+        beanClass = BatchIdGeneratorHandler.class,
+        beanMethod = "handle",
+        operation =
+            @Operation(
+                operationId = "nextIds",
+                summary = "Generate a batch of globally unique ids",
+                tags = {"nextIds"},
+                parameters = {
+                  @Parameter(
+                      in = ParameterIn.QUERY,
+                      name = BatchIdGeneratorHandler.COUNT,
+                      required = true,
+                      description = "Number of ids to generate",
+                      schema = @Schema(type = "integer", minimum = "1"))
+                },
+                security = {
+                  @SecurityRequirement(name = IDENTITY),
+                  @SecurityRequirement(name = SIGNATURE),
+                  @SecurityRequirement(name = RANDOM),
+                  @SecurityRequirement(name = TIMESTAMP)
+                },
+                responses = {
+                  @ApiResponse(
+                      responseCode = OK,
+                      description = "OK",
+                      content = @Content(schema = @Schema(implementation = Duuids.class))),
+                  @ApiResponse(
+                      responseCode = BAD_REQUEST,
+                      description = "BAD_REQUEST",
+                      content = @Content(schema = @Schema(implementation = ErrorDetail.class))),
+                  @ApiResponse(
+                      responseCode = UNAUTHORIZED,
+                      description = "UNAUTHORIZED",
+                      content = @Content(schema = @Schema(implementation = ErrorDetail.class))),
+                  @ApiResponse(
+                      responseCode = FORBIDDEN,
+                      description = "FORBIDDEN",
+                      content = @Content(schema = @Schema(implementation = ErrorDetail.class)))
+                }))
+  })
+  RouterFunction<ServerResponse> routes(
+      IdGeneratorHandler handler, BatchIdGeneratorHandler batchHandler) {
+    return RouterFunctions.route(POST(serverProperties.getServicePath()).and(accept(ALL)), handler)
+        .andRoute(POST(serverProperties.getBatchServicePath()).and(accept(ALL)), batchHandler);
   }
 
   private WorkerIdAllocator load(String fqdn) {
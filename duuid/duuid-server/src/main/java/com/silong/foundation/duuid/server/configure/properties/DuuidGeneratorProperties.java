@@ -18,6 +18,7 @@
  */
 package com.silong.foundation.duuid.server.configure.properties;
 
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
@@ -25,6 +26,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator.Constants.*;
+import static com.silong.foundation.duuid.generator.impl.SegmentLeasingDuuidGenerator.DEFAULT_SEGMENT_SIZE;
+import static com.silong.foundation.duuid.generator.impl.WorkerIdReservoir.DEFAULT_CAPACITY;
+import static com.silong.foundation.duuid.generator.impl.WorkerIdReservoir.DEFAULT_MAX_WAIT_MILLIS;
+import static com.silong.foundation.duuid.generator.impl.WorkerIdReservoir.DEFAULT_RETRY_INTERVAL_MILLIS;
 
 /**
  * 服务配置
@@ -37,6 +42,25 @@ import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGener
 @Validated
 @ConfigurationProperties(prefix = "duuid.generator")
 public class DuuidGeneratorProperties {
+
+  /**
+   * 生成器类型
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 15:40
+   */
+  public enum Type {
+    /** 单生产者环状队列生成器 */
+    CIRCULAR_QUEUE,
+
+    /** 多生产者号段租约生成器 */
+    SEGMENT_LEASING
+  }
+
+  /** 生成器类型，默认：circular-queue */
+  @NotNull private Type type = Type.CIRCULAR_QUEUE;
+
   /** workerId占用比特数量，默认：23 */
   @Positive private int workerIdBits = DEFAULT_WORK_ID_BITS;
 
@@ -52,9 +76,21 @@ public class DuuidGeneratorProperties {
   /** 队列长度，默认：8192 */
   @Positive private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
 
+  /** 号段租约生成器每次租用的序列号段长度，默认：1024 */
+  @Positive private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
   /** id增量随机数上边界，默认：10 */
   @Positive private int maxRandomIncrement = DEFAULT_MAX_RANDOM_INCREMENT;
 
+  /** 后台预取的workerId数量，默认：1 */
+  @Positive private int workerIdReservoirCapacity = DEFAULT_CAPACITY;
+
+  /** 后台预取workerId失败后的重试间隔，单位：毫秒，默认：1000 */
+  @Positive private long workerIdRetryIntervalMillis = DEFAULT_RETRY_INTERVAL_MILLIS;
+
+  /** 等待workerId的最长时间，超时后抛出分配器最近一次的异常，单位：毫秒，默认：30000 */
+  @Positive private long workerIdMaxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+
   /** 是否开启生成id随机增长，避免出现连续id */
   private boolean enableSequenceRandom;
 }
@@ -18,7 +18,9 @@
  */
 package com.silong.foundation.duuid.server.configure.properties;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
@@ -37,6 +39,14 @@ public class DuuidServerProperties {
   /** 服务端点路径，默认：/duuid */
   @NotEmpty private String servicePath = "/duuid";
 
+  /** 批量获取id服务端点路径，默认：/duuid/batch */
+  @NotEmpty private String batchServicePath = "/duuid/batch";
+
+  /** 单次批量请求可获取的最大id数量，默认：1000 */
+  @Positive
+  @Max(65536)
+  private int maxBatchSize = 1000;
+
   /** 工作密钥 */
   @NotEmpty private String workKey;
 }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.server.handlers;
+
+import com.silong.foundation.duuid.generator.DuuidGenerator;
+import com.silong.foundation.duuid.server.model.Duuids;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static com.silong.foundation.common.constants.CommonErrorCode.INVALID_PARAMETERS;
+import static com.silong.foundation.common.constants.CommonErrorCode.SERVICE_INTERNAL_ERROR;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * 批量id生成器处理器，配合webflux使用，单次请求返回count个id
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 09:45
+ */
+@Slf4j
+public class BatchIdGeneratorHandler implements HandlerFunction<ServerResponse> {
+
+  /** 请求参数：批量获取id数量 */
+  public static final String COUNT = "count";
+
+  private static final String INTERFACE = "interface";
+
+  private static final String NEXT_IDS = "nextIds";
+
+  /** 服务名 */
+  private final String serviceName;
+
+  /** id生成器 */
+  private final DuuidGenerator duuidGenerator;
+
+  /** 单次请求最大可获取id数量 */
+  private final int maxBatchSize;
+
+  /** 请求总量计数器 */
+  private final Counter totalRequests;
+
+  /** 请求成功总量计数器 */
+  private final Counter totalSucceededRequests;
+
+  /** 请求失败总量计数器 */
+  private final Counter totalFailedRequests;
+
+  /** 生成id总量计数器 */
+  private final Counter totalGeneratedIds;
+
+  /** 请求批量大小分布 */
+  private final DistributionSummary batchSizes;
+
+  /** 按批量大小分档的方法耗时，下标为批量大小向上取整至2的次方后的指数 */
+  private final Timer[] timers;
+
+  /**
+   * 构造方法
+   *
+   * @param serviceName 服务名
+   * @param duuidGenerator id生成器
+   * @param maxBatchSize 单次请求最大可获取id数量
+   * @param meterRegistry prometheus
+   */
+  public BatchIdGeneratorHandler(
+      @NonNull String serviceName,
+      @NonNull DuuidGenerator duuidGenerator,
+      int maxBatchSize,
+      @NonNull MeterRegistry meterRegistry) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize must be greater than 0.");
+    }
+    this.serviceName = serviceName;
+    this.duuidGenerator = duuidGenerator;
+    this.maxBatchSize = maxBatchSize;
+    this.totalRequests = meterRegistry.counter("requests_total", INTERFACE, NEXT_IDS);
+    this.totalSucceededRequests =
+        meterRegistry.counter("requests_succeeded_total", INTERFACE, NEXT_IDS);
+    this.totalFailedRequests = meterRegistry.counter("requests_failed_total", INTERFACE, NEXT_IDS);
+    this.totalGeneratedIds = meterRegistry.counter("ids_generated_total", INTERFACE, NEXT_IDS);
+    this.batchSizes =
+        DistributionSummary.builder("requests_batch_size")
+            .tag(INTERFACE, NEXT_IDS)
+            .baseUnit("ids")
+            .register(meterRegistry);
+    this.timers = new Timer[bucket(maxBatchSize) + 1];
+    for (int i = 0; i < timers.length; i++) {
+      timers[i] =
+          meterRegistry.timer(
+              "batch_requests_duration", INTERFACE, NEXT_IDS, "batch", String.valueOf(1 << i));
+    }
+  }
+
+  /**
+   * 批量大小向上取整至2的次方后的指数，用于控制指标标签基数
+   *
+   * @param batchSize 批量大小
+   * @return 指数
+   */
+  static int bucket(int batchSize) {
+    return batchSize <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(batchSize - 1);
+  }
+
+  /**
+   * 根据请求批量生成uuid
+   *
+   * @param request 请求
+   * @return 响应
+   */
+  @Override
+  public Mono<ServerResponse> handle(ServerRequest request) {
+    totalRequests.increment();
+    int count = parseCount(request);
+    if (count <= 0 || count > maxBatchSize) {
+      totalFailedRequests.increment();
+      return ServerResponse.status(BAD_REQUEST)
+          .contentType(APPLICATION_JSON)
+          .body(BodyInserters.fromValue(INVALID_PARAMETERS.format(serviceName)));
+    }
+    batchSizes.record(count);
+    return timers[bucket(count)].record(
+        () ->
+            ServerResponse.ok()
+                .contentType(APPLICATION_JSON)
+                .body(BodyInserters.fromValue(new Duuids(duuidGenerator.nextIds(count))))
+                .doOnSuccess(
+                    serverResponse -> {
+                      totalSucceededRequests.increment();
+                      totalGeneratedIds.increment(count);
+                    })
+                .onErrorResume(
+                    t -> {
+                      log.error("Failed to generate {} ids.", count, t);
+                      totalFailedRequests.increment();
+                      return ServerResponse.status(INTERNAL_SERVER_ERROR)
+                          .contentType(APPLICATION_JSON)
+                          .body(
+                              BodyInserters.fromValue(SERVICE_INTERNAL_ERROR.format(serviceName)));
+                    }));
+  }
+
+  private int parseCount(ServerRequest request) {
+    try {
+      return request.queryParam(COUNT).map(Integer::parseInt).orElse(-1);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
@@ -21,6 +21,8 @@ package com.silong.foundation.duuid.server;
 import static com.silong.foundation.springboot.starter.simpleauth.constants.AuthHeaders.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.TEXT_PLAIN;
@@ -29,6 +31,7 @@ import static org.testcontainers.shaded.org.apache.commons.lang3.RandomStringUti
 import com.silong.foundation.crypto.RootKey;
 import com.silong.foundation.crypto.digest.HmacToolkit;
 import com.silong.foundation.duuid.server.model.Duuid;
+import com.silong.foundation.duuid.server.model.Duuids;
 import com.silong.foundation.springboot.starter.simpleauth.configure.config.SimpleAuthProperties;
 import java.io.File;
 import java.io.IOException;
@@ -73,6 +76,8 @@ abstract class AbstractIT {
 
   private String idGenEngdpoint;
 
+  private String batchIdGenEngdpoint;
+
   private String prometheusEngdpoint;
 
   private String openApiEngdpoint;
@@ -95,6 +100,7 @@ abstract class AbstractIT {
   @BeforeEach
   void init() {
     idGenEngdpoint = String.format("http://localhost:%d/duuid", port);
+    batchIdGenEngdpoint = String.format("http://localhost:%d/duuid/batch?count=", port);
     prometheusEngdpoint = String.format("http://localhost:%d/actuator/prometheus", actuatorPort);
     openApiEngdpoint =
         String.format("http://localhost:%d/actuator/openapi/duuid-server", actuatorPort);
@@ -163,4 +169,60 @@ abstract class AbstractIT {
     System.out.println(responseEntity.getBody());
     assertFalse(responseEntity.getBody() == null || responseEntity.getBody().isEmpty());
   }
+
+  @Test
+  void test6() {
+    buildHeaders("client");
+    HttpEntity<Void> entity = new HttpEntity<>(headers);
+    long id = restTemplate.postForObject(idGenEngdpoint, entity, Duuid.class).id();
+    buildHeaders("client");
+    entity = new HttpEntity<>(headers);
+    long[] ids =
+        restTemplate.postForObject(batchIdGenEngdpoint + 1000, entity, Duuids.class).ids();
+    assertEquals(1000, ids.length);
+    assertTrue(ids[0] > id);
+    for (int i = 1; i < ids.length; i++) {
+      assertTrue(ids[i] > ids[i - 1]);
+    }
+  }
+
+  @Test
+  void test7() {
+    for (String count : List.of("0", "-1", "1001", "abc")) {
+      buildHeaders("client");
+      HttpEntity<Void> entity = new HttpEntity<>(headers);
+      ResponseEntity<String> response =
+          restTemplate.exchange(batchIdGenEngdpoint + count, POST, entity, String.class);
+      assertEquals(BAD_REQUEST, response.getStatusCode());
+    }
+  }
+
+  @Test
+  void test8() {
+    buildHeaders("client");
+    restTemplate.postForObject(idGenEngdpoint, new HttpEntity<>(headers), Duuid.class);
+    buildHeaders("client");
+    restTemplate.postForObject(batchIdGenEngdpoint + 10, new HttpEntity<>(headers), Duuids.class);
+
+    buildHeaders("prometheus");
+    String body =
+        restTemplate
+            .exchange(prometheusEngdpoint, GET, new HttpEntity<>(headers), String.class)
+            .getBody();
+    assertNotNull(body);
+    List<String> lines = body.lines().toList();
+    assertTrue(
+        lines.stream()
+            .anyMatch(
+                line ->
+                    line.startsWith("requests_duration_seconds_count{")
+                        && line.contains("interface=\"nextId\"")));
+    assertTrue(
+        lines.stream()
+            .anyMatch(
+                line ->
+                    line.startsWith("batch_requests_duration_seconds_count{")
+                        && line.contains("interface=\"nextIds\"")
+                        && line.contains("batch=\"16\"")));
+  }
 }
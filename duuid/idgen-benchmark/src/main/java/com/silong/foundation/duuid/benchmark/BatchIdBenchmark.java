@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.benchmark;
+
+import com.silong.foundation.duuid.generator.DuuidGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 对比批量获取id与逐个获取id的吞吐量，两种方式每次调用均生成batchSize个id
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 10:12
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms256M", "-Xmx256M"})
+public class BatchIdBenchmark {
+
+  @Param({"1", "16", "128", "1024"})
+  private int batchSize;
+
+  @Param({"CIRCULAR_QUEUE", "TWITTER_SNOWFLAKE"})
+  private GeneratorType type;
+
+  private DuuidGenerator generator;
+
+  /**
+   * 线程私有结果缓存，避免批量调用时分配数组
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 10:12
+   */
+  @State(Scope.Thread)
+  public static class Buffer {
+    long[] ids;
+
+    @Setup
+    public void setup(BatchIdBenchmark benchmark) {
+      ids = new long[benchmark.batchSize];
+    }
+  }
+
+  @Setup
+  public void setup() {
+    generator = type.create();
+  }
+
+  @TearDown
+  public void tearDown() {
+    generator.close();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void single(Blackhole bh) {
+    for (int i = 0; i < batchSize; i++) {
+      bh.consume(generator.nextId());
+    }
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void batch(Buffer buffer, Blackhole bh) {
+    generator.nextIds(buffer.ids, 0, batchSize);
+    bh.consume(buffer.ids);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.benchmark;
+
+import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator.Constants.DEFAULT_MAX_RANDOM_INCREMENT;
+import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator.Constants.DEFAULT_QUEUE_CAPACITY;
+
+import com.silong.foundation.duuid.generator.DuuidGenerator;
+import com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 跨天路径开销：时钟每生成rolloverInterval个id前进一天，触发序列号重置及明日零点重新计算。<br>
+ * rolloverInterval为0时时钟不前进，作为对照组。每轮迭代重新创建生成器，避免天数差溢出。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 14:20
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(
+    value = 1,
+    jvmArgs = {"-Xms256M", "-Xmx256M"})
+public class DayRolloverBenchmark {
+
+  @Param({"0", "65536", "1048576"})
+  private int rolloverInterval;
+
+  private DuuidGenerator generator;
+
+  /**
+   * 步进时钟，每被读取interval次前进一天。<br>
+   * 仅由生产者线程读取，无需同步。
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 14:20
+   */
+  private static final class SteppingClock implements Supplier<Long> {
+
+    private final int interval;
+
+    private long now = System.currentTimeMillis();
+
+    private int reads;
+
+    SteppingClock(int interval) {
+      this.interval = interval;
+    }
+
+    @Override
+    public Long get() {
+      if (interval > 0 && ++reads == interval) {
+        reads = 0;
+        now += TimeUnit.DAYS.toMillis(1);
+      }
+      return now;
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    AtomicLong workerId = new AtomicLong();
+    generator =
+        new CircularQueueDuuidGenerator(
+            workerId::incrementAndGet,
+            new SteppingClock(rolloverInterval),
+            0,
+            DEFAULT_QUEUE_CAPACITY,
+            false,
+            DEFAULT_MAX_RANDOM_INCREMENT);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    generator.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public long singleThread() {
+    return generator.nextId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public long fourThreads() {
+    return generator.nextId();
+  }
+}
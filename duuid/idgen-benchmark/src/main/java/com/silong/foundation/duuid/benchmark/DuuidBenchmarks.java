@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.benchmark;
+
+import java.nio.file.Path;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，接受JMH标准命令行参数。<br>
+ * 未指定结果文件时以JSON格式输出至jmh-result.json，便于持续集成中比对吞吐量及p99/p999延迟回归。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar                        # 运行全部基准测试
+ * java -jar target/benchmarks.jar ContentionBenchmark    # 仅运行指定基准测试
+ * java -jar target/benchmarks.jar -rff baseline.json     # 指定结果文件
+ * </pre>
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 14:20
+ */
+public final class DuuidBenchmarks {
+
+  /** 默认结果文件 */
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /** 工具类，禁止实例化 */
+  private DuuidBenchmarks() {}
+
+  /**
+   * 运行基准测试
+   *
+   * @param args JMH命令行参数
+   * @throws RunnerException 运行异常
+   * @throws CommandLineOptionException 命令行参数异常
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions cmd = new CommandLineOptions(args);
+    ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+    if (cmd.getIncludes().isEmpty()) {
+      builder.include(DuuidBenchmarks.class.getPackageName() + ".*");
+    }
+    if (!cmd.getResultFormat().hasValue()) {
+      builder.resultFormat(ResultFormatType.JSON);
+    }
+    if (!cmd.getResult().hasValue()) {
+      builder.result(Path.of(DEFAULT_RESULT_FILE).toAbsolutePath().toString());
+    }
+    new Runner(builder.build()).run();
+  }
+}
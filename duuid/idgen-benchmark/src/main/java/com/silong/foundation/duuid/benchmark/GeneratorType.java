@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.benchmark;
+
+import com.silong.foundation.duuid.generator.DuuidGenerator;
+import com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator;
+import com.silong.foundation.duuid.generator.impl.TwitterSnowFlakeIdGenerator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基准测试覆盖的id生成器类型
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 14:20
+ */
+public enum GeneratorType {
+
+  /** 基于无锁环状队列的Duuid生成器 */
+  CIRCULAR_QUEUE {
+    @Override
+    DuuidGenerator create() {
+      AtomicLong workerId = new AtomicLong();
+      return new CircularQueueDuuidGenerator(workerId::incrementAndGet, false);
+    }
+  },
+
+  /** 基于同步方法的推特雪花id生成器 */
+  TWITTER_SNOWFLAKE {
+    @Override
+    DuuidGenerator create() {
+      return new TwitterSnowFlakeIdGenerator(1, 1);
+    }
+  };
+
+  /**
+   * 使用默认参数创建生成器
+   *
+   * @return id生成器
+   */
+  abstract DuuidGenerator create();
+}
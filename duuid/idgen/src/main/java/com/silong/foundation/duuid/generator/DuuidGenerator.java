@@ -20,6 +20,8 @@
 package com.silong.foundation.duuid.generator;
 
 import java.io.Closeable;
+import java.nio.LongBuffer;
+import java.util.Objects;
 
 /**
  * 分布式ID生成器
@@ -40,4 +42,59 @@ public interface DuuidGenerator extends Closeable {
    * @return 生成id
    */
   Long nextId();
+
+  /**
+   * 批量生成uuid，写入数组指定区间，避免逐个装箱及调用开销
+   *
+   * @param ids 结果数组
+   * @param offset 写入起始位置
+   * @param length 生成id数量
+   */
+  default void nextIds(long[] ids, int offset, int length) {
+    if (ids == null) {
+      throw new IllegalArgumentException("ids must not be null.");
+    }
+    Objects.checkFromIndexSize(offset, length, ids.length);
+    for (int i = offset, end = offset + length; i < end; i++) {
+      ids[i] = nextId();
+    }
+  }
+
+  /**
+   * 批量生成uuid
+   *
+   * @param count 生成id数量
+   * @return id数组
+   */
+  default long[] nextIds(int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be greater than or equal to 0.");
+    }
+    long[] ids = new long[count];
+    nextIds(ids, 0, count);
+    return ids;
+  }
+
+  /**
+   * 批量生成uuid，填满缓冲区剩余空间，缓冲区position移动至limit
+   *
+   * @param buffer 缓冲区
+   */
+  default void nextIds(LongBuffer buffer) {
+    if (buffer == null) {
+      throw new IllegalArgumentException("buffer must not be null.");
+    }
+    int remaining = buffer.remaining();
+    if (remaining == 0) {
+      return;
+    }
+    if (buffer.hasArray()) {
+      int position = buffer.position();
+      nextIds(buffer.array(), buffer.arrayOffset() + position, remaining);
+      buffer.position(position + remaining);
+    } else {
+      long[] ids = nextIds(remaining);
+      buffer.put(ids);
+    }
+  }
 }
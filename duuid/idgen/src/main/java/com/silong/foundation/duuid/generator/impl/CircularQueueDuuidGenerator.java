@@ -28,6 +28,7 @@ import com.silong.foundation.duuid.generator.DuuidGenerator;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.Objects;
 import java.util.TimeZone;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
@@ -60,6 +61,8 @@ import org.jctools.queues.SpmcArrayQueue;
  * 如果当天的3000多万sequence被用完，可以重新申请一个新的WorkerId后Sequence重置开始分配新Id，
  * 以此类推，由此可以彻底解决 snowflake ID算法时钟回拨问题。
  * 按照每个Duuid生成器每天使用100个workerId，当前WorkId取值范围可以确保使用228年。
+ * 重新申请WorkerId需要访问集中节点，可通过{@link WorkerIdReservoir}包装WorkerId提供器，
+ * 由后台线程提前预取，避免序列号耗尽时同步访问集中节点导致生成延迟毛刺。
  *
  * 3. delta-days占据15bit，表示Duuid启动时刻与2020-01-01 00:00:00之间的天数差，
  * 取值范围：[0, 32767]，可确保Duuid生成器可以以每天33554432个ID的速度使用到2100年，
@@ -408,6 +411,30 @@ public class CircularQueueDuuidGenerator extends Thread implements DuuidGenerato
     return id;
   }
 
+  /**
+   * 从环状队列中批量取出id，直接写入原始类型数组，避免逐个调用及返回装箱对象
+   *
+   * @param ids 结果数组
+   * @param offset 写入起始位置
+   * @param length 生成id数量
+   */
+  @Override
+  public void nextIds(long[] ids, int offset, int length) {
+    if (ids == null) {
+      throw new IllegalArgumentException("ids must not be null.");
+    }
+    Objects.checkFromIndexSize(offset, length, ids.length);
+    for (int i = offset, end = offset + length; i < end; ) {
+      // 批量获取时无需每次检查生产者索引，使用relaxedPoll降低开销
+      Long id = queue.relaxedPoll();
+      if (id != null) {
+        ids[i++] = id;
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
   /**
    * 按照比特位计算最大值
    *
@@ -0,0 +1,423 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.silong.foundation.duuid.generator.impl;
+
+import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator.Constants.*;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.silong.foundation.duuid.generator.DuuidGenerator;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ *
+ * <pre>
+ * 基于序列号段租约的多生产者Duuid生成器，id比特位布局及EPOCH语义与{@link CircularQueueDuuidGenerator}一致：
+ * ==========================================
+ * |  1  |    23    |     15     |    25    |
+ * ==========================================
+ *  sign    work-id   delta-days    sequence
+ *
+ * 与{@link CircularQueueDuuidGenerator}不同，此生成器没有生产者线程和队列，
+ * 每个调用线程通过一次原子加法从当前窗口(workerId + deltaDays)中租用一段连续的序列号，
+ * 之后在线程本地无竞争地分配id，只有租约耗尽时才会访问共享状态，
+ * 空闲时不占用任何CPU，吞吐量随调用线程数扩展。
+ *
+ * 窗口切换：
+ * 1. 当前窗口序列号耗尽时重新申请workerId；
+ * 2. 租约申请时发现系统时间越过次日0点(UTC)则deltaDays更新为当天，时钟回拨时保持不变；
+ * 窗口切换为低频操作，由切换线程在同步块中完成，其余线程的租约申请路径无锁。
+ *
+ * 约束：
+ * 1. 同一线程获取的id严格单调递增，不同线程之间的id仅保证唯一，不保证全局有序；
+ * 2. 线程已租用的号段在跨天后仍会继续使用完毕，因此跨天后短时间内可能生成deltaDays为前一天的id；
+ * 3. 线程退出时未使用完的号段会被丢弃。
+ *
+ * </pre>
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 14:05
+ */
+@Slf4j
+public class SegmentLeasingDuuidGenerator implements DuuidGenerator {
+
+  /** 默认每次租用的序列号段长度 */
+  public static final int DEFAULT_SEGMENT_SIZE = 1024;
+
+  /** 一天的毫秒数 */
+  private static final long DAY_MILLIS = DAYS.toMillis(1);
+
+  /** 是否开启序号随机，避免生成id连续可能引起的潜在安全问题 */
+  protected final boolean enableSequenceRandom;
+
+  /** workerId占用比特位数 */
+  protected final int workerIdBits;
+
+  /** deltaDays占用比特位数 */
+  protected final int deltaDaysBits;
+
+  /** 序号占用比特位数 */
+  protected final int sequenceBits;
+
+  /** 最大可用workerId值 */
+  protected final long maxWorkerId;
+
+  /** 最大可用delta-days值 */
+  protected final long maxDeltaDays;
+
+  /** 最大可用sequence值 */
+  protected final long maxSequence;
+
+  /** deltaDays左移位数 */
+  protected final int deltaDaysLeftShiftBits;
+
+  /** workId左移位数 */
+  protected final int workerIdLeftShiftBits;
+
+  /** 最大随机上限 */
+  protected final int maxRandomIncrement;
+
+  /** 每次租用的序列号段长度 */
+  protected final int segmentSize;
+
+  /** worker id提供器 */
+  protected final Supplier<Long> workerIdProvider;
+
+  /** 时间提供者 */
+  protected final Supplier<Long> utcTimeProvider;
+
+  /** 调用线程持有的号段 */
+  private final ThreadLocal<Segment> segments = ThreadLocal.withInitial(Segment::new);
+
+  /** 当前窗口 */
+  private volatile Window window;
+
+  /** 是否已关闭 */
+  private volatile boolean closed;
+
+  /**
+   * 号段所属窗口，workerId与deltaDays组合唯一确定一个序列号空间
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 14:05
+   */
+  private static final class Window {
+
+    /** workerId */
+    final long workerId;
+
+    /** 与基准时间的时差 */
+    final long deltaDays;
+
+    /** 窗口失效时间，即deltaDays次日0点，单位：ms */
+    final long nextDayStartMillis;
+
+    /** workerId与deltaDays组合后的id高位 */
+    final long prefix;
+
+    /** 下一个可租用序列号 */
+    final AtomicLong cursor;
+
+    Window(long workerId, long deltaDays, long prefix, long initialSequence) {
+      this.workerId = workerId;
+      this.deltaDays = deltaDays;
+      this.nextDayStartMillis = (deltaDays + EPOCH + 1) * DAY_MILLIS;
+      this.prefix = prefix;
+      this.cursor = new AtomicLong(initialSequence);
+    }
+  }
+
+  /**
+   * 线程本地号段，[next, end)为尚未使用的序列号
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 14:05
+   */
+  private static final class Segment {
+
+    /** 号段所属窗口 */
+    Window window;
+
+    /** 下一个序列号 */
+    long next;
+
+    /** 号段结束位置，不包含 */
+    long end;
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param workerIdProvider workerId提供者
+   * @param enableSequenceRandom 是否随机id增量
+   */
+  public SegmentLeasingDuuidGenerator(
+      Supplier<Long> workerIdProvider, boolean enableSequenceRandom) {
+    this(
+        DEFAULT_WORK_ID_BITS,
+        DEFAULT_DELTA_DAYS_BITS,
+        DEFAULT_SEQUENCE_BITS,
+        workerIdProvider,
+        SYSTEM_CLOCK_PROVIDER,
+        0,
+        DEFAULT_SEGMENT_SIZE,
+        enableSequenceRandom,
+        DEFAULT_MAX_RANDOM_INCREMENT);
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param workerIdBits workerId占用比特位数量
+   * @param deltaDaysBits 时间差占用比特位数量
+   * @param sequenceBits 序列号占用比特位数量
+   * @param workerIdProvider workerId提供器
+   * @param utcTimeProvider utc时间提供者
+   * @param sequence 序列号初始值
+   * @param segmentSize 每次租用的序列号段长度，必须大于0
+   * @param enableSequenceRandom 是否开启id随机，避免id连续
+   * @param maxRandomIncrement 最大随机增量值，必须大于0
+   */
+  public SegmentLeasingDuuidGenerator(
+      int workerIdBits,
+      int deltaDaysBits,
+      int sequenceBits,
+      Supplier<Long> workerIdProvider,
+      Supplier<Long> utcTimeProvider,
+      long sequence,
+      int segmentSize,
+      boolean enableSequenceRandom,
+      int maxRandomIncrement) {
+    if (workerIdBits <= 0) {
+      throw new IllegalArgumentException("workerIdBits must be greater than 0.");
+    }
+    if (deltaDaysBits <= 0) {
+      throw new IllegalArgumentException("deltaDaysBits must be greater than 0.");
+    }
+    if (sequenceBits <= 0) {
+      throw new IllegalArgumentException("sequenceBits must be greater than 0.");
+    }
+    if (workerIdBits + deltaDaysBits + sequenceBits + SIGN_BIT != Long.SIZE) {
+      throw new IllegalArgumentException(
+          String.format(
+              "The equation [workIdBits + deltaDaysBits + sequenceBits == %d] must hold.",
+              Long.SIZE - SIGN_BIT));
+    }
+    if (enableSequenceRandom && maxRandomIncrement <= 0) {
+      throw new IllegalArgumentException("maxRandomIncrement must be greater than 0.");
+    }
+    if (segmentSize <= 0) {
+      throw new IllegalArgumentException("segmentSize must be greater than 0.");
+    }
+    if (workerIdProvider == null) {
+      throw new IllegalArgumentException("workerIdProvider must not be null.");
+    }
+    if (utcTimeProvider == null) {
+      throw new IllegalArgumentException("utcTimeProvider must not be null.");
+    }
+
+    this.enableSequenceRandom = enableSequenceRandom;
+    this.maxRandomIncrement = maxRandomIncrement;
+    this.segmentSize = segmentSize;
+    this.workerIdBits = workerIdBits;
+    this.deltaDaysBits = deltaDaysBits;
+    this.sequenceBits = sequenceBits;
+    this.maxWorkerId = ~(-1L << workerIdBits);
+    this.maxDeltaDays = ~(-1L << deltaDaysBits);
+    this.maxSequence = ~(-1L << sequenceBits);
+    this.deltaDaysLeftShiftBits = sequenceBits;
+    this.workerIdLeftShiftBits = deltaDaysBits + sequenceBits;
+    this.workerIdProvider = workerIdProvider;
+    this.utcTimeProvider = utcTimeProvider;
+
+    if (sequence < 0 || sequence > maxSequence) {
+      throw new IllegalArgumentException(
+          String.format("sequence value range [0, %d]", maxSequence));
+    }
+
+    long now = utcTimeProvider.get();
+    if (now <= 0) {
+      throw new IllegalArgumentException("nowUtc must be greater than 0.");
+    }
+    this.window = newWindow(nextWorkerId(), deltaDays(now), sequence);
+    log.info("Initial states: {}", this);
+  }
+
+  /**
+   * 生成uuid
+   *
+   * @return duuid
+   */
+  @Override
+  public Long nextId() {
+    return next(segments.get());
+  }
+
+  /**
+   * 批量生成uuid，整批只查找一次线程本地号段
+   *
+   * @param ids 结果数组
+   * @param offset 写入起始位置
+   * @param length 生成id数量
+   */
+  @Override
+  public void nextIds(long[] ids, int offset, int length) {
+    if (ids == null) {
+      throw new IllegalArgumentException("ids must not be null.");
+    }
+    Objects.checkFromIndexSize(offset, length, ids.length);
+    Segment segment = segments.get();
+    for (int i = offset, end = offset + length; i < end; i++) {
+      ids[i] = next(segment);
+    }
+  }
+
+  /** 关闭后不再租出新的号段 */
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  private long next(Segment segment) {
+    if (segment.next >= segment.end) {
+      lease(segment);
+    }
+    long id = segment.window.prefix | segment.next;
+    segment.next += randomIncrement();
+    return id;
+  }
+
+  /**
+   * 为线程租用新号段，快速路径仅为一次原子加法
+   *
+   * @param segment 线程本地号段
+   */
+  private void lease(Segment segment) {
+    if (closed) {
+      throw new IllegalStateException(getClass().getSimpleName() + " has been closed.");
+    }
+    long now = utcTimeProvider.get();
+    for (; ; ) {
+      Window current = window;
+      if (now >= current.nextDayStartMillis) {
+        rotate(current, now, false);
+        continue;
+      }
+      long start = current.cursor.getAndAdd(segmentSize);
+      if (start <= maxSequence) {
+        segment.window = current;
+        segment.next = start;
+        segment.end = Math.min(start + segmentSize, maxSequence + 1);
+        return;
+      }
+      rotate(current, now, true);
+    }
+  }
+
+  /**
+   * 切换窗口，仅当当前窗口仍为expected时切换，避免并发线程重复切换
+   *
+   * @param expected 期望被替换的窗口
+   * @param now 当前时间
+   * @param exhausted 是否因序列号耗尽切换
+   */
+  private synchronized void rotate(Window expected, long now, boolean exhausted) {
+    if (window != expected) {
+      return;
+    }
+    if (exhausted) {
+      window = newWindow(nextWorkerId(), expected.deltaDays, 0);
+      log.info(
+          "sequence has exceeded maximum {}, reassign workerId and reset sequence to 0. {}",
+          maxSequence,
+          this);
+    } else {
+      window = newWindow(expected.workerId, deltaDays(now), 0);
+      log.info("Time has elapsed to the next day, reset sequence to 0. {}", this);
+    }
+  }
+
+  private Window newWindow(long workerId, long deltaDays, long initialSequence) {
+    return new Window(
+        workerId,
+        deltaDays,
+        (workerId << workerIdLeftShiftBits) | (deltaDays << deltaDaysLeftShiftBits),
+        initialSequence);
+  }
+
+  private long nextWorkerId() {
+    Long workerId = workerIdProvider.get();
+    if (workerId == null || workerId < 0 || workerId > maxWorkerId) {
+      throw new IllegalArgumentException(
+          String.format("workerId value range [0, %d]", maxWorkerId));
+    }
+    return workerId;
+  }
+
+  private long deltaDays(long nowUtc) {
+    long deltaDays = DAYS.convert(nowUtc, MILLISECONDS) - EPOCH;
+    if (deltaDays < 0 || deltaDays > maxDeltaDays) {
+      throw new IllegalArgumentException(
+          String.format("deltaDays value range [0, %d]", maxDeltaDays));
+    }
+    return deltaDays;
+  }
+
+  /**
+   * 如果开启随机增量，增量值随机范围[1，maxRandomIncrement]<br>
+   * 否则自增值固定为1。
+   *
+   * @return 随机增量
+   */
+  @SuppressFBWarnings(
+      value = "PREDICTABLE_RANDOM",
+      justification = "随机数生成器，此处考虑性能，无需使用安全随机，只要保证生成id不连续即可")
+  protected long randomIncrement() {
+    return enableSequenceRandom ? ThreadLocalRandom.current().nextInt(maxRandomIncrement) + 1 : 1;
+  }
+
+  @Override
+  public String toString() {
+    Window current = window;
+    return String.format(
+        "%s[workerIdBits:%d, deltaDaysBits:%d, sequenceBits:%d, maxWorkerId:%d, maxDeltaDays:%d,"
+            + " maxSequence:%d, segmentSize:%d, workerId:%d, deltaDays:%d, sequence:%d]",
+        getClass().getSimpleName(),
+        workerIdBits,
+        deltaDaysBits,
+        sequenceBits,
+        maxWorkerId,
+        maxDeltaDays,
+        maxSequence,
+        segmentSize,
+        current.workerId,
+        current.deltaDays,
+        Math.min(current.cursor.get(), maxSequence + 1));
+  }
+}
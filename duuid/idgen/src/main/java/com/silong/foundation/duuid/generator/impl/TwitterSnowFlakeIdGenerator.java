@@ -20,6 +20,7 @@
 package com.silong.foundation.duuid.generator.impl;
 
 import com.silong.foundation.duuid.generator.DuuidGenerator;
+import java.util.Objects;
 
 /**
  * Twitter SnowFlake ID
@@ -91,6 +92,28 @@ public class TwitterSnowFlakeIdGenerator implements DuuidGenerator {
    */
   @Override
   public synchronized Long nextId() {
+    return generate();
+  }
+
+  /**
+   * 批量产生ID，整批只获取一次锁
+   *
+   * @param ids 结果数组
+   * @param offset 写入起始位置
+   * @param length 生成id数量
+   */
+  @Override
+  public synchronized void nextIds(long[] ids, int offset, int length) {
+    if (ids == null) {
+      throw new IllegalArgumentException("ids must not be null.");
+    }
+    Objects.checkFromIndexSize(offset, length, ids.length);
+    for (int i = offset, end = offset + length; i < end; i++) {
+      ids[i] = generate();
+    }
+  }
+
+  private long generate() {
     long currStmp = getNewstmp();
     if (currStmp < lastStmp) {
       throw new RuntimeException("Clock moved backwards.  Refusing to generate id");
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.silong.foundation.duuid.generator.impl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ *
+ *
+ * <pre>
+ * workerId蓄水池，由后台线程提前向workerId分配器(ETCD，Mysql等)申请workerId并缓存，
+ * 生成器序列号耗尽需要切换workerId时直接从蓄水池获取，避免在id生成过程中同步访问远端分配器导致延迟毛刺。
+ *
+ * 后台线程按分配器返回顺序依次入池，蓄水池先进先出，因此不会破坏workerId的单调递增性。
+ * 分配器异常时后台线程按固定间隔重试，蓄水池为空时调用者阻塞等待并计入停顿统计，
+ * 等待超时后抛出异常并携带分配器最近一次的异常，关闭蓄水池会唤醒所有等待的调用者。
+ * </pre>
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 16:30
+ */
+@Slf4j
+public class WorkerIdReservoir implements Supplier<Long>, Closeable {
+
+  /** 默认蓄水池容量 */
+  public static final int DEFAULT_CAPACITY = 1;
+
+  /** 默认分配失败重试间隔，单位：毫秒 */
+  public static final long DEFAULT_RETRY_INTERVAL_MILLIS = 1000;
+
+  /** 默认调用者等待workerId的最长时间，单位：毫秒 */
+  public static final long DEFAULT_MAX_WAIT_MILLIS = 30000;
+
+  /** 调用者单次等待时长上限，用于及时感知蓄水池关闭，单位：毫秒 */
+  private static final long WAIT_SLICE_MILLIS = 100;
+
+  private static final String PREFETCHER_THREAD_NAME = "WorkerId-Prefetcher";
+
+  /** workerId分配器 */
+  private final Supplier<Long> workerIdAllocator;
+
+  /** 预取的workerId */
+  private final BlockingQueue<Long> reservoir;
+
+  /** 分配失败重试间隔，单位：毫秒 */
+  private final long retryIntervalMillis;
+
+  /** 调用者等待workerId的最长时间，单位：毫秒 */
+  private final long maxWaitMillis;
+
+  /** 后台预取线程 */
+  private final Thread prefetcher;
+
+  /** 调用者因蓄水池为空而阻塞的次数 */
+  private final AtomicLong stallCount = new AtomicLong();
+
+  /** 调用者因蓄水池为空而阻塞的总时长，单位：纳秒 */
+  private final AtomicLong stallTimeNanos = new AtomicLong();
+
+  /** 分配器最近一次的异常，分配成功后清除 */
+  private volatile RuntimeException lastFailure;
+
+  /** 是否运行中 */
+  private volatile boolean isRunning;
+
+  /**
+   * 构造方法
+   *
+   * @param workerIdAllocator workerId分配器
+   */
+  public WorkerIdReservoir(Supplier<Long> workerIdAllocator) {
+    this(workerIdAllocator, DEFAULT_CAPACITY, DEFAULT_RETRY_INTERVAL_MILLIS);
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param workerIdAllocator workerId分配器
+   * @param capacity 蓄水池容量，必须大于0
+   * @param retryIntervalMillis 分配失败重试间隔，必须大于0
+   */
+  public WorkerIdReservoir(
+      Supplier<Long> workerIdAllocator, int capacity, long retryIntervalMillis) {
+    this(workerIdAllocator, capacity, retryIntervalMillis, DEFAULT_MAX_WAIT_MILLIS);
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param workerIdAllocator workerId分配器
+   * @param capacity 蓄水池容量，必须大于0
+   * @param retryIntervalMillis 分配失败重试间隔，必须大于0
+   * @param maxWaitMillis 调用者等待workerId的最长时间，必须大于0
+   */
+  public WorkerIdReservoir(
+      Supplier<Long> workerIdAllocator,
+      int capacity,
+      long retryIntervalMillis,
+      long maxWaitMillis) {
+    if (workerIdAllocator == null) {
+      throw new IllegalArgumentException("workerIdAllocator must not be null.");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be greater than 0.");
+    }
+    if (retryIntervalMillis <= 0) {
+      throw new IllegalArgumentException("retryIntervalMillis must be greater than 0.");
+    }
+    if (maxWaitMillis <= 0) {
+      throw new IllegalArgumentException("maxWaitMillis must be greater than 0.");
+    }
+    this.workerIdAllocator = workerIdAllocator;
+    this.reservoir = new ArrayBlockingQueue<>(capacity);
+    this.retryIntervalMillis = retryIntervalMillis;
+    this.maxWaitMillis = maxWaitMillis;
+    this.isRunning = true;
+    this.prefetcher = new Thread(this::prefetch, PREFETCHER_THREAD_NAME);
+    this.prefetcher.setDaemon(true);
+    this.prefetcher.start();
+  }
+
+  /** 后台预取，蓄水池满时阻塞 */
+  private void prefetch() {
+    log.info("WorkerId prefetcher thread started successfully.");
+    while (isRunning) {
+      try {
+        Long workerId = workerIdAllocator.get();
+        if (workerId == null) {
+          throw new IllegalStateException("workerIdAllocator returns null.");
+        }
+        lastFailure = null;
+        reservoir.put(workerId);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (RuntimeException e) {
+        lastFailure = e;
+        log.error("Failed to allocate workerId, retry after {}ms.", retryIntervalMillis, e);
+        try {
+          MILLISECONDS.sleep(retryIntervalMillis);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    log.info("WorkerId prefetcher thread runs to the end.");
+  }
+
+  /**
+   * 获取workerId，蓄水池为空时阻塞等待后台线程分配
+   *
+   * @return workerId
+   * @throws IllegalStateException 蓄水池已关闭、等待被中断或等待超时，超时异常携带分配器最近一次的异常
+   */
+  @Override
+  public Long get() {
+    checkRunning();
+    Long workerId = reservoir.poll();
+    if (workerId != null) {
+      return workerId;
+    }
+    long start = System.nanoTime();
+    long deadline = start + MILLISECONDS.toNanos(maxWaitMillis);
+    try {
+      // 分段等待，及时感知蓄水池关闭
+      while (workerId == null) {
+        checkRunning();
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          throw new IllegalStateException(
+              String.format("Timed out waiting %dms for workerId.", maxWaitMillis), lastFailure);
+        }
+        workerId =
+            reservoir.poll(
+                Math.min(remaining, MILLISECONDS.toNanos(WAIT_SLICE_MILLIS)), NANOSECONDS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for workerId.", e);
+    }
+    long elapsed = System.nanoTime() - start;
+    stallCount.incrementAndGet();
+    stallTimeNanos.addAndGet(elapsed);
+    log.warn("WorkerId reservoir was drained, stalled {}ns for workerId {}.", elapsed, workerId);
+    return workerId;
+  }
+
+  private void checkRunning() {
+    if (!isRunning) {
+      throw new IllegalStateException(getClass().getSimpleName() + " has been closed.");
+    }
+  }
+
+  /**
+   * 当前蓄水池中可用的workerId数量
+   *
+   * @return 数量
+   */
+  public int depth() {
+    return reservoir.size();
+  }
+
+  /**
+   * 调用者因蓄水池为空而阻塞的次数
+   *
+   * @return 次数
+   */
+  public long stallCount() {
+    return stallCount.get();
+  }
+
+  /**
+   * 调用者因蓄水池为空而阻塞的总时长
+   *
+   * @return 时长，单位：纳秒
+   */
+  public long stallTimeNanos() {
+    return stallTimeNanos.get();
+  }
+
+  /** 停止预取，关闭后不再提供workerId，等待中的调用者抛出异常 */
+  @Override
+  public void close() {
+    if (isRunning) {
+      isRunning = false;
+      prefetcher.interrupt();
+      reservoir.clear();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s[depth:%d, stallCount:%d, stallTimeNanos:%d]",
+        getClass().getSimpleName(), depth(), stallCount(), stallTimeNanos());
+  }
+}
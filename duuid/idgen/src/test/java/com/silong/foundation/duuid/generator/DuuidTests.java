@@ -23,7 +23,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.LongBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -195,4 +197,61 @@ public class DuuidTests {
     long id2 = duuidGenerator.nextId();
     assertTrue(id2 > id1);
   }
+
+  @Test
+  @DisplayName("SPSC-batch-[inc:1]-[thread:1]-1048576")
+  void test9() {
+    duuidGenerator = new CircularQueueDuuidGenerator(() -> ++workerId, false);
+    long[] ids = new long[1048576];
+    for (int offset = 0; offset < ids.length; offset += 1024) {
+      duuidGenerator.nextIds(ids, offset, 1024);
+    }
+    for (int i = 1; i < ids.length; i++) {
+      assertEquals(1, ids[i] - ids[i - 1]);
+    }
+  }
+
+  @Test
+  @DisplayName("SPMC-batch-randomIncrement-[thread:10]-LongBuffer")
+  void test10() throws Exception {
+    duuidGenerator = new CircularQueueDuuidGenerator(() -> ++workerId, true);
+    int threadCount = 10;
+    int batchSize = 1000;
+    int loops = 100;
+    Map<String, long[]> map = new ConcurrentHashMap<>(threadCount);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(
+              () -> {
+                LongBuffer buffer = LongBuffer.allocate(batchSize * loops);
+                for (int j = 0; j < loops; j++) {
+                  buffer.limit(buffer.position() + batchSize);
+                  duuidGenerator.nextIds(buffer);
+                }
+                map.put(Thread.currentThread().getName(), buffer.array());
+                latch.countDown();
+              })
+          .start();
+    }
+    latch.await();
+
+    assertEquals(threadCount, map.size());
+    assertEquals(
+        threadCount * batchSize * loops,
+        map.values().stream().flatMapToLong(Arrays::stream).distinct().count());
+    for (long[] ids : map.values()) {
+      for (int i = 1; i < ids.length; i++) {
+        assertTrue(ids[i] > ids[i - 1]);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("batch-invalid-arguments")
+  void test11() {
+    duuidGenerator = new CircularQueueDuuidGenerator(() -> ++workerId, false);
+    assertThrows(IllegalArgumentException.class, () -> duuidGenerator.nextIds(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> duuidGenerator.nextIds(new long[8], 4, 5));
+    assertEquals(0, duuidGenerator.nextIds(0).length);
+  }
 }
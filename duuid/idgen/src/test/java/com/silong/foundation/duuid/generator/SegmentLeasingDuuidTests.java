@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.generator;
+
+import com.silong.foundation.duuid.generator.impl.SegmentLeasingDuuidGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator.Constants.*;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 号段租约生成器单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 15:20
+ */
+public class SegmentLeasingDuuidTests {
+
+  SegmentLeasingDuuidGenerator duuidGenerator;
+
+  long workerId;
+
+  @AfterEach
+  void cleanup() {
+    if (duuidGenerator != null) {
+      duuidGenerator.close();
+    }
+  }
+
+  /**
+   * 多线程并发获取id，校验全局唯一以及线程内单调递增
+   *
+   * @param threadCount 线程数
+   * @param callCount 每线程调用次数
+   * @return 所有线程生成的id
+   */
+  private long[] stress(int threadCount, int callCount) throws Exception {
+    Map<Integer, long[]> map = new ConcurrentHashMap<>(threadCount);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    CountDownLatch starter = new CountDownLatch(1);
+    for (int i = 0; i < threadCount; i++) {
+      int index = i;
+      new Thread(
+              () -> {
+                try {
+                  starter.await();
+                  long[] ids = new long[callCount];
+                  for (int j = 0; j < callCount; j++) {
+                    ids[j] = duuidGenerator.nextId();
+                  }
+                  map.put(index, ids);
+                } catch (Exception e) {
+                  e.printStackTrace();
+                } finally {
+                  latch.countDown();
+                }
+              })
+          .start();
+    }
+    starter.countDown();
+    latch.await();
+
+    assertEquals(threadCount, map.size());
+    for (long[] ids : map.values()) {
+      for (int i = 1; i < ids.length; i++) {
+        assertTrue(ids[i] > ids[i - 1], "The ids generated by a thread must be increasing.");
+      }
+    }
+    long[] all = map.values().stream().flatMapToLong(Arrays::stream).sorted().toArray();
+    for (int i = 1; i < all.length; i++) {
+      assertNotEquals(all[i - 1], all[i], "Duplicate id found.");
+    }
+    return all;
+  }
+
+  @Test
+  @DisplayName("MPMC-[inc:1]-[thread:1]-33554432")
+  void test1() throws Exception {
+    duuidGenerator = new SegmentLeasingDuuidGenerator(() -> ++workerId, false);
+    long[] ids = stress(1, 33554432);
+    assertEquals(33554432, ids.length);
+    // 序列号恰好用完，不应切换workerId
+    assertEquals(1, workerId);
+  }
+
+  @Test
+  @DisplayName("MPMC-[inc:1]-[thread:20]-4000000")
+  void test2() throws Exception {
+    duuidGenerator = new SegmentLeasingDuuidGenerator(() -> ++workerId, false);
+    assertEquals(4000000, stress(20, 200000).length);
+  }
+
+  @Test
+  @DisplayName("MPMC-randomIncrement-[thread:32]-small-sequence")
+  void test3() throws Exception {
+    // 序列号仅10bit，频繁切换workerId
+    duuidGenerator =
+        new SegmentLeasingDuuidGenerator(
+            38,
+            15,
+            10,
+            () -> ++workerId,
+            SYSTEM_CLOCK_PROVIDER,
+            0,
+            16,
+            true,
+            DEFAULT_MAX_RANDOM_INCREMENT);
+    stress(32, 100000);
+    assertTrue(workerId > 1);
+  }
+
+  @Test
+  @DisplayName("MPMC-[inc:1]-[thread:8]-mocktime")
+  void test4() throws Exception {
+    long now = System.currentTimeMillis();
+    long tomorrow = now + DAYS.toMillis(1);
+    AtomicLong count = new AtomicLong(0);
+    duuidGenerator =
+        new SegmentLeasingDuuidGenerator(
+            DEFAULT_WORK_ID_BITS,
+            DEFAULT_DELTA_DAYS_BITS,
+            DEFAULT_SEQUENCE_BITS,
+            () -> ++workerId,
+            () -> count.getAndIncrement() < 100 ? now : tomorrow,
+            0,
+            64,
+            false,
+            DEFAULT_MAX_RANDOM_INCREMENT);
+    long id1 = duuidGenerator.nextId();
+    stress(8, 100000);
+    // 当前线程号段中剩余63个id仍属于前一天，跨过号段后必然租用新一天的号段
+    long id2 = duuidGenerator.nextIds(64)[63];
+    assertTrue(id2 > id1);
+    // 跨天只更新deltaDays，不切换workerId
+    assertEquals(1, workerId);
+    assertEquals(
+        1,
+        ((id2 >>> DEFAULT_SEQUENCE_BITS) & ~(-1L << DEFAULT_DELTA_DAYS_BITS))
+            - ((id1 >>> DEFAULT_SEQUENCE_BITS) & ~(-1L << DEFAULT_DELTA_DAYS_BITS)));
+  }
+
+  @Test
+  @DisplayName("layout")
+  void test5() {
+    long now = System.currentTimeMillis();
+    duuidGenerator =
+        new SegmentLeasingDuuidGenerator(
+            DEFAULT_WORK_ID_BITS,
+            DEFAULT_DELTA_DAYS_BITS,
+            DEFAULT_SEQUENCE_BITS,
+            () -> 5L,
+            () -> now,
+            100,
+            8,
+            false,
+            DEFAULT_MAX_RANDOM_INCREMENT);
+    long id = duuidGenerator.nextId();
+    assertEquals(5, id >>> (DEFAULT_DELTA_DAYS_BITS + DEFAULT_SEQUENCE_BITS));
+    assertEquals(
+        DAYS.convert(now, MILLISECONDS) - EPOCH,
+        (id >>> DEFAULT_SEQUENCE_BITS) & ~(-1L << DEFAULT_DELTA_DAYS_BITS));
+    assertEquals(100, id & ~(-1L << DEFAULT_SEQUENCE_BITS));
+    long[] ids = duuidGenerator.nextIds(16);
+    for (int i = 0; i < ids.length; i++) {
+      assertEquals(id + i + 1, ids[i]);
+    }
+  }
+
+  @Test
+  @DisplayName("closed")
+  void test6() {
+    duuidGenerator = new SegmentLeasingDuuidGenerator(() -> ++workerId, false);
+    duuidGenerator.close();
+    assertThrows(IllegalStateException.class, () -> duuidGenerator.nextId());
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.silong.foundation.duuid.generator;
+
+import com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator;
+import com.silong.foundation.duuid.generator.impl.WorkerIdReservoir;
+import com.silong.foundation.duuid.spi.WorkerIdAllocator;
+import com.silong.foundation.duuid.spi.WorkerInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.silong.foundation.duuid.generator.impl.CircularQueueDuuidGenerator.Constants.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * workerId蓄水池单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 16:55
+ */
+public class WorkerIdReservoirTests {
+
+  /**
+   * 注入延迟的进程内workerId分配器
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 16:55
+   */
+  static class FakeWorkerIdAllocator implements WorkerIdAllocator {
+
+    final AtomicLong workerId = new AtomicLong();
+
+    final AtomicInteger calls = new AtomicInteger();
+
+    final long latencyMillis;
+
+    final int failures;
+
+    FakeWorkerIdAllocator(long latencyMillis, int failures) {
+      this.latencyMillis = latencyMillis;
+      this.failures = failures;
+    }
+
+    @Override
+    public long allocate(WorkerInfo info) {
+      try {
+        MILLISECONDS.sleep(latencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+      if (calls.incrementAndGet() <= failures) {
+        throw new IllegalStateException("Injected failure.");
+      }
+      return workerId.incrementAndGet();
+    }
+  }
+
+  static final WorkerInfo INFO = WorkerInfo.builder().name("test").extraInfo(Map.of()).build();
+
+  WorkerIdReservoir reservoir;
+
+  CircularQueueDuuidGenerator duuidGenerator;
+
+  @AfterEach
+  void cleanup() {
+    if (duuidGenerator != null) {
+      duuidGenerator.close();
+    }
+    if (reservoir != null) {
+      reservoir.close();
+    }
+  }
+
+  private void awaitDepth(int depth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (reservoir.depth() < depth && System.currentTimeMillis() < deadline) {
+      MILLISECONDS.sleep(10);
+    }
+    assertEquals(depth, reservoir.depth());
+  }
+
+  @Test
+  @DisplayName("prefetched-no-stall")
+  void test1() throws InterruptedException {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(50, 0);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 4, 10);
+    awaitDepth(4);
+    long start = System.nanoTime();
+    for (long i = 1; i <= 4; i++) {
+      assertEquals(i, reservoir.get());
+    }
+    assertTrue(System.nanoTime() - start < MILLISECONDS.toNanos(50));
+    assertEquals(0, reservoir.stallCount());
+    assertEquals(0, reservoir.stallTimeNanos());
+    // 取走后后台线程自动补充
+    awaitDepth(4);
+    assertEquals(5, reservoir.get());
+  }
+
+  @Test
+  @DisplayName("drained-stall")
+  void test2() throws InterruptedException {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(100, 0);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 1, 10);
+    awaitDepth(1);
+    assertEquals(1, reservoir.get());
+    assertEquals(2, reservoir.get());
+    assertEquals(1, reservoir.stallCount());
+    assertTrue(reservoir.stallTimeNanos() > 0);
+  }
+
+  @Test
+  @DisplayName("allocator-failure-retry")
+  void test3() {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(1, 3);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 2, 10);
+    assertEquals(1, reservoir.get());
+    assertEquals(2, reservoir.get());
+    assertTrue(allocator.calls.get() >= 5);
+  }
+
+  @Test
+  @DisplayName("closed")
+  void test4() throws InterruptedException {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(1, 0);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 1, 10);
+    awaitDepth(1);
+    reservoir.close();
+    assertThrows(IllegalStateException.class, () -> reservoir.get());
+  }
+
+  @Test
+  @DisplayName("generator-sequence-exhausted-without-stall")
+  void test5() throws InterruptedException {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(20, 0);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 2, 10);
+    // 序列号仅16bit，生成100000个id需要切换workerId
+    duuidGenerator =
+        new CircularQueueDuuidGenerator(
+            32,
+            15,
+            16,
+            reservoir,
+            SYSTEM_CLOCK_PROVIDER,
+            0,
+            DEFAULT_QUEUE_CAPACITY,
+            false,
+            DEFAULT_MAX_RANDOM_INCREMENT);
+    awaitDepth(2);
+    long stalls = reservoir.stallCount();
+    long prev = duuidGenerator.nextId();
+    for (int i = 0; i < 100000; i++) {
+      long id = duuidGenerator.nextId();
+      assertTrue(id > prev);
+      prev = id;
+    }
+    // 序列号耗尽后切换为预取的workerId
+    assertEquals(2, prev >>> (15 + 16));
+    assertEquals(stalls, reservoir.stallCount());
+  }
+
+  @Test
+  @DisplayName("allocator-keeps-failing-timeout")
+  void test6() {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(1, Integer.MAX_VALUE);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 1, 10, 300);
+    long start = System.nanoTime();
+    IllegalStateException e = assertThrows(IllegalStateException.class, () -> reservoir.get());
+    assertTrue(System.nanoTime() - start >= MILLISECONDS.toNanos(300));
+    assertNotNull(e.getCause());
+    assertEquals("Injected failure.", e.getCause().getMessage());
+  }
+
+  @Test
+  @DisplayName("close-releases-waiters")
+  void test7() throws InterruptedException {
+    FakeWorkerIdAllocator allocator = new FakeWorkerIdAllocator(1, Integer.MAX_VALUE);
+    reservoir = new WorkerIdReservoir(() -> allocator.allocate(INFO), 1, 10, 60000);
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread waiter =
+        new Thread(
+            () -> {
+              try {
+                reservoir.get();
+              } catch (Throwable t) {
+                error.set(t);
+              }
+            });
+    waiter.start();
+    MILLISECONDS.sleep(200);
+    assertTrue(waiter.isAlive());
+    reservoir.close();
+    waiter.join(5000);
+    assertFalse(waiter.isAlive());
+    assertInstanceOf(IllegalStateException.class, error.get());
+  }
+}
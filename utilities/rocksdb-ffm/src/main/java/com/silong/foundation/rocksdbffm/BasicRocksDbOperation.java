@@ -23,11 +23,23 @@ package com.silong.foundation.rocksdbffm;
 
 import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
 import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.IngestOptions;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import com.silong.foundation.rocksdbffm.options.WriteBehindOptions;
+
+import static com.silong.foundation.rocksdbffm.Utils.directBufferSegment;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
 
 import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
 
 /**
  * Rocksdb 基础操作
@@ -38,6 +50,9 @@ import java.util.function.Function;
  */
 public interface BasicRocksDbOperation {
 
+  /** 零拷贝查询时key不存在的返回值 */
+  int NOT_FOUND = -1;
+
   /**
    * 返回打开的列族列表
    *
@@ -142,6 +157,15 @@ public interface BasicRocksDbOperation {
    */
   void deleteRange(String columnFamilyName, byte[] startKey, byte[] endKey) throws RocksDbException;
 
+  /**
+   * 手动压缩指定列族中起始key和结束key之间的数据，内存中的数据会先被刷盘，调用阻塞直到压缩完成
+   *
+   * @param columnFamilyName 列族名
+   * @param startKey 起始key，includes，null表示从列族第一个key开始
+   * @param endKey 结束key，includes，null表示到列族最后一个key结束
+   */
+  void compactRange(String columnFamilyName, @Nullable byte[] startKey, @Nullable byte[] endKey);
+
   /**
    * 删除指定列族中的起始key和结束key之间的所有值
    *
@@ -260,6 +284,185 @@ public interface BasicRocksDbOperation {
   List<Tuple2<byte[], byte[]>> multiGet(String columnFamilyName, byte[]... keys)
       throws RocksDbException;
 
+  /**
+   * 在default列族删除key，key为调用方持有的native内存段，不发生复制
+   *
+   * @param key key
+   * @throws RocksDbException 异常
+   */
+  void delete(MemorySegment key) throws RocksDbException;
+
+  /**
+   * 在指定列族删除key，key为调用方持有的native内存段，不发生复制
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @throws RocksDbException 异常
+   */
+  void delete(String columnFamilyName, MemorySegment key) throws RocksDbException;
+
+  /**
+   * 在指定列族删除key，key为direct buffer中[position, limit)区间，不改变buffer的position
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @throws RocksDbException 异常
+   */
+  default void delete(String columnFamilyName, ByteBuffer key) throws RocksDbException {
+    delete(columnFamilyName, directBufferSegment(key, false, "key must be a direct buffer."));
+  }
+
+  /**
+   * 向default列族保存数据，key和value为调用方持有的native内存段，不发生复制
+   *
+   * @param key key
+   * @param value value
+   * @throws RocksDbException 异常
+   */
+  void put(MemorySegment key, MemorySegment value) throws RocksDbException;
+
+  /**
+   * 向指定列族保存数据，key和value为调用方持有的native内存段，不发生复制
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value value
+   * @throws RocksDbException 异常
+   */
+  void put(String columnFamilyName, MemorySegment key, MemorySegment value) throws RocksDbException;
+
+  /**
+   * 向指定列族保存数据，key和value为direct buffer中[position, limit)区间，不改变buffer的position
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value value
+   * @throws RocksDbException 异常
+   */
+  default void put(String columnFamilyName, ByteBuffer key, ByteBuffer value)
+      throws RocksDbException {
+    put(
+        columnFamilyName,
+        directBufferSegment(key, false, "key must be a direct buffer."),
+        directBufferSegment(value, false, "value must be a direct buffer."));
+  }
+
+  /**
+   * 查询default列族，将value写入调用方提供的native内存段。<br>
+   * value经pinned slice从block cache或memtable直接复制到缓冲区，仅此一次复制，不分配中间缓冲区。
+   *
+   * @param key key
+   * @param value 结果缓冲区
+   * @return value实际长度，key不存在返回{@link #NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long get(MemorySegment key, MemorySegment value) throws RocksDbException;
+
+  /**
+   * 查询指定列族，将value写入调用方提供的native内存段。<br>
+   * 如果value实际长度大于缓冲区长度，则仅写入缓冲区可容纳的部分，调用方可根据返回值扩容后重新查询。<br>
+   * value经pinned slice从block cache或memtable直接复制到缓冲区，仅此一次复制，不分配中间缓冲区。
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value 结果缓冲区
+   * @return value实际长度，key不存在返回{@link #NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long get(String columnFamilyName, MemorySegment key, MemorySegment value) throws RocksDbException;
+
+  /**
+   * 查询指定列族，将value写入direct buffer的position处，不改变position，limit被设置为写入数据的结束位置
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value 结果缓冲区
+   * @return value实际长度，key不存在返回{@link #NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  default int get(String columnFamilyName, ByteBuffer key, ByteBuffer value)
+      throws RocksDbException {
+    long length =
+        get(
+            columnFamilyName,
+            directBufferSegment(key, false, "key must be a direct buffer."),
+            directBufferSegment(value, true, "value must be a direct buffer."));
+    if (length != NOT_FOUND) {
+      value.limit(value.position() + (int) Math.min(length, value.remaining()));
+    }
+    return (int) Math.min(length, Integer.MAX_VALUE);
+  }
+
+  /**
+   * 在指定列族查询多Key，将各value写入调用方提供的对应native内存段
+   *
+   * @param columnFamilyName 列族名
+   * @param keys key列表
+   * @param values 结果缓冲区列表，与keys一一对应
+   * @return 各value实际长度，key不存在则对应位置为{@link #NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long[] multiGet(String columnFamilyName, MemorySegment[] keys, MemorySegment[] values)
+      throws RocksDbException;
+
+  /**
+   * 在指定列族批量查询容器中的所有key，结果写回容器。<br>
+   * key按字节序递增添加且列族使用默认比较器时，查询跳过rocksdb内部排序。
+   *
+   * @param columnFamilyName 列族名
+   * @param batch 批量查询容器
+   * @throws RocksDbException 异常
+   */
+  void multiGet(String columnFamilyName, MultiGetBatch batch) throws RocksDbException;
+
+  /**
+   * 通过pinned slice查询指定列族，value在回调中以只读native视图的形式原地处理，不发生复制。<br>
+   * 视图仅在回调执行期间有效，回调返回后对应的pinned slice立即释放，不可将视图带出回调。
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param reader value处理回调
+   * @return 回调结果，key不存在时不执行回调并返回null
+   * @param <R> 结果类型
+   * @throws RocksDbException 异常
+   */
+  <R> R getPinned(String columnFamilyName, MemorySegment key, Function<MemorySegment, R> reader)
+      throws RocksDbException;
+
+  /**
+   * 通过pinned slice查询指定列族，key经线程私有缓冲区编码，value在回调中原地处理
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param reader value处理回调
+   * @return 回调结果，key不存在时不执行回调并返回null
+   * @param <R> 结果类型
+   * @throws RocksDbException 异常
+   */
+  <R> R getPinned(String columnFamilyName, byte[] key, Function<MemorySegment, R> reader)
+      throws RocksDbException;
+
+  /**
+   * 通过pinned slice查询指定列族，返回须由调用方关闭的value句柄
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @return value句柄，key不存在时返回null
+   * @throws RocksDbException 异常
+   */
+  RocksDbPinnableSlice getPinned(String columnFamilyName, MemorySegment key)
+      throws RocksDbException;
+
+  /**
+   * 通过pinned slice查询指定列族，key经线程私有缓冲区编码，返回须由调用方关闭的value句柄
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @return value句柄，key不存在时返回null
+   * @throws RocksDbException 异常
+   */
+  RocksDbPinnableSlice getPinned(String columnFamilyName, byte[] key) throws RocksDbException;
+
   /**
    * 获取default列族迭代器
    *
@@ -275,6 +478,45 @@ public interface BasicRocksDbOperation {
    */
   RocksDbIterator iterator(String columnFamilyName);
 
+  /**
+   * 获取指定列族的有界迭代器，边界及前缀限制在迭代器创建时生效，迭代器创建后处于未定位状态。<br>
+   * 列族使用自定义比较器时前缀无法转换为native边界，需调用方自行seek到前缀或下界。
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @return 迭代器
+   */
+  RocksDbIterator iterator(String columnFamilyName, ScanOptions scanOptions);
+
+  /**
+   * 按扫描配置遍历列族，返回的Stream持有native迭代器，遍历结束或Stream关闭时释放。<br>
+   * 提前结束遍历(如：findFirst、limit)时必须关闭Stream，推荐使用try-with-resources。
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @param mapper 将key、value只读视图转换为结果，视图仅在回调内有效，不得泄露到回调外
+   * @return 结果流
+   * @param <R> 结果类型
+   */
+  <R> Stream<R> scan(
+      String columnFamilyName,
+      ScanOptions scanOptions,
+      BiFunction<MemorySegment, MemorySegment, R> mapper);
+
+  /**
+   * 按扫描配置遍历列族，返回key、value副本
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @return 结果流
+   */
+  default Stream<Tuple2<byte[], byte[]>> scan(String columnFamilyName, ScanOptions scanOptions) {
+    return scan(
+        columnFamilyName,
+        scanOptions,
+        (key, value) -> new Tuple2<>(key.toArray(JAVA_BYTE), value.toArray(JAVA_BYTE)));
+  }
+
   /**
    * 原子批量更新操作
    *
@@ -286,4 +528,89 @@ public interface BasicRocksDbOperation {
    */
   <R> R atomicBatchUpdate(MemorySegment writeOptions, Function<WriteBatch, R> action)
       throws RocksDbException;
+
+  /**
+   * 创建合并写入器，将多线程的细粒度写操作合并为组提交，关闭数据库时未关闭的写入器先提交剩余写操作再关闭
+   *
+   * @param writeBehindOptions 合并写入配置
+   * @return 合并写入器
+   */
+  WriteBehindWriter newWriteBehindWriter(WriteBehindOptions writeBehindOptions);
+
+  /**
+   * 使用默认配置创建合并写入器
+   *
+   * @return 合并写入器
+   */
+  default WriteBehindWriter newWriteBehindWriter() {
+    return newWriteBehindWriter(WriteBehindOptions.DEFAULT);
+  }
+
+  /**
+   * 创建写入指定列族SST文件的写入器，写入器使用列族options，须由调用方关闭
+   *
+   * @param columnFamilyName 列族名
+   * @param path SST文件路径，已存在则覆盖
+   * @return 写入器
+   * @throws RocksDbException 异常
+   */
+  SstFileWriter newSstFileWriter(String columnFamilyName, Path path) throws RocksDbException;
+
+  /**
+   * 将外部SST文件原子导入指定列族，文件列表要么全部导入成功，要么全部失败。<br>
+   * 导入数据不经过memtable和WAL，适合大批量数据加载。
+   *
+   * @param columnFamilyName 列族名
+   * @param files SST文件列表
+   * @param ingestOptions 导入配置
+   * @throws RocksDbException 异常
+   */
+  void ingestExternalFile(String columnFamilyName, List<Path> files, IngestOptions ingestOptions)
+      throws RocksDbException;
+
+  /**
+   * 使用默认配置将外部SST文件原子导入指定列族
+   *
+   * @param columnFamilyName 列族名
+   * @param files SST文件列表
+   * @throws RocksDbException 异常
+   */
+  default void ingestExternalFile(String columnFamilyName, Path... files) throws RocksDbException {
+    ingestExternalFile(columnFamilyName, List.of(files), IngestOptions.DEFAULT);
+  }
+
+  /**
+   * 将按列族比较器严格递增的kv数据生成SST文件后原子导入指定列族，单个文件超过目标大小后滚动生成新文件。<br>
+   * 生成的临时文件在导入结束后删除，数据乱序或导入失败时列族数据不受影响。
+   *
+   * @param columnFamilyName 列族名
+   * @param sortedKvPairs 严格递增的kv数据
+   * @param ingestOptions 导入配置
+   * @return 导入的entry数量
+   * @throws RocksDbException 异常
+   */
+  long ingest(
+      String columnFamilyName,
+      Iterator<Tuple2<byte[], byte[]>> sortedKvPairs,
+      IngestOptions ingestOptions)
+      throws RocksDbException;
+
+  /**
+   * 将按列族比较器严格递增的kv数据流生成SST文件后原子导入指定列族，导入结束后关闭数据流
+   *
+   * @param columnFamilyName 列族名
+   * @param sortedKvPairs 严格递增的kv数据流
+   * @param ingestOptions 导入配置
+   * @return 导入的entry数量
+   * @throws RocksDbException 异常
+   */
+  default long ingest(
+      String columnFamilyName,
+      Stream<Tuple2<byte[], byte[]>> sortedKvPairs,
+      IngestOptions ingestOptions)
+      throws RocksDbException {
+    try (sortedKvPairs) {
+      return ingest(columnFamilyName, sortedKvPairs.iterator(), ingestOptions);
+    }
+  }
 }
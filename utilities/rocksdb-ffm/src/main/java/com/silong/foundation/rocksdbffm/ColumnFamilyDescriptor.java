@@ -55,6 +55,9 @@ class ColumnFamilyDescriptor implements AutoCloseable, Serializable {
   /** 比较器 */
   @ToString.Exclude private MemorySegment columnFamilyComparator;
 
+  /** 是否使用自定义比较器，false表示使用默认字节序比较器 */
+  private boolean customComparator;
+
   /** 列族options */
   @ToString.Exclude private MemorySegment columnFamilyOptions;
 
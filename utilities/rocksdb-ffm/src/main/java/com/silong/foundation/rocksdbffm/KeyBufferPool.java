@@ -0,0 +1,88 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.RocksDb.KB;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * 线程私有的key编码缓冲区，byte[] key复制到复用的native内存后再传递给rocksdb，避免每次调用创建Arena分配内存。<br>
+ * 返回的内存段在当前线程下一次编码前有效，因此只能用于单次native调用的入参，不可跨调用持有。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 16:10
+ */
+final class KeyBufferPool {
+
+  /** 缓冲区初始容量 */
+  static final int INITIAL_CAPACITY = 256;
+
+  /** 超过此长度的key不再池化，避免线程长期持有大块native内存 */
+  static final int MAX_POOLED_CAPACITY = 64 * KB;
+
+  private static final ThreadLocal<KeyBufferPool> POOL =
+      ThreadLocal.withInitial(KeyBufferPool::new);
+
+  /** 复用缓冲区，由Arena.ofAuto()分配，扩容后旧缓冲区随GC释放 */
+  private MemorySegment buffer = Arena.ofAuto().allocate(INITIAL_CAPACITY);
+
+  private KeyBufferPool() {}
+
+  /**
+   * 将key编码至当前线程的复用缓冲区
+   *
+   * @param key key
+   * @param offset offset
+   * @param length length
+   * @return key对应的native内存段
+   */
+  static MemorySegment encode(byte[] key, int offset, int length) {
+    return POOL.get().copy(key, offset, length);
+  }
+
+  /**
+   * 将key编码至当前线程的复用缓冲区
+   *
+   * @param key key
+   * @return key对应的native内存段
+   */
+  static MemorySegment encode(byte[] key) {
+    return encode(key, 0, key.length);
+  }
+
+  private MemorySegment copy(byte[] key, int offset, int length) {
+    MemorySegment target;
+    if (length > MAX_POOLED_CAPACITY) {
+      target = Arena.ofAuto().allocate(length);
+    } else {
+      if (buffer.byteSize() < length) {
+        buffer = Arena.ofAuto().allocate(Integer.highestOneBit(length - 1) << 1);
+      }
+      target = buffer;
+    }
+    MemorySegment.copy(key, offset, target, JAVA_BYTE, 0, length);
+    return target.asSlice(0, length);
+  }
+}
@@ -0,0 +1,362 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.BasicRocksDbOperation.NOT_FOUND;
+import static com.silong.foundation.rocksdbffm.Utils.validateByteArrays;
+import static com.silong.foundation.rocksdbffm.Utils.validateKey;
+import static com.silong.foundation.rocksdbffm.generated.RocksDB.C_POINTER;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * 可复用的批量查询容器，key连续存放在同一块native内存中，查询结果同样连续复制到一块native内存，通过下标访问。<br>
+ * 1. 按字节序递增添加key时，默认字节序比较器列族的查询跳过rocksdb内部排序<br>
+ * 2. 结果视图在下一次{@link #clear()}或查询前有效<br>
+ * 3. native内存由Arena.ofAuto()分配，容量只增不减，扩容后旧内存随GC释放
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 01:00
+ */
+@NotThreadSafe
+public final class MultiGetBatch {
+
+  /** 默认key容量 */
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** 默认key及value缓冲区字节数 */
+  private static final int DEFAULT_BUFFER_SIZE = 1024;
+
+  /** 连续存放的key */
+  private MemorySegment keyData;
+
+  /** 已使用的key缓冲区字节数 */
+  private long keyDataSize;
+
+  /** 各key在keyData中的偏移 */
+  private long[] keyOffsets;
+
+  /** 各key长度，size_t数组，同时作为native调用入参 */
+  MemorySegment keySizes;
+
+  /** key指针数组，char**，查询前根据keyData重新计算 */
+  MemorySegment keysPtr;
+
+  /** value出参，rocksdb_pinnableslice_t** */
+  MemorySegment valuesPtr;
+
+  /** 错误信息出参，char** */
+  MemorySegment errsPtr;
+
+  /** 连续存放的查询结果 */
+  private MemorySegment valueData;
+
+  /** 已使用的结果缓冲区字节数 */
+  private long valueDataSize;
+
+  /** 各value在valueData中的偏移 */
+  private long[] valueOffsets;
+
+  /** 各value长度，不存在为{@link BasicRocksDbOperation#NOT_FOUND} */
+  private long[] valueLengths;
+
+  /** key数量 */
+  private int size;
+
+  /** key是否按字节序非递减添加 */
+  private boolean sorted = true;
+
+  /** 是否已有查询结果 */
+  private boolean completed;
+
+  /** 构造方法 */
+  public MultiGetBatch() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param capacity 初始key容量
+   */
+  public MultiGetBatch(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be greater than 0.");
+    }
+    this.keyData = Arena.ofAuto().allocate(DEFAULT_BUFFER_SIZE);
+    this.valueData = Arena.ofAuto().allocate(DEFAULT_BUFFER_SIZE);
+    allocateIndexes(capacity);
+  }
+
+  /**
+   * 添加key
+   *
+   * @param key key
+   * @return this
+   */
+  public MultiGetBatch add(byte[] key) {
+    validateKey(key);
+    return add(key, 0, key.length);
+  }
+
+  /**
+   * 添加key
+   *
+   * @param key key
+   * @param offset offset
+   * @param length length
+   * @return this
+   */
+  public MultiGetBatch add(byte[] key, int offset, int length) {
+    validateByteArrays(key, offset, length, "Invalid key.");
+    MemorySegment.copy(key, offset, appendKey(length), JAVA_BYTE, keyDataSize - length, length);
+    return onKeyAdded(length);
+  }
+
+  /**
+   * 添加key，key被复制到批量容器中
+   *
+   * @param key key
+   * @return this
+   */
+  public MultiGetBatch add(MemorySegment key) {
+    if (key == null || key.byteSize() == 0) {
+      throw new IllegalArgumentException("key must not be null or empty.");
+    }
+    long length = key.byteSize();
+    MemorySegment.copy(key, 0, appendKey(length), keyDataSize - length, length);
+    return onKeyAdded(length);
+  }
+
+  /**
+   * key数量
+   *
+   * @return 数量
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * 添加的key是否按字节序非递减排列
+   *
+   * @return true or false
+   */
+  public boolean isSorted() {
+    return sorted;
+  }
+
+  /** 清空key及结果，保留已分配的内存以便复用 */
+  public void clear() {
+    size = 0;
+    keyDataSize = 0;
+    valueDataSize = 0;
+    sorted = true;
+    completed = false;
+  }
+
+  /**
+   * 获取key视图
+   *
+   * @param index 下标
+   * @return 只读key视图
+   */
+  public MemorySegment key(int index) {
+    checkIndex(index);
+    return keyData.asSlice(keyOffsets[index], keySizes.getAtIndex(JAVA_LONG, index)).asReadOnly();
+  }
+
+  /**
+   * key是否存在
+   *
+   * @param index 下标
+   * @return true or false
+   */
+  public boolean isFound(int index) {
+    return valueLength(index) != NOT_FOUND;
+  }
+
+  /**
+   * value长度
+   *
+   * @param index 下标
+   * @return value长度，不存在时返回{@link BasicRocksDbOperation#NOT_FOUND}
+   */
+  public long valueLength(int index) {
+    checkResult(index);
+    return valueLengths[index];
+  }
+
+  /**
+   * 获取value视图，视图在下一次清空或查询前有效
+   *
+   * @param index 下标
+   * @return 只读value视图，不存在时返回null
+   */
+  @Nullable
+  public MemorySegment value(int index) {
+    long length = valueLength(index);
+    return length == NOT_FOUND ? null : valueData.asSlice(valueOffsets[index], length).asReadOnly();
+  }
+
+  /**
+   * 获取value副本
+   *
+   * @param index 下标
+   * @return value，不存在时返回null
+   */
+  @Nullable
+  public byte[] valueBytes(int index) {
+    MemorySegment value = value(index);
+    return value == null ? null : value.toArray(JAVA_BYTE);
+  }
+
+  /** 查询前根据当前keyData计算key指针数组，并重置上一次的结果 */
+  void prepare() {
+    for (int i = 0; i < size; i++) {
+      keysPtr.setAtIndex(C_POINTER, i, keyData.asSlice(keyOffsets[i]));
+    }
+    valueDataSize = 0;
+    completed = false;
+  }
+
+  /**
+   * 记录查询结果，value被复制到结果缓冲区
+   *
+   * @param index 下标
+   * @param value value，null表示不存在
+   */
+  void setValue(int index, @Nullable MemorySegment value) {
+    if (value == null) {
+      valueLengths[index] = NOT_FOUND;
+      return;
+    }
+    long length = value.byteSize();
+    if (valueData.byteSize() - valueDataSize < length) {
+      MemorySegment expanded =
+          Arena.ofAuto().allocate(grow(valueData.byteSize(), valueDataSize + length));
+      MemorySegment.copy(valueData, 0, expanded, 0, valueDataSize);
+      valueData = expanded;
+    }
+    MemorySegment.copy(value, 0, valueData, valueDataSize, length);
+    valueOffsets[index] = valueDataSize;
+    valueLengths[index] = length;
+    valueDataSize += length;
+  }
+
+  /** 标记查询完成 */
+  void complete() {
+    completed = true;
+  }
+
+  private MemorySegment appendKey(long length) {
+    if (size == valueLengths.length) {
+      allocateIndexes(size << 1);
+    }
+    if (keyData.byteSize() - keyDataSize < length) {
+      MemorySegment expanded =
+          Arena.ofAuto().allocate(grow(keyData.byteSize(), keyDataSize + length));
+      MemorySegment.copy(keyData, 0, expanded, 0, keyDataSize);
+      keyData = expanded;
+    }
+    keyOffsets[size] = keyDataSize;
+    keyDataSize += length;
+    return keyData;
+  }
+
+  private MultiGetBatch onKeyAdded(long length) {
+    keySizes.setAtIndex(JAVA_LONG, size, length);
+    if (sorted && size > 0) {
+      sorted = compareWithPrevious(length) >= 0;
+    }
+    size++;
+    completed = false;
+    return this;
+  }
+
+  /** 按无符号字节序比较最新添加的key与前一个key */
+  private int compareWithPrevious(long length) {
+    long previousOffset = keyOffsets[size - 1];
+    long previousLength = keySizes.getAtIndex(JAVA_LONG, size - 1);
+    long offset = keyOffsets[size];
+    long mismatch =
+        MemorySegment.mismatch(
+            keyData,
+            offset,
+            offset + length,
+            keyData,
+            previousOffset,
+            previousOffset + previousLength);
+    if (mismatch == -1) {
+      return 0;
+    }
+    if (mismatch == length || mismatch == previousLength) {
+      return Long.compare(length, previousLength);
+    }
+    return Integer.compare(
+        Byte.toUnsignedInt(keyData.get(JAVA_BYTE, offset + mismatch)),
+        Byte.toUnsignedInt(keyData.get(JAVA_BYTE, previousOffset + mismatch)));
+  }
+
+  private void allocateIndexes(int capacity) {
+    MemorySegment newKeySizes = Arena.ofAuto().allocate(JAVA_LONG, capacity);
+    if (keySizes != null) {
+      MemorySegment.copy(keySizes, 0, newKeySizes, 0, size * JAVA_LONG.byteSize());
+    }
+    keySizes = newKeySizes;
+    keysPtr = Arena.ofAuto().allocate(C_POINTER, capacity);
+    valuesPtr = Arena.ofAuto().allocate(C_POINTER, capacity);
+    errsPtr = Arena.ofAuto().allocate(C_POINTER, capacity);
+    keyOffsets = keyOffsets == null ? new long[capacity] : Arrays.copyOf(keyOffsets, capacity);
+    valueOffsets = new long[capacity];
+    valueLengths = new long[capacity];
+  }
+
+  private static long grow(long current, long required) {
+    long capacity = current;
+    while (capacity < required) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+          String.format("index %d out of bounds for size %d.", index, size));
+    }
+  }
+
+  private void checkResult(int index) {
+    checkIndex(index);
+    if (!completed) {
+      throw new IllegalStateException("multiGet has not been executed for the current keys.");
+    }
+  }
+}
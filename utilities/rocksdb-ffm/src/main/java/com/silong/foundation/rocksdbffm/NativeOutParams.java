@@ -0,0 +1,65 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.generated.RocksDB.C_POINTER;
+import static java.lang.foreign.MemorySegment.NULL;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * 线程私有的native出参缓冲区(char** errptr, size_t* len)，避免高频点查时每次调用都创建Arena分配出参。<br>
+ * 缓冲区由Arena.ofAuto()分配，线程结束后随GC释放。同一线程内不可嵌套使用。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 15:02
+ */
+final class NativeOutParams {
+
+  private static final ThreadLocal<NativeOutParams> OUT_PARAMS =
+      ThreadLocal.withInitial(NativeOutParams::new);
+
+  /** 错误信息出参，char** */
+  final MemorySegment errPtr;
+
+  /** 长度出参，size_t* */
+  final MemorySegment lengthPtr;
+
+  private NativeOutParams() {
+    MemorySegment segment = Arena.ofAuto().allocate(C_POINTER, 2);
+    this.errPtr = segment.asSlice(0, C_POINTER.byteSize());
+    this.lengthPtr = segment.asSlice(C_POINTER.byteSize(), C_POINTER.byteSize());
+  }
+
+  /**
+   * 获取当前线程的出参缓冲区，错误信息指针被重置为NULL
+   *
+   * @return 出参缓冲区
+   */
+  static NativeOutParams current() {
+    NativeOutParams outParams = OUT_PARAMS.get();
+    outParams.errPtr.set(C_POINTER, 0, NULL);
+    return outParams;
+  }
+}
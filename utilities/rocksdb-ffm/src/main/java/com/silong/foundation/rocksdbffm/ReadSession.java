@@ -0,0 +1,163 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * 快照读取会话，会话内的点查、批量查询及迭代均读取会话创建时刻的快照，不受之后写入的影响。<br>
+ * 1. 会话线程安全，可在多线程间共享<br>
+ * 2. 会话关闭后不可再发起读取，进行中的读取及未关闭的迭代器不受影响，快照在最后一个迭代器关闭后释放<br>
+ * 3. 会话应在数据库关闭前关闭，数据库关闭时统一释放未关闭会话的快照，此后会话不可再发起读取
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 00:10
+ */
+@ThreadSafe
+public interface ReadSession extends AutoCloseable {
+
+  /**
+   * 会话快照的序列号
+   *
+   * @return 序列号
+   */
+  long sequenceNumber();
+
+  /**
+   * 查询指定列族
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @return value，不存在时返回null
+   * @throws RocksDbException 异常
+   */
+  @Nullable
+  byte[] get(String columnFamilyName, byte[] key) throws RocksDbException;
+
+  /**
+   * 查询指定列族，将value写入调用方提供的native内存段
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value 结果缓冲区，长度不足时value被截断
+   * @return value实际长度，key不存在时返回{@link BasicRocksDbOperation#NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long get(String columnFamilyName, MemorySegment key, MemorySegment value) throws RocksDbException;
+
+  /**
+   * 在指定列族查询多Key
+   *
+   * @param columnFamilyName 列族名
+   * @param keys key列表
+   * @return 查询结果
+   * @throws RocksDbException 异常
+   */
+  List<Tuple2<byte[], byte[]>> multiGet(String columnFamilyName, byte[]... keys)
+      throws RocksDbException;
+
+  /**
+   * 在指定列族查询多Key，将各value写入调用方提供的对应native内存段
+   *
+   * @param columnFamilyName 列族名
+   * @param keys key列表
+   * @param values 结果缓冲区列表，与keys一一对应
+   * @return 各value实际长度，key不存在则对应位置为{@link BasicRocksDbOperation#NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long[] multiGet(String columnFamilyName, MemorySegment[] keys, MemorySegment[] values)
+      throws RocksDbException;
+
+  /**
+   * 在指定列族批量查询容器中的所有key，结果写回容器
+   *
+   * @param columnFamilyName 列族名
+   * @param batch 批量查询容器
+   * @throws RocksDbException 异常
+   */
+  void multiGet(String columnFamilyName, MultiGetBatch batch) throws RocksDbException;
+
+  /**
+   * 通过pinned slice查询指定列族，value视图仅在回调执行期间有效
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param reader value处理回调
+   * @return 回调结果，key不存在时不执行回调并返回null
+   * @param <R> 结果类型
+   * @throws RocksDbException 异常
+   */
+  <R> R getPinned(String columnFamilyName, byte[] key, Function<MemorySegment, R> reader)
+      throws RocksDbException;
+
+  /**
+   * 获取指定列族的有界迭代器，迭代器读取会话快照，须由调用方关闭
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @return 迭代器
+   */
+  RocksDbIterator iterator(String columnFamilyName, ScanOptions scanOptions);
+
+  /**
+   * 扫描指定列族的会话快照，结果流须由调用方关闭
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @param mapper kv映射，参数为只读native视图，仅在映射执行期间有效
+   * @return 结果流
+   * @param <R> 结果类型
+   */
+  <R> Stream<R> scan(
+      String columnFamilyName,
+      ScanOptions scanOptions,
+      BiFunction<MemorySegment, MemorySegment, R> mapper);
+
+  /**
+   * 扫描指定列族的会话快照，kv复制为字节数组，结果流须由调用方关闭
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @return 结果流
+   */
+  default Stream<Tuple2<byte[], byte[]>> scan(String columnFamilyName, ScanOptions scanOptions) {
+    return scan(
+        columnFamilyName,
+        scanOptions,
+        (key, value) -> new Tuple2<>(key.toArray(JAVA_BYTE), value.toArray(JAVA_BYTE)));
+  }
+
+  /** 关闭会话，此后发起的读取抛出异常，快照在进行中的读取及未关闭的迭代器全部结束后释放 */
+  @Override
+  void close();
+}
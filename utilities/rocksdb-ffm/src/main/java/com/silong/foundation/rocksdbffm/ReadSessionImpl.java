@@ -0,0 +1,270 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.Utils.*;
+import static com.silong.foundation.rocksdbffm.generated.RocksDB.*;
+
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.ReadSessionOptions;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 快照读取会话实现，通过引用计数管理快照及读取配置的生命周期：会话本身持有一个引用，进行中的读取及未关闭的迭代器各持有一个引用，引用归零时释放native资源
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 00:10
+ */
+@Slf4j
+@ToString
+class ReadSessionImpl implements ReadSession {
+
+  /** 会话内的读取操作 */
+  @FunctionalInterface
+  private interface SessionRead<R> {
+    R read() throws RocksDbException;
+  }
+
+  /** 所属数据库 */
+  @ToString.Exclude private final RocksDbImpl rocksDb;
+
+  /** 会话配置 */
+  private final ReadSessionOptions readSessionOptions;
+
+  /** 会话快照 */
+  @ToString.Exclude private final MemorySegment snapshot;
+
+  /** 会话内点查及批量查询共享的读取配置 */
+  @ToString.Exclude private final MemorySegment readOptions;
+
+  /** 快照序列号 */
+  private final long sequenceNumber;
+
+  /** 引用计数 */
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  /** 关闭标识 */
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /** 快照是否已释放，引用归零或数据库关闭时释放，二者只执行一次 */
+  private final AtomicBoolean snapshotReleased = new AtomicBoolean();
+
+  /** 所属数据库登记的未释放会话 */
+  @ToString.Exclude private final Set<ReadSessionImpl> registry;
+
+  /**
+   * 构造方法
+   *
+   * @param rocksDb 数据库
+   * @param readSessionOptions 会话配置
+   * @param registry 所属数据库登记的未释放会话
+   */
+  ReadSessionImpl(
+      @NonNull RocksDbImpl rocksDb,
+      @NonNull ReadSessionOptions readSessionOptions,
+      @NonNull Set<ReadSessionImpl> registry) {
+    this.rocksDb = rocksDb;
+    this.registry = registry;
+    this.readSessionOptions = readSessionOptions;
+    this.snapshot = rocksDb.createSnapshot();
+    this.sequenceNumber = rocksdb_snapshot_get_sequence_number(snapshot);
+    this.readOptions = rocksdb_readoptions_create();
+    applyTo(readOptions);
+    registry.add(this);
+  }
+
+  /**
+   * 将会话快照及配置设置到读取配置
+   *
+   * @param options 读取配置
+   */
+  private void applyTo(MemorySegment options) {
+    rocksdb_readoptions_set_snapshot(options, snapshot);
+    rocksdb_readoptions_set_verify_checksums(
+        options, boolean2Byte(readSessionOptions.isVerifyChecksums()));
+    rocksdb_readoptions_set_readahead_size(options, readSessionOptions.getReadaheadSize());
+    rocksdb_readoptions_set_async_io(options, boolean2Byte(readSessionOptions.isAsyncIo()));
+    // 仅在会话禁用时覆盖，保留扫描配置中的fill_cache设置
+    if (!readSessionOptions.isFillCache()) {
+      rocksdb_readoptions_set_fill_cache(options, boolean2Byte(false));
+    }
+  }
+
+  @Override
+  public long sequenceNumber() {
+    return sequenceNumber;
+  }
+
+  @Override
+  public byte[] get(String columnFamilyName, byte[] key) throws RocksDbException {
+    validateKey(key);
+    return read(() -> rocksDb.get(readOptions, columnFamilyName, key, 0, key.length));
+  }
+
+  @Override
+  public long get(String columnFamilyName, MemorySegment key, MemorySegment value)
+      throws RocksDbException {
+    return read(() -> rocksDb.get(readOptions, columnFamilyName, key, value));
+  }
+
+  @Override
+  public List<Tuple2<byte[], byte[]>> multiGet(String columnFamilyName, byte[]... keys)
+      throws RocksDbException {
+    return read(() -> rocksDb.multiGet(readOptions, columnFamilyName, keys));
+  }
+
+  @Override
+  public long[] multiGet(String columnFamilyName, MemorySegment[] keys, MemorySegment[] values)
+      throws RocksDbException {
+    return read(() -> rocksDb.multiGet(readOptions, columnFamilyName, keys, values));
+  }
+
+  @Override
+  public void multiGet(String columnFamilyName, MultiGetBatch batch) throws RocksDbException {
+    read(
+        () -> {
+          rocksDb.multiGet(readOptions, columnFamilyName, batch);
+          return null;
+        });
+  }
+
+  @Override
+  public <R> R getPinned(
+      String columnFamilyName, byte[] key, @NonNull Function<MemorySegment, R> reader)
+      throws RocksDbException {
+    validateKey(key);
+    return read(
+        () -> rocksDb.getPinned(readOptions, columnFamilyName, KeyBufferPool.encode(key), reader));
+  }
+
+  @Override
+  public RocksDbIterator iterator(String columnFamilyName, @NonNull ScanOptions scanOptions) {
+    acquire();
+    try {
+      // 迭代器持有会话引用，关闭时释放
+      return rocksDb.iterator(columnFamilyName, scanOptions, this::applyTo, this::release);
+    } catch (RuntimeException | Error e) {
+      release();
+      throw e;
+    }
+  }
+
+  @Override
+  public <R> Stream<R> scan(
+      String columnFamilyName,
+      @NonNull ScanOptions scanOptions,
+      @NonNull BiFunction<MemorySegment, MemorySegment, R> mapper) {
+    acquire();
+    try {
+      return rocksDb.scan(columnFamilyName, scanOptions, mapper, this::applyTo, this::release);
+    } catch (RuntimeException | Error e) {
+      release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      release();
+    }
+  }
+
+  private <R> R read(SessionRead<R> sessionRead) throws RocksDbException {
+    acquire();
+    try {
+      return sessionRead.read();
+    } finally {
+      release();
+    }
+  }
+
+  private void acquire() {
+    // 已关闭的会话即使仍被迭代器引用也拒绝新的读取
+    if (closed.get()) {
+      throw new IllegalStateException("read session has been closed.");
+    }
+    int refs;
+    do {
+      refs = references.get();
+      if (refs <= 0) {
+        throw new IllegalStateException("read session has been closed.");
+      }
+    } while (!references.compareAndSet(refs, refs + 1));
+  }
+
+  private void release() {
+    if (references.decrementAndGet() == 0) {
+      rocksdb_readoptions_destroy(readOptions);
+      // 数据库关闭时已由其在释放数据库句柄前统一释放快照，此处不再访问数据库句柄
+      releaseSnapshot();
+      registry.remove(this);
+      if (log.isDebugEnabled()) {
+        log.debug("Released read session with snapshot sequence number:{}", sequenceNumber);
+      }
+    }
+  }
+
+  private boolean releaseSnapshot() {
+    if (snapshotReleased.compareAndSet(false, true)) {
+      rocksDb.releaseSnapshot(snapshot);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * 关闭所有登记的未释放会话并释放其快照，须在数据库释放前调用。仍被迭代器引用的会话在迭代器关闭时释放读取配置
+   *
+   * @param registry 所属数据库登记的未释放会话
+   * @return 释放快照的会话数量
+   */
+  static int releaseAll(@NonNull Set<ReadSessionImpl> registry) {
+    int count = 0;
+    for (ReadSessionImpl session : List.copyOf(registry)) {
+      registry.remove(session);
+      if (session.releaseSnapshot()) {
+        count++;
+      }
+      // 释放会话自身持有的引用，拒绝新的读取
+      if (session.closed.compareAndSet(false, true)) {
+        session.release();
+      }
+    }
+    if (count > 0) {
+      log.warn("{} read sessions were still open when rocksdb was closed.", count);
+    }
+    return count;
+  }
+}
@@ -59,17 +59,15 @@ public interface RocksDbComparator {
    */
   default MemorySegment comparator() {
     Arena global = Arena.global();
+    // 名称只分配一次，避免每次回调都泄露一段global内存
+    MemorySegment name = global.allocateFrom(name(), UTF_8);
     return rocksdb_comparator_create(
         NULL,
         rocksdb_comparator_create$destructor.allocate(_ -> release(), global),
         rocksdb_comparator_create$compare.allocate(
-            (_, key1, len1, key2, len2) -> {
-              byte[] k1 = key1.asSlice(0, len1).toArray(JAVA_BYTE);
-              byte[] k2 = key2.asSlice(0, len2).toArray(JAVA_BYTE);
-              return compare(k1, k2);
-            },
+            (_, key1, len1, key2, len2) -> compare(key1.asSlice(0, len1), key2.asSlice(0, len2)),
             global),
-        rocksdb_comparator_create$name.allocate(_ -> global.allocateFrom(name(), UTF_8), global));
+        rocksdb_comparator_create$name.allocate(_ -> name, global));
   }
 
   /** 释放比较器资源 */
@@ -84,6 +82,20 @@ public interface RocksDbComparator {
    */
   int compare(byte[] a, byte[] b);
 
+  /**
+   * 直接在native内存上比较key，rocksdb每次比较均回调此方法。<br>
+   * 默认实现将key复制为byte[]后调用{@link #compare(byte[], byte[])}，压缩及seek时会产生大量垃圾对象，
+   * 性能敏感的比较器应覆盖此方法，避免在比较过程中分配内存。<br>
+   * 参数为借用自rocksdb的视图，仅在本次调用内有效，不得写入或在调用结束后持有。
+   *
+   * @param a key视图
+   * @param b key视图
+   * @return a==b返回0，a<b返回负数，否则返回正数
+   */
+  default int compare(MemorySegment a, MemorySegment b) {
+    return compare(a.toArray(JAVA_BYTE), b.toArray(JAVA_BYTE));
+  }
+
   /**
    * 比较器名称
    *
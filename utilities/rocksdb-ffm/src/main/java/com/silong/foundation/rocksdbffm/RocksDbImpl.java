@@ -23,8 +23,6 @@ package com.silong.foundation.rocksdbffm;
 
 import static com.silong.foundation.rocksdbffm.RocksDbComparator.destroy;
 import static com.silong.foundation.rocksdbffm.Utils.*;
-import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_LZ4_COMPRESSION;
-import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_ZSTD;
 import static com.silong.foundation.rocksdbffm.generated.RocksDB.*;
 import static com.silong.foundation.rocksdbffm.generated.RocksDB_1.rocksdb_readoptions_create;
 import static com.silong.foundation.utilities.nlloader.NativeLibsExtractor.extractNativeLibs;
@@ -34,11 +32,18 @@ import static java.lang.foreign.ValueLayout.*;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyOptionsConfig;
 import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.enu.CompressionType;
 import com.silong.foundation.rocksdbffm.enu.ReadTier;
 import com.silong.foundation.rocksdbffm.fi.Consumer3;
 import com.silong.foundation.rocksdbffm.fi.Tuple2;
 import com.silong.foundation.rocksdbffm.fi.Tuple3;
+import com.silong.foundation.rocksdbffm.options.IngestOptions;
+import com.silong.foundation.rocksdbffm.options.ReadSessionOptions;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import com.silong.foundation.rocksdbffm.options.WriteBehindOptions;
+import com.silong.foundation.rocksdbffm.statistics.StatisticsSnapshot;
 import com.silong.foundation.utilities.nlloader.PlatformLibFormat;
 import java.io.IOException;
 import java.io.Serial;
@@ -47,12 +52,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 import lombok.Getter;
 import lombok.NonNull;
@@ -108,16 +121,34 @@ class RocksDbImpl implements RocksDb {
 
   @ToString.Exclude private final MemorySegment writeOptionsPtr;
 
+  /** 共享块缓存，点查优化及列族自定义block-based table配置均使用此缓存 */
+  @ToString.Exclude private final MemorySegment blockCachePtr;
+
   /** 是否需要关闭 */
   private final AtomicBoolean closed = new AtomicBoolean();
 
   /** 错误信息 */
   private final ThreadLocal<String> errMsgThreadLocal = ThreadLocal.withInitial(() -> OK);
 
+  /** 未关闭的pinned slice句柄，关闭数据库前统一释放 */
+  private final Set<RocksDbPinnableSliceImpl.Release> pinnedSlices = ConcurrentHashMap.newKeySet();
+
+  /** 未释放的快照读取会话，关闭数据库前统一释放快照 */
+  private final Set<ReadSessionImpl> readSessions = ConcurrentHashMap.newKeySet();
+
+  /** 未关闭的合并写入器，关闭数据库前统一关闭 */
+  private final Set<WriteBehindWriterImpl> writers = ConcurrentHashMap.newKeySet();
+
   /** 列族名称与其对应的native值 */
   private final ConcurrentHashMap<String, ColumnFamilyDescriptor> columnFamilies =
       new ConcurrentHashMap<>();
 
+  /** 统计数据周期采样器，未启用周期采样时为null */
+  @ToString.Exclude private final transient ScheduledExecutorService statisticsSampler;
+
+  /** 最近一次采样的统计数据 */
+  @ToString.Exclude private volatile StatisticsSnapshot latestStatistics;
+
   /**
    * 构造方法
    *
@@ -127,6 +158,12 @@ class RocksDbImpl implements RocksDb {
     try (Arena arena = Arena.ofConfined()) {
       this.config = config;
       MemorySegment dbOptionsPtr = createRocksdbOptions(config); // global scope，close释放
+      MemorySegment blockCachePtr = // global scope，close释放
+          rocksdb_cache_create_lru((long) config.getBlockCacheSize() * MB);
+      if (config.isOptimizeForPointLookup()) {
+        // 基于共享块缓存进行点查优化，列族options复制数据库options时共享同一块缓存
+        optimizeForPointLookup(dbOptionsPtr, blockCachePtr);
+      }
       MemorySegment path = arena.allocateFrom(config.getPersistDataPath(), UTF_8);
       MemorySegment errPtr = newErrPtr(arena); // 出参，获取错误信息
 
@@ -151,7 +188,7 @@ class RocksDbImpl implements RocksDb {
 
       // 列族选项列表指针，cfOptions close时释放
       MemorySegment cfOptionsPtr =
-          createColumnFamilyOptions(arena, dbOptionsPtr, columnFamilyConfigs);
+          createColumnFamilyOptions(arena, dbOptionsPtr, blockCachePtr, columnFamilyConfigs);
 
       // 出参，获取打开的列族handles，close时释放
       MemorySegment cfHandlesPtr = arena.allocate(C_POINTER, columnFamilyNames.size());
@@ -177,6 +214,7 @@ class RocksDbImpl implements RocksDb {
         closed.set(false);
         this.dbPtr = dbPtr;
         this.dbOptionsPtr = dbOptionsPtr;
+        this.blockCachePtr = blockCachePtr;
 
         // 创建默认读取options，global scope close时释放
         this.readOptionsPtr = rocksdb_readoptions_create();
@@ -192,6 +230,8 @@ class RocksDbImpl implements RocksDb {
 
         // 保存打开的列族
         cacheColumnFamilyDescriptor(arena, columnFamilyNames, cfOptionsPtr, cfHandlesPtr);
+
+        this.statisticsSampler = startStatisticsSampler(config.getStatisticsSampleInterval());
       } else {
         log.error(
             "Failed to open rocksdb(path:{}, cfs:{}), reason:{}.",
@@ -199,11 +239,15 @@ class RocksDbImpl implements RocksDb {
             columnFamilyConfigs,
             errMsg);
         closed.set(true);
-        this.dbPtr = this.dbOptionsPtr = this.readOptionsPtr = this.writeOptionsPtr = null;
+        this.statisticsSampler = null;
+        this.dbPtr =
+            this.dbOptionsPtr =
+                this.readOptionsPtr = this.writeOptionsPtr = this.blockCachePtr = null;
 
         // 释放已经创建出来的global scope资源
         freeRocksDb(dbPtr);
         freeDbOptions(dbOptionsPtr);
+        freeBlockCache(blockCachePtr);
         IntStream.range(0, columnFamilyNames.size())
             .forEach(i -> freeColumnFamilyOptions(cfOptionsPtr.getAtIndex(C_POINTER, i)));
       }
@@ -269,6 +313,7 @@ class RocksDbImpl implements RocksDb {
           columnFamilyName,
           ColumnFamilyDescriptor.builder()
               .columnFamilyName(columnFamilyName)
+              .customComparator(hasCustomComparator(columnFamilyName))
               .columnFamilyOptions(cfOptions)
               .columnFamilyHandle(cfHandle)
               .build());
@@ -278,6 +323,7 @@ class RocksDbImpl implements RocksDb {
   private MemorySegment createColumnFamilyOptions(
       Arena arena,
       MemorySegment dbOptionsPtr,
+      MemorySegment blockCachePtr,
       List<Tuple3<String, Integer, RocksDbComparator>> columnFamilyConfigs) {
     MemorySegment cfOptionsPtr = arena.allocate(C_POINTER, columnFamilyConfigs.size());
     for (int i = 0; i < columnFamilyConfigs.size(); i++) {
@@ -286,13 +332,155 @@ class RocksDbImpl implements RocksDb {
       if (rocksDbComparator != null) {
         rocksdb_options_set_comparator(options, rocksDbComparator.comparator());
       }
+      applyColumnFamilyOptions(
+          arena, options, blockCachePtr, findColumnFamilyOptions(columnFamilyConfigs.get(i).t1()));
       cfOptionsPtr.setAtIndex(C_POINTER, i, options); // global scope
     }
     return cfOptionsPtr;
   }
 
   /**
-   * 创建rocksdb options，并根据配置值对options进行赋值
+   * 查找列族对应的调优选项
+   *
+   * @param columnFamilyName 列族名
+   * @return 调优选项，未配置时返回null
+   */
+  @Nullable
+  private ColumnFamilyOptionsConfig findColumnFamilyOptions(String columnFamilyName) {
+    List<ColumnFamilyConfig> columnFamilyConfigs = config.getColumnFamilyConfigs();
+    if (columnFamilyConfigs == null) {
+      return null;
+    }
+    return columnFamilyConfigs.stream()
+        .filter(c -> columnFamilyName.equals(c.getColumnFamilyName()))
+        .map(ColumnFamilyConfig::getOptions)
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * 列族是否配置了自定义比较器
+   *
+   * @param columnFamilyName 列族名
+   * @return true or false
+   */
+  private boolean hasCustomComparator(String columnFamilyName) {
+    List<ColumnFamilyConfig> columnFamilyConfigs = config.getColumnFamilyConfigs();
+    return columnFamilyConfigs != null
+        && columnFamilyConfigs.stream()
+            .anyMatch(
+                c -> columnFamilyName.equals(c.getColumnFamilyName()) && c.getComparator() != null);
+  }
+
+  /**
+   * 将列族调优选项应用到列族options，未配置的选项沿用数据库级options
+   *
+   * @param arena 内存分配器
+   * @param cfOptions 列族options
+   * @param blockCachePtr 共享块缓存
+   * @param cfOptionsConfig 列族调优选项
+   */
+  private static void applyColumnFamilyOptions(
+      Arena arena,
+      MemorySegment cfOptions,
+      MemorySegment blockCachePtr,
+      @Nullable ColumnFamilyOptionsConfig cfOptionsConfig) {
+    if (cfOptionsConfig == null) {
+      return;
+    }
+
+    Integer blockSize = cfOptionsConfig.getBlockSize();
+    Double bloomFilterBitsPerKey = cfOptionsConfig.getBloomFilterBitsPerKey();
+    if (blockSize != null || bloomFilterBitsPerKey != null) {
+      // table factory持有table options副本，设置后即可释放
+      MemorySegment tableOptions = createBlockBasedTableOptions(blockCachePtr, false);
+      try {
+        if (blockSize != null) {
+          rocksdb_block_based_options_set_block_size(tableOptions, blockSize);
+        }
+        if (bloomFilterBitsPerKey != null && bloomFilterBitsPerKey > 0) {
+          // filter policy所有权转移至table options
+          rocksdb_block_based_options_set_filter_policy(
+              tableOptions, rocksdb_filterpolicy_create_bloom_full(bloomFilterBitsPerKey));
+        }
+        rocksdb_options_set_block_based_table_factory(cfOptions, tableOptions);
+      } finally {
+        rocksdb_block_based_options_destroy(tableOptions);
+      }
+    }
+
+    List<CompressionType> compressionPerLevel = cfOptionsConfig.getCompressionPerLevel();
+    if (compressionPerLevel != null && !compressionPerLevel.isEmpty()) {
+      MemorySegment levels = arena.allocate(C_INT, compressionPerLevel.size());
+      for (int i = 0; i < compressionPerLevel.size(); i++) {
+        levels.setAtIndex(C_INT, i, compressionPerLevel.get(i).getValue());
+      }
+      rocksdb_options_set_compression_per_level(cfOptions, levels, compressionPerLevel.size());
+    }
+
+    Integer fixedPrefixLength = cfOptionsConfig.getFixedPrefixLength();
+    if (fixedPrefixLength != null) {
+      // slice transform所有权转移至options
+      rocksdb_options_set_prefix_extractor(
+          cfOptions, rocksdb_slicetransform_create_fixed_prefix(fixedPrefixLength));
+    }
+
+    Long writeBufferSize = cfOptionsConfig.getWriteBufferSize();
+    if (writeBufferSize != null) {
+      rocksdb_options_set_write_buffer_size(cfOptions, writeBufferSize);
+    }
+
+    Integer maxWriteBufferNumber = cfOptionsConfig.getMaxWriteBufferNumber();
+    if (maxWriteBufferNumber != null) {
+      rocksdb_options_set_max_write_buffer_number(cfOptions, maxWriteBufferNumber);
+    }
+  }
+
+  /**
+   * 创建使用共享块缓存的block-based table options，调用方负责释放
+   *
+   * @param blockCachePtr 共享块缓存
+   * @param pointLookup 是否针对点查优化
+   * @return table options
+   */
+  private static MemorySegment createBlockBasedTableOptions(
+      MemorySegment blockCachePtr, boolean pointLookup) {
+    MemorySegment tableOptions = rocksdb_block_based_options_create();
+    rocksdb_block_based_options_set_block_cache(tableOptions, blockCachePtr);
+    if (pointLookup) {
+      // 与OptimizeForPointLookup的table配置一致：数据块哈希索引及布隆过滤器
+      rocksdb_block_based_options_set_data_block_index_type(
+          tableOptions, rocksdb_block_based_table_data_block_index_type_binary_search_and_hash());
+      rocksdb_block_based_options_set_data_block_hash_ratio(tableOptions, 0.75);
+      // filter policy所有权转移至table options
+      rocksdb_block_based_options_set_filter_policy(
+          tableOptions, rocksdb_filterpolicy_create_bloom(10));
+    }
+    return tableOptions;
+  }
+
+  /**
+   * 点查优化，等同于rocksdb_options_optimize_for_point_lookup，但使用数据库共享的块缓存而不另建私有块缓存
+   *
+   * @param optionsPtr 数据库options
+   * @param blockCachePtr 共享块缓存
+   */
+  private static void optimizeForPointLookup(
+      MemorySegment optionsPtr, MemorySegment blockCachePtr) {
+    // table factory持有table options副本，设置后即可释放
+    MemorySegment tableOptions = createBlockBasedTableOptions(blockCachePtr, true);
+    try {
+      rocksdb_options_set_block_based_table_factory(optionsPtr, tableOptions);
+    } finally {
+      rocksdb_block_based_options_destroy(tableOptions);
+    }
+    rocksdb_options_set_memtable_prefix_bloom_size_ratio(optionsPtr, 0.02);
+    rocksdb_options_set_memtable_whole_key_filtering(optionsPtr, boolean2Byte(true));
+  }
+
+  /**
+   * 创建rocksdb options，并根据配置值对options进行赋值。点查优化依赖共享块缓存，在打开数据库时设置
    *
    * @param config 配置
    * @return options指针
@@ -307,14 +495,13 @@ class RocksDbImpl implements RocksDb {
     rocksdb_options_set_create_if_missing(optionsPtr, boolean2Byte(config.isCreateIfMissing()));
     rocksdb_options_set_info_log_level(optionsPtr, config.getInfoLogLevel().ordinal());
 
-    rocksdb_options_optimize_for_point_lookup(optionsPtr, (long) config.getBlockCacheSize() * MB);
-
     //  reasonable out-of-box performance for general workloads
     rocksdb_options_set_level_compaction_dynamic_level_bytes(optionsPtr, boolean2Byte(true));
-    rocksdb_options_set_max_background_jobs(optionsPtr, 6);
+    rocksdb_options_set_max_background_jobs(optionsPtr, config.getMaxBackgroundJobs());
     rocksdb_options_set_bytes_per_sync(optionsPtr, MB);
-    rocksdb_options_set_compression(optionsPtr, K_LZ4_COMPRESSION.getValue());
-    rocksdb_options_set_bottommost_compression(optionsPtr, K_ZSTD.getValue());
+    rocksdb_options_set_compression(optionsPtr, config.getCompression().getValue());
+    rocksdb_options_set_bottommost_compression(
+        optionsPtr, config.getBottommostCompression().getValue());
     return optionsPtr;
   }
 
@@ -418,6 +605,10 @@ class RocksDbImpl implements RocksDb {
     rocksdb_close(dbPtr);
   }
 
+  void freeBlockCache(@NonNull MemorySegment blockCachePtr) {
+    rocksdb_cache_destroy(blockCachePtr);
+  }
+
   boolean checkColumnFamilyHandleName(
       Arena arena,
       String expectedName,
@@ -445,11 +636,19 @@ class RocksDbImpl implements RocksDb {
   public void close() {
     // clean only once
     if (closed.compareAndSet(false, true)) {
+      stopStatisticsSampler();
+      // 合并写入器的提交线程访问数据库句柄，须先于数据库释放，关闭时提交队列中剩余的写操作
+      WriteBehindWriterImpl.closeAll(writers);
+      // 快照须先于数据库释放
+      ReadSessionImpl.releaseAll(readSessions);
+      // pinned slice引用块缓存及memtable，须先于数据库释放
+      RocksDbPinnableSliceImpl.releaseAll(pinnedSlices);
       columnFamilies.forEach((k, v) -> v.close());
       freeRocksDb(dbPtr);
       freeDbOptions(dbOptionsPtr);
       freeReadOptions(readOptionsPtr);
       freeWriteOptions(writeOptionsPtr);
+      freeBlockCache(blockCachePtr);
       columnFamilies.clear();
     }
   }
@@ -482,6 +681,8 @@ class RocksDbImpl implements RocksDb {
               if (comparator != null) {
                 rocksdb_options_set_comparator(cfOptions, cmp = comparator.comparator());
               }
+              applyColumnFamilyOptions(
+                  arena, cfOptions, blockCachePtr, findColumnFamilyOptions(key));
 
               MemorySegment cfNamesPtr = arena.allocate(C_POINTER, 1);
               cfNamesPtr.set(C_POINTER, 0, arena.allocateFrom(key, UTF_8));
@@ -514,6 +715,7 @@ class RocksDbImpl implements RocksDb {
                 return ColumnFamilyDescriptor.builder()
                     .columnFamilyName(key)
                     .columnFamilyComparator(cmp)
+                    .customComparator(cmp != null)
                     .columnFamilyOptions(cfOptions)
                     .columnFamilyHandle(columnFamilyHandle)
                     .build();
@@ -618,6 +820,27 @@ class RocksDbImpl implements RocksDb {
     deleteRange(columnFamilyName, startKey, 0, startKey.length, endKey, 0, endKey.length);
   }
 
+  @Override
+  public void compactRange(
+      String columnFamilyName, @Nullable byte[] startKey, @Nullable byte[] endKey) {
+    validateColumnFamily(columnFamilyName);
+    validateOpenStatus();
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment startKeyPtr = startKey == null ? NULL : arena.allocateFrom(C_CHAR, startKey);
+      MemorySegment endKeyPtr = endKey == null ? NULL : arena.allocateFrom(C_CHAR, endKey);
+      rocksdb_compact_range_cf(
+          dbPtr,
+          columnFamilies.get(columnFamilyName).columnFamilyHandle(),
+          startKeyPtr,
+          startKey == null ? 0 : startKey.length,
+          endKeyPtr,
+          endKey == null ? 0 : endKey.length);
+      if (log.isDebugEnabled()) {
+        log.debug("Successfully compact range of cf:{}", columnFamilyName);
+      }
+    }
+  }
+
   @Override
   public void deleteRange(
       String columnFamilyName,
@@ -744,6 +967,20 @@ class RocksDbImpl implements RocksDb {
   @Override
   public List<Tuple2<byte[], byte[]>> multiGet(String columnFamilyName, byte[]... keys)
       throws RocksDbException {
+    return multiGet(readOptionsPtr, columnFamilyName, keys);
+  }
+
+  /**
+   * 使用指定读取配置在指定列族查询多Key
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param keys key列表
+   * @return kv列表
+   * @throws RocksDbException 异常
+   */
+  List<Tuple2<byte[], byte[]>> multiGet(
+      MemorySegment readOptions, String columnFamilyName, byte[]... keys) throws RocksDbException {
     validateColumnFamily(columnFamilyName);
     validateKeys(keys);
     validateOpenStatus();
@@ -765,7 +1002,7 @@ class RocksDbImpl implements RocksDb {
 
       rocksdb_multi_get_cf(
           dbPtr,
-          readOptionsPtr,
+          readOptions,
           columnFamilyHandles,
           size,
           keysPtr,
@@ -794,6 +1031,23 @@ class RocksDbImpl implements RocksDb {
   @Override
   public byte[] get(String columnFamilyName, byte[] key, int offset, int length)
       throws RocksDbException {
+    return get(readOptionsPtr, columnFamilyName, key, offset, length);
+  }
+
+  /**
+   * 使用指定读取配置查询指定列族
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param offset key offset
+   * @param length key length
+   * @return value，不存在时返回null
+   * @throws RocksDbException 异常
+   */
+  @Nullable
+  byte[] get(MemorySegment readOptions, String columnFamilyName, byte[] key, int offset, int length)
+      throws RocksDbException {
     validateColumnFamily(columnFamilyName);
     validateByteArrays(key, offset, length, "Invalid key.");
     validateOpenStatus();
@@ -802,7 +1056,14 @@ class RocksDbImpl implements RocksDb {
       MemorySegment errPtr = newErrPtr(arena);
       MemorySegment valLenPtr = arena.allocate(C_POINTER); // 出参，value长度
       MemorySegment valPtr =
-          rocksdb_get(dbPtr, readOptionsPtr, keyPtr, keyPtr.byteSize(), valLenPtr, errPtr)
+          rocksdb_get_cf(
+                  dbPtr,
+                  readOptions,
+                  columnFamilies.get(columnFamilyName).columnFamilyHandle(),
+                  keyPtr,
+                  keyPtr.byteSize(),
+                  valLenPtr,
+                  errPtr)
               .reinterpret(
                   arena, Utils::free); // 外部方法返回的指针都是global的，需要通过此方法关联大arena的scope，进行资源释放，避免出现内存泄露;
       String errMsg = readErrMsgAndFree(errPtr);
@@ -842,6 +1103,371 @@ class RocksDbImpl implements RocksDb {
     return get(DEFAULT_COLUMN_FAMILY_NAME, key);
   }
 
+  @Override
+  public void delete(MemorySegment key) throws RocksDbException {
+    delete(DEFAULT_COLUMN_FAMILY_NAME, key);
+  }
+
+  @Override
+  public void delete(String columnFamilyName, MemorySegment key) throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateKey(key);
+    validateOpenStatus();
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_delete_cf(
+        dbPtr,
+        writeOptionsPtr,
+        columnFamilies.get(columnFamilyName).columnFamilyHandle(),
+        key,
+        key.byteSize(),
+        outParams.errPtr);
+    String errMsg = readErrMsgAndFree(outParams.errPtr);
+    if (!OK.equals(errMsg)) {
+      throw new RocksDbException(errMsg);
+    }
+  }
+
+  @Override
+  public void put(MemorySegment key, MemorySegment value) throws RocksDbException {
+    put(DEFAULT_COLUMN_FAMILY_NAME, key, value);
+  }
+
+  @Override
+  public void put(String columnFamilyName, MemorySegment key, MemorySegment value)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateKey(key);
+    validateValue(value);
+    validateOpenStatus();
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_put_cf(
+        dbPtr,
+        writeOptionsPtr,
+        columnFamilies.get(columnFamilyName).columnFamilyHandle(),
+        key,
+        key.byteSize(),
+        value,
+        value.byteSize(),
+        outParams.errPtr);
+    String errMsg = readErrMsgAndFree(outParams.errPtr);
+    if (!OK.equals(errMsg)) {
+      throw new RocksDbException(errMsg);
+    }
+  }
+
+  @Override
+  public long get(MemorySegment key, MemorySegment value) throws RocksDbException {
+    return get(DEFAULT_COLUMN_FAMILY_NAME, key, value);
+  }
+
+  @Override
+  public long get(String columnFamilyName, MemorySegment key, MemorySegment value)
+      throws RocksDbException {
+    return get(readOptionsPtr, columnFamilyName, key, value);
+  }
+
+  /**
+   * 使用指定读取配置查询指定列族，将value写入调用方提供的native内存段
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value 结果缓冲区
+   * @return value实际长度，key不存在时返回{@link #NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long get(
+      MemorySegment readOptions, String columnFamilyName, MemorySegment key, MemorySegment value)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateKey(key);
+    validateNativeSegment(value, true, "value must be a native segment.");
+    // 经pinned slice直接复制到调用方缓冲区，避免rocksdb分配中间缓冲区
+    MemorySegment slice = getPinnedSlice(readOptions, columnFamilyName, key);
+    if (NULL.equals(slice)) {
+      return NOT_FOUND;
+    }
+    try {
+      MemorySegment pinned = pinnedValue(slice);
+      long valLen = pinned.byteSize();
+      MemorySegment.copy(pinned, 0, value, 0, Math.min(valLen, value.byteSize()));
+      return valLen;
+    } finally {
+      rocksdb_pinnableslice_destroy(slice);
+    }
+  }
+
+  @Override
+  public long[] multiGet(String columnFamilyName, MemorySegment[] keys, MemorySegment[] values)
+      throws RocksDbException {
+    return multiGet(readOptionsPtr, columnFamilyName, keys, values);
+  }
+
+  /**
+   * 使用指定读取配置在指定列族查询多Key，将各value写入调用方提供的对应native内存段
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param keys key列表
+   * @param values 结果缓冲区列表，与keys一一对应
+   * @return 各value实际长度，key不存在则对应位置为{@link #NOT_FOUND}
+   * @throws RocksDbException 异常
+   */
+  long[] multiGet(
+      MemorySegment readOptions,
+      String columnFamilyName,
+      MemorySegment[] keys,
+      MemorySegment[] values)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateKeys(keys);
+    if (values == null || values.length != keys.length) {
+      throw new IllegalArgumentException("values must have the same length as keys.");
+    }
+    for (MemorySegment value : values) {
+      validateNativeSegment(value, true, "values must be native segments.");
+    }
+    validateOpenStatus();
+    int size = keys.length;
+    long[] lengths = new long[size];
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment columnFamilyHandles = arena.allocate(C_POINTER, size);
+      MemorySegment keysPtr = arena.allocate(C_POINTER, size);
+      MemorySegment keySizesPtr = arena.allocate(JAVA_LONG, size);
+      MemorySegment valuesPtr = arena.allocate(C_POINTER, size);
+      MemorySegment valueSizesPtr = arena.allocate(JAVA_LONG, size);
+      MemorySegment errPtr = arena.allocate(C_POINTER, size);
+      MemorySegment columnFamilyHandle = columnFamilies.get(columnFamilyName).columnFamilyHandle();
+      for (int i = 0; i < size; i++) {
+        columnFamilyHandles.setAtIndex(C_POINTER, i, columnFamilyHandle);
+        keysPtr.setAtIndex(C_POINTER, i, keys[i]);
+        keySizesPtr.setAtIndex(JAVA_LONG, i, keys[i].byteSize());
+      }
+
+      rocksdb_multi_get_cf(
+          dbPtr,
+          readOptions,
+          columnFamilyHandles,
+          size,
+          keysPtr,
+          keySizesPtr,
+          valuesPtr,
+          valueSizesPtr,
+          errPtr);
+
+      // 先释放所有value再抛出异常，避免部分失败时泄露native内存
+      String firstErrMsg = OK;
+      for (int i = 0; i < size; i++) {
+        String errMsg = readErrMsgAndFree(errPtr, i);
+        lengths[i] =
+            copyAndFree(
+                valuesPtr.getAtIndex(C_POINTER, i),
+                valueSizesPtr.getAtIndex(JAVA_LONG, i),
+                values[i]);
+        if (OK.equals(firstErrMsg) && !OK.equals(errMsg)) {
+          firstErrMsg = errMsg;
+        }
+      }
+      if (!OK.equals(firstErrMsg)) {
+        throw new RocksDbException(firstErrMsg);
+      }
+      return lengths;
+    }
+  }
+
+  @Override
+  public void multiGet(String columnFamilyName, MultiGetBatch batch) throws RocksDbException {
+    multiGet(readOptionsPtr, columnFamilyName, batch);
+  }
+
+  /**
+   * 使用指定读取配置批量查询容器中的所有key，value经pinned slice复制到容器结果缓冲区
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param batch 批量查询容器
+   * @throws RocksDbException 异常
+   */
+  void multiGet(MemorySegment readOptions, String columnFamilyName, @NonNull MultiGetBatch batch)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateOpenStatus();
+    int size = batch.size();
+    batch.prepare();
+    if (size == 0) {
+      batch.complete();
+      return;
+    }
+    ColumnFamilyDescriptor descriptor = columnFamilies.get(columnFamilyName);
+    // 自定义比较器的排序与字节序不一致，不能声明已排序
+    rocksdb_batched_multi_get_cf(
+        dbPtr,
+        readOptions,
+        descriptor.columnFamilyHandle(),
+        size,
+        batch.keysPtr,
+        batch.keySizes,
+        batch.valuesPtr,
+        batch.errsPtr,
+        !descriptor.customComparator() && batch.isSorted());
+
+    // 先释放所有slice及错误信息再抛出异常，避免部分失败时泄露native内存
+    String firstErrMsg = OK;
+    for (int i = 0; i < size; i++) {
+      String errMsg = readErrMsgAndFree(batch.errsPtr, i);
+      MemorySegment slice = batch.valuesPtr.getAtIndex(C_POINTER, i);
+      if (NULL.equals(slice)) {
+        batch.setValue(i, null);
+      } else {
+        try {
+          batch.setValue(i, pinnedValue(slice));
+        } finally {
+          rocksdb_pinnableslice_destroy(slice);
+        }
+      }
+      if (OK.equals(firstErrMsg) && !OK.equals(errMsg)) {
+        firstErrMsg = errMsg;
+      }
+    }
+    if (!OK.equals(firstErrMsg)) {
+      throw new RocksDbException(firstErrMsg);
+    }
+    batch.complete();
+  }
+
+  @Override
+  public <R> R getPinned(
+      String columnFamilyName, MemorySegment key, @NonNull Function<MemorySegment, R> reader)
+      throws RocksDbException {
+    return getPinned(readOptionsPtr, columnFamilyName, key, reader);
+  }
+
+  /**
+   * 使用指定读取配置通过pinned slice查询指定列族，value在回调中原地处理
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param reader value处理回调
+   * @return 回调结果，key不存在时不执行回调并返回null
+   * @param <R> 结果类型
+   * @throws RocksDbException 异常
+   */
+  <R> R getPinned(
+      MemorySegment readOptions,
+      String columnFamilyName,
+      MemorySegment key,
+      @NonNull Function<MemorySegment, R> reader)
+      throws RocksDbException {
+    validateKey(key);
+    MemorySegment slice = getPinnedSlice(readOptions, columnFamilyName, key);
+    if (NULL.equals(slice)) {
+      return null;
+    }
+    try {
+      return reader.apply(pinnedValue(slice));
+    } finally {
+      rocksdb_pinnableslice_destroy(slice);
+    }
+  }
+
+  @Override
+  public <R> R getPinned(
+      String columnFamilyName, byte[] key, @NonNull Function<MemorySegment, R> reader)
+      throws RocksDbException {
+    validateKey(key);
+    return getPinned(columnFamilyName, KeyBufferPool.encode(key), reader);
+  }
+
+  @Override
+  @Nullable
+  public RocksDbPinnableSlice getPinned(String columnFamilyName, MemorySegment key)
+      throws RocksDbException {
+    validateKey(key);
+    MemorySegment slice = getPinnedSlice(readOptionsPtr, columnFamilyName, key);
+    if (NULL.equals(slice)) {
+      return null;
+    }
+    RocksDbPinnableSliceImpl handle =
+        new RocksDbPinnableSliceImpl(slice, pinnedValue(slice), pinnedSlices);
+    // 与close并发时句柄可能登记在统一释放之后
+    if (closed.get()) {
+      handle.close();
+      validateOpenStatus();
+    }
+    return handle;
+  }
+
+  @Override
+  @Nullable
+  public RocksDbPinnableSlice getPinned(String columnFamilyName, byte[] key)
+      throws RocksDbException {
+    validateKey(key);
+    return getPinned(columnFamilyName, KeyBufferPool.encode(key));
+  }
+
+  /**
+   * 查询pinned slice
+   *
+   * @param readOptions 读取配置
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @return rocksdb_pinnableslice_t*，key不存在时返回NULL
+   * @throws RocksDbException 异常
+   */
+  private MemorySegment getPinnedSlice(
+      MemorySegment readOptions, String columnFamilyName, MemorySegment key)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateOpenStatus();
+    NativeOutParams outParams = NativeOutParams.current();
+    MemorySegment slice =
+        rocksdb_get_pinned_cf(
+            dbPtr,
+            readOptions,
+            columnFamilies.get(columnFamilyName).columnFamilyHandle(),
+            key,
+            key.byteSize(),
+            outParams.errPtr);
+    String errMsg = readErrMsgAndFree(outParams.errPtr);
+    if (!OK.equals(errMsg)) {
+      throw new RocksDbException(errMsg);
+    }
+    return slice;
+  }
+
+  /**
+   * 获取pinned slice中value的只读视图
+   *
+   * @param slice rocksdb_pinnableslice_t*
+   * @return value视图
+   */
+  private static MemorySegment pinnedValue(MemorySegment slice) {
+    MemorySegment lengthPtr = NativeOutParams.current().lengthPtr;
+    MemorySegment valPtr = rocksdb_pinnableslice_value(slice, lengthPtr);
+    return valPtr.asSlice(0, lengthPtr.get(JAVA_LONG, 0)).asReadOnly();
+  }
+
+  /**
+   * 将rocksdb返回的value复制到调用方缓冲区后释放，超出缓冲区长度的部分被截断
+   *
+   * @param valPtr rocksdb分配的value指针，可能为NULL
+   * @param valLen value长度
+   * @param target 调用方缓冲区
+   * @return value长度，valPtr为NULL时返回{@link #NOT_FOUND}
+   */
+  private static long copyAndFree(MemorySegment valPtr, long valLen, MemorySegment target) {
+    if (NULL.equals(valPtr)) {
+      return NOT_FOUND;
+    }
+    try {
+      MemorySegment.copy(valPtr, 0, target, 0, Math.min(valLen, target.byteSize()));
+      return valLen;
+    } finally {
+      free(valPtr);
+    }
+  }
+
   @Override
   public RocksDbIterator iterator() {
     return iterator(DEFAULT_COLUMN_FAMILY_NAME);
@@ -856,6 +1482,149 @@ class RocksDbImpl implements RocksDb {
             dbPtr, readOptionsPtr, columnFamilies.get(columnFamilyName).columnFamilyHandle()));
   }
 
+  @Override
+  public RocksDbIterator iterator(String columnFamilyName, @NonNull ScanOptions scanOptions) {
+    return iterator(columnFamilyName, scanOptions, null, null);
+  }
+
+  /**
+   * 获取指定列族的有界迭代器
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @param readOptionsCustomizer 迭代器读取配置的附加设置，如：快照，可为null
+   * @param onClose 迭代器关闭后的回调，可为null
+   * @return 迭代器
+   */
+  RocksDbIterator iterator(
+      String columnFamilyName,
+      @NonNull ScanOptions scanOptions,
+      @Nullable Consumer<MemorySegment> readOptionsCustomizer,
+      @Nullable Runnable onClose) {
+    validateColumnFamily(columnFamilyName);
+    validateOpenStatus();
+    ColumnFamilyDescriptor descriptor = columnFamilies.get(columnFamilyName);
+    byte[] prefix = scanOptions.getPrefix();
+    byte[] lowerBound = scanOptions.getLowerBound();
+    byte[] upperBound = scanOptions.getUpperBound();
+
+    // 字节序比较器下前缀范围等价于[prefix, successor(prefix))，由rocksdb在边界处停止
+    if (prefix != null && !descriptor.customComparator()) {
+      if (lowerBound == null) {
+        lowerBound = prefix;
+      }
+      if (upperBound == null) {
+        upperBound = prefixSuccessor(prefix);
+      }
+    }
+
+    MemorySegment scanReadOptions = rocksdb_readoptions_create();
+    Arena boundsArena = Arena.ofShared();
+    try {
+      rocksdb_readoptions_set_fill_cache(scanReadOptions, boolean2Byte(scanOptions.isFillCache()));
+      switch (scanOptions.getPrefixMode()) {
+        case TOTAL_ORDER -> rocksdb_readoptions_set_total_order_seek(scanReadOptions, (byte) 1);
+        case PREFIX_SAME_AS_START ->
+            rocksdb_readoptions_set_prefix_same_as_start(scanReadOptions, (byte) 1);
+      }
+
+      // readoptions仅保存边界指针，边界内存必须在迭代器销毁前保持有效
+      if (lowerBound != null) {
+        MemorySegment lower = boundsArena.allocateFrom(C_CHAR, lowerBound);
+        rocksdb_readoptions_set_iterate_lower_bound(scanReadOptions, lower, lower.byteSize());
+      }
+      if (upperBound != null) {
+        MemorySegment upper = boundsArena.allocateFrom(C_CHAR, upperBound);
+        rocksdb_readoptions_set_iterate_upper_bound(scanReadOptions, upper, upper.byteSize());
+      }
+      if (readOptionsCustomizer != null) {
+        readOptionsCustomizer.accept(scanReadOptions);
+      }
+      return new RocksDbIteratorImpl(
+          rocksdb_create_iterator_cf(dbPtr, scanReadOptions, descriptor.columnFamilyHandle()),
+          scanReadOptions,
+          boundsArena,
+          prefix == null ? null : boundsArena.allocateFrom(C_CHAR, prefix),
+          onClose);
+    } catch (RuntimeException | Error e) {
+      rocksdb_readoptions_destroy(scanReadOptions);
+      boundsArena.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public <R> Stream<R> scan(
+      String columnFamilyName,
+      @NonNull ScanOptions scanOptions,
+      @NonNull BiFunction<MemorySegment, MemorySegment, R> mapper) {
+    return scan(columnFamilyName, scanOptions, mapper, null, null);
+  }
+
+  /**
+   * 扫描指定列族，结果流关闭时释放迭代器
+   *
+   * @param columnFamilyName 列族名称
+   * @param scanOptions 扫描配置
+   * @param mapper kv映射
+   * @param readOptionsCustomizer 迭代器读取配置的附加设置，如：快照，可为null
+   * @param onClose 迭代器关闭后的回调，可为null
+   * @return 结果流
+   * @param <R> 结果类型
+   */
+  <R> Stream<R> scan(
+      String columnFamilyName,
+      @NonNull ScanOptions scanOptions,
+      @NonNull BiFunction<MemorySegment, MemorySegment, R> mapper,
+      @Nullable Consumer<MemorySegment> readOptionsCustomizer,
+      @Nullable Runnable onClose) {
+    byte[] seekTarget = scanOptions.getLowerBound();
+    if (scanOptions.getPrefix() != null && isCustomComparator(columnFamilyName)) {
+      // 自定义比较器无法推导前缀上界，逆序扫描只能从显式上界开始
+      if (scanOptions.isReverse() && scanOptions.getUpperBound() == null) {
+        throw new IllegalArgumentException(
+            "Reverse prefix scan over a column family with custom comparator requires upperBound.");
+      }
+      if (seekTarget == null) {
+        seekTarget = scanOptions.getPrefix();
+      }
+    } else {
+      // 下界已设置到native readoptions，seekToFirst即定位到下界
+      seekTarget = null;
+    }
+
+    RocksDbSpliterator<R> spliterator =
+        new RocksDbSpliterator<>(
+            iterator(columnFamilyName, scanOptions, readOptionsCustomizer, onClose),
+            scanOptions.isReverse(),
+            seekTarget,
+            mapper);
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+  }
+
+  private boolean isCustomComparator(String columnFamilyName) {
+    validateColumnFamily(columnFamilyName);
+    return columnFamilies.get(columnFamilyName).customComparator();
+  }
+
+  /**
+   * 计算字节序下大于所有以prefix开头的key的最小key，即：去掉末尾的0xff后最后一个字节加1
+   *
+   * @param prefix 前缀
+   * @return 上界，prefix全部为0xff时返回null，表示无上界
+   */
+  @Nullable
+  static byte[] prefixSuccessor(byte[] prefix) {
+    for (int i = prefix.length - 1; i >= 0; i--) {
+      if (prefix[i] != (byte) 0xff) {
+        byte[] successor = Arrays.copyOf(prefix, i + 1);
+        successor[i]++;
+        return successor;
+      }
+    }
+    return null;
+  }
+
   private void validateOpenStatus() {
     if (!isOpen()) {
       throw new IllegalStateException("rocksdb status abnormality.");
@@ -875,6 +1644,21 @@ class RocksDbImpl implements RocksDb {
     return columnFamilies.containsKey(columnFamilyName);
   }
 
+  /**
+   * 获取列族handle
+   *
+   * @param columnFamilyName 列族名
+   * @return 列族handle
+   */
+  MemorySegment columnFamilyHandle(String columnFamilyName) {
+    ColumnFamilyDescriptor descriptor = columnFamilies.get(columnFamilyName);
+    if (descriptor == null) {
+      throw new IllegalArgumentException(
+          String.format("Column family %s does not exist.", columnFamilyName));
+    }
+    return descriptor.columnFamilyHandle();
+  }
+
   void validateColumnFamily(String columnFamilyName) {
     if (!isColumnFamilyExist(columnFamilyName)) {
       throw new IllegalArgumentException(
@@ -911,6 +1695,233 @@ class RocksDbImpl implements RocksDb {
     }
   }
 
+  @Override
+  public WriteBehindWriter newWriteBehindWriter(@NonNull WriteBehindOptions writeBehindOptions) {
+    validateOpenStatus();
+    WriteBehindWriterImpl writer = new WriteBehindWriterImpl(this, writeBehindOptions, writers);
+    // 与close并发时写入器可能登记在统一关闭之后
+    if (closed.get()) {
+      writer.close();
+      validateOpenStatus();
+    }
+    return writer;
+  }
+
+  @Override
+  public SstFileWriter newSstFileWriter(String columnFamilyName, @NonNull Path path)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateOpenStatus();
+    return new SstFileWriterImpl(columnFamilies.get(columnFamilyName).columnFamilyOptions(), path);
+  }
+
+  @Override
+  public void ingestExternalFile(
+      String columnFamilyName, @NonNull List<Path> files, @NonNull IngestOptions ingestOptions)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    if (files.isEmpty()) {
+      throw new IllegalArgumentException("files must not be empty.");
+    }
+    validateOpenStatus();
+    MemorySegment options = createIngestOptions(ingestOptions);
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment fileList = arena.allocate(C_POINTER, files.size());
+      for (int i = 0; i < files.size(); i++) {
+        fileList.setAtIndex(C_POINTER, i, arena.allocateFrom(files.get(i).toString(), UTF_8));
+      }
+      MemorySegment errPtr = newErrPtr(arena);
+      rocksdb_ingest_external_file_cf(
+          dbPtr,
+          columnFamilies.get(columnFamilyName).columnFamilyHandle(),
+          fileList,
+          files.size(),
+          options,
+          errPtr);
+      String errMsg = readErrMsgAndFree(errPtr);
+      if (OK.equals(errMsg)) {
+        if (log.isDebugEnabled()) {
+          log.debug("Successfully ingested files:{} into cf:{}", files, columnFamilyName);
+        }
+      } else {
+        throw new RocksDbException(errMsg);
+      }
+    } finally {
+      rocksdb_ingestexternalfileoptions_destroy(options);
+    }
+  }
+
+  /**
+   * 根据导入配置创建native导入选项，调用方负责释放
+   *
+   * @param ingestOptions 导入配置
+   * @return 导入选项指针
+   */
+  private static MemorySegment createIngestOptions(IngestOptions ingestOptions) {
+    MemorySegment options = rocksdb_ingestexternalfileoptions_create();
+    rocksdb_ingestexternalfileoptions_set_move_files(
+        options, boolean2Byte(ingestOptions.isMoveFiles()));
+    rocksdb_ingestexternalfileoptions_set_snapshot_consistency(
+        options, boolean2Byte(ingestOptions.isSnapshotConsistency()));
+    rocksdb_ingestexternalfileoptions_set_allow_global_seqno(
+        options, boolean2Byte(ingestOptions.isAllowGlobalSeqNo()));
+    rocksdb_ingestexternalfileoptions_set_allow_blocking_flush(
+        options, boolean2Byte(ingestOptions.isAllowBlockingFlush()));
+    rocksdb_ingestexternalfileoptions_set_ingest_behind(
+        options, boolean2Byte(ingestOptions.isIngestBehind()));
+    rocksdb_ingestexternalfileoptions_set_fail_if_not_bottommost_level(
+        options, boolean2Byte(ingestOptions.isFailIfNotBottommostLevel()));
+    return options;
+  }
+
+  @Override
+  public long ingest(
+      String columnFamilyName,
+      @NonNull Iterator<Tuple2<byte[], byte[]>> sortedKvPairs,
+      @NonNull IngestOptions ingestOptions)
+      throws RocksDbException {
+    validateColumnFamily(columnFamilyName);
+    validateOpenStatus();
+    Path workDir =
+        ingestOptions.getWorkDir() != null
+            ? Paths.get(ingestOptions.getWorkDir())
+            : Paths.get(config.getPersistDataPath()).resolve("ingest");
+    String batchId = UUID.randomUUID().toString();
+    List<Path> files = new ArrayList<>();
+    SstFileWriter writer = null;
+    long entries = 0;
+    try {
+      Files.createDirectories(workDir);
+      while (sortedKvPairs.hasNext()) {
+        Tuple2<byte[], byte[]> kvPair = sortedKvPairs.next();
+        if (writer == null) {
+          // 数据严格递增，滚动生成的文件之间key范围互不重叠
+          Path file = workDir.resolve(String.format("%s-%d.sst", batchId, files.size()));
+          files.add(file);
+          writer = newSstFileWriter(columnFamilyName, file);
+        }
+        writer.put(kvPair.t1(), kvPair.t2());
+        entries++;
+        if (writer.fileSize() >= ingestOptions.getTargetFileSize()) {
+          writer.finish();
+          writer.close();
+          writer = null;
+        }
+      }
+      if (writer != null) {
+        writer.finish();
+      }
+      if (!files.isEmpty()) {
+        ingestExternalFile(columnFamilyName, files, ingestOptions);
+      }
+      return entries;
+    } catch (IOException e) {
+      throw new RocksDbException(e);
+    } finally {
+      if (writer != null) {
+        writer.close();
+      }
+      // 导入时文件被复制或硬链接，临时文件可直接删除
+      files.forEach(RocksDbImpl::deleteIngestFile);
+    }
+  }
+
+  private static void deleteIngestFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete ingest file:{}", file, e);
+    }
+  }
+
+  @Nullable
+  private ScheduledExecutorService startStatisticsSampler(Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      return null;
+    }
+    ScheduledExecutorService sampler =
+        Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("rocksdb-statistics-sampler").daemon().factory());
+    sampler.scheduleWithFixedDelay(
+        () -> {
+          try {
+            if (isOpen()) {
+              sampleStatistics();
+            }
+          } catch (Exception e) {
+            log.error("Failed to sample rocksdb statistics.", e);
+          }
+        },
+        interval.toMillis(),
+        interval.toMillis(),
+        TimeUnit.MILLISECONDS);
+    return sampler;
+  }
+
+  private void stopStatisticsSampler() {
+    if (statisticsSampler == null) {
+      return;
+    }
+    statisticsSampler.shutdownNow();
+    try {
+      // 等待进行中的采样结束，避免访问已释放的native资源
+      if (!statisticsSampler.awaitTermination(5, TimeUnit.SECONDS)) {
+        log.warn("Timed out waiting for rocksdb statistics sampler to terminate.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public StatisticsSnapshot statistics() {
+    StatisticsSnapshot snapshot = latestStatistics;
+    return snapshot != null ? snapshot : sampleStatistics();
+  }
+
+  @Override
+  public StatisticsSnapshot sampleStatistics() {
+    validateOpenStatus();
+    String statistics = OK;
+    if (config.isEnableStatistics()) {
+      MemorySegment statisticsPtr = rocksdb_options_statistics_get_string(dbOptionsPtr);
+      if (!NULL.equals(statisticsPtr)) {
+        try {
+          long length = strlen(statisticsPtr);
+          statistics = length > 0 ? getUtf8String(statisticsPtr, length) : OK;
+        } finally {
+          free(statisticsPtr);
+        }
+      }
+    }
+
+    Map<String, Map<String, Long>> properties = new HashMap<>();
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment valuePtr = arena.allocate(JAVA_LONG);
+      List<String> names = config.getStatisticsProperties();
+      List<MemorySegment> namePtrs = names.stream().map(n -> arena.allocateFrom(n, UTF_8)).toList();
+      columnFamilies.forEach(
+          (columnFamilyName, descriptor) -> {
+            MemorySegment handle = descriptor.columnFamilyHandle();
+            if (handle == null) {
+              return; // 列族已删除
+            }
+            Map<String, Long> values = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+              // 返回0表示属性存在且为整型
+              if (rocksdb_property_int_cf(dbPtr, handle, namePtrs.get(i), valuePtr) == 0) {
+                values.put(names.get(i), valuePtr.get(JAVA_LONG, 0));
+              }
+            }
+            properties.put(columnFamilyName, values);
+          });
+    }
+
+    StatisticsSnapshot snapshot = StatisticsSnapshot.parse(Instant.now(), statistics, properties);
+    latestStatistics = snapshot;
+    return snapshot;
+  }
+
   @Override
   public MemorySegment createSnapshot() {
     return rocksdb_create_snapshot(dbPtr);
@@ -921,6 +1932,18 @@ class RocksDbImpl implements RocksDb {
     rocksdb_release_snapshot(dbPtr, snapshot);
   }
 
+  @Override
+  public ReadSession openReadSession(@NonNull ReadSessionOptions readSessionOptions) {
+    validateOpenStatus();
+    ReadSessionImpl session = new ReadSessionImpl(this, readSessionOptions, readSessions);
+    // 与close并发时会话可能登记在统一释放之后
+    if (closed.get()) {
+      session.close();
+      validateOpenStatus();
+    }
+    return session;
+  }
+
   /**
    * ToString
    *
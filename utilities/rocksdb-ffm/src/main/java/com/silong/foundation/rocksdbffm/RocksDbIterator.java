@@ -21,7 +21,11 @@
 
 package com.silong.foundation.rocksdbffm;
 
+import static com.silong.foundation.rocksdbffm.Utils.directBufferSegment;
+
 import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
 
 /**
  * Defines the interface for an Iterator which provides access to data one entry at a time. Multiple
@@ -78,6 +82,38 @@ public interface RocksDbIterator extends AutoCloseable {
    */
   void seekForPrev(byte[] target);
 
+  /**
+   * Position at the first entry in the source whose key is at or past target.
+   *
+   * @param target native segment describing a key or a key prefix to seek for, not copied.
+   */
+  void seek(MemorySegment target);
+
+  /**
+   * Position at the first entry in the source whose key is at or past target.
+   *
+   * @param target direct buffer whose [position, limit) describes a key or a key prefix.
+   */
+  default void seek(ByteBuffer target) {
+    seek(directBufferSegment(target, false, "target must be a direct buffer."));
+  }
+
+  /**
+   * Position at the first entry in the source whose key is that or before target.
+   *
+   * @param target native segment describing a key or a key prefix to seek for, not copied.
+   */
+  void seekForPrev(MemorySegment target);
+
+  /**
+   * Position at the first entry in the source whose key is that or before target.
+   *
+   * @param target direct buffer whose [position, limit) describes a key or a key prefix.
+   */
+  default void seekForPrev(ByteBuffer target) {
+    seekForPrev(directBufferSegment(target, false, "target must be a direct buffer."));
+  }
+
   /**
    * Moves to the next entry in the source. After this call, Valid() is true if the iterator was not
    * positioned at the last entry in the source.
@@ -118,6 +154,50 @@ public interface RocksDbIterator extends AutoCloseable {
    */
   byte[] getValue();
 
+  /**
+   * 返回iterator当前所在position对应的entry的key的只读native视图，不发生复制。<br>
+   * 视图借用自迭代器内部缓冲区，仅在迭代器下一次移动或关闭前有效。
+   *
+   * @return key视图
+   */
+  MemorySegment keyView();
+
+  /**
+   * 返回iterator当前所在position对应的entry的value的只读native视图，不发生复制。<br>
+   * 视图借用自迭代器内部缓冲区，仅在迭代器下一次移动或关闭前有效。
+   *
+   * @return value视图
+   */
+  MemorySegment valueView();
+
+  /**
+   * 将当前entry的key复制到direct buffer的position处，不改变position，limit被设置为写入数据的结束位置
+   *
+   * @param key 结果缓冲区
+   * @return key实际长度，超出缓冲区的部分被截断
+   */
+  default int getKey(ByteBuffer key) {
+    return copyTo(keyView(), key);
+  }
+
+  /**
+   * 将当前entry的value复制到direct buffer的position处，不改变position，limit被设置为写入数据的结束位置
+   *
+   * @param value 结果缓冲区
+   * @return value实际长度，超出缓冲区的部分被截断
+   */
+  default int getValue(ByteBuffer value) {
+    return copyTo(valueView(), value);
+  }
+
+  private static int copyTo(MemorySegment view, ByteBuffer buffer) {
+    MemorySegment target = directBufferSegment(buffer, true, "buffer must be a direct buffer.");
+    long length = Math.min(view.byteSize(), target.byteSize());
+    MemorySegment.copy(view, 0, target, 0, length);
+    buffer.limit(buffer.position() + (int) length);
+    return (int) Math.min(view.byteSize(), Integer.MAX_VALUE);
+  }
+
   /** free resources */
   @Override
   void close();
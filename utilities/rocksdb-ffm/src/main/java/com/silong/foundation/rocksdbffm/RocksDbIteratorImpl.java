@@ -31,7 +31,9 @@ import java.io.Serial;
 import java.io.Serializable;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import javax.annotation.Nullable;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 
@@ -50,34 +52,89 @@ class RocksDbIteratorImpl implements RocksDbIterator, Serializable {
   /** 迭代器 */
   @NonNull private MemorySegment iterator;
 
-  private byte[] get(BiFunction<MemorySegment, MemorySegment, MemorySegment> function) {
-    try (Arena arena = Arena.ofConfined()) {
-      MemorySegment lengthPtr = arena.allocate(C_POINTER);
-      MemorySegment keyPtr = function.apply(iterator, lengthPtr);
-      long length = lengthPtr.get(JAVA_LONG, 0);
-      //      keyPtr = keyPtr.reinterpret(arena, Utils::free); // 迭代器返回的结果为const char* 无需释放
-      return keyPtr.asSlice(0, length).toArray(C_CHAR);
-    }
+  /** 迭代器独占的读取配置，其中的边界指针在迭代器生命周期内必须有效，随迭代器一起释放 */
+  @Nullable private final transient MemorySegment readOptions;
+
+  /** 边界key所在内存，随迭代器一起释放 */
+  @Nullable private final transient Arena boundsArena;
+
+  /** key前缀，非null时迭代到不以此前缀开头的key即视为无效 */
+  @Nullable private final transient MemorySegment prefix;
+
+  /** 迭代器关闭后的回调，如：释放读取会话引用 */
+  @Nullable private final transient Runnable onClose;
+
+  /** 关闭标识，保证native资源只释放一次 */
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * 构造方法
+   *
+   * @param iterator 迭代器
+   */
+  RocksDbIteratorImpl(@NonNull MemorySegment iterator) {
+    this(iterator, null, null, null, null);
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param iterator 迭代器
+   * @param readOptions 迭代器独占的读取配置
+   * @param boundsArena 边界key所在内存
+   * @param prefix key前缀
+   */
+  RocksDbIteratorImpl(
+      @NonNull MemorySegment iterator,
+      @Nullable MemorySegment readOptions,
+      @Nullable Arena boundsArena,
+      @Nullable MemorySegment prefix) {
+    this(iterator, readOptions, boundsArena, prefix, null);
+  }
+
+  private MemorySegment view(BiFunction<MemorySegment, MemorySegment, MemorySegment> function) {
+    MemorySegment lengthPtr = NativeOutParams.current().lengthPtr;
+    MemorySegment ptr = function.apply(iterator, lengthPtr);
+    // 迭代器返回的结果为const char*，由迭代器持有，无需释放
+    return ptr.asSlice(0, lengthPtr.get(JAVA_LONG, 0)).asReadOnly();
+  }
+
+  @Override
+  public MemorySegment keyView() {
+    return view(RocksDB::rocksdb_iter_key);
+  }
+
+  @Override
+  public MemorySegment valueView() {
+    return view(RocksDB::rocksdb_iter_value);
   }
 
   @Override
   public byte[] getKey() {
-    return get(RocksDB::rocksdb_iter_key);
+    return keyView().toArray(C_CHAR);
   }
 
   @Override
   public byte[] getValue() {
-    return get(RocksDB::rocksdb_iter_value);
+    return valueView().toArray(C_CHAR);
   }
 
   @Override
   public Tuple2<byte[], byte[]> get() {
-    return new Tuple2<>(get(RocksDB::rocksdb_iter_key), get(RocksDB::rocksdb_iter_value));
+    return new Tuple2<>(getKey(), getValue());
   }
 
   @Override
   public boolean isValid() {
-    return rocksdb_iter_valid(iterator) != 0;
+    if (rocksdb_iter_valid(iterator) == 0) {
+      return false;
+    }
+    if (prefix == null) {
+      return true;
+    }
+    MemorySegment key = keyView();
+    return key.byteSize() >= prefix.byteSize()
+        && MemorySegment.mismatch(key, 0, prefix.byteSize(), prefix, 0, prefix.byteSize()) == -1;
   }
 
   @Override
@@ -120,6 +177,18 @@ class RocksDbIteratorImpl implements RocksDbIterator, Serializable {
     }
   }
 
+  @Override
+  public void seek(MemorySegment target) {
+    validateKey(target);
+    rocksdb_iter_seek(iterator, target, target.byteSize());
+  }
+
+  @Override
+  public void seekForPrev(MemorySegment target) {
+    validateKey(target);
+    rocksdb_iter_seek_for_prev(iterator, target, target.byteSize());
+  }
+
   @Override
   public void next() {
     rocksdb_iter_next(iterator);
@@ -132,6 +201,19 @@ class RocksDbIteratorImpl implements RocksDbIterator, Serializable {
 
   @Override
   public void close() {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
     rocksdb_iter_destroy(iterator);
+    // 迭代器引用读取配置中的边界，必须在迭代器销毁后释放
+    if (readOptions != null) {
+      rocksdb_readoptions_destroy(readOptions);
+    }
+    if (boundsArena != null) {
+      boundsArena.close();
+    }
+    if (onClose != null) {
+      onClose.run();
+    }
   }
 }
@@ -0,0 +1,55 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.rocksdbffm;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * 通过rocksdb_get_pinned_cf查询得到的value句柄，value直接引用block cache或memtable中的数据，不发生复制。<br>
+ * 句柄持有期间对应数据块被pin住无法淘汰，使用完毕必须尽快关闭。<br>
+ * 数据库关闭时会释放所有未关闭的句柄，此后访问句柄抛出异常；未关闭的句柄被GC回收时会释放native资源并记录泄露。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 16:10
+ */
+public interface RocksDbPinnableSlice extends AutoCloseable {
+
+  /**
+   * 返回value的只读native视图，仅在句柄关闭前有效
+   *
+   * @return value视图
+   * @throws IllegalStateException 句柄已关闭
+   */
+  MemorySegment value();
+
+  /**
+   * 复制value
+   *
+   * @return value bytes
+   * @throws IllegalStateException 句柄已关闭
+   */
+  byte[] toByteArray();
+
+  /** 释放pinned slice */
+  @Override
+  void close();
+}
@@ -0,0 +1,183 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.generated.RocksDB.rocksdb_pinnableslice_destroy;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.Cleaner;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * pinned slice句柄实现<br>
+ * 句柄登记在所属数据库中，数据库关闭时释放所有未关闭的句柄；Cleaner仅作为未关闭句柄被GC回收时的兜底释放。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 16:10
+ */
+@Slf4j
+class RocksDbPinnableSliceImpl implements RocksDbPinnableSlice {
+
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  /** 当前未关闭的句柄数量 */
+  private static final AtomicLong OPENED = new AtomicLong();
+
+  /** 未关闭即被GC回收的句柄数量 */
+  private static final AtomicLong LEAKED = new AtomicLong();
+
+  /**
+   * native资源释放动作，不可引用句柄本身，否则句柄永远无法被回收
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 16:10
+   */
+  static final class Release implements Runnable {
+
+    private final MemorySegment slice;
+
+    /** 所属数据库登记的未关闭句柄 */
+    private final Set<Release> registry;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    Release(MemorySegment slice, Set<Release> registry) {
+      this.slice = slice;
+      this.registry = registry;
+    }
+
+    /**
+     * 释放native资源
+     *
+     * @param leaked 是否由GC触发
+     */
+    void release(boolean leaked) {
+      if (released.compareAndSet(false, true)) {
+        registry.remove(this);
+        rocksdb_pinnableslice_destroy(slice);
+        OPENED.decrementAndGet();
+        if (leaked) {
+          LEAKED.incrementAndGet();
+          log.warn("A pinnable slice was garbage collected without being closed: {}", slice);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      release(true);
+    }
+  }
+
+  private final MemorySegment value;
+
+  private final Release release;
+
+  private final Cleaner.Cleanable cleanable;
+
+  /**
+   * 构造方法
+   *
+   * @param slice rocksdb_pinnableslice_t*
+   * @param value slice中value的只读视图
+   * @param registry 所属数据库登记的未关闭句柄
+   */
+  RocksDbPinnableSliceImpl(
+      @NonNull MemorySegment slice, @NonNull MemorySegment value, @NonNull Set<Release> registry) {
+    this.value = value;
+    this.release = new Release(slice, registry);
+    OPENED.incrementAndGet();
+    registry.add(release);
+    this.cleanable = CLEANER.register(this, release);
+  }
+
+  /**
+   * 释放所有登记的未关闭句柄，须在数据库及块缓存释放前调用
+   *
+   * @param registry 所属数据库登记的未关闭句柄
+   * @return 释放的句柄数量
+   */
+  static int releaseAll(@NonNull Set<Release> registry) {
+    int count = 0;
+    for (Release release : List.copyOf(registry)) {
+      if (release.released.compareAndSet(false, true)) {
+        registry.remove(release);
+        rocksdb_pinnableslice_destroy(release.slice);
+        OPENED.decrementAndGet();
+        count++;
+      }
+    }
+    if (count > 0) {
+      log.warn("{} pinnable slices were still open when rocksdb was closed.", count);
+    }
+    return count;
+  }
+
+  /**
+   * 当前未关闭的句柄数量
+   *
+   * @return 数量
+   */
+  static long opened() {
+    return OPENED.get();
+  }
+
+  /**
+   * 未关闭即被GC回收的句柄数量
+   *
+   * @return 数量
+   */
+  static long leaked() {
+    return LEAKED.get();
+  }
+
+  private void validateOpenStatus() {
+    if (release.released.get()) {
+      throw new IllegalStateException("pinnable slice has been closed.");
+    }
+  }
+
+  @Override
+  public MemorySegment value() {
+    validateOpenStatus();
+    return value;
+  }
+
+  @Override
+  public byte[] toByteArray() {
+    validateOpenStatus();
+    return value.toArray(JAVA_BYTE);
+  }
+
+  @Override
+  public void close() {
+    release.release(false);
+    cleanable.clean();
+  }
+}
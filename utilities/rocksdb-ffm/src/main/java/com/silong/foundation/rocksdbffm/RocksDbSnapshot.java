@@ -21,6 +21,7 @@
 
 package com.silong.foundation.rocksdbffm;
 
+import com.silong.foundation.rocksdbffm.options.ReadSessionOptions;
 import java.lang.foreign.MemorySegment;
 
 /**
@@ -45,4 +46,21 @@ public interface RocksDbSnapshot {
    * @param snapshot 快照
    */
   void releaseSnapshot(MemorySegment snapshot);
+
+  /**
+   * 基于新建快照打开读取会话，会话内所有读取操作看到同一时刻的数据，会话可在多线程间共享，须由调用方关闭
+   *
+   * @param readSessionOptions 会话配置
+   * @return 读取会话
+   */
+  ReadSession openReadSession(ReadSessionOptions readSessionOptions);
+
+  /**
+   * 使用默认配置打开读取会话
+   *
+   * @return 读取会话
+   */
+  default ReadSession openReadSession() {
+    return openReadSession(ReadSessionOptions.DEFAULT);
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+
+/**
+ * 基于迭代器的顺序Spliterator，迭代结束、出现异常或所属Stream关闭时释放迭代器
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 19:30
+ * @param <R> 元素类型
+ */
+final class RocksDbSpliterator<R> extends AbstractSpliterator<R> {
+
+  /** 迭代器 */
+  private final RocksDbIterator iterator;
+
+  /** 是否逆序 */
+  private final boolean reverse;
+
+  /** 正序扫描时的seek目标，null表示seekToFirst */
+  @Nullable private final byte[] seekTarget;
+
+  /** 将key、value只读视图转换为结果，视图仅在回调内有效 */
+  private final BiFunction<MemorySegment, MemorySegment, R> mapper;
+
+  /** 是否已定位到扫描起点 */
+  private boolean started;
+
+  /** 是否已结束 */
+  private boolean finished;
+
+  /**
+   * 构造方法
+   *
+   * @param iterator 迭代器，所有权转移给spliterator
+   * @param reverse 是否逆序
+   * @param seekTarget 正序扫描时的seek目标，null表示seekToFirst
+   * @param mapper 结果转换
+   */
+  RocksDbSpliterator(
+      @NonNull RocksDbIterator iterator,
+      boolean reverse,
+      @Nullable byte[] seekTarget,
+      @NonNull BiFunction<MemorySegment, MemorySegment, R> mapper) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    this.iterator = iterator;
+    this.reverse = reverse;
+    this.seekTarget = seekTarget;
+    this.mapper = mapper;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super R> action) {
+    if (finished) {
+      return false;
+    }
+    try {
+      if (!started) {
+        started = true;
+        if (reverse) {
+          iterator.seekToLast();
+        } else if (seekTarget != null) {
+          iterator.seek(seekTarget);
+        } else {
+          iterator.seekToFirst();
+        }
+      } else if (reverse) {
+        iterator.prev();
+      } else {
+        iterator.next();
+      }
+
+      if (iterator.isValid()) {
+        action.accept(mapper.apply(iterator.keyView(), iterator.valueView()));
+        return true;
+      }
+      iterator.checkStatus();
+    } catch (RocksDbException e) {
+      close();
+      throw new IllegalStateException(e);
+    } catch (RuntimeException | Error e) {
+      close();
+      throw e;
+    }
+    close();
+    return false;
+  }
+
+  /** 释放迭代器 */
+  void close() {
+    finished = true;
+    iterator.close();
+  }
+}
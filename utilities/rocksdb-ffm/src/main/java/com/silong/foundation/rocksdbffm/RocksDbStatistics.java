@@ -0,0 +1,48 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import com.silong.foundation.rocksdbffm.statistics.StatisticsSnapshot;
+
+/**
+ * rocksdb统计数据相关操作接口
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 22:00
+ */
+public interface RocksDbStatistics {
+
+  /**
+   * 获取最近一次周期采样的统计数据快照，尚未采样时立即采样
+   *
+   * @return 统计数据快照
+   */
+  StatisticsSnapshot statistics();
+
+  /**
+   * 立即采样统计数据，并作为最近一次采样结果
+   *
+   * @return 统计数据快照
+   */
+  StatisticsSnapshot sampleStatistics();
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * SST文件写入器，离线生成可直接导入列族的SST文件，写入器使用目标列族的options，因此比较器与目标列族一致。<br>
+ * 1. key必须按列族比较器严格递增写入，否则写入失败<br>
+ * 2. 调用{@link #finish()}后文件才完整可用，未finish即关闭的写入器生成的文件不可导入<br>
+ * 3. 未写入任何entry的写入器不能finish
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 23:10
+ */
+@NotThreadSafe
+public interface SstFileWriter extends AutoCloseable {
+
+  /**
+   * 写入kv键值对
+   *
+   * @param key key
+   * @param value value
+   * @throws RocksDbException 异常
+   */
+  void put(byte[] key, byte[] value) throws RocksDbException;
+
+  /**
+   * 写入kv键值对，key和value为调用方持有的native内存段，不发生复制
+   *
+   * @param key key
+   * @param value value
+   * @throws RocksDbException 异常
+   */
+  void put(MemorySegment key, MemorySegment value) throws RocksDbException;
+
+  /**
+   * 写入删除标记，导入后覆盖列族中已存在的同名key
+   *
+   * @param key key
+   * @throws RocksDbException 异常
+   */
+  void delete(byte[] key) throws RocksDbException;
+
+  /**
+   * 写入范围删除标记[startKey, endKey)，范围删除不受key递增顺序限制
+   *
+   * @param startKey 起始key(包含)
+   * @param endKey 结束key(不包含)
+   * @throws RocksDbException 异常
+   */
+  void deleteRange(byte[] startKey, byte[] endKey) throws RocksDbException;
+
+  /**
+   * 已写入的entry数量，包括删除标记
+   *
+   * @return entry数量
+   */
+  long entries();
+
+  /**
+   * 当前文件大小估算值
+   *
+   * @return 字节数
+   */
+  long fileSize();
+
+  /**
+   * SST文件路径
+   *
+   * @return 路径
+   */
+  Path path();
+
+  /**
+   * 完成写入并落盘，此后写入器不可再写入
+   *
+   * @return SST文件路径
+   * @throws RocksDbException 异常
+   */
+  Path finish() throws RocksDbException;
+
+  /** 释放native资源，不删除已生成的文件 */
+  @Override
+  void close();
+}
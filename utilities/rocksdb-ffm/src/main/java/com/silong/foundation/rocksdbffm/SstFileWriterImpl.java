@@ -0,0 +1,226 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.Utils.*;
+import static com.silong.foundation.rocksdbffm.generated.RocksDB.*;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SST文件写入器实现
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 23:10
+ */
+@Slf4j
+@ToString
+class SstFileWriterImpl implements SstFileWriter {
+
+  /** kv编码缓冲区初始容量 */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /** SST文件路径 */
+  private final Path path;
+
+  /** 写入器指针 */
+  @ToString.Exclude private final MemorySegment writer;
+
+  /** kv编码复用缓冲区，写入器非线程安全，因此无需线程私有；由Arena.ofAuto()分配，扩容后旧缓冲区随GC释放 */
+  @ToString.Exclude private MemorySegment buffer = Arena.ofAuto().allocate(INITIAL_CAPACITY);
+
+  /** 已写入entry数量 */
+  private long entries;
+
+  /** 是否已完成写入 */
+  private boolean finished;
+
+  /** 关闭标识 */
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  /**
+   * 构造方法，创建写入器并打开文件
+   *
+   * @param columnFamilyOptions 目标列族options，写入器持有其副本
+   * @param path SST文件路径，已存在则覆盖
+   * @throws RocksDbException 打开文件失败
+   */
+  SstFileWriterImpl(@NonNull MemorySegment columnFamilyOptions, @NonNull Path path)
+      throws RocksDbException {
+    this.path = path;
+    MemorySegment envOptions = rocksdb_envoptions_create();
+    try {
+      // 写入器持有env options副本，创建后即可释放
+      this.writer = rocksdb_sstfilewriter_create(envOptions, columnFamilyOptions);
+    } finally {
+      rocksdb_envoptions_destroy(envOptions);
+    }
+
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment errPtr = newErrPtr(arena);
+      rocksdb_sstfilewriter_open(writer, arena.allocateFrom(path.toString(), UTF_8), errPtr);
+      String errMsg = readErrMsgAndFree(errPtr);
+      if (!OK.equals(errMsg)) {
+        close();
+        throw new RocksDbException(errMsg);
+      }
+    }
+  }
+
+  @Override
+  public void put(byte[] key, byte[] value) throws RocksDbException {
+    validateKey(key);
+    validateValue(value);
+    MemorySegment kv = encode(key, value);
+    put(kv.asSlice(0, key.length), kv.asSlice(key.length, value.length));
+  }
+
+  @Override
+  public void put(MemorySegment key, MemorySegment value) throws RocksDbException {
+    validateKey(key);
+    validateValue(value);
+    validateWritable();
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_sstfilewriter_put(
+        writer, key, key.byteSize(), value, value.byteSize(), outParams.errPtr);
+    checkAndCount(outParams.errPtr);
+  }
+
+  @Override
+  public void delete(byte[] key) throws RocksDbException {
+    validateKey(key);
+    validateWritable();
+    MemorySegment keyPtr = encode(key, null);
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_sstfilewriter_delete(writer, keyPtr, keyPtr.byteSize(), outParams.errPtr);
+    checkAndCount(outParams.errPtr);
+  }
+
+  @Override
+  public void deleteRange(byte[] startKey, byte[] endKey) throws RocksDbException {
+    validateByteArrays(startKey, "Invalid startKey.");
+    validateByteArrays(endKey, "Invalid endKey.");
+    validateWritable();
+    MemorySegment range = encode(startKey, endKey);
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_sstfilewriter_delete_range(
+        writer,
+        range,
+        startKey.length,
+        range.asSlice(startKey.length),
+        endKey.length,
+        outParams.errPtr);
+    checkAndCount(outParams.errPtr);
+  }
+
+  @Override
+  public long entries() {
+    return entries;
+  }
+
+  @Override
+  public long fileSize() {
+    if (closed.get()) {
+      return 0;
+    }
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_sstfilewriter_file_size(writer, outParams.lengthPtr);
+    return outParams.lengthPtr.get(JAVA_LONG, 0);
+  }
+
+  @Override
+  public Path path() {
+    return path;
+  }
+
+  @Override
+  public Path finish() throws RocksDbException {
+    validateWritable();
+    if (entries == 0) {
+      throw new IllegalStateException("Can not finish an sst file without any entry.");
+    }
+    NativeOutParams outParams = NativeOutParams.current();
+    rocksdb_sstfilewriter_finish(writer, outParams.errPtr);
+    String errMsg = readErrMsgAndFree(outParams.errPtr);
+    if (!OK.equals(errMsg)) {
+      throw new RocksDbException(errMsg);
+    }
+    finished = true;
+    if (log.isDebugEnabled()) {
+      log.debug("Successfully finished sst file:{}, entries:{}", path, entries);
+    }
+    return path;
+  }
+
+  @Override
+  public void close() {
+    if (closed.compareAndSet(false, true)) {
+      rocksdb_sstfilewriter_destroy(writer);
+    }
+  }
+
+  private void validateWritable() {
+    if (closed.get()) {
+      throw new IllegalStateException("sst file writer has been closed.");
+    }
+    if (finished) {
+      throw new IllegalStateException("sst file writer has been finished.");
+    }
+  }
+
+  private void checkAndCount(MemorySegment errPtr) throws RocksDbException {
+    String errMsg = readErrMsgAndFree(errPtr);
+    if (!OK.equals(errMsg)) {
+      throw new RocksDbException(errMsg);
+    }
+    entries++;
+  }
+
+  /**
+   * 将两个字节数组依次编码至复用缓冲区
+   *
+   * @param first 第一个字节数组
+   * @param second 第二个字节数组，可为null
+   * @return 编码后的内存段
+   */
+  private MemorySegment encode(byte[] first, byte[] second) {
+    int length = first.length + (second == null ? 0 : second.length);
+    if (buffer.byteSize() < length) {
+      buffer = Arena.ofAuto().allocate(Integer.highestOneBit(length - 1) << 1);
+    }
+    MemorySegment.copy(first, 0, buffer, JAVA_BYTE, 0, first.length);
+    if (second != null) {
+      MemorySegment.copy(second, 0, buffer, JAVA_BYTE, first.length, second.length);
+    }
+    return buffer.asSlice(0, length);
+  }
+}
@@ -33,6 +33,7 @@ import java.lang.foreign.FunctionDescriptor;
 import java.lang.foreign.Linker;
 import java.lang.foreign.MemorySegment;
 import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
@@ -122,6 +123,52 @@ public class Utils {
     }
   }
 
+  public static void validateKey(MemorySegment key) {
+    validateNativeSegment(key, false, "key must be a non-empty native segment.");
+  }
+
+  public static void validateKeys(MemorySegment... keys) {
+    if (keys == null
+        || keys.length == 0
+        || Arrays.stream(keys).anyMatch(k -> k == null || !k.isNative() || k.byteSize() == 0)) {
+      throw new IllegalArgumentException("keys must be non-empty native segments.");
+    }
+  }
+
+  public static void validateValue(MemorySegment value) {
+    validateNativeSegment(value, false, "value must be a non-empty native segment.");
+  }
+
+  /**
+   * 校验内存段为native内存，native方法无法直接访问堆内存段
+   *
+   * @param segment 内存段
+   * @param allowEmpty 是否允许长度为0
+   * @param message 异常信息
+   */
+  public static void validateNativeSegment(
+      MemorySegment segment, boolean allowEmpty, @NonNull String message) {
+    if (segment == null || !segment.isNative() || (!allowEmpty && segment.byteSize() == 0)) {
+      throw new IllegalArgumentException(message);
+    }
+  }
+
+  /**
+   * 将direct ByteBuffer的[position, limit)区间映射为native内存段，不复制数据
+   *
+   * @param buffer direct buffer
+   * @param allowEmpty 是否允许剩余长度为0
+   * @param message 异常信息
+   * @return 内存段
+   */
+  public static MemorySegment directBufferSegment(
+      ByteBuffer buffer, boolean allowEmpty, @NonNull String message) {
+    if (buffer == null || !buffer.isDirect() || (!allowEmpty && !buffer.hasRemaining())) {
+      throw new IllegalArgumentException(message);
+    }
+    return MemorySegment.ofBuffer(buffer);
+  }
+
   public static void validateValue(byte[] value) {
     validateByteArrays(value, "value must not be null or empty.");
   }
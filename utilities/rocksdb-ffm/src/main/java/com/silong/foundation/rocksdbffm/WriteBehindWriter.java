@@ -0,0 +1,88 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * 合并写入器，将多线程提交的细粒度写操作合并为组提交，每次组提交对应一次原子批量写入。<br>
+ * 1. 写操作按进入队列的顺序提交，同一线程的写操作保持提交顺序<br>
+ * 2. 每个写操作返回独立的future，组提交成功后完成，失败则同批写操作均以同一异常完成<br>
+ * 3. 队列满时提交方法阻塞直至有空位<br>
+ * 4. 传入的字节数组不复制，写操作完成前不可修改<br>
+ * 5. future在提交线程中完成，耗时的后续处理请使用异步回调
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 02:00
+ */
+@ThreadSafe
+public interface WriteBehindWriter extends AutoCloseable {
+
+  /**
+   * 写入kv
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @param value value
+   * @return 写入结果
+   */
+  CompletableFuture<Void> put(String columnFamilyName, byte[] key, byte[] value);
+
+  /**
+   * 删除key
+   *
+   * @param columnFamilyName 列族名
+   * @param key key
+   * @return 删除结果
+   */
+  CompletableFuture<Void> delete(String columnFamilyName, byte[] key);
+
+  /**
+   * 删除[startKey, endKey)范围内的key
+   *
+   * @param columnFamilyName 列族名
+   * @param startKey 起始key(包含)
+   * @param endKey 结束key(不包含)
+   * @return 删除结果
+   */
+  CompletableFuture<Void> deleteRange(String columnFamilyName, byte[] startKey, byte[] endKey);
+
+  /**
+   * 立即提交已排队的写操作，不等待合并时间窗口
+   *
+   * @return 此前提交的写操作全部完成后完成
+   */
+  CompletableFuture<Void> flush();
+
+  /**
+   * 待提交的写操作数
+   *
+   * @return 数量
+   */
+  int pending();
+
+  /** 拒绝新的写操作，提交队列中剩余的写操作后停止提交线程 */
+  @Override
+  void close();
+}
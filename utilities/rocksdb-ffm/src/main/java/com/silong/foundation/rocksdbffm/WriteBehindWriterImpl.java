@@ -0,0 +1,403 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.Utils.*;
+import static com.silong.foundation.rocksdbffm.generated.RocksDB.*;
+import static com.silong.foundation.rocksdbffm.generated.RocksDB_1.rocksdb_writeoptions_disable_WAL;
+import static com.silong.foundation.rocksdbffm.generated.RocksDB_1.rocksdb_writeoptions_set_sync;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.silong.foundation.rocksdbffm.enu.Durability;
+import com.silong.foundation.rocksdbffm.options.WriteBehindOptions;
+import java.lang.foreign.MemorySegment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 合并写入器实现，单个提交线程从有界队列中取出写操作，按数量、字节数及等待时间合并后通过{@link RocksDbImpl#atomicBatchUpdate}原子提交
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 02:00
+ */
+@Slf4j
+@ToString
+class WriteBehindWriterImpl implements WriteBehindWriter {
+
+  /** 写操作类型 */
+  private enum Kind {
+    PUT,
+    DELETE,
+    DELETE_RANGE,
+    /** 提交已合并的写操作 */
+    FLUSH,
+    /** 唤醒提交线程检查关闭标识 */
+    CLOSE
+  }
+
+  /**
+   * 排队的写操作
+   *
+   * @param kind 类型
+   * @param columnFamilyName 列族名
+   * @param key key或起始key
+   * @param value value或结束key
+   * @param future 结果
+   */
+  private record Write(
+      Kind kind,
+      String columnFamilyName,
+      byte[] key,
+      byte[] value,
+      CompletableFuture<Void> future) {
+
+    boolean isMarker() {
+      return kind == Kind.FLUSH || kind == Kind.CLOSE;
+    }
+
+    long bytes() {
+      return (key == null ? 0 : key.length) + (value == null ? 0 : value.length);
+    }
+  }
+
+  /** 空闲时检查关闭标识的间隔 */
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  /** 所属数据库 */
+  @ToString.Exclude private final RocksDbImpl rocksDb;
+
+  /** 配置 */
+  private final WriteBehindOptions options;
+
+  /** 组提交使用的写入配置 */
+  @ToString.Exclude private final MemorySegment writeOptions;
+
+  /** 待提交队列 */
+  @ToString.Exclude private final BlockingQueue<Write> queue;
+
+  /** 保证关闭标记之后不再有写操作入队 */
+  @ToString.Exclude private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+  /** 提交线程 */
+  @ToString.Exclude private final Thread committer;
+
+  /** 所属数据库登记的未关闭写入器 */
+  @ToString.Exclude private final Set<WriteBehindWriterImpl> registry;
+
+  /** 最长等待时间 */
+  private final long maxDelayNanos;
+
+  /** 关闭标识 */
+  private volatile boolean closed;
+
+  /**
+   * 构造方法
+   *
+   * @param rocksDb 数据库
+   * @param options 配置
+   * @param registry 所属数据库登记的未关闭写入器
+   */
+  WriteBehindWriterImpl(
+      @NonNull RocksDbImpl rocksDb,
+      @NonNull WriteBehindOptions options,
+      @NonNull Set<WriteBehindWriterImpl> registry) {
+    if (options.getMaxBatchSize() <= 0) {
+      throw new IllegalArgumentException("maxBatchSize must be greater than 0.");
+    }
+    if (options.getMaxBatchBytes() <= 0) {
+      throw new IllegalArgumentException("maxBatchBytes must be greater than 0.");
+    }
+    if (options.getQueueCapacity() <= 0) {
+      throw new IllegalArgumentException("queueCapacity must be greater than 0.");
+    }
+    if (options.getMaxDelay().isNegative()) {
+      throw new IllegalArgumentException("maxDelay must not be negative.");
+    }
+    this.rocksDb = rocksDb;
+    this.options = options;
+    this.maxDelayNanos = options.getMaxDelay().toNanos();
+    this.queue = new ArrayBlockingQueue<>(options.getQueueCapacity());
+    this.writeOptions = rocksdb_writeoptions_create();
+    rocksdb_writeoptions_set_sync(
+        writeOptions, boolean2Byte(options.getDurability() == Durability.SYNC));
+    rocksdb_writeoptions_disable_WAL(
+        writeOptions, boolean2Byte(options.getDurability() == Durability.DISABLE_WAL));
+    this.registry = registry;
+    this.committer = Thread.ofPlatform().name(options.getThreadName()).daemon().start(this::run);
+    registry.add(this);
+  }
+
+  @Override
+  public CompletableFuture<Void> put(String columnFamilyName, byte[] key, byte[] value) {
+    rocksDb.validateColumnFamily(columnFamilyName);
+    validateKey(key);
+    validateValue(value);
+    return enqueue(Kind.PUT, columnFamilyName, key, value);
+  }
+
+  @Override
+  public CompletableFuture<Void> delete(String columnFamilyName, byte[] key) {
+    rocksDb.validateColumnFamily(columnFamilyName);
+    validateKey(key);
+    return enqueue(Kind.DELETE, columnFamilyName, key, null);
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteRange(
+      String columnFamilyName, byte[] startKey, byte[] endKey) {
+    rocksDb.validateColumnFamily(columnFamilyName);
+    validateKeys(startKey, endKey);
+    return enqueue(Kind.DELETE_RANGE, columnFamilyName, startKey, endKey);
+  }
+
+  @Override
+  public CompletableFuture<Void> flush() {
+    return enqueue(Kind.FLUSH, null, null, null);
+  }
+
+  @Override
+  public int pending() {
+    return queue.size();
+  }
+
+  private CompletableFuture<Void> enqueue(
+      Kind kind, String columnFamilyName, byte[] key, byte[] value) {
+    Write write = new Write(kind, columnFamilyName, key, value, new CompletableFuture<>());
+    closeLock.readLock().lock();
+    try {
+      if (closed) {
+        throw new IllegalStateException("write-behind writer has been closed.");
+      }
+      queue.put(write); // 队列满时阻塞，形成背压
+      return write.future();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(e);
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    boolean first;
+    closeLock.writeLock().lock();
+    try {
+      first = !closed;
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+
+    // 唤醒空闲的提交线程，队列已满时提交线程处于忙碌状态，无需唤醒
+    if (first) {
+      queue.offer(new Write(Kind.CLOSE, null, null, null, new CompletableFuture<>()));
+    }
+    // 在future回调中关闭时不能等待提交线程自身
+    if (Thread.currentThread() == committer) {
+      return;
+    }
+    // 重复关闭时同样等待提交线程退出，数据库关闭时依赖此保证不再访问数据库句柄
+    boolean interrupted = false;
+    while (true) {
+      try {
+        committer.join();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    registry.remove(this);
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * 关闭所有登记的未关闭写入器，提交其队列中剩余的写操作，须在数据库释放前调用
+   *
+   * @param registry 所属数据库登记的未关闭写入器
+   * @return 关闭的写入器数量
+   */
+  static int closeAll(@NonNull Set<WriteBehindWriterImpl> registry) {
+    List<WriteBehindWriterImpl> writers = List.copyOf(registry);
+    writers.forEach(WriteBehindWriterImpl::close);
+    if (!writers.isEmpty()) {
+      log.warn("{} write-behind writers were still open when rocksdb was closed.", writers.size());
+    }
+    return writers.size();
+  }
+
+  /** 提交线程主循环 */
+  private void run() {
+    List<Write> batch = new ArrayList<>(Math.min(options.getMaxBatchSize(), 4096));
+    Write next = null;
+    try {
+      while (true) {
+        Write write = next != null ? next : queue.poll(IDLE_POLL_MILLIS, MILLISECONDS);
+        next = null;
+        if (write == null) {
+          // 关闭标识在写锁内设置，此后不会再有写操作入队
+          if (closed && queue.isEmpty()) {
+            return;
+          }
+          continue;
+        }
+        long deadline = System.nanoTime() + maxDelayNanos;
+        long bytes = 0;
+        while (true) {
+          if (write.isMarker()) {
+            commit(batch);
+            write.future().complete(null);
+            if (write.kind() == Kind.CLOSE && queue.isEmpty()) {
+              return;
+            }
+            break;
+          }
+          // 超出字节上限的写操作留到下一次组提交
+          if (!batch.isEmpty() && bytes + write.bytes() > options.getMaxBatchBytes()) {
+            next = write;
+            commit(batch);
+            break;
+          }
+          batch.add(write);
+          bytes += write.bytes();
+          if (batch.size() >= options.getMaxBatchSize() || bytes >= options.getMaxBatchBytes()) {
+            commit(batch);
+            break;
+          }
+          write = queue.poll();
+          if (write == null) {
+            long remaining = deadline - System.nanoTime();
+            write = remaining > 0 ? queue.poll(remaining, NANOSECONDS) : null;
+            if (write == null) {
+              commit(batch);
+              break;
+            }
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      log.error("The write-behind committer {} was interrupted.", options.getThreadName());
+      abort(batch, next, e);
+    } catch (Throwable t) {
+      log.error("The write-behind committer {} terminated abnormally.", options.getThreadName(), t);
+      abort(batch, next, t);
+    } finally {
+      rocksdb_writeoptions_destroy(writeOptions);
+    }
+  }
+
+  /**
+   * 原子提交合并的写操作，并以提交结果完成所有写操作的future
+   *
+   * @param batch 写操作列表
+   */
+  private void commit(List<Write> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      // 数据库关闭时先关闭写入器并等待提交线程退出，再释放数据库句柄，此处无需检查数据库状态
+      rocksDb.<Void>atomicBatchUpdate(
+          writeOptions,
+          writeBatch -> {
+            for (Write write : batch) {
+              MemorySegment columnFamilyHandle =
+                  rocksDb.columnFamilyHandle(write.columnFamilyName());
+              switch (write.kind()) {
+                case PUT ->
+                    writeBatch.put(
+                        columnFamilyHandle,
+                        write.key(),
+                        0,
+                        write.key().length,
+                        write.value(),
+                        0,
+                        write.value().length);
+                case DELETE ->
+                    writeBatch.delete(columnFamilyHandle, write.key(), 0, write.key().length);
+                case DELETE_RANGE ->
+                    writeBatch.deleteRange(
+                        columnFamilyHandle,
+                        write.key(),
+                        0,
+                        write.key().length,
+                        write.value(),
+                        0,
+                        write.value().length);
+                default -> throw new IllegalStateException("Unexpected write: " + write.kind());
+              }
+            }
+            return null;
+          });
+      batch.forEach(write -> write.future().complete(null));
+    } catch (Throwable t) {
+      log.error("Failed to commit {} writes.", batch.size(), t);
+      batch.forEach(write -> write.future().completeExceptionally(t));
+    } finally {
+      batch.clear();
+    }
+  }
+
+  /** 提交线程异常退出时拒绝新的写操作，并以异常完成所有未提交的写操作 */
+  private void abort(List<Write> batch, Write next, Throwable cause) {
+    closed = true;
+    batch.forEach(write -> write.future().completeExceptionally(cause));
+    if (next != null) {
+      next.future().completeExceptionally(cause);
+    }
+    // 阻塞在入队操作上的线程持有读锁，持续清空队列直至其全部退出
+    while (true) {
+      drain(cause);
+      try {
+        if (closeLock.writeLock().tryLock(IDLE_POLL_MILLIS, MILLISECONDS)) {
+          try {
+            drain(cause);
+          } finally {
+            closeLock.writeLock().unlock();
+          }
+          return;
+        }
+      } catch (InterruptedException e) {
+        // 提交线程即将退出，忽略中断继续清理
+      }
+    }
+  }
+
+  private void drain(Throwable cause) {
+    for (Write write = queue.poll(); write != null; write = queue.poll()) {
+      write.future().completeExceptionally(cause);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.comparator;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+
+import com.silong.foundation.rocksdbffm.RocksDbComparator;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * 大端有符号long比较器，key的前8个字节按大端有符号long比较，相同时剩余字节按无符号字典序比较。<br>
+ * 短于8字节的key按首字节有符号、其余字节无符号的字典序比较，与8字节key的顺序保持一致，因此任意key集合均为全序。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 21:00
+ */
+public class BigEndianLongComparator implements RocksDbComparator {
+
+  private static final ValueLayout.OfLong BIG_ENDIAN_LONG =
+      JAVA_LONG_UNALIGNED.withOrder(BIG_ENDIAN);
+
+  @Override
+  public int compare(MemorySegment a, MemorySegment b) {
+    if (a.byteSize() >= Long.BYTES && b.byteSize() >= Long.BYTES) {
+      int result = Long.compare(a.get(BIG_ENDIAN_LONG, 0), b.get(BIG_ENDIAN_LONG, 0));
+      return result != 0 ? result : UnsignedLexicographicComparator.compare(a, b, Long.BYTES);
+    }
+    if (a.byteSize() == 0 || b.byteSize() == 0) {
+      return Long.compare(a.byteSize(), b.byteSize());
+    }
+    // 首字节包含符号位，按有符号比较
+    int result = Byte.compare(a.get(JAVA_BYTE, 0), b.get(JAVA_BYTE, 0));
+    return result != 0 ? result : UnsignedLexicographicComparator.compare(a, b, 1);
+  }
+
+  @Override
+  public int compare(byte[] a, byte[] b) {
+    return compare(MemorySegment.ofArray(a), MemorySegment.ofArray(b));
+  }
+
+  @Override
+  public void release() {}
+
+  @Override
+  public String name() {
+    return "silong.BigEndianLongComparator";
+  }
+}
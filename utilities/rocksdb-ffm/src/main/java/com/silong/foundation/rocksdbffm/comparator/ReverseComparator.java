@@ -0,0 +1,73 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.comparator;
+
+import com.silong.foundation.rocksdbffm.RocksDbComparator;
+import java.lang.foreign.MemorySegment;
+import lombok.NonNull;
+
+/**
+ * 逆序比较器，颠倒被包装比较器的顺序，无参构造时为无符号字节字典序的逆序
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 21:00
+ */
+public class ReverseComparator implements RocksDbComparator {
+
+  /** 被包装的比较器 */
+  private final RocksDbComparator delegate;
+
+  /** 构造方法，逆序无符号字节字典序 */
+  public ReverseComparator() {
+    this(new UnsignedLexicographicComparator());
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param delegate 被包装的比较器
+   */
+  public ReverseComparator(@NonNull RocksDbComparator delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public int compare(MemorySegment a, MemorySegment b) {
+    return delegate.compare(b, a);
+  }
+
+  @Override
+  public int compare(byte[] a, byte[] b) {
+    return delegate.compare(b, a);
+  }
+
+  @Override
+  public void release() {
+    delegate.release();
+  }
+
+  @Override
+  public String name() {
+    return "silong.Reverse(" + delegate.name() + ")";
+  }
+}
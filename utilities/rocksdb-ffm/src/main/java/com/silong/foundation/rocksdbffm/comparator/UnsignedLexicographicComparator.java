@@ -0,0 +1,82 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.comparator;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+
+import com.silong.foundation.rocksdbffm.RocksDbComparator;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * 无符号字节字典序比较器，与rocksdb默认的BytewiseComparator顺序一致，比较过程不分配内存
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 21:00
+ */
+public class UnsignedLexicographicComparator implements RocksDbComparator {
+
+  /**
+   * 从指定偏移开始按无符号字节字典序比较，公共前缀相同时较短的key较小
+   *
+   * @param a key
+   * @param b key
+   * @param offset 起始偏移
+   * @return 比较结果
+   */
+  static int compare(MemorySegment a, MemorySegment b, long offset) {
+    long aSize = a.byteSize();
+    long bSize = b.byteSize();
+    // mismatch返回相对于offset的位置
+    long relative = MemorySegment.mismatch(a, offset, aSize, b, offset, bSize);
+    if (relative == -1) {
+      return 0;
+    }
+    if (relative == aSize - offset) {
+      return -1;
+    }
+    if (relative == bSize - offset) {
+      return 1;
+    }
+    long index = offset + relative;
+    return Integer.compare(
+        Byte.toUnsignedInt(a.get(JAVA_BYTE, index)), Byte.toUnsignedInt(b.get(JAVA_BYTE, index)));
+  }
+
+  @Override
+  public int compare(MemorySegment a, MemorySegment b) {
+    return compare(a, b, 0);
+  }
+
+  @Override
+  public int compare(byte[] a, byte[] b) {
+    return compare(MemorySegment.ofArray(a), MemorySegment.ofArray(b));
+  }
+
+  @Override
+  public void release() {}
+
+  @Override
+  public String name() {
+    return "silong.UnsignedLexicographicComparator";
+  }
+}
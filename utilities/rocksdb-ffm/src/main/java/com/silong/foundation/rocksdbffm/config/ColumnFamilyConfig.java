@@ -22,6 +22,7 @@
 package com.silong.foundation.rocksdbffm.config;
 
 import com.silong.foundation.rocksdbffm.RocksDbComparator;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.time.Duration;
@@ -53,4 +54,19 @@ public class ColumnFamilyConfig {
 
   /** 列族对应的比较器，如果为null则使用rocksdb默认的ByteWiseComparator */
   private Class<? extends RocksDbComparator> comparator;
+
+  /** 列族调优选项，如果为null则沿用数据库级options */
+  @Valid private ColumnFamilyOptionsConfig options;
+
+  /**
+   * 构造方法
+   *
+   * @param columnFamilyName 列族名
+   * @param ttl ttl
+   * @param comparator 比较器
+   */
+  public ColumnFamilyConfig(
+      String columnFamilyName, Duration ttl, Class<? extends RocksDbComparator> comparator) {
+    this(columnFamilyName, ttl, comparator, null);
+  }
 }
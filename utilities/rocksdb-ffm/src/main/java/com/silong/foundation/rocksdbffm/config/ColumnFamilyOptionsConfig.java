@@ -0,0 +1,64 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.config;
+
+import com.silong.foundation.rocksdbffm.enu.CompressionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 列族级调优选项，未配置(null)的选项沿用数据库级options
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 17:05
+ */
+@Data
+public class ColumnFamilyOptionsConfig implements Serializable {
+
+  @Serial private static final long serialVersionUID = 3_408_716_257_392_014_651L;
+
+  /**
+   * 数据块大小，单位：字节。<br>
+   * 配置blockSize或bloomFilterBitsPerKey时，列族使用独立的block-based table配置(共享数据库块缓存)，替代点查优化的默认配置
+   */
+  @Positive private Integer blockSize;
+
+  /** bloom过滤器每个key占用的比特数，推荐值：10，小于等于0表示不使用bloom过滤器 */
+  private Double bloomFilterBitsPerKey;
+
+  /** 各层级压缩算法，下标为层级，未覆盖的层级使用列表中最后一个压缩算法 */
+  private List<@NotNull CompressionType> compressionPerLevel;
+
+  /** 固定长度前缀提取器的前缀长度，单位：字节，配置后可使用前缀bloom过滤及前缀迭代 */
+  @Positive private Integer fixedPrefixLength;
+
+  /** 单个memtable大小，单位：字节，列族memtable内存预算约为writeBufferSize * maxWriteBufferNumber */
+  @Positive private Long writeBufferSize;
+
+  /** memtable最大数量，包含正在写入的memtable及等待刷盘的immutable memtable */
+  @Positive private Integer maxWriteBufferNumber;
+}
@@ -21,8 +21,11 @@
 
 package com.silong.foundation.rocksdbffm.config;
 
+import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_LZ4_COMPRESSION;
+import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_ZSTD;
 import static com.silong.foundation.rocksdbffm.enu.InfoLogLevel.INFO_LEVEL;
 
+import com.silong.foundation.rocksdbffm.enu.CompressionType;
 import com.silong.foundation.rocksdbffm.enu.InfoLogLevel;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
@@ -65,9 +68,43 @@ public class RocksDbConfig implements Serializable {
   /** 块缓存大小，单位：MB，默认：32MB */
   @Positive private int blockCacheSize = 32;
 
+  /** 是否针对点查优化，块缓存大小为blockCacheSize，默认：true */
+  private boolean optimizeForPointLookup = true;
+
+  /** 后台flush及compaction线程数，默认：6 */
+  @Positive private int maxBackgroundJobs = 6;
+
+  /** 默认压缩算法，默认：LZ4 */
+  @NotNull private CompressionType compression = K_LZ4_COMPRESSION;
+
+  /** 最底层压缩算法，默认：ZSTD */
+  @NotNull private CompressionType bottommostCompression = K_ZSTD;
+
   /** 是否启用数据统计，默认：false */
   private boolean enableStatistics;
 
+  /** 统计数据采样周期，小于等于0时不进行周期采样，默认：60秒 */
+  @NotNull private Duration statisticsSampleInterval = Duration.ofSeconds(60);
+
+  /** 每个列族采样的rocksdb.*整型属性 */
+  @NotNull
+  private List<@NotEmpty String> statisticsProperties =
+      List.of(
+          "rocksdb.estimate-num-keys",
+          "rocksdb.estimate-live-data-size",
+          "rocksdb.total-sst-files-size",
+          "rocksdb.cur-size-all-mem-tables",
+          "rocksdb.num-immutable-mem-table",
+          "rocksdb.mem-table-flush-pending",
+          "rocksdb.compaction-pending",
+          "rocksdb.estimate-pending-compaction-bytes",
+          "rocksdb.num-running-compactions",
+          "rocksdb.num-running-flushes",
+          "rocksdb.is-write-stopped",
+          "rocksdb.actual-delayed-write-rate",
+          "rocksdb.block-cache-usage",
+          "rocksdb.block-cache-pinned-usage");
+
   /** 默认列族TTL，单位：秒，在未指定列族TTL时使用，默认：0。当此值小于等于0时表示永不过期 */
   @NotNull private Duration defaultColumnFamilyTTL = Duration.ZERO;
 
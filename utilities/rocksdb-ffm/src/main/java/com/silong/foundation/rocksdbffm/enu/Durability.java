@@ -0,0 +1,40 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.enu;
+
+/**
+ * 写入持久化级别
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 02:00
+ */
+public enum Durability {
+  /** 写WAL并在提交前fsync，即：sync = true */
+  SYNC,
+
+  /** 写WAL但不fsync，进程崩溃不丢数据，操作系统崩溃可能丢失最近写入，即：sync = false */
+  NO_SYNC,
+
+  /** 不写WAL，崩溃后丢失未刷盘的memtable数据，即：disableWAL = true */
+  DISABLE_WAL
+}
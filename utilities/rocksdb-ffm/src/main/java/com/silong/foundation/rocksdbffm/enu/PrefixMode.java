@@ -0,0 +1,37 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.enu;
+
+/**
+ * 范围扫描时前缀提取器的使用模式
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 19:10
+ */
+public enum PrefixMode {
+  /** 忽略列族前缀提取器，按全序扫描，即：total_order_seek = true */
+  TOTAL_ORDER,
+
+  /** 仅迭代与seek目标前缀相同的key，需要列族配置前缀提取器，即：prefix_same_as_start = true */
+  PREFIX_SAME_AS_START
+}
@@ -0,0 +1,73 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.options;
+
+import static com.silong.foundation.rocksdbffm.RocksDb.MB;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 外部SST文件导入配置，对应rocksdb的IngestExternalFileOptions<br>
+ * 1. 导入文件与列族已有数据key范围重叠时，allowGlobalSeqNo为true则为导入文件分配新的全局序列号，导入数据覆盖已有数据；为false则导入失败<br>
+ * 2. 导入文件与memtable重叠时，allowBlockingFlush为true则先阻塞flush memtable，为false则导入失败<br>
+ * 3. targetFileSize和workDir仅用于从有序数据流生成SST文件后导入的场景
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 23:20
+ */
+@Data
+@Builder(toBuilder = true)
+public final class IngestOptions implements Serializable {
+
+  @Serial private static final long serialVersionUID = -3_915_874_128_266_501_737L;
+
+  /** 默认配置 */
+  public static final IngestOptions DEFAULT = IngestOptions.builder().build();
+
+  /** 是否以硬链接方式移动文件而非复制，硬链接失败时回退为复制 */
+  private final boolean moveFiles;
+
+  /** 导入时是否保证已有快照读取不到导入数据 */
+  @Builder.Default private final boolean snapshotConsistency = true;
+
+  /** 是否允许为与已有数据重叠的导入文件分配全局序列号 */
+  @Builder.Default private final boolean allowGlobalSeqNo = true;
+
+  /** 导入文件与memtable重叠时是否允许阻塞flush */
+  @Builder.Default private final boolean allowBlockingFlush = true;
+
+  /** 是否导入到最底层且不覆盖已有数据，要求数据库启用allow_ingest_behind */
+  private final boolean ingestBehind;
+
+  /** 导入文件无法放入最底层时是否失败 */
+  private final boolean failIfNotBottommostLevel;
+
+  /** 从有序数据流生成SST文件时单个文件的目标大小，超过后滚动生成新文件，默认：64MB */
+  @Builder.Default private final long targetFileSize = 64L * MB;
+
+  /** 从有序数据流生成SST文件时的临时目录，null表示使用数据库目录下的ingest子目录，与数据库同文件系统时硬链接移动才能生效 */
+  private final String workDir;
+}
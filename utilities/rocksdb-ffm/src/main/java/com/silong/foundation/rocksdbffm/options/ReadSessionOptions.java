@@ -0,0 +1,56 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.options;
+
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * 快照读取会话配置，会话内所有读取操作共享此配置
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 00:10
+ */
+@Data
+@Builder(toBuilder = true)
+public final class ReadSessionOptions implements Serializable {
+
+  @Serial private static final long serialVersionUID = 4_790_318_262_457_102_813L;
+
+  /** 默认配置 */
+  public static final ReadSessionOptions DEFAULT = ReadSessionOptions.builder().build();
+
+  /** 读取的数据块是否放入块缓存，为false时会话内扫描同样不填充块缓存 */
+  @Builder.Default private final boolean fillCache = true;
+
+  /** 是否校验读取数据块的checksum */
+  @Builder.Default private final boolean verifyChecksums = true;
+
+  /** 迭代器预读大小，0表示使用rocksdb自适应预读 */
+  private final long readaheadSize;
+
+  /** 是否启用异步IO预取，需要底层文件系统支持 */
+  private final boolean asyncIo;
+}
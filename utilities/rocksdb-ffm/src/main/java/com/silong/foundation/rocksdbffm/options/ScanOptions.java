@@ -0,0 +1,102 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.options;
+
+import static com.silong.foundation.rocksdbffm.enu.PrefixMode.TOTAL_ORDER;
+
+import com.silong.foundation.rocksdbffm.enu.PrefixMode;
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * 范围扫描配置，边界使用列族比较器进行比较<br>
+ * 1. lowerBound包含，upperBound不包含，对应rocksdb的iterate_lower_bound和iterate_upper_bound<br>
+ * 2. 指定prefix时仅返回以prefix开头的key，列族使用默认字节序比较器时前缀会被转换为native边界<br>
+ * 3. reverse为true时从范围内最后一个entry开始逆序扫描
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 19:10
+ */
+@Data
+@Builder(toBuilder = true)
+public final class ScanOptions implements Serializable {
+
+  @Serial private static final long serialVersionUID = 6_162_540_073_905_628_714L;
+
+  /** 无边界全量扫描 */
+  public static final ScanOptions ALL = ScanOptions.builder().build();
+
+  /** 下界(包含)，null表示无下界 */
+  private final byte[] lowerBound;
+
+  /** 上界(不包含)，null表示无上界 */
+  private final byte[] upperBound;
+
+  /** key前缀，null表示不限制前缀 */
+  private final byte[] prefix;
+
+  /** 前缀提取器使用模式，默认：全序扫描 */
+  @NonNull @Builder.Default private final PrefixMode prefixMode = TOTAL_ORDER;
+
+  /** 是否逆序扫描 */
+  private final boolean reverse;
+
+  /** 扫描读取的数据块是否放入块缓存，大范围扫描时建议关闭，避免冲刷热点数据 */
+  @Builder.Default private final boolean fillCache = true;
+
+  /**
+   * 范围扫描[lowerBound, upperBound)
+   *
+   * @param lowerBound 下界(包含)，null表示无下界
+   * @param upperBound 上界(不包含)，null表示无上界
+   * @return 扫描配置
+   */
+  public static ScanOptions range(byte[] lowerBound, byte[] upperBound) {
+    return ScanOptions.builder().lowerBound(lowerBound).upperBound(upperBound).build();
+  }
+
+  /**
+   * 前缀扫描
+   *
+   * @param prefix key前缀
+   * @return 扫描配置
+   */
+  public static ScanOptions prefix(@NonNull byte[] prefix) {
+    if (prefix.length == 0) {
+      throw new IllegalArgumentException("prefix must not be empty.");
+    }
+    return ScanOptions.builder().prefix(prefix).build();
+  }
+
+  /**
+   * 生成逆序扫描配置
+   *
+   * @return 扫描配置
+   */
+  public ScanOptions reversed() {
+    return toBuilder().reverse(!reverse).build();
+  }
+}
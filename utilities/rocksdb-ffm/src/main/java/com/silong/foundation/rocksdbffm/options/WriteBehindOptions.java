@@ -0,0 +1,65 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.options;
+
+import com.silong.foundation.rocksdbffm.enu.Durability;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * 合并写入器配置，一次组提交在达到数量上限、字节上限或最长等待时间任一条件时执行
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 02:00
+ */
+@Data
+@Builder(toBuilder = true)
+public final class WriteBehindOptions implements Serializable {
+
+  @Serial private static final long serialVersionUID = 2_167_904_535_118_462_307L;
+
+  /** 默认配置 */
+  public static final WriteBehindOptions DEFAULT = WriteBehindOptions.builder().build();
+
+  /** 单次组提交最多包含的写操作数 */
+  @Builder.Default private final int maxBatchSize = 1024;
+
+  /** 单次组提交最多包含的key、value字节数，单个超大写操作独立提交 */
+  @Builder.Default private final long maxBatchBytes = 4L * 1024 * 1024;
+
+  /** 组提交首个写操作最长等待时间，为0时不等待，只合并已排队的写操作 */
+  @NonNull @Builder.Default private final Duration maxDelay = Duration.ofMillis(1);
+
+  /** 待提交写操作队列容量，队列满时提交线程阻塞，形成背压 */
+  @Builder.Default private final int queueCapacity = 64 * 1024;
+
+  /** 持久化级别 */
+  @NonNull @Builder.Default private final Durability durability = Durability.NO_SYNC;
+
+  /** 提交线程名 */
+  @NonNull @Builder.Default private final String threadName = "rocksdb-write-behind";
+}
@@ -0,0 +1,53 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.statistics;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * rocksdb直方图统计数据，时间类直方图单位为微秒
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 22:00
+ * @param p50 50分位
+ * @param p95 95分位
+ * @param p99 99分位
+ * @param max 最大值
+ * @param count 样本数
+ * @param sum 样本总和
+ */
+public record HistogramData(double p50, double p95, double p99, double max, long count, long sum)
+    implements Serializable {
+
+  @Serial private static final long serialVersionUID = 4_702_318_559_170_246_302L;
+
+  /**
+   * 平均值
+   *
+   * @return 平均值，无样本时返回0
+   */
+  public double average() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+}
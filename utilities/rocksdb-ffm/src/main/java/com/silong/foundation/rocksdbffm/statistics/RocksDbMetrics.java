@@ -0,0 +1,159 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.statistics;
+
+import com.silong.foundation.rocksdbffm.RocksDbStatistics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import lombok.NonNull;
+
+/**
+ * 将rocksdb统计数据注册到Micrometer，所有指标均读取最近一次周期采样的快照，不会触发native调用。<br>
+ * 绑定时按当时快照中存在的ticker、直方图及列族属性注册指标，micrometer-core为可选依赖，使用时需自行引入。
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 22:00
+ */
+public class RocksDbMetrics implements MeterBinder {
+
+  /** 统计数据来源 */
+  private final RocksDbStatistics statistics;
+
+  /** 公共标签 */
+  private final Iterable<Tag> tags;
+
+  /**
+   * 构造方法
+   *
+   * @param statistics 统计数据来源
+   * @param tags 公共标签，如：数据库名称
+   */
+  public RocksDbMetrics(@NonNull RocksDbStatistics statistics, @NonNull Iterable<Tag> tags) {
+    this.statistics = statistics;
+    this.tags = tags;
+  }
+
+  /**
+   * 构造方法
+   *
+   * @param statistics 统计数据来源
+   */
+  public RocksDbMetrics(@NonNull RocksDbStatistics statistics) {
+    this(statistics, Tags.empty());
+  }
+
+  /**
+   * rocksdb.*名称转换为Micrometer点分命名
+   *
+   * @param name rocksdb名称
+   * @return 指标名称
+   */
+  private static String meterName(String name) {
+    return name.replace('-', '.');
+  }
+
+  private void gauge(
+      MeterRegistry registry,
+      String name,
+      Tags extraTags,
+      ToDoubleFunction<StatisticsSnapshot> function) {
+    Gauge.builder(name, statistics, s -> function.applyAsDouble(s.statistics()))
+        .tags(Tags.concat(tags, extraTags))
+        .register(registry);
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    StatisticsSnapshot snapshot = statistics.statistics();
+
+    snapshot
+        .tickers()
+        .keySet()
+        .forEach(
+            name ->
+                FunctionCounter.builder(
+                        meterName(name), statistics, s -> s.statistics().ticker(name))
+                    .tags(tags)
+                    .register(registry));
+
+    snapshot
+        .histograms()
+        .keySet()
+        .forEach(
+            name -> {
+              String meterName = meterName(name);
+              quantile(registry, meterName, name, "0.5", HistogramData::p50);
+              quantile(registry, meterName, name, "0.95", HistogramData::p95);
+              quantile(registry, meterName, name, "0.99", HistogramData::p99);
+              quantile(registry, meterName, name, "1.0", HistogramData::max);
+              FunctionCounter.builder(
+                      meterName + ".count",
+                      statistics,
+                      s -> {
+                        HistogramData data = s.statistics().histogram(name);
+                        return data == null ? 0 : data.count();
+                      })
+                  .tags(tags)
+                  .register(registry);
+            });
+
+    for (Map.Entry<String, Map<String, Long>> entry : snapshot.properties().entrySet()) {
+      String columnFamilyName = entry.getKey();
+      entry
+          .getValue()
+          .keySet()
+          .forEach(
+              name ->
+                  gauge(
+                      registry,
+                      meterName(name),
+                      Tags.of("cf", columnFamilyName),
+                      s -> {
+                        Long value = s.property(columnFamilyName, name);
+                        return value == null ? Double.NaN : value;
+                      }));
+    }
+  }
+
+  private void quantile(
+      MeterRegistry registry,
+      String meterName,
+      String name,
+      String quantile,
+      ToDoubleFunction<HistogramData> function) {
+    gauge(
+        registry,
+        meterName,
+        Tags.of("quantile", quantile),
+        s -> {
+          HistogramData data = s.histogram(name);
+          return data == null ? Double.NaN : function.applyAsDouble(data);
+        });
+  }
+}
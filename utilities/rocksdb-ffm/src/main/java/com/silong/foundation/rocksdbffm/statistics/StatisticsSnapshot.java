@@ -0,0 +1,176 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm.statistics;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+
+/**
+ * rocksdb统计数据快照，包含ticker计数、直方图以及各列族的rocksdb.*整型属性
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 22:00
+ * @param sampledAt 采样时间
+ * @param tickers ticker计数，key为ticker名称，如：rocksdb.block.cache.hit
+ * @param histograms 直方图，key为直方图名称，如：rocksdb.db.get.micros
+ * @param properties 列族属性，key为列族名称，value为属性名称与属性值
+ */
+public record StatisticsSnapshot(
+    Instant sampledAt,
+    Map<String, Long> tickers,
+    Map<String, HistogramData> histograms,
+    Map<String, Map<String, Long>> properties)
+    implements Serializable {
+
+  @Serial private static final long serialVersionUID = -1_837_402_266_015_934_718L;
+
+  /** 块缓存命中ticker */
+  public static final String BLOCK_CACHE_HIT = "rocksdb.block.cache.hit";
+
+  /** 块缓存未命中ticker */
+  public static final String BLOCK_CACHE_MISS = "rocksdb.block.cache.miss";
+
+  /** 写入停顿时长ticker，单位：微秒 */
+  public static final String STALL_MICROS = "rocksdb.stall.micros";
+
+  /** 待压缩数据量估计属性 */
+  public static final String ESTIMATE_PENDING_COMPACTION_BYTES =
+      "rocksdb.estimate-pending-compaction-bytes";
+
+  /**
+   * 构造方法
+   *
+   * @param sampledAt 采样时间
+   * @param tickers ticker计数
+   * @param histograms 直方图
+   * @param properties 列族属性
+   */
+  public StatisticsSnapshot {
+    tickers = Map.copyOf(tickers);
+    histograms = Map.copyOf(histograms);
+    properties =
+        properties.entrySet().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Map.copyOf(e.getValue())));
+  }
+
+  /**
+   * 解析rocksdb_options_statistics_get_string输出的统计信息，格式如下：<br>
+   * rocksdb.block.cache.miss COUNT : 10<br>
+   * rocksdb.db.get.micros P50 : 1.0 P95 : 2.0 P99 : 3.0 P100 : 4.0 COUNT : 5 SUM : 6
+   *
+   * @param sampledAt 采样时间
+   * @param statistics 统计信息文本，未启用统计时为空字符串
+   * @param properties 列族属性
+   * @return 快照
+   */
+  public static StatisticsSnapshot parse(
+      @NonNull Instant sampledAt,
+      @NonNull String statistics,
+      @NonNull Map<String, Map<String, Long>> properties) {
+    Map<String, Long> tickers = new HashMap<>();
+    Map<String, HistogramData> histograms = new HashMap<>();
+    for (String line : statistics.split("\n")) {
+      String[] tokens = line.trim().split("\\s+");
+      Map<String, String> fields = new HashMap<>();
+      for (int i = 1; i + 2 < tokens.length; i += 3) {
+        if (":".equals(tokens[i + 1])) {
+          fields.put(tokens[i], tokens[i + 2]);
+        }
+      }
+      String count = fields.get("COUNT");
+      if (count == null) {
+        continue;
+      }
+      try {
+        if (fields.containsKey("P50")) {
+          histograms.put(
+              tokens[0],
+              new HistogramData(
+                  Double.parseDouble(fields.get("P50")),
+                  Double.parseDouble(fields.getOrDefault("P95", "0")),
+                  Double.parseDouble(fields.getOrDefault("P99", "0")),
+                  Double.parseDouble(fields.getOrDefault("P100", "0")),
+                  Long.parseLong(count),
+                  Long.parseLong(fields.getOrDefault("SUM", "0"))));
+        } else {
+          tickers.put(tokens[0], Long.parseLong(count));
+        }
+      } catch (NumberFormatException e) {
+        // 忽略无法识别的行，不影响其他统计项
+      }
+    }
+    return new StatisticsSnapshot(sampledAt, tickers, histograms, properties);
+  }
+
+  /**
+   * 获取ticker计数
+   *
+   * @param name ticker名称
+   * @return 计数，不存在时返回0
+   */
+  public long ticker(String name) {
+    return tickers.getOrDefault(name, 0L);
+  }
+
+  /**
+   * 获取直方图
+   *
+   * @param name 直方图名称
+   * @return 直方图，不存在时返回null
+   */
+  @Nullable
+  public HistogramData histogram(String name) {
+    return histograms.get(name);
+  }
+
+  /**
+   * 获取列族属性值
+   *
+   * @param columnFamilyName 列族名称
+   * @param name 属性名称
+   * @return 属性值，不存在时返回null
+   */
+  @Nullable
+  public Long property(String columnFamilyName, String name) {
+    Map<String, Long> values = properties.get(columnFamilyName);
+    return values == null ? null : values.get(name);
+  }
+
+  /**
+   * 块缓存命中率
+   *
+   * @return 命中率，无访问时返回0
+   */
+  public double blockCacheHitRatio() {
+    long hit = ticker(BLOCK_CACHE_HIT);
+    long total = hit + ticker(BLOCK_CACHE_MISS);
+    return total == 0 ? 0 : (double) hit / total;
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM对比byte[]接口与零拷贝MemorySegment接口的点查、写入及遍历性能，运行前需配置环境变量ROCKSDB_LIBS_DIR
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 15:40
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class BenchmarkByteArrayAndMemorySegmentTests {
+
+  private static final String CF = "benchmark";
+
+  private static final int KEY_COUNT = 100_000;
+
+  @Param({"16", "256", "4096"})
+  private int valueSize;
+
+  private RocksDb rocksDb;
+
+  /**
+   * 线程私有native缓冲区，模拟调用方复用的key/value内存
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 15:40
+   */
+  @State(Scope.Thread)
+  public static class Buffers {
+    Arena arena;
+    MemorySegment key;
+    MemorySegment value;
+    ByteBuffer keyBuffer;
+    ByteBuffer valueBuffer;
+    byte[] keyBytes;
+    byte[] valueBytes;
+
+    @Setup
+    public void setup(BenchmarkByteArrayAndMemorySegmentTests benchmark) {
+      arena = Arena.ofConfined();
+      key = arena.allocate(Long.BYTES);
+      value = arena.allocate(benchmark.valueSize);
+      keyBuffer = ByteBuffer.allocateDirect(Long.BYTES).order(BIG_ENDIAN);
+      valueBuffer = ByteBuffer.allocateDirect(benchmark.valueSize);
+      keyBytes = new byte[Long.BYTES];
+      valueBytes = new byte[benchmark.valueSize];
+      ThreadLocalRandom.current().nextBytes(valueBytes);
+      MemorySegment.copy(valueBytes, 0, value, JAVA_BYTE, 0, valueBytes.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+      arena.close();
+    }
+
+    long nextKey() {
+      long k = ThreadLocalRandom.current().nextLong(KEY_COUNT);
+      key.set(JAVA_LONG_UNALIGNED.withOrder(BIG_ENDIAN), 0, k);
+      return k;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkByteArrayAndMemorySegmentTests.class.getSimpleName())
+            .build();
+    new Runner(opt).run();
+  }
+
+  @Setup
+  public void setup() throws RocksDbException {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(List.of(new ColumnFamilyConfig(CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-benchmark-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+    byte[] value = new byte[valueSize];
+    for (long i = 0; i < KEY_COUNT; i++) {
+      rocksDb.put(CF, toBytes(i), value);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws RocksDbException {
+    rocksDb.dropColumnFamily(CF);
+    rocksDb.close();
+  }
+
+  private static byte[] toBytes(long k) {
+    return ByteBuffer.allocate(Long.BYTES).order(BIG_ENDIAN).putLong(k).array();
+  }
+
+  @Benchmark
+  public byte[] getByteArray() throws RocksDbException {
+    long k = ThreadLocalRandom.current().nextLong(KEY_COUNT);
+    return rocksDb.get(CF, toBytes(k));
+  }
+
+  @Benchmark
+  public long getMemorySegment(Buffers buffers) throws RocksDbException {
+    buffers.nextKey();
+    return rocksDb.get(CF, buffers.key, buffers.value);
+  }
+
+  @Benchmark
+  public int getByteBuffer(Buffers buffers) throws RocksDbException {
+    buffers.keyBuffer.clear().putLong(0, ThreadLocalRandom.current().nextLong(KEY_COUNT));
+    return rocksDb.get(CF, buffers.keyBuffer, buffers.valueBuffer.clear());
+  }
+
+  @Benchmark
+  public void putByteArray(Buffers buffers) throws RocksDbException {
+    long k = ThreadLocalRandom.current().nextLong(KEY_COUNT);
+    rocksDb.put(CF, toBytes(k), buffers.valueBytes);
+  }
+
+  @Benchmark
+  public void putMemorySegment(Buffers buffers) throws RocksDbException {
+    buffers.nextKey();
+    rocksDb.put(CF, buffers.key, buffers.value);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void iterateByteArray(Blackhole bh) {
+    try (RocksDbIterator iterator = rocksDb.iterator(CF)) {
+      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+        bh.consume(iterator.getKey());
+        bh.consume(iterator.getValue());
+      }
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void iterateView(Blackhole bh) {
+    try (RocksDbIterator iterator = rocksDb.iterator(CF)) {
+      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+        bh.consume(iterator.keyView());
+        bh.consume(iterator.valueView());
+      }
+    }
+  }
+}
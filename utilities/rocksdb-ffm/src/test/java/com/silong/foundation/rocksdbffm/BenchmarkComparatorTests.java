@@ -0,0 +1,142 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import com.silong.foundation.rocksdbffm.comparator.UnsignedLexicographicComparator;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyOptionsConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM对比复制key到byte[]的旧式比较器与直接比较native内存的比较器在全量压缩时的耗时及分配量，运行前需配置环境变量ROCKSDB_LIBS_DIR
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 21:30
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BenchmarkComparatorTests {
+
+  private static final String CF = "comparator-benchmark";
+
+  /**
+   * 仅实现byte[]比较的旧式比较器，每次比较复制两个key
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 21:30
+   */
+  public static class ByteArrayComparator implements RocksDbComparator {
+
+    @Override
+    public void release() {}
+
+    @Override
+    public int compare(byte[] a, byte[] b) {
+      return Arrays.compareUnsigned(a, b);
+    }
+
+    @Override
+    public String name() {
+      return "benchmark.ByteArrayComparator";
+    }
+  }
+
+  @Param({"byteArray", "memorySegment"})
+  private String comparatorStyle;
+
+  @Param({"500000"})
+  private int keyCount;
+
+  private RocksDb rocksDb;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkComparatorTests.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(opt).run();
+  }
+
+  /** 每次压缩前重新写入数据，小memtable产生大量相互重叠的L0文件 */
+  @Setup(Level.Invocation)
+  public void setup() throws RocksDbException {
+    ColumnFamilyOptionsConfig options = new ColumnFamilyOptionsConfig();
+    options.setWriteBufferSize((long) RocksDb.MB);
+
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(
+                CF,
+                Duration.ZERO,
+                "byteArray".equals(comparatorStyle)
+                    ? ByteArrayComparator.class
+                    : UnsignedLexicographicComparator.class,
+                options)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-comparator-benchmark-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    byte[] key = new byte[24];
+    byte[] value = new byte[64];
+    for (int i = 0; i < keyCount; i++) {
+      random.nextBytes(key);
+      random.nextBytes(value);
+      rocksDb.put(CF, key, value);
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() throws RocksDbException {
+    rocksDb.dropColumnFamily(CF);
+    rocksDb.close();
+  }
+
+  @Benchmark
+  public void compactAll() {
+    rocksDb.compactRange(CF, null, null);
+  }
+}
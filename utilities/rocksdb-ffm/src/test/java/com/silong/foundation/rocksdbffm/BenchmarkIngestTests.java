@@ -0,0 +1,126 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import com.google.common.primitives.Longs;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.IngestOptions;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM对比批量put与生成SST文件后导入两种方式加载大批量数据的耗时，运行前需配置环境变量ROCKSDB_LIBS_DIR
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 23:50
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BenchmarkIngestTests {
+
+  private static final String CF = "ingest-benchmark";
+
+  @Param({"1000000"})
+  private int keyCount;
+
+  @Param({"1000"})
+  private int batchSize;
+
+  /** 按key递增排列的数据 */
+  private Tuple2<byte[], byte[]>[] kvPairs;
+
+  private RocksDb rocksDb;
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkIngestTests.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void prepareData() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    kvPairs = new Tuple2[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      byte[] value = new byte[100];
+      random.nextBytes(value);
+      kvPairs[i] = new Tuple2<>(Longs.toByteArray(i), value);
+    }
+  }
+
+  /** 每次加载前重新打开空列族 */
+  @Setup(Level.Invocation)
+  public void setup() {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(List.of(new ColumnFamilyConfig(CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-ingest-benchmark-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+  }
+
+  @TearDown(Level.Invocation)
+  public void tearDown() throws RocksDbException {
+    rocksDb.dropColumnFamily(CF);
+    rocksDb.close();
+  }
+
+  /** 经memtable和WAL批量写入，并压缩至稳定状态 */
+  @Benchmark
+  public void batchedPuts() throws RocksDbException {
+    for (int i = 0; i < keyCount; i += batchSize) {
+      rocksDb.putAll(CF, Arrays.copyOfRange(kvPairs, i, Math.min(i + batchSize, keyCount)));
+    }
+    rocksDb.compactRange(CF, null, null);
+  }
+
+  /** 生成SST文件后原子导入 */
+  @Benchmark
+  public void ingest() throws RocksDbException {
+    rocksDb.ingest(CF, Arrays.stream(kvPairs), IngestOptions.builder().moveFiles(true).build());
+    rocksDb.compactRange(CF, null, null);
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM对比逐key分配的multiGet、调用方缓冲区multiGet与批量容器multiGet(有序/无序key)，运行前需配置环境变量ROCKSDB_LIBS_DIR
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 01:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class BenchmarkMultiGetTests {
+
+  private static final String CF = "benchmark";
+
+  private static final int KEY_COUNT = 100_000;
+
+  private static final int VALUE_SIZE = 128;
+
+  @Param({"1", "4", "16", "64", "256", "1024", "4096"})
+  private int batchSize;
+
+  private RocksDb rocksDb;
+
+  /**
+   * 线程私有的查询key及结果容器
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-17 01:00
+   */
+  @State(Scope.Thread)
+  public static class Batch {
+    Arena arena;
+    byte[][] keys;
+    byte[][] sortedKeys;
+    MemorySegment[] keySegments;
+    MemorySegment[] values;
+    MultiGetBatch batch;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkMultiGetTests benchmark) {
+      int size = benchmark.batchSize;
+      arena = Arena.ofConfined();
+      keys = new byte[size][];
+      keySegments = new MemorySegment[size];
+      values = new MemorySegment[size];
+      for (int i = 0; i < size; i++) {
+        keys[i] = new byte[Long.BYTES];
+        keySegments[i] = arena.allocate(Long.BYTES);
+        values[i] = arena.allocate(VALUE_SIZE);
+      }
+      sortedKeys = new byte[size][];
+      batch = new MultiGetBatch(size);
+    }
+
+    /** 每次调用前随机选取key */
+    @Setup(Level.Invocation)
+    public void next() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int i = 0; i < keys.length; i++) {
+        ByteBuffer.wrap(keys[i]).putLong(random.nextLong(KEY_COUNT));
+        MemorySegment.copy(MemorySegment.ofArray(keys[i]), 0, keySegments[i], 0, Long.BYTES);
+      }
+      System.arraycopy(keys, 0, sortedKeys, 0, keys.length);
+      Arrays.sort(sortedKeys, Arrays::compareUnsigned);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      arena.close();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkMultiGetTests.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(opt).run();
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws RocksDbException {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(List.of(new ColumnFamilyConfig(CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-multiget-benchmark-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+    byte[] value = new byte[VALUE_SIZE];
+    for (long i = 0; i < KEY_COUNT; i++) {
+      ThreadLocalRandom.current().nextBytes(value);
+      rocksDb.put(CF, ByteBuffer.allocate(Long.BYTES).putLong(i).array(), value);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws RocksDbException {
+    rocksDb.dropColumnFamily(CF);
+    rocksDb.close();
+  }
+
+  @Benchmark
+  public List<Tuple2<byte[], byte[]>> multiGetByteArrays(Batch batch) throws RocksDbException {
+    return rocksDb.multiGet(CF, batch.keys);
+  }
+
+  @Benchmark
+  public long[] multiGetSegments(Batch batch) throws RocksDbException {
+    return rocksDb.multiGet(CF, batch.keySegments, batch.values);
+  }
+
+  @Benchmark
+  public long batchedMultiGetUnsorted(Batch batch) throws RocksDbException {
+    return batchedMultiGet(batch.batch, batch.keys);
+  }
+
+  @Benchmark
+  public long batchedMultiGetSorted(Batch batch) throws RocksDbException {
+    return batchedMultiGet(batch.batch, batch.sortedKeys);
+  }
+
+  private long batchedMultiGet(MultiGetBatch batch, byte[][] keys) throws RocksDbException {
+    batch.clear();
+    for (byte[] key : keys) {
+      batch.add(key);
+    }
+    rocksDb.multiGet(CF, batch);
+    return batch.valueLength(keys.length - 1);
+  }
+}
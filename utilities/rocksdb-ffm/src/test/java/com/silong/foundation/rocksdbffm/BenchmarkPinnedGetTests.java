@@ -0,0 +1,167 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_LONG_UNALIGNED;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JHM对比复制读取与pinned slice读取，通过GC profiler输出每次读取的分配量(gc.alloc.rate.norm)，运行前需配置环境变量ROCKSDB_LIBS_DIR
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 16:40
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(4)
+@Fork(1)
+public class BenchmarkPinnedGetTests {
+
+  private static final String CF = "benchmark";
+
+  private static final int KEY_COUNT = 100_000;
+
+  @Param({"64", "1024", "16384"})
+  private int valueSize;
+
+  private RocksDb rocksDb;
+
+  /**
+   * 线程私有key缓冲区
+   *
+   * @author louis sin
+   * @version 1.0.0
+   * @since 2026-10-16 16:40
+   */
+  @State(Scope.Thread)
+  public static class Keys {
+    Arena arena;
+    MemorySegment segment;
+    byte[] bytes;
+
+    @Setup
+    public void setup() {
+      arena = Arena.ofConfined();
+      segment = arena.allocate(Long.BYTES);
+      bytes = new byte[Long.BYTES];
+    }
+
+    @TearDown
+    public void tearDown() {
+      arena.close();
+    }
+
+    MemorySegment nextSegment() {
+      segment.set(
+          JAVA_LONG_UNALIGNED.withOrder(BIG_ENDIAN),
+          0,
+          ThreadLocalRandom.current().nextLong(KEY_COUNT));
+      return segment;
+    }
+
+    byte[] nextBytes() {
+      long k = ThreadLocalRandom.current().nextLong(KEY_COUNT);
+      for (int i = Long.BYTES - 1; i >= 0; i--) {
+        bytes[i] = (byte) k;
+        k >>>= Byte.SIZE;
+      }
+      return bytes;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt =
+        new OptionsBuilder()
+            .include(BenchmarkPinnedGetTests.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(opt).run();
+  }
+
+  @Setup
+  public void setup() throws RocksDbException {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(List.of(new ColumnFamilyConfig(CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-benchmark-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+    byte[] value = new byte[valueSize];
+    for (long i = 0; i < KEY_COUNT; i++) {
+      ThreadLocalRandom.current().nextBytes(value);
+      rocksDb.put(CF, ByteBuffer.allocate(Long.BYTES).putLong(i).array(), value);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws RocksDbException {
+    rocksDb.dropColumnFamily(CF);
+    rocksDb.close();
+  }
+
+  @Benchmark
+  public byte[] copyGet(Keys keys) throws RocksDbException {
+    return rocksDb.get(CF, keys.nextBytes());
+  }
+
+  @Benchmark
+  public Byte pinnedGetCallback(Keys keys) throws RocksDbException {
+    return rocksDb.getPinned(CF, keys.nextSegment(), value -> value.get(JAVA_BYTE, 0));
+  }
+
+  @Benchmark
+  public Byte pinnedGetCallbackByteArrayKey(Keys keys) throws RocksDbException {
+    return rocksDb.getPinned(CF, keys.nextBytes(), value -> value.get(JAVA_BYTE, 0));
+  }
+
+  @Benchmark
+  public byte pinnedGetHandle(Keys keys) throws RocksDbException {
+    try (RocksDbPinnableSlice slice = rocksDb.getPinned(CF, keys.nextSegment())) {
+      return slice.value().get(JAVA_BYTE, 0);
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.BasicRocksDbOperation.NOT_FOUND;
+import static com.silong.foundation.rocksdbffm.RocksDb.DEFAULT_COLUMN_FAMILY_NAME;
+import static com.silong.foundation.rocksdbffm.RocksDb.KB;
+import static com.silong.foundation.rocksdbffm.RocksDb.MB;
+import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_LZ4_COMPRESSION;
+import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_NO_COMPRESSION;
+import static com.silong.foundation.rocksdbffm.enu.CompressionType.K_ZSTD;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyOptionsConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 列族隔离及列族级调优选项单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 17:30
+ */
+public class ColumnFamilyTests {
+
+  /** 点查列族：bloom过滤器 + 小数据块 */
+  public static final String POINT_CF = "point";
+
+  /** 扫描列族：固定长度前缀 + 分层压缩 + 大memtable */
+  public static final String SCAN_CF = "scan";
+
+  public static final List<String> CFS = List.of(DEFAULT_COLUMN_FAMILY_NAME, POINT_CF, SCAN_CF);
+
+  private RocksDbImpl rocksDb;
+
+  private RocksDbConfig config;
+
+  @BeforeEach
+  void init() {
+    ColumnFamilyOptionsConfig point = new ColumnFamilyOptionsConfig();
+    point.setBlockSize(4 * KB);
+    point.setBloomFilterBitsPerKey(10.0);
+
+    ColumnFamilyOptionsConfig scan = new ColumnFamilyOptionsConfig();
+    scan.setBlockSize(64 * KB);
+    scan.setFixedPrefixLength(4);
+    scan.setCompressionPerLevel(
+        List.of(K_NO_COMPRESSION, K_NO_COMPRESSION, K_LZ4_COMPRESSION, K_ZSTD));
+    scan.setWriteBufferSize((long) 16 * MB);
+    scan.setMaxWriteBufferNumber(3);
+
+    config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(DEFAULT_COLUMN_FAMILY_NAME, Duration.ZERO, null),
+            new ColumnFamilyConfig(POINT_CF, Duration.ZERO, null, point),
+            new ColumnFamilyConfig(SCAN_CF, Duration.ZERO, null, scan)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-cf-test-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = (RocksDbImpl) RocksDb.getInstance(config);
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException {
+    rocksDb.dropColumnFamily(POINT_CF);
+    rocksDb.dropColumnFamily(SCAN_CF);
+    rocksDb.close();
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private void putOverlappingKeys(byte[] key) throws RocksDbException {
+    for (String cf : CFS) {
+      rocksDb.put(cf, key, bytes("value-of-" + cf));
+    }
+  }
+
+  @Test
+  public void test1() throws RocksDbException {
+    Assertions.assertTrue(rocksDb.isOpen());
+    Assertions.assertTrue(rocksDb.openedColumnFamilies().containsAll(CFS));
+  }
+
+  @Test
+  public void test2() throws RocksDbException {
+    byte[] key = bytes("shared-key");
+    putOverlappingKeys(key);
+    for (String cf : CFS) {
+      Assertions.assertArrayEquals(bytes("value-of-" + cf), rocksDb.get(cf, key));
+      Assertions.assertArrayEquals(bytes("value-of-" + cf), rocksDb.get(cf, key, 0, key.length));
+    }
+    Assertions.assertArrayEquals(bytes("value-of-default"), rocksDb.get(key));
+  }
+
+  @Test
+  public void test3() throws RocksDbException {
+    byte[] key = bytes("shared-key");
+    putOverlappingKeys(key);
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment keySegment = arena.allocateFrom(JAVA_BYTE, key);
+      MemorySegment value = arena.allocate(64);
+      for (String cf : CFS) {
+        byte[] expected = bytes("value-of-" + cf);
+        Assertions.assertEquals(expected.length, rocksDb.get(cf, keySegment, value));
+        Assertions.assertArrayEquals(
+            expected, value.asSlice(0, expected.length).toArray(JAVA_BYTE));
+        Assertions.assertArrayEquals(
+            expected, rocksDb.getPinned(cf, key, segment -> segment.toArray(JAVA_BYTE)));
+      }
+    }
+  }
+
+  @Test
+  public void test4() throws RocksDbException {
+    byte[] key = bytes("shared-key");
+    putOverlappingKeys(key);
+    rocksDb.delete(POINT_CF, key);
+    Assertions.assertNull(rocksDb.get(POINT_CF, key));
+    Assertions.assertArrayEquals(bytes("value-of-scan"), rocksDb.get(SCAN_CF, key));
+    Assertions.assertArrayEquals(bytes("value-of-default"), rocksDb.get(key));
+
+    try (Arena arena = Arena.ofConfined()) {
+      Assertions.assertEquals(
+          NOT_FOUND, rocksDb.get(POINT_CF, arena.allocateFrom(JAVA_BYTE, key), arena.allocate(8)));
+    }
+  }
+
+  @Test
+  public void test5() throws RocksDbException {
+    List<byte[]> keys = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      byte[] key = bytes("key-" + i);
+      keys.add(key);
+      putOverlappingKeys(key);
+    }
+    rocksDb.deleteRange(SCAN_CF, bytes("key-0"), bytes("key-5"));
+
+    for (int i = 0; i < 10; i++) {
+      byte[] key = keys.get(i);
+      if (i < 5) {
+        Assertions.assertNull(rocksDb.get(SCAN_CF, key));
+      } else {
+        Assertions.assertArrayEquals(bytes("value-of-scan"), rocksDb.get(SCAN_CF, key));
+      }
+      Assertions.assertArrayEquals(bytes("value-of-point"), rocksDb.get(POINT_CF, key));
+    }
+
+    List<Tuple2<byte[], byte[]>> tuple2s = rocksDb.multiGet(POINT_CF, keys.toArray(byte[][]::new));
+    Assertions.assertEquals(keys.size(), tuple2s.size());
+    tuple2s.forEach(t -> Assertions.assertArrayEquals(bytes("value-of-point"), t.t1()));
+  }
+
+  @Test
+  public void test6() throws RocksDbException {
+    for (String prefix : List.of("aaaa", "bbbb", "cccc")) {
+      for (int i = 0; i < 3; i++) {
+        rocksDb.put(SCAN_CF, bytes(prefix + i), bytes(prefix));
+      }
+    }
+    rocksDb.put(POINT_CF, bytes("bbbbX"), bytes("point"));
+
+    int count = 0;
+    try (RocksDbIterator iterator = rocksDb.iterator(SCAN_CF)) {
+      for (iterator.seek(bytes("bbbb")); iterator.isValid(); iterator.next()) {
+        if (!new String(iterator.getKey(), UTF_8).startsWith("bbbb")) {
+          break;
+        }
+        Assertions.assertArrayEquals(bytes("bbbb"), iterator.getValue());
+        count++;
+      }
+      iterator.checkStatus();
+    }
+    Assertions.assertEquals(3, count);
+  }
+
+  @Test
+  public void test7() throws RocksDbException {
+    byte[] key = bytes("persisted-key");
+    putOverlappingKeys(key);
+    rocksDb.close();
+
+    // 重新打开后各列族的数据及配置保持隔离
+    rocksDb = (RocksDbImpl) RocksDb.getInstance(config);
+    for (String cf : CFS) {
+      Assertions.assertArrayEquals(bytes("value-of-" + cf), rocksDb.get(cf, key));
+    }
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.RocksDb.DEFAULT_COLUMN_FAMILY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Longs;
+import com.silong.foundation.rocksdbffm.comparator.BigEndianLongComparator;
+import com.silong.foundation.rocksdbffm.comparator.ReverseComparator;
+import com.silong.foundation.rocksdbffm.comparator.UnsignedLexicographicComparator;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 内置比较器单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 21:20
+ */
+public class ComparatorTests {
+
+  private static final UnsignedLexicographicComparator UNSIGNED =
+      new UnsignedLexicographicComparator();
+
+  private static final BigEndianLongComparator BIG_ENDIAN_LONG = new BigEndianLongComparator();
+
+  private static byte[] randomBytes(int maxLength) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    byte[] bytes = new byte[random.nextInt(maxLength + 1)];
+    random.nextBytes(bytes);
+    // 增加公共前缀出现的概率
+    if (bytes.length > 1 && random.nextBoolean()) {
+      bytes[0] = 0;
+    }
+    return bytes;
+  }
+
+  private static int compareNative(RocksDbComparator comparator, byte[] a, byte[] b) {
+    try (Arena arena = Arena.ofConfined()) {
+      MemorySegment sa = arena.allocate(Math.max(1, a.length)).asSlice(0, a.length);
+      MemorySegment sb = arena.allocate(Math.max(1, b.length)).asSlice(0, b.length);
+      MemorySegment.copy(MemorySegment.ofArray(a), 0, sa, 0, a.length);
+      MemorySegment.copy(MemorySegment.ofArray(b), 0, sb, 0, b.length);
+      return comparator.compare(sa, sb);
+    }
+  }
+
+  @Test
+  public void test1() {
+    for (int i = 0; i < 100_000; i++) {
+      byte[] a = randomBytes(6);
+      byte[] b = randomBytes(6);
+      int expected = Integer.signum(Arrays.compareUnsigned(a, b));
+      Assertions.assertEquals(expected, Integer.signum(UNSIGNED.compare(a, b)));
+      Assertions.assertEquals(expected, Integer.signum(compareNative(UNSIGNED, a, b)));
+    }
+    Assertions.assertEquals(0, UNSIGNED.compare(new byte[0], new byte[0]));
+    Assertions.assertTrue(UNSIGNED.compare(new byte[0], new byte[] {0}) < 0);
+    Assertions.assertTrue(UNSIGNED.compare(new byte[] {(byte) 0x80}, new byte[] {0x7f}) > 0);
+  }
+
+  @Test
+  public void test2() {
+    long[] edges = {Long.MIN_VALUE, Long.MIN_VALUE + 1, -256, -1, 0, 1, 255, Long.MAX_VALUE};
+    for (long x : edges) {
+      for (long y : edges) {
+        Assertions.assertEquals(
+            Integer.signum(Long.compare(x, y)),
+            Integer.signum(BIG_ENDIAN_LONG.compare(Longs.toByteArray(x), Longs.toByteArray(y))));
+      }
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < 100_000; i++) {
+      long x = random.nextLong();
+      long y = random.nextLong();
+      Assertions.assertEquals(
+          Integer.signum(Long.compare(x, y)),
+          Integer.signum(
+              compareNative(BIG_ENDIAN_LONG, Longs.toByteArray(x), Longs.toByteArray(y))));
+    }
+  }
+
+  @Test
+  public void test3() {
+    // 任意长度key与首字节翻转符号位后的无符号字典序一致
+    for (int i = 0; i < 100_000; i++) {
+      byte[] a = randomBytes(12);
+      byte[] b = randomBytes(12);
+      Assertions.assertEquals(
+          Integer.signum(Arrays.compareUnsigned(flipSign(a), flipSign(b))),
+          Integer.signum(BIG_ENDIAN_LONG.compare(a, b)));
+    }
+  }
+
+  @Test
+  public void test6() {
+    // 前8字节相同，仅在偏移之后不同
+    byte[] prefix = Longs.toByteArray(42);
+    byte[] a = Bytes.concat(prefix, new byte[] {1});
+    byte[] b = Bytes.concat(prefix, new byte[] {2});
+    byte[] c = Bytes.concat(prefix, new byte[] {(byte) 0x80});
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(a, b) < 0);
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(b, a) > 0);
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(b, c) < 0);
+    Assertions.assertTrue(compareNative(BIG_ENDIAN_LONG, a, b) < 0);
+    Assertions.assertEquals(0, BIG_ENDIAN_LONG.compare(a, a.clone()));
+
+    // 偏移之后仅长度不同
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(prefix, a) < 0);
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(a, prefix) > 0);
+    Assertions.assertTrue(compareNative(BIG_ENDIAN_LONG, prefix, a) < 0);
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(Bytes.concat(a, new byte[] {0}), a) > 0);
+
+    // 非8字节key首字节相同，仅在偏移之后不同
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(new byte[] {5, 1}, new byte[] {5, 2}) < 0);
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(new byte[] {5, 2}, new byte[] {5, 1}) > 0);
+    Assertions.assertTrue(BIG_ENDIAN_LONG.compare(new byte[] {5}, new byte[] {5, 0}) < 0);
+    Assertions.assertTrue(compareNative(BIG_ENDIAN_LONG, new byte[] {5, 0}, new byte[] {5}) > 0);
+  }
+
+  private static byte[] flipSign(byte[] key) {
+    byte[] copy = key.clone();
+    if (copy.length > 0) {
+      copy[0] ^= (byte) 0x80;
+    }
+    return copy;
+  }
+
+  @Test
+  public void test4() {
+    ReverseComparator reverse = new ReverseComparator();
+    ReverseComparator reverseLong = new ReverseComparator(BIG_ENDIAN_LONG);
+    for (int i = 0; i < 10_000; i++) {
+      byte[] a = randomBytes(10);
+      byte[] b = randomBytes(10);
+      Assertions.assertEquals(
+          Integer.signum(UNSIGNED.compare(b, a)), Integer.signum(reverse.compare(a, b)));
+      Assertions.assertEquals(
+          Integer.signum(BIG_ENDIAN_LONG.compare(b, a)),
+          Integer.signum(compareNative(reverseLong, a, b)));
+    }
+    Assertions.assertEquals("silong.Reverse(silong.BigEndianLongComparator)", reverseLong.name());
+  }
+
+  @Test
+  public void test5() throws RocksDbException {
+    String cf = "reverse";
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(DEFAULT_COLUMN_FAMILY_NAME, Duration.ZERO, null),
+            new ColumnFamilyConfig(cf, Duration.ZERO, ReverseComparator.class)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-comparator-test-data")
+            .toFile()
+            .getAbsolutePath());
+    try (RocksDb rocksDb = RocksDb.getInstance(config)) {
+      try {
+        for (String key : List.of("a", "c", "b", "ab")) {
+          rocksDb.put(cf, key.getBytes(UTF_8), key.getBytes(UTF_8));
+        }
+        rocksDb.compactRange(cf, null, null);
+        try (Stream<Tuple2<byte[], byte[]>> stream = rocksDb.scan(cf, ScanOptions.ALL)) {
+          Assertions.assertEquals(
+              List.of("c", "b", "ab", "a"), stream.map(t -> new String(t.t1(), UTF_8)).toList());
+        }
+      } finally {
+        rocksDb.dropColumnFamily(cf);
+      }
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.primitives.Longs;
+import com.silong.foundation.rocksdbffm.comparator.BigEndianLongComparator;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.IngestOptions;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SST文件写入及外部文件导入单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 23:40
+ */
+public class IngestTests {
+
+  /** 默认字节序比较器列族 */
+  public static final String BYTEWISE_CF = "ingest-bytewise";
+
+  /** 大端有符号long比较器列族 */
+  public static final String SIGNED_CF = "ingest-signed";
+
+  private static final Path TEST_DIR =
+      Paths.get(System.getProperty("user.dir")).resolve("target").resolve("rocksdb-ingest-test");
+
+  private static final Path WORK_DIR = TEST_DIR.resolve("work");
+
+  private RocksDb rocksDb;
+
+  @BeforeEach
+  void init() throws IOException {
+    Files.createDirectories(WORK_DIR);
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(BYTEWISE_CF, Duration.ZERO, null),
+            new ColumnFamilyConfig(SIGNED_CF, Duration.ZERO, BigEndianLongComparator.class)));
+    config.setPersistDataPath(TEST_DIR.resolve("data").toFile().getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException, IOException {
+    rocksDb.dropColumnFamily(BYTEWISE_CF);
+    rocksDb.dropColumnFamily(SIGNED_CF);
+    rocksDb.close();
+    try (Stream<Path> files = Files.list(WORK_DIR)) {
+      for (Path file : files.toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private static String key(int i) {
+    return String.format("key-%08d", i);
+  }
+
+  private static Stream<Tuple2<byte[], byte[]>> kvPairs(int from, int to, String valuePrefix) {
+    return IntStream.range(from, to)
+        .mapToObj(i -> new Tuple2<>(bytes(key(i)), bytes(valuePrefix + i)));
+  }
+
+  private String getString(String cf, String key) throws RocksDbException {
+    byte[] value = rocksDb.get(cf, bytes(key));
+    return value == null ? null : new String(value, UTF_8);
+  }
+
+  private long count(String cf) {
+    try (Stream<Tuple2<byte[], byte[]>> stream = rocksDb.scan(cf, ScanOptions.ALL)) {
+      return stream.count();
+    }
+  }
+
+  private static IngestOptions.IngestOptionsBuilder options() {
+    return IngestOptions.builder().workDir(WORK_DIR.toString());
+  }
+
+  private static long workDirFiles() throws IOException {
+    try (Stream<Path> files = Files.list(WORK_DIR)) {
+      return files.count();
+    }
+  }
+
+  @Test
+  public void test1() throws RocksDbException {
+    Path file = WORK_DIR.resolve("test1.sst");
+    try (SstFileWriter writer = rocksDb.newSstFileWriter(BYTEWISE_CF, file)) {
+      for (int i = 0; i < 100; i++) {
+        writer.put(bytes(key(i)), bytes("v" + i));
+      }
+      Assertions.assertEquals(100, writer.entries());
+      Assertions.assertTrue(writer.fileSize() > 0);
+      Assertions.assertEquals(file, writer.finish());
+    }
+
+    rocksDb.ingestExternalFile(BYTEWISE_CF, file);
+    Assertions.assertEquals(100, count(BYTEWISE_CF));
+    Assertions.assertEquals("v0", getString(BYTEWISE_CF, key(0)));
+    Assertions.assertEquals("v99", getString(BYTEWISE_CF, key(99)));
+    Assertions.assertNull(getString(BYTEWISE_CF, key(100)));
+  }
+
+  @Test
+  public void test2() throws RocksDbException, IOException {
+    // 小目标文件大小，滚动生成多个SST文件后一次性导入
+    long entries =
+        rocksDb.ingest(
+            BYTEWISE_CF, kvPairs(0, 10_000, "v"), options().targetFileSize(16 * 1024).build());
+    Assertions.assertEquals(10_000, entries);
+    Assertions.assertEquals(10_000, count(BYTEWISE_CF));
+    Assertions.assertEquals("v5000", getString(BYTEWISE_CF, key(5000)));
+    Assertions.assertEquals(0, workDirFiles());
+  }
+
+  @Test
+  public void test3() throws RocksDbException {
+    // 与memtable中已有数据重叠，导入文件分配全局序列号后覆盖旧值
+    for (int i = 0; i < 100; i += 2) {
+      rocksDb.put(BYTEWISE_CF, bytes(key(i)), bytes("old" + i));
+    }
+    rocksDb.put(BYTEWISE_CF, bytes(key(500)), bytes("old500"));
+
+    rocksDb.ingest(BYTEWISE_CF, kvPairs(0, 100, "new"), options().build());
+    Assertions.assertEquals(101, count(BYTEWISE_CF));
+    Assertions.assertEquals("new0", getString(BYTEWISE_CF, key(0)));
+    Assertions.assertEquals("new1", getString(BYTEWISE_CF, key(1)));
+    Assertions.assertEquals("old500", getString(BYTEWISE_CF, key(500)));
+  }
+
+  @Test
+  public void test4() throws RocksDbException {
+    // 禁止分配全局序列号时重叠导入失败，已有数据不受影响
+    rocksDb.put(BYTEWISE_CF, bytes(key(10)), bytes("old10"));
+    Assertions.assertThrows(
+        RocksDbException.class,
+        () ->
+            rocksDb.ingest(
+                BYTEWISE_CF, kvPairs(0, 100, "new"), options().allowGlobalSeqNo(false).build()));
+    Assertions.assertEquals(1, count(BYTEWISE_CF));
+    Assertions.assertEquals("old10", getString(BYTEWISE_CF, key(10)));
+
+    // 不重叠的key范围可直接导入
+    rocksDb.ingest(
+        BYTEWISE_CF, kvPairs(100, 200, "new"), options().allowGlobalSeqNo(false).build());
+    Assertions.assertEquals(101, count(BYTEWISE_CF));
+  }
+
+  @Test
+  public void test5() throws RocksDbException, IOException {
+    // 乱序数据写入失败，列族不变且临时文件被删除
+    List<Tuple2<byte[], byte[]>> kvPairs = new ArrayList<>(kvPairs(0, 100, "v").toList());
+    Collections.swap(kvPairs, 10, 20);
+    Assertions.assertThrows(
+        RocksDbException.class,
+        () -> rocksDb.ingest(BYTEWISE_CF, kvPairs.iterator(), options().build()));
+    Assertions.assertEquals(0, count(BYTEWISE_CF));
+    Assertions.assertEquals(0, workDirFiles());
+
+    // 重复key同样视为乱序
+    Assertions.assertThrows(
+        RocksDbException.class,
+        () ->
+            rocksDb.ingest(
+                BYTEWISE_CF,
+                Stream.concat(kvPairs(0, 10, "v"), kvPairs(9, 20, "v")),
+                options().build()));
+    Assertions.assertEquals(0, count(BYTEWISE_CF));
+  }
+
+  @Test
+  public void test6() throws RocksDbException {
+    // SST文件中的删除标记覆盖已有数据
+    for (int i = 0; i < 10; i++) {
+      rocksDb.put(BYTEWISE_CF, bytes(key(i)), bytes("old" + i));
+    }
+    Path file = WORK_DIR.resolve("test6.sst");
+    try (SstFileWriter writer = rocksDb.newSstFileWriter(BYTEWISE_CF, file)) {
+      writer.deleteRange(bytes(key(5)), bytes(key(8)));
+      writer.delete(bytes(key(1)));
+      writer.put(bytes(key(2)), bytes("new2"));
+      writer.finish();
+    }
+    rocksDb.ingestExternalFile(BYTEWISE_CF, List.of(file), options().moveFiles(true).build());
+
+    Assertions.assertEquals(6, count(BYTEWISE_CF));
+    Assertions.assertNull(getString(BYTEWISE_CF, key(1)));
+    Assertions.assertEquals("new2", getString(BYTEWISE_CF, key(2)));
+    Assertions.assertNull(getString(BYTEWISE_CF, key(5)));
+    Assertions.assertNull(getString(BYTEWISE_CF, key(7)));
+    Assertions.assertEquals("old8", getString(BYTEWISE_CF, key(8)));
+  }
+
+  @Test
+  public void test7() throws RocksDbException {
+    // 写入器使用列族比较器，负数排在正数之前
+    Stream<Tuple2<byte[], byte[]>> kvPairs =
+        LongStream.rangeClosed(-50, 50)
+            .mapToObj(i -> new Tuple2<>(Longs.toByteArray(i), Longs.toByteArray(i)));
+    Assertions.assertEquals(101, rocksDb.ingest(SIGNED_CF, kvPairs, options().build()));
+    try (Stream<Tuple2<byte[], byte[]>> stream = rocksDb.scan(SIGNED_CF, ScanOptions.ALL)) {
+      Assertions.assertEquals(
+          LongStream.rangeClosed(-50, 50).boxed().toList(),
+          stream.map(t -> Longs.fromByteArray(t.t1())).toList());
+    }
+  }
+
+  @Test
+  public void test8() throws RocksDbException, IOException {
+    Assertions.assertEquals(0, rocksDb.ingest(BYTEWISE_CF, Stream.empty(), options().build()));
+    Assertions.assertEquals(0, workDirFiles());
+
+    try (SstFileWriter writer =
+        rocksDb.newSstFileWriter(BYTEWISE_CF, WORK_DIR.resolve("test8.sst"))) {
+      Assertions.assertThrows(IllegalStateException.class, writer::finish);
+      writer.put(bytes("a"), bytes("a"));
+      writer.finish();
+      Assertions.assertThrows(
+          IllegalStateException.class, () -> writer.put(bytes("b"), bytes("b")));
+    }
+  }
+}
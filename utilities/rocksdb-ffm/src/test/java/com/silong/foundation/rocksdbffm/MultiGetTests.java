@@ -0,0 +1,224 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.BasicRocksDbOperation.NOT_FOUND;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.rocksdbffm.comparator.BigEndianLongComparator;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 批量查询容器单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 01:00
+ */
+public class MultiGetTests {
+
+  public static final String BATCH_CF = "batch";
+
+  public static final String SIGNED_CF = "batch-signed";
+
+  private static final int KEY_COUNT = 1000;
+
+  private RocksDb rocksDb;
+
+  @BeforeEach
+  void init() throws RocksDbException {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(BATCH_CF, Duration.ZERO, null),
+            new ColumnFamilyConfig(SIGNED_CF, Duration.ZERO, BigEndianLongComparator.class)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-multiget-test-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+    for (int i = 0; i < KEY_COUNT; i += 2) {
+      rocksDb.put(BATCH_CF, key(i), value(i));
+    }
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException {
+    rocksDb.dropColumnFamily(BATCH_CF);
+    rocksDb.dropColumnFamily(SIGNED_CF);
+    rocksDb.close();
+  }
+
+  private static byte[] key(int i) {
+    return String.format("key-%06d", i).getBytes(UTF_8);
+  }
+
+  private static byte[] value(int i) {
+    return ("value-" + i).repeat(i % 7 + 1).getBytes(UTF_8);
+  }
+
+  private static byte[] longKey(long i) {
+    return ByteBuffer.allocate(Long.BYTES).putLong(i).array();
+  }
+
+  private static void assertBatch(MultiGetBatch batch, int... indexes) {
+    Assertions.assertEquals(indexes.length, batch.size());
+    for (int i = 0; i < indexes.length; i++) {
+      Assertions.assertArrayEquals(key(indexes[i]), batch.key(i).toArray(JAVA_BYTE));
+      if (indexes[i] % 2 == 0) {
+        Assertions.assertTrue(batch.isFound(i));
+        Assertions.assertArrayEquals(value(indexes[i]), batch.valueBytes(i));
+        Assertions.assertEquals(value(indexes[i]).length, batch.valueLength(i));
+      } else {
+        Assertions.assertFalse(batch.isFound(i));
+        Assertions.assertEquals(NOT_FOUND, batch.valueLength(i));
+        Assertions.assertNull(batch.value(i));
+        Assertions.assertNull(batch.valueBytes(i));
+      }
+    }
+  }
+
+  @Test
+  void test1() throws RocksDbException {
+    MultiGetBatch batch = new MultiGetBatch();
+    int[] indexes = {0, 1, 2, 3, 500, 501, 998, 999, 1001};
+    for (int i : indexes) {
+      batch.add(key(i));
+    }
+    Assertions.assertTrue(batch.isSorted());
+    rocksDb.multiGet(BATCH_CF, batch);
+    assertBatch(batch, indexes);
+  }
+
+  @Test
+  void test2() throws RocksDbException {
+    MultiGetBatch batch = new MultiGetBatch(1);
+    int[] indexes = {998, 3, 500, 0, 501, 2, 1};
+    for (int i : indexes) {
+      batch.add(key(i));
+    }
+    Assertions.assertFalse(batch.isSorted());
+    rocksDb.multiGet(BATCH_CF, batch);
+    assertBatch(batch, indexes);
+  }
+
+  @Test
+  void test3() throws RocksDbException {
+    // 复用容器，扩容后再清空并以更少的key查询
+    MultiGetBatch batch = new MultiGetBatch(2);
+    for (int i = 0; i < KEY_COUNT; i++) {
+      batch.add(key(i));
+    }
+    rocksDb.multiGet(BATCH_CF, batch);
+    assertBatch(batch, IntStream.range(0, KEY_COUNT).toArray());
+
+    batch.clear();
+    Assertions.assertEquals(0, batch.size());
+    batch.add(key(7)).add(key(4));
+    Assertions.assertThrows(IllegalStateException.class, () -> batch.isFound(0));
+    rocksDb.multiGet(BATCH_CF, batch);
+    assertBatch(batch, 7, 4);
+    Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.isFound(2));
+  }
+
+  @Test
+  void test4() throws RocksDbException {
+    // 重复key及MemorySegment、字节数组片段形式的key
+    MultiGetBatch batch = new MultiGetBatch();
+    byte[] padded = ("xx" + new String(key(10), UTF_8) + "yy").getBytes(UTF_8);
+    try (Arena arena = Arena.ofConfined()) {
+      batch.add(arena.allocateFrom(JAVA_BYTE, key(10))).add(padded, 2, key(10).length).add(key(11));
+      Assertions.assertTrue(batch.isSorted());
+      rocksDb.multiGet(BATCH_CF, batch);
+    }
+    assertBatch(batch, 10, 10, 11);
+  }
+
+  @Test
+  void test5() throws RocksDbException {
+    // 自定义比较器列族：字节序递增但有符号比较下无序
+    long[] keys = {-3, -1, 0, 1, 5};
+    for (long k : keys) {
+      rocksDb.put(SIGNED_CF, longKey(k), longKey(k * 10));
+    }
+    MultiGetBatch batch = new MultiGetBatch();
+    long[] queries = {0, 1, 5, 6, -3, -2, -1};
+    for (long q : queries) {
+      batch.add(longKey(q));
+    }
+    Assertions.assertTrue(batch.isSorted());
+    rocksDb.multiGet(SIGNED_CF, batch);
+    for (int i = 0; i < queries.length; i++) {
+      long q = queries[i];
+      if (q == 6 || q == -2) {
+        Assertions.assertFalse(batch.isFound(i));
+      } else {
+        Assertions.assertArrayEquals(longKey(q * 10), batch.valueBytes(i));
+      }
+    }
+  }
+
+  @Test
+  void test6() throws RocksDbException {
+    // 会话快照内的批量查询不受后续写入影响
+    try (ReadSession session = rocksDb.openReadSession()) {
+      rocksDb.put(BATCH_CF, key(1), value(1));
+      rocksDb.delete(BATCH_CF, key(2));
+      MultiGetBatch batch = new MultiGetBatch();
+      batch.add(key(1)).add(key(2));
+      session.multiGet(BATCH_CF, batch);
+      assertBatch(batch, 1, 2);
+
+      rocksDb.multiGet(BATCH_CF, batch);
+      Assertions.assertArrayEquals(value(1), batch.valueBytes(0));
+      Assertions.assertFalse(batch.isFound(1));
+    }
+  }
+
+  @Test
+  void test7() throws RocksDbException {
+    MultiGetBatch batch = new MultiGetBatch();
+    rocksDb.multiGet(BATCH_CF, batch);
+    Assertions.assertEquals(0, batch.size());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> batch.add(new byte[0]));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> batch.add((MemorySegment) null));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new MultiGetBatch(0));
+    batch.add(key(0));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> rocksDb.multiGet("not-exist", batch));
+  }
+}
@@ -0,0 +1,271 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.BasicRocksDbOperation.NOT_FOUND;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.ReadSessionOptions;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 快照读取会话单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 00:30
+ */
+public class ReadSessionTests {
+
+  public static final String SESSION_CF = "session";
+
+  private static final int KEY_COUNT = 1000;
+
+  private RocksDb rocksDb;
+
+  @BeforeEach
+  void init() throws RocksDbException {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(List.of(new ColumnFamilyConfig(SESSION_CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-session-test-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+    for (int i = 0; i < KEY_COUNT; i++) {
+      rocksDb.put(SESSION_CF, key(i), bytes("v1-" + i));
+    }
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException {
+    rocksDb.dropColumnFamily(SESSION_CF);
+    rocksDb.close();
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private static byte[] key(int i) {
+    return bytes(String.format("key-%06d", i));
+  }
+
+  private static String string(byte[] bytes) {
+    return bytes == null ? null : new String(bytes, UTF_8);
+  }
+
+  /** 覆盖全部key、删除部分key并新增key */
+  private void overwrite(String version) throws RocksDbException {
+    for (int i = 0; i < KEY_COUNT; i++) {
+      rocksDb.put(SESSION_CF, key(i), bytes(version + "-" + i));
+    }
+    rocksDb.delete(SESSION_CF, key(0));
+    rocksDb.deleteRange(SESSION_CF, key(10), key(20));
+    rocksDb.put(SESSION_CF, key(KEY_COUNT), bytes(version + "-" + KEY_COUNT));
+  }
+
+  private static List<String> scanValues(ReadSession session, ScanOptions options) {
+    try (Stream<Tuple2<byte[], byte[]>> stream = session.scan(SESSION_CF, options)) {
+      return stream.map(t -> string(t.t2())).toList();
+    }
+  }
+
+  private static List<String> expectedValues(int from, int to) {
+    return IntStream.range(from, to).mapToObj(i -> "v1-" + i).toList();
+  }
+
+  @Test
+  public void test1() throws RocksDbException {
+    try (ReadSession session = rocksDb.openReadSession()) {
+      Assertions.assertTrue(session.sequenceNumber() > 0);
+      overwrite("v2");
+
+      Assertions.assertEquals("v1-0", string(session.get(SESSION_CF, key(0))));
+      Assertions.assertEquals("v1-15", string(session.get(SESSION_CF, key(15))));
+      Assertions.assertNull(session.get(SESSION_CF, key(KEY_COUNT)));
+      Assertions.assertNull(rocksDb.get(SESSION_CF, key(0)));
+      Assertions.assertEquals("v2-15", string(rocksDb.get(SESSION_CF, key(15))));
+
+      List<Tuple2<byte[], byte[]>> values = session.multiGet(SESSION_CF, key(1), key(2), key(3));
+      Assertions.assertEquals(
+          List.of("v1-1", "v1-2", "v1-3"), values.stream().map(t -> string(t.t1())).toList());
+
+      Assertions.assertEquals(expectedValues(0, KEY_COUNT), scanValues(session, ScanOptions.ALL));
+      Assertions.assertEquals(
+          expectedValues(5, 25), scanValues(session, ScanOptions.range(key(5), key(25))));
+    }
+  }
+
+  @Test
+  public void test2() throws Exception {
+    // 多线程共享会话读取，同时另一线程持续覆盖写入
+    int readers = 4;
+    ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+    AtomicBoolean stop = new AtomicBoolean();
+    CountDownLatch started = new CountDownLatch(1);
+    try (ReadSession session = rocksDb.openReadSession()) {
+      Future<?> writer =
+          executor.submit(
+              () -> {
+                int version = 2;
+                started.countDown();
+                while (!stop.get()) {
+                  overwrite("v" + version++);
+                }
+                return null;
+              });
+      started.await();
+
+      List<Future<?>> futures = new ArrayList<>();
+      for (int r = 0; r < readers; r++) {
+        int seed = r;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int round = 0; round < 20; round++) {
+                    int i = (seed * 31 + round * 17) % KEY_COUNT;
+                    Assertions.assertEquals("v1-" + i, string(session.get(SESSION_CF, key(i))));
+                    Assertions.assertEquals(
+                        expectedValues(0, KEY_COUNT), scanValues(session, ScanOptions.ALL));
+                    Assertions.assertEquals(
+                        expectedValues(KEY_COUNT - 10, KEY_COUNT).reversed(),
+                        scanValues(
+                            session, ScanOptions.range(key(KEY_COUNT - 10), null).reversed()));
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      stop.set(true);
+      writer.get();
+    } finally {
+      stop.set(true);
+      executor.shutdown();
+    }
+    Assertions.assertNull(rocksDb.get(SESSION_CF, key(0)));
+  }
+
+  @Test
+  public void test3() throws RocksDbException {
+    // 会话关闭后未关闭的迭代器仍读取原快照，会话不可再发起读取
+    ReadSession session = rocksDb.openReadSession();
+    try (RocksDbIterator iterator = session.iterator(SESSION_CF, ScanOptions.ALL)) {
+      overwrite("v2");
+      session.close();
+      session.close();
+      Assertions.assertThrows(IllegalStateException.class, () -> session.get(SESSION_CF, key(1)));
+      Assertions.assertThrows(
+          IllegalStateException.class, () -> session.iterator(SESSION_CF, ScanOptions.ALL));
+      Assertions.assertThrows(
+          IllegalStateException.class,
+          () -> session.getPinned(SESSION_CF, key(1), v -> v.byteSize()));
+      Assertions.assertThrows(
+          IllegalStateException.class, () -> session.scan(SESSION_CF, ScanOptions.ALL));
+
+      List<String> values = new ArrayList<>();
+      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+        values.add(string(iterator.getValue()));
+      }
+      iterator.checkStatus();
+      Assertions.assertEquals(expectedValues(0, KEY_COUNT), values);
+    }
+  }
+
+  @Test
+  public void test4() throws RocksDbException {
+    ReadSessionOptions options =
+        ReadSessionOptions.builder()
+            .fillCache(false)
+            .verifyChecksums(false)
+            .readaheadSize(2L * RocksDb.MB)
+            .asyncIo(true)
+            .build();
+    try (ReadSession session = rocksDb.openReadSession(options)) {
+      rocksDb.compactRange(SESSION_CF, null, null);
+      overwrite("v2");
+      Assertions.assertEquals(
+          expectedValues(0, KEY_COUNT),
+          scanValues(session, ScanOptions.builder().fillCache(true).build()));
+      Assertions.assertEquals(
+          "v1-7", session.getPinned(SESSION_CF, key(7), v -> string(v.toArray(JAVA_BYTE))));
+    }
+  }
+
+  @Test
+  public void test5() throws RocksDbException {
+    try (ReadSession session = rocksDb.openReadSession();
+        Arena arena = Arena.ofConfined()) {
+      overwrite("v2");
+      MemorySegment[] keys = {
+        arena.allocateFrom(JAVA_BYTE, key(0)), arena.allocateFrom(JAVA_BYTE, key(KEY_COUNT))
+      };
+      MemorySegment[] values = {arena.allocate(64), arena.allocate(64)};
+      long[] lengths = session.multiGet(SESSION_CF, keys, values);
+      Assertions.assertEquals("v1-0".length(), lengths[0]);
+      Assertions.assertEquals(NOT_FOUND, lengths[1]);
+      Assertions.assertEquals("v1-0", string(values[0].asSlice(0, lengths[0]).toArray(JAVA_BYTE)));
+
+      MemorySegment value = arena.allocate(64);
+      Assertions.assertEquals(NOT_FOUND, session.get(SESSION_CF, keys[1], value));
+      Assertions.assertEquals(NOT_FOUND, rocksDb.get(SESSION_CF, keys[0], value));
+    }
+  }
+
+  @Test
+  public void test6() throws RocksDbException {
+    // 数据库关闭时统一释放未关闭会话的快照，此后会话不可再发起读取，重复关闭会话不再访问数据库
+    ReadSession session = rocksDb.openReadSession();
+    Assertions.assertEquals("v1-1", string(session.get(SESSION_CF, key(1))));
+    rocksDb.close();
+    Assertions.assertThrows(IllegalStateException.class, () -> session.get(SESSION_CF, key(1)));
+    Assertions.assertThrows(IllegalStateException.class, rocksDb::openReadSession);
+    session.close();
+
+    init();
+  }
+}
@@ -21,8 +21,10 @@
 
 package com.silong.foundation.rocksdbffm;
 
+import static com.silong.foundation.rocksdbffm.BasicRocksDbOperation.NOT_FOUND;
 import static com.silong.foundation.rocksdbffm.RocksDb.DEFAULT_COLUMN_FAMILY_NAME;
 import static java.lang.foreign.MemorySegment.NULL;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static org.apache.commons.lang3.RandomUtils.nextInt;
@@ -32,6 +34,7 @@ import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
 import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
 import java.lang.foreign.Arena;
 import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.*;
@@ -476,4 +479,233 @@ public class RocksdbTests {
       Assertions.assertEquals(CFS.stream().sorted().toList(), cfns.stream().sorted().toList());
     }
   }
+
+  @Test
+  public void test19() throws RocksDbException {
+    try (Arena arena = Arena.ofConfined()) {
+      byte[] k = RandomStringUtils.random(64).getBytes(UTF_8);
+      byte[] v = RandomStringUtils.random(1024).getBytes(UTF_8);
+      MemorySegment key = arena.allocateFrom(JAVA_BYTE, k);
+      MemorySegment value = arena.allocateFrom(JAVA_BYTE, v);
+      rocksDb.put(NOW_CF, key, value);
+
+      // 零拷贝写入的数据可通过byte[]接口读取，反之亦然
+      Assertions.assertArrayEquals(v, rocksDb.get(NOW_CF, k));
+      MemorySegment buffer = arena.allocate(v.length);
+      Assertions.assertEquals(v.length, rocksDb.get(NOW_CF, key, buffer));
+      Assertions.assertArrayEquals(v, buffer.toArray(JAVA_BYTE));
+
+      // 缓冲区不足时截断写入并返回实际长度
+      MemorySegment small = arena.allocate(16);
+      Assertions.assertEquals(v.length, rocksDb.get(NOW_CF, key, small));
+      Assertions.assertArrayEquals(Arrays.copyOf(v, 16), small.toArray(JAVA_BYTE));
+
+      rocksDb.delete(NOW_CF, key);
+      Assertions.assertEquals(NOT_FOUND, rocksDb.get(NOW_CF, key, buffer));
+      Assertions.assertNull(rocksDb.get(NOW_CF, k));
+    }
+  }
+
+  @Test
+  public void test20() throws RocksDbException {
+    byte[] k = RandomStringUtils.randomAlphabetic(32).getBytes(UTF_8);
+    byte[] v = RandomStringUtils.randomAlphabetic(256).getBytes(UTF_8);
+    ByteBuffer key = ByteBuffer.allocateDirect(64).put(k).flip();
+    ByteBuffer value = ByteBuffer.allocateDirect(512).put(v).flip();
+    rocksDb.put(NOW_CF, key, value);
+    Assertions.assertEquals(0, key.position());
+
+    ByteBuffer result = ByteBuffer.allocateDirect(512);
+    Assertions.assertEquals(v.length, rocksDb.get(NOW_CF, key, result));
+    Assertions.assertEquals(0, result.position());
+    Assertions.assertEquals(v.length, result.limit());
+    byte[] bytes = new byte[result.remaining()];
+    result.get(bytes);
+    Assertions.assertArrayEquals(v, bytes);
+
+    rocksDb.delete(NOW_CF, key);
+    Assertions.assertEquals(NOT_FOUND, rocksDb.get(NOW_CF, key, result.clear()));
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> rocksDb.put(NOW_CF, ByteBuffer.wrap(k), ByteBuffer.wrap(v)));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> rocksDb.put(NOW_CF, MemorySegment.ofArray(k), MemorySegment.ofArray(v)));
+  }
+
+  @Test
+  public void test21() throws RocksDbException {
+    try (Arena arena = Arena.ofConfined()) {
+      int size = 32;
+      MemorySegment[] keys = new MemorySegment[size + 1];
+      MemorySegment[] values = new MemorySegment[size + 1];
+      for (int i = 0; i < size; i++) {
+        keys[i] = arena.allocateFrom("key-" + i, UTF_8);
+        rocksDb.put(NOW_CF, keys[i], arena.allocateFrom("value-" + i, UTF_8));
+        values[i] = arena.allocate(64);
+      }
+      keys[size] = arena.allocateFrom("absent", UTF_8);
+      values[size] = arena.allocate(64);
+
+      long[] lengths = rocksDb.multiGet(NOW_CF, keys, values);
+      Assertions.assertEquals(size + 1, lengths.length);
+      for (int i = 0; i < size; i++) {
+        Assertions.assertEquals("value-" + i, values[i].getString(0, UTF_8));
+        Assertions.assertEquals(("value-" + i).length() + 1, lengths[i]);
+      }
+      Assertions.assertEquals(NOT_FOUND, lengths[size]);
+    }
+  }
+
+  @Test
+  public void test22() throws RocksDbException {
+    for (char c = 'a'; c <= 'e'; c++) {
+      byte[] bytes = String.valueOf(c).repeat(8).getBytes(UTF_8);
+      rocksDb.put(NOW_CF, bytes, bytes);
+    }
+
+    try (Arena arena = Arena.ofConfined();
+        RocksDbIterator iterator = rocksDb.iterator(NOW_CF)) {
+      iterator.seek(arena.allocateFrom(JAVA_BYTE, "cccccccc".getBytes(UTF_8)));
+      Assertions.assertTrue(iterator.isValid());
+      MemorySegment keyView = iterator.keyView();
+      Assertions.assertTrue(keyView.isReadOnly());
+      Assertions.assertArrayEquals("cccccccc".getBytes(UTF_8), keyView.toArray(JAVA_BYTE));
+      Assertions.assertArrayEquals(
+          "cccccccc".getBytes(UTF_8), iterator.valueView().toArray(JAVA_BYTE));
+
+      ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+      Assertions.assertEquals(8, iterator.getValue(buffer));
+      Assertions.assertEquals(4, buffer.remaining());
+
+      iterator.seekForPrev(ByteBuffer.allocateDirect(2).put("e0".getBytes(UTF_8)).flip());
+      Assertions.assertTrue(iterator.isValid());
+      Assertions.assertArrayEquals("dddddddd".getBytes(UTF_8), iterator.getKey());
+      iterator.checkStatus();
+    }
+  }
+
+  @Test
+  public void test23() throws RocksDbException {
+    byte[] k = RandomStringUtils.random(64).getBytes(UTF_8);
+    byte[] v = RandomStringUtils.random(2048).getBytes(UTF_8);
+    rocksDb.put(NOW_CF, k, v);
+    long opened = RocksDbPinnableSliceImpl.opened();
+
+    byte[] value = rocksDb.getPinned(NOW_CF, k, segment -> segment.toArray(JAVA_BYTE));
+    Assertions.assertArrayEquals(v, value);
+    Assertions.assertEquals(
+        v.length, rocksDb.getPinned(NOW_CF, k, segment -> segment.byteSize()).intValue());
+
+    boolean[] invoked = new boolean[1];
+    Assertions.assertNull(
+        rocksDb.getPinned(
+            NOW_CF,
+            "absent".getBytes(UTF_8),
+            segment -> {
+              invoked[0] = true;
+              return segment;
+            }));
+    Assertions.assertFalse(invoked[0]);
+
+    // 列族隔离：其他列族中不存在同名key
+    Assertions.assertNull(rocksDb.getPinned(BEFORE_CF, k, segment -> segment));
+    Assertions.assertEquals(opened, RocksDbPinnableSliceImpl.opened());
+  }
+
+  @Test
+  public void test24() throws RocksDbException {
+    byte[] k = RandomStringUtils.random(32).getBytes(UTF_8);
+    byte[] v = RandomStringUtils.random(512).getBytes(UTF_8);
+    rocksDb.put(NOW_CF, k, v);
+    long opened = RocksDbPinnableSliceImpl.opened();
+
+    RocksDbPinnableSlice handle;
+    try (RocksDbPinnableSlice slice = rocksDb.getPinned(NOW_CF, k)) {
+      handle = slice;
+      Assertions.assertNotNull(slice);
+      Assertions.assertTrue(slice.value().isReadOnly());
+      Assertions.assertArrayEquals(v, slice.toByteArray());
+      Assertions.assertEquals(opened + 1, RocksDbPinnableSliceImpl.opened());
+    }
+    Assertions.assertEquals(opened, RocksDbPinnableSliceImpl.opened());
+    Assertions.assertThrows(IllegalStateException.class, handle::value);
+    Assertions.assertDoesNotThrow(handle::close);
+    Assertions.assertEquals(opened, RocksDbPinnableSliceImpl.opened());
+    Assertions.assertNull(rocksDb.getPinned(NOW_CF, "absent".getBytes(UTF_8)));
+  }
+
+  @Test
+  public void test25() throws RocksDbException, InterruptedException {
+    byte[] k = RandomStringUtils.random(32).getBytes(UTF_8);
+    rocksDb.put(NOW_CF, k, RandomStringUtils.random(512).getBytes(UTF_8));
+    long opened = RocksDbPinnableSliceImpl.opened();
+    long leaked = RocksDbPinnableSliceImpl.leaked();
+
+    leakPinnableSlice(k);
+    Assertions.assertEquals(opened + 1, RocksDbPinnableSliceImpl.opened());
+
+    // 未关闭的句柄被GC回收后释放native资源并记录泄露
+    for (int i = 0; i < 100 && RocksDbPinnableSliceImpl.leaked() == leaked; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    Assertions.assertEquals(leaked + 1, RocksDbPinnableSliceImpl.leaked());
+    Assertions.assertEquals(opened, RocksDbPinnableSliceImpl.opened());
+  }
+
+  private void leakPinnableSlice(byte[] key) throws RocksDbException {
+    RocksDbPinnableSlice slice = rocksDb.getPinned(NOW_CF, key);
+    Assertions.assertNotNull(slice);
+  }
+
+  @Test
+  public void test26() throws RocksDbException {
+    // key长度跨越缓冲区初始容量、扩容以及不池化的上限
+    int[] sizes = {
+      1,
+      KeyBufferPool.INITIAL_CAPACITY + 1,
+      KeyBufferPool.MAX_POOLED_CAPACITY,
+      KeyBufferPool.MAX_POOLED_CAPACITY + 1,
+      7
+    };
+    for (int size : sizes) {
+      byte[] k = RandomStringUtils.randomAlphanumeric(size).getBytes(UTF_8);
+      byte[] v = String.valueOf(size).getBytes(UTF_8);
+      rocksDb.put(NOW_CF, k, v);
+      Assertions.assertArrayEquals(
+          v, rocksDb.getPinned(NOW_CF, k, segment -> segment.toArray(JAVA_BYTE)));
+      MemorySegment encoded = KeyBufferPool.encode(k);
+      Assertions.assertEquals(size, encoded.byteSize());
+      Assertions.assertArrayEquals(k, encoded.toArray(JAVA_BYTE));
+    }
+  }
+
+  @Test
+  public void test27() throws RocksDbException {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(new ColumnFamilyConfig(DEFAULT_COLUMN_FAMILY_NAME, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-test27-data")
+            .toFile()
+            .getAbsolutePath());
+    byte[] k = "pinned".getBytes(UTF_8);
+    long opened = RocksDbPinnableSliceImpl.opened();
+    RocksDbPinnableSlice slice;
+    try (RocksDbImpl db = (RocksDbImpl) RocksDb.getInstance(config)) {
+      db.put(DEFAULT_COLUMN_FAMILY_NAME, k, k);
+      slice = db.getPinned(DEFAULT_COLUMN_FAMILY_NAME, k);
+      Assertions.assertNotNull(slice);
+      Assertions.assertEquals(opened + 1, RocksDbPinnableSliceImpl.opened());
+    }
+    // 数据库关闭时释放未关闭的句柄
+    Assertions.assertEquals(opened, RocksDbPinnableSliceImpl.opened());
+    Assertions.assertThrows(IllegalStateException.class, slice::value);
+    Assertions.assertDoesNotThrow(slice::close);
+    Assertions.assertEquals(opened, RocksDbPinnableSliceImpl.opened());
+  }
 }
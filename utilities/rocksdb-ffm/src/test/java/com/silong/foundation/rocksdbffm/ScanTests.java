@@ -0,0 +1,337 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.RocksDb.DEFAULT_COLUMN_FAMILY_NAME;
+import static com.silong.foundation.rocksdbffm.enu.PrefixMode.PREFIX_SAME_AS_START;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.primitives.Longs;
+import com.silong.foundation.rocksdbffm.comparator.BigEndianLongComparator;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyOptionsConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.fi.Tuple2;
+import com.silong.foundation.rocksdbffm.options.ScanOptions;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 有界范围扫描、前缀扫描及Stream适配单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 20:05
+ */
+public class ScanTests {
+
+  /** 默认字节序比较器列族 */
+  public static final String BYTEWISE_CF = "bytewise";
+
+  /** 大端有符号long比较器列族 */
+  public static final String SIGNED_CF = "signed";
+
+  /** 配置了固定长度前缀提取器的列族 */
+  public static final String PREFIX_CF = "prefix";
+
+  private RocksDb rocksDb;
+
+  @BeforeEach
+  void init() {
+    ColumnFamilyOptionsConfig prefixOptions = new ColumnFamilyOptionsConfig();
+    prefixOptions.setFixedPrefixLength(4);
+
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(DEFAULT_COLUMN_FAMILY_NAME, Duration.ZERO, null),
+            new ColumnFamilyConfig(BYTEWISE_CF, Duration.ZERO, null),
+            new ColumnFamilyConfig(SIGNED_CF, Duration.ZERO, BigEndianLongComparator.class),
+            new ColumnFamilyConfig(PREFIX_CF, Duration.ZERO, null, prefixOptions)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-scan-test-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException {
+    rocksDb.dropColumnFamily(BYTEWISE_CF);
+    rocksDb.dropColumnFamily(SIGNED_CF);
+    rocksDb.dropColumnFamily(PREFIX_CF);
+    rocksDb.close();
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private static byte[] bytes(int... values) {
+    byte[] array = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      array[i] = (byte) values[i];
+    }
+    return array;
+  }
+
+  private void putStrings(String cf, String... keys) throws RocksDbException {
+    for (String key : keys) {
+      rocksDb.put(cf, bytes(key), bytes(key));
+    }
+  }
+
+  private void putLongs(long from, long to) throws RocksDbException {
+    for (long i = from; i <= to; i++) {
+      rocksDb.put(SIGNED_CF, Longs.toByteArray(i), Longs.toByteArray(i));
+    }
+  }
+
+  private List<String> scanStrings(String cf, ScanOptions options) {
+    try (Stream<Tuple2<byte[], byte[]>> stream = rocksDb.scan(cf, options)) {
+      return stream.map(t -> new String(t.t1(), UTF_8)).toList();
+    }
+  }
+
+  private List<Long> scanLongs(ScanOptions options) {
+    try (Stream<Long> stream =
+        rocksDb.scan(SIGNED_CF, options, (k, v) -> Longs.fromByteArray(k.toArray(JAVA_BYTE)))) {
+      return stream.toList();
+    }
+  }
+
+  private static List<Long> longs(long from, long toExclusive) {
+    return LongStream.range(from, toExclusive).boxed().toList();
+  }
+
+  @Test
+  public void test1() throws RocksDbException {
+    putStrings(BYTEWISE_CF, "a", "b", "bb", "c", "d", "e");
+    Assertions.assertEquals(
+        List.of("b", "bb", "c"),
+        scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("b"), bytes("d"))));
+    Assertions.assertEquals(
+        List.of("c", "bb", "b"),
+        scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("b"), bytes("d")).reversed()));
+    Assertions.assertEquals(
+        List.of("a", "b", "bb"), scanStrings(BYTEWISE_CF, ScanOptions.range(null, bytes("c"))));
+    Assertions.assertEquals(
+        List.of("d", "e"), scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("d"), null)));
+    Assertions.assertEquals(
+        List.of("e", "d", "c", "bb", "b", "a"),
+        scanStrings(BYTEWISE_CF, ScanOptions.ALL.reversed()));
+  }
+
+  @Test
+  public void test2() throws RocksDbException {
+    putStrings(BYTEWISE_CF, "a", "b", "c");
+    // 空范围及反转范围
+    Assertions.assertTrue(
+        scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("b"), bytes("b"))).isEmpty());
+    Assertions.assertTrue(
+        scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("c"), bytes("a"))).isEmpty());
+    Assertions.assertTrue(
+        scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("c"), bytes("a")).reversed()).isEmpty());
+    // 边界不存在于数据库中
+    Assertions.assertEquals(
+        List.of("b"), scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("aa"), bytes("bb"))));
+    Assertions.assertTrue(scanStrings(BYTEWISE_CF, ScanOptions.range(bytes("x"), null)).isEmpty());
+  }
+
+  @Test
+  public void test3() throws RocksDbException {
+    putStrings(BYTEWISE_CF, "app", "apple", "application", "apq", "ap", "b");
+    Assertions.assertEquals(
+        List.of("app", "apple", "application"),
+        scanStrings(BYTEWISE_CF, ScanOptions.prefix(bytes("app"))));
+    Assertions.assertEquals(
+        List.of("application", "apple", "app"),
+        scanStrings(BYTEWISE_CF, ScanOptions.prefix(bytes("app")).reversed()));
+    Assertions.assertTrue(scanStrings(BYTEWISE_CF, ScanOptions.prefix(bytes("z"))).isEmpty());
+  }
+
+  @Test
+  public void test4() throws RocksDbException {
+    byte[][] keys = {
+      bytes(0x01, 0xfe),
+      bytes(0x01, 0xff),
+      bytes(0x01, 0xff, 0x00),
+      bytes(0x01, 0xff, 0xff),
+      bytes(0x02),
+      bytes(0xff, 0xff),
+      bytes(0xff, 0xff, 0x01)
+    };
+    for (byte[] key : keys) {
+      rocksDb.put(BYTEWISE_CF, key, key);
+    }
+
+    try (Stream<Tuple2<byte[], byte[]>> stream =
+        rocksDb.scan(BYTEWISE_CF, ScanOptions.prefix(bytes(0x01, 0xff)))) {
+      List<byte[]> result = stream.map(Tuple2::t1).toList();
+      Assertions.assertEquals(3, result.size());
+      Assertions.assertArrayEquals(keys[1], result.get(0));
+      Assertions.assertArrayEquals(keys[3], result.get(2));
+    }
+
+    // 全部为0xff的前缀没有上界
+    try (Stream<Tuple2<byte[], byte[]>> stream =
+        rocksDb.scan(BYTEWISE_CF, ScanOptions.prefix(bytes(0xff, 0xff)).reversed())) {
+      List<byte[]> result = stream.map(Tuple2::t1).toList();
+      Assertions.assertEquals(2, result.size());
+      Assertions.assertArrayEquals(keys[6], result.get(0));
+      Assertions.assertArrayEquals(keys[5], result.get(1));
+    }
+  }
+
+  @Test
+  public void test5() {
+    Assertions.assertArrayEquals(bytes("b"), RocksDbImpl.prefixSuccessor(bytes("a")));
+    Assertions.assertArrayEquals(bytes(0x02), RocksDbImpl.prefixSuccessor(bytes(0x01, 0xff)));
+    Assertions.assertArrayEquals(
+        bytes(0x01, 0x00), RocksDbImpl.prefixSuccessor(bytes(0x00, 0xff, 0xff)));
+    Assertions.assertNull(RocksDbImpl.prefixSuccessor(bytes(0xff, 0xff)));
+  }
+
+  @Test
+  public void test6() throws RocksDbException {
+    putLongs(-5, 5);
+    // 字节序下-2大于3，自定义比较器下边界按数值比较
+    Assertions.assertEquals(
+        longs(-2, 3), scanLongs(ScanOptions.range(Longs.toByteArray(-2), Longs.toByteArray(3))));
+    Assertions.assertEquals(
+        longs(-2, 3).reversed(),
+        scanLongs(ScanOptions.range(Longs.toByteArray(-2), Longs.toByteArray(3)).reversed()));
+    Assertions.assertEquals(longs(-5, 0), scanLongs(ScanOptions.range(null, Longs.toByteArray(0))));
+    Assertions.assertEquals(longs(0, 6), scanLongs(ScanOptions.range(Longs.toByteArray(0), null)));
+    Assertions.assertEquals(longs(-5, 6), scanLongs(ScanOptions.ALL));
+  }
+
+  @Test
+  public void test7() throws RocksDbException {
+    putLongs(-5, 5);
+    Assertions.assertTrue(
+        scanLongs(ScanOptions.range(Longs.toByteArray(3), Longs.toByteArray(-2))).isEmpty());
+    Assertions.assertTrue(
+        scanLongs(ScanOptions.range(Longs.toByteArray(1), Longs.toByteArray(1))).isEmpty());
+    Assertions.assertEquals(
+        List.of(5L), scanLongs(ScanOptions.range(Longs.toByteArray(5), Longs.toByteArray(6))));
+    Assertions.assertEquals(
+        List.of(-5L),
+        scanLongs(ScanOptions.range(Longs.toByteArray(Long.MIN_VALUE), Longs.toByteArray(-4))));
+    Assertions.assertTrue(
+        scanLongs(ScanOptions.range(Longs.toByteArray(6), Longs.toByteArray(Long.MAX_VALUE)))
+            .isEmpty());
+  }
+
+  @Test
+  public void test8() throws RocksDbException {
+    putLongs(-300, 300);
+    // -256 ~ -1 的高7个字节均为0xff
+    byte[] prefix = Arrays.copyOf(Longs.toByteArray(-1), 7);
+    Assertions.assertEquals(longs(-256, 0), scanLongs(ScanOptions.prefix(prefix)));
+
+    // 自定义比较器无法推导前缀上界，逆序前缀扫描必须指定上界
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> rocksDb.scan(SIGNED_CF, ScanOptions.prefix(prefix).reversed()));
+    Assertions.assertEquals(
+        longs(-256, 0).reversed(),
+        scanLongs(
+            ScanOptions.prefix(prefix).toBuilder()
+                .upperBound(Longs.toByteArray(0))
+                .reverse(true)
+                .build()));
+
+    // 下界位于前缀范围内
+    Assertions.assertEquals(
+        longs(-10, 0),
+        scanLongs(
+            ScanOptions.prefix(prefix).toBuilder().lowerBound(Longs.toByteArray(-10)).build()));
+  }
+
+  @Test
+  public void test9() throws RocksDbException {
+    putStrings(PREFIX_CF, "aaaa1", "aaaa2", "aaab1", "bbbb1");
+    Assertions.assertEquals(
+        List.of("aaaa1", "aaaa2"),
+        scanStrings(
+            PREFIX_CF,
+            ScanOptions.builder()
+                .lowerBound(bytes("aaaa"))
+                .prefixMode(PREFIX_SAME_AS_START)
+                .build()));
+    Assertions.assertEquals(
+        List.of("aaaa1", "aaaa2", "aaab1", "bbbb1"),
+        scanStrings(PREFIX_CF, ScanOptions.range(bytes("aaaa"), null)));
+  }
+
+  @Test
+  public void test10() throws RocksDbException {
+    putStrings(BYTEWISE_CF, "a", "b", "c", "d");
+    AtomicBoolean closed = new AtomicBoolean();
+    try (Stream<Tuple2<byte[], byte[]>> stream =
+        rocksDb.scan(BYTEWISE_CF, ScanOptions.ALL).onClose(() -> closed.set(true))) {
+      Optional<Tuple2<byte[], byte[]>> first = stream.findFirst();
+      Assertions.assertTrue(first.isPresent());
+      Assertions.assertArrayEquals(bytes("a"), first.get().t1());
+    }
+    Assertions.assertTrue(closed.get());
+
+    // 遍历结束后迭代器已释放，再次关闭Stream不会重复释放
+    Stream<Tuple2<byte[], byte[]>> stream = rocksDb.scan(BYTEWISE_CF, ScanOptions.ALL);
+    Assertions.assertEquals(4, stream.count());
+    Assertions.assertDoesNotThrow(stream::close);
+  }
+
+  @Test
+  public void test11() throws RocksDbException {
+    putStrings(BYTEWISE_CF, "a", "ab", "abc", "b");
+    List<String> keys = new ArrayList<>();
+    try (RocksDbIterator iterator =
+        rocksDb.iterator(BYTEWISE_CF, ScanOptions.prefix(bytes("ab")))) {
+      for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+        keys.add(new String(iterator.getKey(), UTF_8));
+      }
+      iterator.checkStatus();
+
+      // native上界同样约束seekToLast
+      iterator.seekToLast();
+      Assertions.assertTrue(iterator.isValid());
+      Assertions.assertArrayEquals(bytes("abc"), iterator.getKey());
+    }
+    Assertions.assertEquals(List.of("ab", "abc"), keys);
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.RocksDb.DEFAULT_COLUMN_FAMILY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.statistics.HistogramData;
+import com.silong.foundation.rocksdbffm.statistics.RocksDbMetrics;
+import com.silong.foundation.rocksdbffm.statistics.StatisticsSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 统计数据采样及Micrometer绑定单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-16 22:30
+ */
+public class StatisticsTests {
+
+  private static final String CF = "statistics";
+
+  private static final String KEYS_WRITTEN = "rocksdb.number.keys.written";
+
+  private static final String KEYS_READ = "rocksdb.number.keys.read";
+
+  private static final String GET_MICROS = "rocksdb.db.get.micros";
+
+  private static final String ESTIMATE_NUM_KEYS = "rocksdb.estimate-num-keys";
+
+  private RocksDb rocksDb;
+
+  @BeforeEach
+  void init() {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setEnableStatistics(true);
+    config.setStatisticsSampleInterval(Duration.ofMillis(200));
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(DEFAULT_COLUMN_FAMILY_NAME, Duration.ZERO, null),
+            new ColumnFamilyConfig(CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-statistics-test-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException {
+    rocksDb.dropColumnFamily(CF);
+    rocksDb.close();
+  }
+
+  private void workload(int count) throws RocksDbException {
+    for (int i = 0; i < count; i++) {
+      byte[] key = ("key-" + i).getBytes(UTF_8);
+      rocksDb.put(CF, key, key);
+      rocksDb.get(CF, key);
+    }
+  }
+
+  @Test
+  public void test1() {
+    String text =
+        """
+rocksdb.block.cache.miss COUNT : 10
+rocksdb.block.cache.hit COUNT : 30
+rocksdb.db.get.micros P50 : 1.500000 P95 : 2.000000 P99 : 3.000000 P100 : 9.000000 COUNT : 4 SUM : 12
+rocksdb.unknown.line
+""";
+    StatisticsSnapshot snapshot =
+        StatisticsSnapshot.parse(Instant.now(), text, Map.of(CF, Map.of(ESTIMATE_NUM_KEYS, 7L)));
+    Assertions.assertEquals(10, snapshot.ticker("rocksdb.block.cache.miss"));
+    Assertions.assertEquals(0, snapshot.ticker("rocksdb.not.exist"));
+    Assertions.assertEquals(0.75, snapshot.blockCacheHitRatio());
+    Assertions.assertEquals(
+        new HistogramData(1.5, 2.0, 3.0, 9.0, 4, 12), snapshot.histogram(GET_MICROS));
+    Assertions.assertEquals(3.0, snapshot.histogram(GET_MICROS).average());
+    Assertions.assertEquals(7L, snapshot.property(CF, ESTIMATE_NUM_KEYS));
+    Assertions.assertNull(snapshot.property("missing", ESTIMATE_NUM_KEYS));
+    Assertions.assertTrue(
+        StatisticsSnapshot.parse(Instant.now(), "", Map.of()).tickers().isEmpty());
+  }
+
+  @Test
+  public void test2() throws RocksDbException {
+    StatisticsSnapshot before = rocksDb.sampleStatistics();
+    workload(1000);
+    rocksDb.compactRange(CF, null, null);
+    StatisticsSnapshot after = rocksDb.sampleStatistics();
+
+    Assertions.assertTrue(after.ticker(KEYS_WRITTEN) >= before.ticker(KEYS_WRITTEN) + 1000);
+    Assertions.assertTrue(after.ticker(KEYS_READ) >= before.ticker(KEYS_READ) + 1000);
+    HistogramData getMicros = after.histogram(GET_MICROS);
+    Assertions.assertNotNull(getMicros);
+    HistogramData previous = before.histogram(GET_MICROS);
+    Assertions.assertTrue(getMicros.count() >= (previous == null ? 0 : previous.count()) + 1000);
+    Assertions.assertTrue(after.property(CF, ESTIMATE_NUM_KEYS) > 0);
+    Assertions.assertTrue(after.property(CF, "rocksdb.total-sst-files-size") > 0);
+    Assertions.assertNotNull(after.property(DEFAULT_COLUMN_FAMILY_NAME, ESTIMATE_NUM_KEYS));
+  }
+
+  @Test
+  public void test3() throws RocksDbException, InterruptedException {
+    StatisticsSnapshot first = rocksDb.statistics();
+    workload(100);
+    long deadline = System.currentTimeMillis() + 10_000;
+    StatisticsSnapshot latest = rocksDb.statistics();
+    while (latest.ticker(KEYS_WRITTEN) < first.ticker(KEYS_WRITTEN) + 100
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+      latest = rocksDb.statistics();
+    }
+    // 周期采样更新了最近一次快照
+    Assertions.assertTrue(latest.sampledAt().isAfter(first.sampledAt()));
+    Assertions.assertTrue(latest.ticker(KEYS_WRITTEN) >= first.ticker(KEYS_WRITTEN) + 100);
+  }
+
+  @Test
+  public void test4() throws RocksDbException {
+    workload(10);
+    rocksDb.sampleStatistics();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new RocksDbMetrics(rocksDb, Tags.of("db", "test")).bindTo(registry);
+
+    FunctionCounter written = registry.get("rocksdb.number.keys.written").functionCounter();
+    double count = written.count();
+    Assertions.assertTrue(count >= 10);
+    Gauge estimateNumKeys =
+        registry.get("rocksdb.estimate.num.keys").tags("cf", CF, "db", "test").gauge();
+    Assertions.assertTrue(estimateNumKeys.value() > 0);
+
+    workload(10);
+    rocksDb.sampleStatistics();
+    Assertions.assertTrue(written.count() >= count + 10);
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ *
+ *  * Licensed to the Apache Software Foundation (ASF) under one
+ *  * or more contributor license agreements.  See the NOTICE file
+ *  * distributed with this work for additional information
+ *  * regarding copyright ownership.  The ASF licenses this file
+ *  * to you under the Apache License, Version 2.0 (the
+ *  * "License"); you may not use this file except in compliance
+ *  * with the License.  You may obtain a copy of the License at
+ *  *
+ *  *      http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing,
+ *  * software distributed under the License is distributed on an
+ *  * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  * KIND, either express or implied.  See the License for the
+ *  * specific language governing permissions and limitations
+ *  * under the License.
+ *
+ */
+
+package com.silong.foundation.rocksdbffm;
+
+import static com.silong.foundation.rocksdbffm.RocksDb.DEFAULT_COLUMN_FAMILY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.silong.foundation.rocksdbffm.config.ColumnFamilyConfig;
+import com.silong.foundation.rocksdbffm.config.RocksDbConfig;
+import com.silong.foundation.rocksdbffm.enu.Durability;
+import com.silong.foundation.rocksdbffm.options.WriteBehindOptions;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 合并写入器单元测试
+ *
+ * @author louis sin
+ * @version 1.0.0
+ * @since 2026-10-17 02:00
+ */
+public class WriteBehindTests {
+
+  public static final String WRITE_BEHIND_CF = "write-behind";
+
+  public static final String DROPPED_CF = "write-behind-dropped";
+
+  private static final int THREADS = 8;
+
+  private RocksDb rocksDb;
+
+  @BeforeEach
+  void init() {
+    RocksDbConfig config = new RocksDbConfig();
+    config.setColumnFamilyConfigs(
+        List.of(
+            new ColumnFamilyConfig(WRITE_BEHIND_CF, Duration.ZERO, null),
+            new ColumnFamilyConfig(DROPPED_CF, Duration.ZERO, null)));
+    config.setPersistDataPath(
+        Paths.get(System.getProperty("user.dir"))
+            .resolve("target")
+            .resolve("rocksdb-write-behind-test-data")
+            .toFile()
+            .getAbsolutePath());
+    rocksDb = RocksDb.getInstance(config);
+  }
+
+  @AfterEach
+  void cleanUp() throws RocksDbException {
+    rocksDb.dropColumnFamily(WRITE_BEHIND_CF);
+    rocksDb.dropColumnFamily(DROPPED_CF);
+    rocksDb.close();
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(UTF_8);
+  }
+
+  private String get(String key) throws RocksDbException {
+    byte[] value = rocksDb.get(WRITE_BEHIND_CF, bytes(key));
+    return value == null ? null : new String(value, UTF_8);
+  }
+
+  @Test
+  void test1() throws Exception {
+    // 同一线程的写操作按提交顺序生效
+    try (WriteBehindWriter writer = rocksDb.newWriteBehindWriter()) {
+      writer.put(WRITE_BEHIND_CF, bytes("k1"), bytes("v1"));
+      writer.put(WRITE_BEHIND_CF, bytes("k1"), bytes("v2"));
+      writer.put(WRITE_BEHIND_CF, bytes("k2"), bytes("v1"));
+      writer.delete(WRITE_BEHIND_CF, bytes("k2"));
+      for (int i = 0; i < 10; i++) {
+        writer.put(WRITE_BEHIND_CF, bytes("r" + i), bytes("v" + i));
+      }
+      writer.deleteRange(WRITE_BEHIND_CF, bytes("r3"), bytes("r7"));
+      CompletableFuture<Void> last = writer.put(WRITE_BEHIND_CF, bytes("r5"), bytes("v5"));
+      writer.flush().get(10, TimeUnit.SECONDS);
+      Assertions.assertTrue(last.isDone());
+    }
+    Assertions.assertEquals("v2", get("k1"));
+    Assertions.assertNull(get("k2"));
+    for (int i = 0; i < 10; i++) {
+      Assertions.assertEquals(i >= 3 && i < 7 && i != 5 ? null : "v" + i, get("r" + i));
+    }
+  }
+
+  @Test
+  void test2() throws Exception {
+    // 多线程并发写入，每个线程的最后一次写入生效
+    int writes = 2000;
+    WriteBehindOptions options =
+        WriteBehindOptions.builder()
+            .maxBatchSize(64)
+            .maxBatchBytes(2048)
+            .maxDelay(Duration.ofMillis(2))
+            .build();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try (WriteBehindWriter writer = rocksDb.newWriteBehindWriter(options)) {
+      List<Future<List<CompletableFuture<Void>>>> results = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        int thread = t;
+        results.add(
+            executor.submit(
+                () -> {
+                  List<CompletableFuture<Void>> futures = new ArrayList<>(writes);
+                  for (int i = 0; i < writes; i++) {
+                    futures.add(
+                        writer.put(
+                            WRITE_BEHIND_CF, bytes("thread-" + thread), bytes(String.valueOf(i))));
+                    futures.add(
+                        writer.put(
+                            WRITE_BEHIND_CF,
+                            bytes(String.format("t%d-%06d", thread, i)),
+                            bytes(String.valueOf(i))));
+                  }
+                  return futures;
+                }));
+      }
+      for (Future<List<CompletableFuture<Void>>> result : results) {
+        CompletableFuture.allOf(result.get().toArray(CompletableFuture[]::new))
+            .get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    for (int t = 0; t < THREADS; t++) {
+      Assertions.assertEquals(String.valueOf(writes - 1), get("thread-" + t));
+      for (int i = 0; i < writes; i += 97) {
+        Assertions.assertEquals(String.valueOf(i), get(String.format("t%d-%06d", t, i)));
+      }
+    }
+  }
+
+  @Test
+  void test3() throws Exception {
+    // 组提交失败时同批写操作均以异常完成且全部不生效
+    WriteBehindOptions options =
+        WriteBehindOptions.builder().maxDelay(Duration.ofSeconds(30)).build();
+    try (WriteBehindWriter writer = rocksDb.newWriteBehindWriter(options)) {
+      CompletableFuture<Void> ok = writer.put(WRITE_BEHIND_CF, bytes("k1"), bytes("v1"));
+      CompletableFuture<Void> failed = writer.put(DROPPED_CF, bytes("k1"), bytes("v1"));
+      rocksDb.dropColumnFamily(DROPPED_CF);
+      writer.flush().get(10, TimeUnit.SECONDS);
+
+      ExecutionException e = Assertions.assertThrows(ExecutionException.class, failed::get);
+      Assertions.assertInstanceOf(RocksDbException.class, e.getCause());
+      Assertions.assertThrows(ExecutionException.class, ok::get);
+      Assertions.assertNull(get("k1"));
+
+      // 后续组提交不受影响
+      writer.put(WRITE_BEHIND_CF, bytes("k2"), bytes("v2")).get(10, TimeUnit.SECONDS);
+      Assertions.assertEquals("v2", get("k2"));
+      Assertions.assertThrows(
+          IllegalArgumentException.class, () -> writer.put(DROPPED_CF, bytes("k3"), bytes("v3")));
+    }
+  }
+
+  @Test
+  void test4() throws Exception {
+    // 关闭时提交队列中剩余的写操作
+    WriteBehindOptions options =
+        WriteBehindOptions.builder().maxBatchSize(100_000).maxDelay(Duration.ofSeconds(30)).build();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    WriteBehindWriter writer = rocksDb.newWriteBehindWriter(options);
+    for (int i = 0; i < 1000; i++) {
+      futures.add(writer.put(WRITE_BEHIND_CF, bytes("k" + i), bytes("v" + i)));
+    }
+    Assertions.assertThrows(
+        TimeoutException.class, () -> futures.getLast().get(100, TimeUnit.MILLISECONDS));
+    writer.close();
+    for (int i = 0; i < 1000; i++) {
+      Assertions.assertTrue(futures.get(i).isDone());
+      Assertions.assertFalse(futures.get(i).isCompletedExceptionally());
+      Assertions.assertEquals("v" + i, get("k" + i));
+    }
+    Assertions.assertEquals(0, writer.pending());
+    Assertions.assertThrows(
+        IllegalStateException.class, () -> writer.put(WRITE_BEHIND_CF, bytes("k"), bytes("v")));
+    Assertions.assertThrows(IllegalStateException.class, writer::flush);
+    writer.close();
+  }
+
+  @Test
+  void test5() throws Exception {
+    // 队列容量为1时写线程被阻塞，所有写操作仍然完成
+    for (Durability durability : Durability.values()) {
+      WriteBehindOptions options =
+          WriteBehindOptions.builder()
+              .queueCapacity(1)
+              .maxBatchSize(4)
+              .durability(durability)
+              .build();
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      try (WriteBehindWriter writer = rocksDb.newWriteBehindWriter(options)) {
+        List<Future<CompletableFuture<Void>>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+          String key = durability + "-" + i;
+          results.add(executor.submit(() -> writer.put(WRITE_BEHIND_CF, bytes(key), bytes(key))));
+        }
+        for (Future<CompletableFuture<Void>> result : results) {
+          result.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+      for (int i = 0; i < 200; i++) {
+        Assertions.assertEquals(durability + "-" + i, get(durability + "-" + i));
+      }
+    }
+  }
+
+  @Test
+  void test6() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> rocksDb.newWriteBehindWriter(WriteBehindOptions.builder().maxBatchSize(0).build()));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            rocksDb.newWriteBehindWriter(
+                WriteBehindOptions.builder().maxDelay(Duration.ofMillis(-1)).build()));
+    try (WriteBehindWriter writer = rocksDb.newWriteBehindWriter()) {
+      Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> writer.put(WRITE_BEHIND_CF, new byte[0], bytes("v")));
+      Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> writer.put(DEFAULT_COLUMN_FAMILY_NAME + "-none", bytes("k"), bytes("v")));
+    }
+  }
+
+  @Test
+  void test7() throws Exception {
+    // 关闭数据库时先关闭未关闭的写入器，队列中剩余的写操作在释放数据库前提交
+    WriteBehindOptions options =
+        WriteBehindOptions.builder().maxBatchSize(100_000).maxDelay(Duration.ofSeconds(30)).build();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    WriteBehindWriter writer = rocksDb.newWriteBehindWriter(options);
+    for (int i = 0; i < 1000; i++) {
+      futures.add(writer.put(WRITE_BEHIND_CF, bytes("k" + i), bytes("v" + i)));
+    }
+    rocksDb.close();
+    for (CompletableFuture<Void> future : futures) {
+      Assertions.assertTrue(future.isDone());
+      Assertions.assertFalse(future.isCompletedExceptionally());
+    }
+    Assertions.assertThrows(
+        IllegalStateException.class, () -> writer.put(WRITE_BEHIND_CF, bytes("k"), bytes("v")));
+    Assertions.assertThrows(IllegalStateException.class, rocksDb::newWriteBehindWriter);
+    writer.close();
+
+    init();
+    for (int i = 0; i < 1000; i++) {
+      Assertions.assertEquals("v" + i, get("k" + i));
+    }
+  }
+}